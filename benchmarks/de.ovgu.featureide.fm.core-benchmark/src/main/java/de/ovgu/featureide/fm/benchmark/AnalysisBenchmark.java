@@ -0,0 +1,99 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AtomicSetAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove.CNFSlicer;
+import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Benchmarks the analyses that are computed on the {@link CNF} of a feature model.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisBenchmark {
+
+	@Param({ "BerkeleyDB", "E-Shop", "WaterlooGenerated", "synthetic-1000", "synthetic-4000" })
+	public String model;
+
+	private CNF cnf;
+	private List<String> sliceVariables;
+
+	@Setup
+	public void setup() {
+		cnf = new FeatureModelFormula(BenchmarkModels.load(model)).getCNF();
+
+		// Removes every tenth variable
+		sliceVariables = new ArrayList<>();
+		for (int var = 1; var <= cnf.getVariables().size(); var += 10) {
+			sliceVariables.add(cnf.getVariables().getName(var));
+		}
+	}
+
+	@Benchmark
+	public LiteralSet coreDead() {
+		return LongRunningWrapper.runMethod(new CoreDeadAnalysis(cnf));
+	}
+
+	@Benchmark
+	public List<LiteralSet> atomicSets() {
+		return LongRunningWrapper.runMethod(new AtomicSetAnalysis(cnf));
+	}
+
+	@Benchmark
+	public ModalImplicationGraph migBuilder() {
+		return LongRunningWrapper.runMethod(new MIGBuilder(cnf, false));
+	}
+
+	@Benchmark
+	public CNF cnfSlicer() {
+		return LongRunningWrapper.runMethod(new CNFSlicer(cnf, sliceVariables));
+	}
+
+}
@@ -0,0 +1,141 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.DefaultFeatureModelFactory;
+import de.ovgu.featureide.fm.core.editing.evaluation.Generator;
+import de.ovgu.featureide.fm.core.init.FMCoreLibrary;
+import de.ovgu.featureide.fm.core.init.LibraryManager;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * Provides the feature models for all benchmarks.<br> <br> A model name either refers to a folder in the repository's <code>featuremodels</code> directory
+ * (e.g., <code>BerkeleyDB</code>) or has the form <code>synthetic-&lt;size&gt;</code>, in which case a random feature model with the given number of features
+ * is generated by {@link Generator}, or <code>random-&lt;size&gt;</code>, in which case a large random feature model with the given number of features, one
+ * constraint per ten features, and descriptions is generated by {@link #createRandomModel(int, int, long)}. The location of the <code>featuremodels</code> directory can be set by the system property
+ * <code>featureide.models</code> and defaults to <code>featuremodels</code> relative to the working directory.
+ *
+ * @author Sebastian Krieter
+ */
+public final class BenchmarkModels {
+
+	public static final String MODEL_FOLDER_PROPERTY = "featureide.models";
+
+	private static final String SYNTHETIC_PREFIX = "synthetic-";
+
+	private static final String RANDOM_PREFIX = "random-";
+
+	/**
+	 * Fixed seed, such that each synthetic model is equal in all runs and forks.
+	 */
+	private static final long SYNTHETIC_SEED = 112358;
+
+	static {
+		LibraryManager.registerLibrary(FMCoreLibrary.getInstance());
+	}
+
+	private BenchmarkModels() {}
+
+	public static IFeatureModel load(String modelName) {
+		if (modelName.startsWith(SYNTHETIC_PREFIX)) {
+			return Generator.generateFeatureModel(SYNTHETIC_SEED, Integer.parseInt(modelName.substring(SYNTHETIC_PREFIX.length())));
+		}
+		if (modelName.startsWith(RANDOM_PREFIX)) {
+			final int numberOfFeatures = Integer.parseInt(modelName.substring(RANDOM_PREFIX.length()));
+			return createRandomModel(numberOfFeatures, numberOfFeatures / 10, SYNTHETIC_SEED);
+		}
+		final Path modelFile = Paths.get(System.getProperty(MODEL_FOLDER_PROPERTY, "featuremodels"), modelName, "model.xml");
+		if (!Files.isReadable(modelFile)) {
+			throw new IllegalArgumentException("Feature model not found: " + modelFile.toAbsolutePath());
+		}
+		final IFeatureModel featureModel = FeatureModelManager.load(modelFile);
+		if (featureModel == null) {
+			throw new IllegalArgumentException("Feature model could not be read: " + modelFile.toAbsolutePath());
+		}
+		return featureModel;
+	}
+
+	/**
+	 * Creates a random feature model with a random tree structure of the given size. Unlike the models of {@link Generator}, the creation does not require any
+	 * analysis, such that also very large models can be created quickly.
+	 *
+	 * @param numberOfFeatures the number of features including the root
+	 * @param numberOfConstraints the number of cross-tree constraints
+	 * @param seed the seed for the random number generator
+	 * @return the new feature model
+	 */
+	public static IFeatureModel createRandomModel(int numberOfFeatures, int numberOfConstraints, long seed) {
+		final Random random = new Random(seed);
+		final IFeatureModelFactory factory = DefaultFeatureModelFactory.getInstance();
+		final IFeatureModel fm = factory.create();
+		final List<IFeature> features = new ArrayList<>(numberOfFeatures);
+		final IFeature root = factory.createFeature(fm, "Root");
+		root.getStructure().setAbstract(true);
+		fm.addFeature(root);
+		fm.getStructure().setRoot(root.getStructure());
+		features.add(root);
+		for (int i = 1; i < numberOfFeatures; i++) {
+			final IFeature feature = factory.createFeature(fm, "F" + i);
+			final IFeature parent = features.get(random.nextInt(features.size()));
+			switch (random.nextInt(3)) {
+			case 0:
+				parent.getStructure().setAnd();
+				feature.getStructure().setMandatory(random.nextBoolean());
+				break;
+			case 1:
+				parent.getStructure().setOr();
+				break;
+			default:
+				parent.getStructure().setAlternative();
+				break;
+			}
+			if (random.nextInt(10) == 0) {
+				feature.getProperty().setDescription("Description of feature " + i);
+			}
+			fm.addFeature(feature);
+			parent.getStructure().addChild(feature.getStructure());
+			features.add(feature);
+		}
+		for (int i = 0; i < numberOfConstraints; i++) {
+			final Literal a = new Literal(features.get(1 + random.nextInt(numberOfFeatures - 1)).getName());
+			final Literal b = new Literal(features.get(1 + random.nextInt(numberOfFeatures - 1)).getName());
+			final Literal c = new Literal(features.get(1 + random.nextInt(numberOfFeatures - 1)).getName());
+			fm.addConstraint(factory.createConstraint(fm, new Implies(a, new Or(b, new Not(c)))));
+		}
+		return fm;
+	}
+
+}
@@ -0,0 +1,129 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.DefaultFormat;
+import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
+import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
+
+/**
+ * Benchmarks {@link ConfigurationLoader} on a folder of randomly generated configurations, which are loaded either as {@link Configuration} objects or as a
+ * compact {@link SolutionList}. A parallelism of 1 corresponds to the sequential mode. Use the profiler <code>gc</code> with a parallelism of 1 to compare
+ * the memory allocated by both representations, as the profiler does not count the allocations of the worker threads.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConfigurationLoaderBenchmark {
+
+	@Param({ "BerkeleyDB", "synthetic-1000" })
+	public String model;
+
+	@Param({ "5000" })
+	public int numberOfConfigurations;
+
+	@Param({ "1", "2", "4", "8" })
+	public int parallelism;
+
+	private FeatureModelFormula formula;
+	private Path folder;
+
+	@Setup
+	public void setup() throws IOException {
+		formula = new FeatureModelFormula(BenchmarkModels.load(model));
+		final IVariables variables = formula.getVariables();
+		final DefaultFormat format = new DefaultFormat();
+		folder = Files.createTempDirectory("configs");
+		final Random random = new Random(0);
+		for (int i = 0; i < numberOfConfigurations; i++) {
+			final int[] literals = new int[variables.size()];
+			for (int j = 0; j < literals.length; j++) {
+				literals[j] = random.nextBoolean() ? j + 1 : -(j + 1);
+			}
+			ConfigurationManager.save(Configuration.fromLiteralSet(formula, new LiteralSet(literals)), folder.resolve(i + "." + format.getSuffix()), format);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			for (final Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(folder);
+	}
+
+	private ConfigurationLoader createLoader() {
+		final ConfigurationLoader loader = new ConfigurationLoader();
+		loader.setParallelism(parallelism);
+		return loader;
+	}
+
+	private List<?> check(List<?> result) {
+		if (result.size() != numberOfConfigurations) {
+			throw new IllegalStateException("Loaded " + result.size() + " of " + numberOfConfigurations + " configurations");
+		}
+		return result;
+	}
+
+	@Benchmark
+	public List<?> loadConfigurations() {
+		return check(createLoader().loadConfigurations(formula, folder));
+	}
+
+	@Benchmark
+	public List<?> loadSolutions() {
+		return check(createLoader().loadSolutions(formula, folder).getSolutions());
+	}
+
+}
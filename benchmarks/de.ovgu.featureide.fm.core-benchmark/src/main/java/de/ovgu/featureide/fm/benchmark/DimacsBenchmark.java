@@ -0,0 +1,157 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.io.dimacs.DimacsCNFReader;
+import de.ovgu.featureide.fm.core.io.dimacs.DimacsReader;
+import de.ovgu.featureide.fm.core.io.dimacs.DimacsWriter;
+
+/**
+ * Benchmarks the throughput of reading and writing large DIMACS files. Compares the node-based {@link DimacsReader} with the {@link DimacsCNFReader} and
+ * the in-memory output of the {@link DimacsWriter} with its streaming output. The input is a random 3-CNF with four clauses per variable.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DimacsBenchmark {
+
+	/**
+	 * Discards all characters, such that only the formatting is measured.
+	 */
+	private static final class NullWriter extends Writer {
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {}
+
+		@Override
+		public void write(String str) {}
+
+		@Override
+		public void flush() {}
+
+		@Override
+		public void close() {}
+
+	}
+
+	@Param({ "100000", "500000" })
+	public int clauses;
+
+	private CNF cnf;
+	private String source;
+	private Path file;
+
+	@Setup
+	public void setup() throws IOException {
+		final int variables = clauses / 4;
+		final List<String> names = new ArrayList<>(variables);
+		for (int i = 1; i <= variables; i++) {
+			names.add("Feature" + i);
+		}
+		final ClauseList clauseList = new ClauseList(clauses);
+		final Random random = new Random(112358);
+		for (int i = 0; i < clauses; i++) {
+			final int[] literals = new int[3];
+			for (int j = 0; j < literals.length; j++) {
+				final int var = random.nextInt(variables) + 1;
+				literals[j] = random.nextBoolean() ? var : -var;
+			}
+			clauseList.add(new LiteralSet(literals));
+		}
+		cnf = new CNF(new Variables(names), clauseList);
+		source = new DimacsWriter(cnf).write();
+		file = Files.createTempFile("featureide-benchmark", ".dimacs");
+		Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public CNF readNodes() throws Exception {
+		final DimacsReader r = new DimacsReader();
+		r.setReadingVariableDirectory(true);
+		final Node node = r.read(source);
+		final Variables variables = new Variables(r.getVariables());
+		return new CNF(variables, Nodes.convertNF(variables, node, true, true));
+	}
+
+	@Benchmark
+	public CNF readString() throws Exception {
+		final DimacsCNFReader r = new DimacsCNFReader();
+		r.setReadingVariableDirectory(true);
+		return r.read(source);
+	}
+
+	@Benchmark
+	public CNF readFile() throws Exception {
+		final DimacsCNFReader r = new DimacsCNFReader();
+		r.setReadingVariableDirectory(true);
+		return r.read(file);
+	}
+
+	@Benchmark
+	public String writeString() {
+		return new DimacsWriter(cnf).write();
+	}
+
+	@Benchmark
+	public void writeStream() throws IOException {
+		new DimacsWriter(cnf).write(new NullWriter());
+	}
+
+}
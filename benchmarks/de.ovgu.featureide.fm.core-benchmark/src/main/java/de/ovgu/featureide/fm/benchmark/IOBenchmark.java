@@ -0,0 +1,146 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.binary.BinaryFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.io.uvl.UVLFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Benchmarks reading and writing feature models. The source that is read is created by writing the model with the same format during the setup, such that
+ * all formats read equivalent content. The format <code>xml-stream</code> uses the streaming reader and writer of {@link XmlFeatureModelFormat}.
+ * {@link #readFile()} reads the same content from a temporary file using a channel, which is the way {@link SimpleFileHandler} loads files.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IOBenchmark {
+
+	@Param({ "BerkeleyDB", "E-Shop", "WaterlooGenerated", "synthetic-1000", "synthetic-4000", "random-40000" })
+	public String model;
+
+	@Param({ "xml", "xml-stream", "uvl", "dimacs", "binary" })
+	public String format;
+
+	private IFeatureModelFormat modelFormat;
+	private IFeatureModelFactory factory;
+	private IFeatureModel featureModel;
+	private String source;
+	private Path file;
+
+	@Setup
+	public void setup() throws Exception {
+		switch (format) {
+		case "xml":
+			modelFormat = new XmlFeatureModelFormat();
+			break;
+		case "xml-stream":
+			final XmlFeatureModelFormat streamingFormat = new XmlFeatureModelFormat();
+			streamingFormat.setStreaming(true);
+			modelFormat = streamingFormat;
+			break;
+		case "uvl":
+			modelFormat = new UVLFeatureModelFormat();
+			break;
+		case "dimacs":
+			modelFormat = new DIMACSFormat();
+			break;
+		case "binary":
+			modelFormat = new BinaryFeatureModelFormat();
+			break;
+		default:
+			throw new IllegalArgumentException(format);
+		}
+		featureModel = BenchmarkModels.load(model);
+		factory = FMFactoryManager.getInstance().getFactory(modelFormat);
+		source = modelFormat.write(featureModel);
+		file = Files.createTempFile("model", "." + modelFormat.getSuffix());
+		if (SimpleFileHandler.save(file, featureModel, modelFormat).containsError()) {
+			throw new IllegalStateException("Feature model could not be written: " + file);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public IFeatureModel read() {
+		final IFeatureModel newFeatureModel = factory.create();
+		final ProblemList problems = modelFormat.read(newFeatureModel, source);
+		if (problems.containsError()) {
+			throw new IllegalStateException(problems.getErrors().toString());
+		}
+		return newFeatureModel;
+	}
+
+	@Benchmark
+	public IFeatureModel readFile() throws IOException {
+		final IFeatureModel newFeatureModel = factory.create();
+		final ProblemList problems;
+		try (ReadableByteChannel channel = FileSystem.newReadableChannel(file)) {
+			problems = modelFormat.getInstance().read(newFeatureModel, channel, file);
+		}
+		if (problems.containsError()) {
+			throw new IllegalStateException(problems.getErrors().toString());
+		}
+		return newFeatureModel;
+	}
+
+	@Benchmark
+	public String write() {
+		return modelFormat.write(featureModel);
+	}
+
+}
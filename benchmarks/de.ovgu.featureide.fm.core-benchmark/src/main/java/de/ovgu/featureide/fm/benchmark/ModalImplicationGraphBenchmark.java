@@ -0,0 +1,112 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.ModalImplicationGraphCreator;
+import de.ovgu.featureide.fm.core.analysis.mig.CompactModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
+
+/**
+ * Benchmarks the access to the edges of a {@link ModalImplicationGraph} via its {@link Vertex} objects and via its {@link CompactModalImplicationGraph}. For
+ * every vertex, all strong edges and the literals of all referenced complex clauses are visited, which is the access pattern of the traversers.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModalImplicationGraphBenchmark {
+
+	@Param({ "BerkeleyDB", "E-Shop", "WaterlooGenerated", "synthetic-1000", "synthetic-4000" })
+	public String model;
+
+	private ModalImplicationGraph mig;
+	private CompactModalImplicationGraph compactGraph;
+
+	@Setup
+	public void setup() {
+		mig = new FeatureModelFormula(BenchmarkModels.load(model)).getElement(new ModalImplicationGraphCreator());
+		compactGraph = new CompactModalImplicationGraph(mig);
+	}
+
+	@Benchmark
+	public long visitVertices() {
+		final List<Vertex> adjList = mig.getAdjList();
+		final List<LiteralSet> complexClauses = mig.getComplexClauses();
+		long checksum = 0;
+		for (final Vertex vertex : adjList) {
+			for (final int strongEdge : vertex.getStrongEdges()) {
+				checksum += strongEdge;
+			}
+			for (final int clauseIndex : vertex.getComplexClauses()) {
+				for (final int literal : complexClauses.get(clauseIndex).getLiterals()) {
+					checksum += literal;
+				}
+			}
+		}
+		return checksum;
+	}
+
+	@Benchmark
+	public long visitCompactGraph() {
+		final CompactModalImplicationGraph graph = compactGraph;
+		long checksum = 0;
+		for (int vertexIndex = 0; vertexIndex < graph.getVertexCount(); vertexIndex++) {
+			for (int i = 0, end = graph.getStrongEdgeCount(vertexIndex); i < end; i++) {
+				checksum += graph.getStrongEdge(vertexIndex, i);
+			}
+			for (int i = 0, end = graph.getComplexClauseReferenceCount(vertexIndex); i < end; i++) {
+				final int clauseIndex = graph.getComplexClauseReference(vertexIndex, i);
+				for (int j = 0, clauseEnd = graph.getComplexClauseSize(clauseIndex); j < clauseEnd; j++) {
+					checksum += graph.getComplexClauseLiteral(clauseIndex, j);
+				}
+			}
+		}
+		return checksum;
+	}
+
+	@Benchmark
+	public CompactModalImplicationGraph createCompactGraph() {
+		return new CompactModalImplicationGraph(mig);
+	}
+
+}
@@ -0,0 +1,103 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IncrementalRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.RemoveRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureTreeCNFCreator;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Benchmarks the detection of redundant constraints with {@link RemoveRedundancyAnalysis} and with {@link IncrementalRedundancyAnalysis}. The latter is run
+ * with an increasing number of threads. The clauses of all constraints are checked against the CNF of the feature tree.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedundancyAnalysisBenchmark {
+
+	@Param({ "BerkeleyDB", "E-Shop", "WaterlooGenerated", "synthetic-1000", "synthetic-4000" })
+	public String model;
+
+	@Param({ "1", "2", "4", "8" })
+	public int parallelism;
+
+	private CNF cnf;
+	private List<LiteralSet> clauseList;
+	private int[] clauseGroupSize;
+
+	@Setup
+	public void setup() {
+		final IFeatureModel featureModel = BenchmarkModels.load(model);
+		cnf = new FeatureModelFormula(featureModel).getElement(new FeatureTreeCNFCreator());
+		clauseList = new ArrayList<>();
+		clauseGroupSize = new int[featureModel.getConstraintCount()];
+		int i = 0;
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			final List<LiteralSet> clauses = Nodes.convert(cnf.getVariables(), constraint.getNode());
+			clauseList.addAll(clauses);
+			clauseGroupSize[i++] = clauses.size();
+		}
+	}
+
+	@Benchmark
+	public List<LiteralSet> remove() {
+		final RemoveRedundancyAnalysis analysis = new RemoveRedundancyAnalysis(cnf, clauseList);
+		analysis.setClauseGroupSize(clauseGroupSize);
+		return LongRunningWrapper.runMethod(analysis);
+	}
+
+	@Benchmark
+	public List<LiteralSet> incremental() {
+		final IncrementalRedundancyAnalysis analysis = new IncrementalRedundancyAnalysis(cnf, clauseList);
+		analysis.setClauseGroupSize(clauseGroupSize);
+		analysis.setParallelism(parallelism);
+		return LongRunningWrapper.runMethod(analysis);
+	}
+
+}
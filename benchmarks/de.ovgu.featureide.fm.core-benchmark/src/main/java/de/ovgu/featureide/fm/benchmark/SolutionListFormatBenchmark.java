@@ -0,0 +1,151 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.SampleBitMatrix;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.binary.BinarySolutionListFormat;
+import de.ovgu.featureide.fm.core.io.binary.MappedSolutionList;
+import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+
+/**
+ * Benchmarks writing and reading a large random sample in the CSV format of {@link ConfigurationListFormat} and in the columnar format of
+ * {@link BinarySolutionListFormat}. {@link #readBitMatrix()} measures the time until a {@link SampleBitMatrix} of the sample is available, which is created
+ * directly from the file via {@link MappedSolutionList} for the binary format.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolutionListFormatBenchmark {
+
+	@Param({ "csv", "binary" })
+	public String format;
+
+	@Param({ "50000" })
+	public int numberOfConfigurations;
+
+	@Param({ "500" })
+	public int numberOfVariables;
+
+	private IPersistentFormat<SolutionList> sampleFormat;
+	private SolutionList sample;
+	private Path readFile;
+	private Path writeFile;
+
+	@Setup
+	public void setup() throws IOException {
+		switch (format) {
+		case "csv":
+			sampleFormat = new ConfigurationListFormat();
+			break;
+		case "binary":
+			sampleFormat = new BinarySolutionListFormat();
+			break;
+		default:
+			throw new IllegalArgumentException(format);
+		}
+
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= numberOfVariables; i++) {
+			names.add("F" + i);
+		}
+		final Random random = new Random(0);
+		sample = new SolutionList();
+		sample.setVariables(new Variables(names));
+		for (int i = 0; i < numberOfConfigurations; i++) {
+			final int[] literals = new int[numberOfVariables];
+			for (int j = 0; j < literals.length; j++) {
+				literals[j] = random.nextBoolean() ? j + 1 : -(j + 1);
+			}
+			sample.addSolution(new LiteralSet(literals, Order.INDEX, false));
+		}
+
+		readFile = Files.createTempFile("sample", "." + sampleFormat.getSuffix());
+		writeFile = Files.createTempFile("sample", "." + sampleFormat.getSuffix());
+		check(FileHandler.save(readFile, sample, sampleFormat));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(readFile);
+		Files.deleteIfExists(writeFile);
+	}
+
+	private static void check(ProblemList problems) {
+		if (problems.containsError()) {
+			throw new IllegalStateException(problems.getErrors().toString());
+		}
+	}
+
+	@Benchmark
+	public void write() {
+		check(FileHandler.save(writeFile, sample, sampleFormat));
+	}
+
+	@Benchmark
+	public SolutionList read() {
+		final SolutionList newSample = new SolutionList();
+		check(FileHandler.load(readFile, newSample, sampleFormat));
+		return newSample;
+	}
+
+	@Benchmark
+	public SampleBitMatrix readBitMatrix() throws IOException {
+		if (sampleFormat instanceof BinarySolutionListFormat) {
+			return MappedSolutionList.open(readFile).toBitMatrix();
+		} else {
+			return new SampleBitMatrix(read().getSolutions(), numberOfVariables);
+		}
+	}
+
+}
@@ -212,7 +212,7 @@ public class UVLExtendedFeatureModelFormat extends UVLFeatureModelFormat {
 
 	@Override
 	public boolean supportsContent(LazyReader reader) {
-		return supportsContent((CharSequence) reader);
+		return containsExtendedAttribute(reader);
 	}
 
 	@Override
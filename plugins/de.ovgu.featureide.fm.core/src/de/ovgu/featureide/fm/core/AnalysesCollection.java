@@ -47,8 +47,8 @@ import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.HasSolutionAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IndependentContradictionAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IndependentRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IncrementalRedundancyAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IndeterminedAnalysis;
-import de.ovgu.featureide.fm.core.analysis.cnf.analysis.RemoveRedundancyAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.ACreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.EmptyCNFCreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
@@ -288,6 +288,25 @@ public class AnalysesCollection {
 
 	}
 
+	static final class CoreDeadAnalysisWrapper extends AnalysisWrapper<LiteralSet, CoreDeadAnalysis> {
+
+		/**
+		 * Minimum number of variables for which the core and dead features are computed in parallel.
+		 */
+		private static final int PARALLEL_THRESHOLD = 1000;
+
+		private CoreDeadAnalysisWrapper(Class<CoreDeadAnalysis> analysis) {
+			super(analysis);
+		}
+
+		@Override
+		protected void configureAnalysis(CNF cnf, CoreDeadAnalysis analysis) {
+			if (cnf.getVariables().size() >= PARALLEL_THRESHOLD) {
+				analysis.setParallelism(Runtime.getRuntime().availableProcessors());
+			}
+		}
+	}
+
 	static final class IndeterminesAnalzsisWrapper extends AnalysisWrapper<LiteralSet, IndeterminedAnalysis> {
 
 		private IndeterminesAnalzsisWrapper(Class<IndeterminedAnalysis> analysis) {
@@ -326,6 +345,24 @@ public class AnalysesCollection {
 
 	}
 
+	static final class RedundancyAnalysisWrapper extends ConstraintAnalysisWrapper<IncrementalRedundancyAnalysis> {
+
+		private static final int PARALLEL_THRESHOLD = 100;
+
+		private RedundancyAnalysisWrapper(Class<IncrementalRedundancyAnalysis> analysis, ACreator<CNF> cnfCreator) {
+			super(analysis, cnfCreator);
+		}
+
+		@Override
+		protected void configureAnalysis(CNF cnf, IncrementalRedundancyAnalysis analysis) {
+			super.configureAnalysis(cnf, analysis);
+			if (constraintClauses.size() >= PARALLEL_THRESHOLD) {
+				analysis.setParallelism(Runtime.getRuntime().availableProcessors());
+			}
+		}
+
+	}
+
 	static class AConstraintAnalysisWrapper<R, A extends AbstractAnalysis<R>> extends AnalysisWrapper<R, A> {
 
 		protected ArrayList<LiteralSet> constraintClauses;
@@ -391,11 +428,11 @@ public class AnalysesCollection {
 	private FeatureModelFormula formula;
 	final AnalysisWrapper<Boolean, HasSolutionAnalysis> validAnalysis = new AnalysisWrapper<>(HasSolutionAnalysis.class);
 	final AnalysisWrapper<List<LiteralSet>, AtomicSetAnalysis> atomicSetAnalysis = new AnalysisWrapper<>(AtomicSetAnalysis.class);
-	final AnalysisWrapper<LiteralSet, CoreDeadAnalysis> coreDeadAnalysis = new AnalysisWrapper<>(CoreDeadAnalysis.class);
+	final AnalysisWrapper<LiteralSet, CoreDeadAnalysis> coreDeadAnalysis = new CoreDeadAnalysisWrapper(CoreDeadAnalysis.class);
 	final FalseOptionalAnalysisWrapper foAnalysis = new FalseOptionalAnalysisWrapper();
 	final AnalysisWrapper<LiteralSet, IndeterminedAnalysis> determinedAnalysis = new IndeterminesAnalzsisWrapper(IndeterminedAnalysis.class);
-	final ConstraintAnalysisWrapper<RemoveRedundancyAnalysis> constraintRedundancyAnalysis =
-		new ConstraintAnalysisWrapper<>(RemoveRedundancyAnalysis.class, new FeatureTreeCNFCreator());
+	final RedundancyAnalysisWrapper constraintRedundancyAnalysis =
+		new RedundancyAnalysisWrapper(IncrementalRedundancyAnalysis.class, new FeatureTreeCNFCreator());
 	final ConstraintAnalysisWrapper<IndependentRedundancyAnalysis> constraintTautologyAnalysis =
 		new ConstraintAnalysisWrapper<>(IndependentRedundancyAnalysis.class, new EmptyCNFCreator());
 	final ConstraintAnalysisWrapper<IndependentContradictionAnalysis> constraintContradictionAnalysis =
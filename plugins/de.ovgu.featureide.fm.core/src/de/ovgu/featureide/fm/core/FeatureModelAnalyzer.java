@@ -24,7 +24,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import de.ovgu.featureide.fm.core.AnalysesCollection.ConstraintAnalysisWrapper;
@@ -51,6 +53,7 @@ import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.base.event.FeatureIDEEvent;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.explanations.Explanation;
+import de.ovgu.featureide.fm.core.explanations.ExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanation;
 import de.ovgu.featureide.fm.core.explanations.fm.DeadFeatureExplanationCreator;
 import de.ovgu.featureide.fm.core.explanations.fm.FalseOptionalFeatureExplanation;
@@ -74,6 +77,11 @@ import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
  */
 public class FeatureModelAnalyzer implements IEventListener {
 
+	/**
+	 * The number of subjects that are explained at once by {@link #createExplanations(IMonitor)}.
+	 */
+	private static final int EXPLANATION_CHUNK_SIZE = 256;
+
 	private final FeatureModelFormula formula;
 	private final IFeatureModel featureModel;
 	private final List<IConstraint> constraints;
@@ -584,6 +592,84 @@ public class FeatureModelAnalyzer implements IEventListener {
 		}
 	}
 
+	/**
+	 * Creates the explanations for all dead features, false-optional features, and redundant constraints found by the last analysis at once. This is faster
+	 * than creating each explanation on its own, as the creators reuse their oracles and may explain the subjects in parallel. Already created explanations
+	 * are kept. Otherwise, explanations are created on demand, so calling this method is optional.<br> <br> The explanations are created by new creators,
+	 * such that this method does not interfere with the creators used for single explanations. The subjects are explained in chunks, between which the
+	 * monitor is checked for cancel requests.
+	 *
+	 * @param monitor the monitor used to check for cancel requests (may be {@code null})
+	 */
+	public void createExplanations(IMonitor<?> monitor) {
+		if (monitor == null) {
+			monitor = new NullMonitor<>();
+		}
+		final List<IFeature> deadFeatures = new ArrayList<>();
+		final List<IFeature> falseOptionalFeatures = new ArrayList<>();
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final FeatureProperties featureProperties = getFeatureProperties(feature);
+			if (featureProperties != null) {
+				if (featureProperties.hasStatus(FeatureStatus.DEAD) && (featureProperties.getDeadExplanation() == null)) {
+					deadFeatures.add(feature);
+				}
+				if (featureProperties.hasStatus(FeatureStatus.FALSE_OPTIONAL) && (featureProperties.getFalseOptionalExplanation() == null)) {
+					falseOptionalFeatures.add(feature);
+				}
+			}
+		}
+		final List<IConstraint> redundantConstraints = new ArrayList<>();
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			final ConstraintProperties constraintProperties = getConstraintProperties(constraint);
+			if ((constraintProperties != null) && constraintProperties.hasStatus(ConstraintStatus.REDUNDANT)
+				&& (constraintProperties.getRedundantExplanation() == null)) {
+				redundantConstraints.add(constraint);
+			}
+		}
+
+		try {
+			monitor.setRemainingWork(getChunkCount(deadFeatures) + getChunkCount(falseOptionalFeatures) + getChunkCount(redundantConstraints));
+			if (!deadFeatures.isEmpty()) {
+				final DeadFeatureExplanationCreator creator = analysesCollection.explanationCreatorFactory.getDeadFeatureExplanationCreator();
+				creator.setFeatureModel(featureModel);
+				createExplanations(creator, deadFeatures, (feature, explanation) -> getFeatureProperties(feature).setDeadExplanation(explanation), monitor);
+			}
+			if (!falseOptionalFeatures.isEmpty()) {
+				final FalseOptionalFeatureExplanationCreator creator =
+					analysesCollection.explanationCreatorFactory.getFalseOptionalFeatureExplanationCreator();
+				creator.setFeatureModel(featureModel);
+				createExplanations(creator, falseOptionalFeatures,
+						(feature, explanation) -> getFeatureProperties(feature).setFalseOptionalExplanation(explanation), monitor);
+			}
+			if (!redundantConstraints.isEmpty()) {
+				final RedundantConstraintExplanationCreator creator =
+					analysesCollection.explanationCreatorFactory.getRedundantConstraintExplanationCreator();
+				creator.setFeatureModel(featureModel);
+				createExplanations(creator, redundantConstraints,
+						(constraint, explanation) -> getConstraintProperties(constraint).setRedundantExplanation(explanation), monitor);
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private static int getChunkCount(List<?> subjects) {
+		return ((subjects.size() + EXPLANATION_CHUNK_SIZE) - 1) / EXPLANATION_CHUNK_SIZE;
+	}
+
+	private static <S, E extends Explanation<S>> void createExplanations(ExplanationCreator<S, E> creator, List<S> subjects, BiConsumer<S, E> consumer,
+			IMonitor<?> monitor) {
+		for (int i = 0; i < subjects.size(); i += EXPLANATION_CHUNK_SIZE) {
+			monitor.checkCancel();
+			for (final Entry<S, E> entry : creator.getExplanations(subjects.subList(i, Math.min(i + EXPLANATION_CHUNK_SIZE, subjects.size()))).entrySet()) {
+				synchronized (entry.getKey()) {
+					consumer.accept(entry.getKey(), entry.getValue());
+				}
+			}
+			monitor.step();
+		}
+	}
+
 	/**
 	 * <p> Returns whether the conjunction of A always implies the disjunction of B in the current feature model. </p>
 	 *
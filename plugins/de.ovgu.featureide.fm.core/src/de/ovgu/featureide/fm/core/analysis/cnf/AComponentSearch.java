@@ -0,0 +1,619 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Base class for an exhaustive DPLL search over a {@link CNF} that decomposes the remaining clauses into independent components after each decision and caches
+ * the result for each component. The component results are combined by {@link #branch(int[], int[], List)} and {@link #decision(int, Object, Object)}.<br>
+ * <br> All literals passed to the combining functions are internal literals (see {@link IInternalVariables}).
+ *
+ * @param <T> Type of the search result.
+ *
+ * @author Sebastian Krieter
+ */
+abstract class AComponentSearch<T> {
+
+	protected static final int DEFAULT_CACHE_SIZE = 1 << 18;
+
+	private static final int CHECK_INTERVAL = 1 << 10;
+
+	/**
+	 * Residual clauses of a component in canonical order.
+	 */
+	private static final class ComponentKey {
+
+		private final int[] literals;
+		private final int hashCode;
+
+		private ComponentKey(int[] literals) {
+			this.literals = literals;
+			hashCode = Arrays.hashCode(literals);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if ((obj == null) || (getClass() != obj.getClass())) {
+				return false;
+			}
+			return Arrays.equals(literals, ((ComponentKey) obj).literals);
+		}
+
+	}
+
+	/**
+	 * State of a branch on the search stack. A branch searches its components one after another. For each component that is not cached, the branch decides on
+	 * one variable and creates a new branch for each of its values.
+	 */
+	private static final class Branch<T> {
+
+		private final int[] literals;
+		private final int[] freeVariables;
+		private final int[][] componentVariables;
+		private final int[][] componentClauses;
+		private final List<T> componentResults;
+
+		private ComponentKey key;
+		private int decisionVariable;
+		private int trailMark;
+		private T positiveResult;
+		private T negativeResult;
+
+		private T result;
+
+		private Branch(int[] literals, int[] freeVariables, int[][] componentVariables, int[][] componentClauses) {
+			this.literals = literals;
+			this.freeVariables = freeVariables;
+			this.componentVariables = componentVariables;
+			this.componentClauses = componentClauses;
+			componentResults = new ArrayList<>(componentVariables.length);
+		}
+
+	}
+
+	protected final CNF cnf;
+	protected final int numberOfVariables;
+
+	private final int[][] clauses;
+	private final int[][] occurrences;
+	private final int[] unitClauses;
+	private final boolean emptyClause;
+
+	private final byte[] values;
+	private final int[] trail;
+	private int trailSize;
+	private int propagationIndex;
+
+	private final int[] variableStamps;
+	private final int[] clauseStamps;
+	private final int[] visitedClauseStamps;
+	private final int[] occurrenceCounter;
+	private int stamp = 0;
+
+	private final Map<ComponentKey, T> cache;
+
+	private IMonitor<?> monitor = new NullMonitor<>();
+	private int timeout = 0;
+	private long deadline;
+	private int checkCounter;
+
+	/**
+	 * @param cnf the formula
+	 * @param cacheSize the maximum number of cached component results
+	 */
+	protected AComponentSearch(CNF cnf, int cacheSize) {
+		this.cnf = cnf;
+		final IInternalVariables internalVariables = cnf.getInternalVariables();
+		numberOfVariables = cnf.getVariables().size();
+
+		final int[][] clauseArray = new int[cnf.getClauses().size()][];
+		final int[] occurrenceCount = new int[(numberOfVariables + 1) << 1];
+		final int[] units = new int[clauseArray.length];
+		int clauseCount = 0;
+		int unitCount = 0;
+		boolean containsEmptyClause = false;
+		clauseLoop: for (final LiteralSet clause : cnf.getClauses()) {
+			final int[] literals = internalVariables.convertToInternal(clause.getLiterals());
+			final int[] sortedLiterals = Arrays.copyOf(literals, literals.length);
+			Arrays.sort(sortedLiterals);
+			int length = 0;
+			for (int i = 0; i < sortedLiterals.length; i++) {
+				final int literal = sortedLiterals[i];
+				if ((length > 0) && (sortedLiterals[length - 1] == literal)) {
+					continue;
+				}
+				if (Arrays.binarySearch(sortedLiterals, -literal) >= 0) {
+					// tautology
+					continue clauseLoop;
+				}
+				sortedLiterals[length++] = literal;
+			}
+			switch (length) {
+			case 0:
+				containsEmptyClause = true;
+				break;
+			case 1:
+				units[unitCount++] = sortedLiterals[0];
+				break;
+			default:
+				final int[] newClause = Arrays.copyOf(sortedLiterals, length);
+				for (final int literal : newClause) {
+					occurrenceCount[getLiteralIndex(literal)]++;
+				}
+				clauseArray[clauseCount++] = newClause;
+				break;
+			}
+		}
+		clauses = Arrays.copyOf(clauseArray, clauseCount);
+		unitClauses = Arrays.copyOf(units, unitCount);
+		emptyClause = containsEmptyClause;
+
+		occurrences = new int[occurrenceCount.length][];
+		for (int i = 0; i < occurrenceCount.length; i++) {
+			occurrences[i] = new int[occurrenceCount[i]];
+		}
+		Arrays.fill(occurrenceCount, 0);
+		for (int i = 0; i < clauses.length; i++) {
+			for (final int literal : clauses[i]) {
+				final int index = getLiteralIndex(literal);
+				occurrences[index][occurrenceCount[index]++] = i;
+			}
+		}
+
+		values = new byte[numberOfVariables + 1];
+		trail = new int[numberOfVariables];
+		variableStamps = new int[numberOfVariables + 1];
+		occurrenceCounter = new int[numberOfVariables + 1];
+		clauseStamps = new int[clauses.length];
+		visitedClauseStamps = new int[clauses.length];
+
+		cache = new LinkedHashMap<ComponentKey, T>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Entry<ComponentKey, T> eldest) {
+				return size() > cacheSize;
+			}
+		};
+	}
+
+	private static int getLiteralIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+	}
+
+	public CNF getCNF() {
+		return cnf;
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the maximum time for a single search.
+	 *
+	 * @param timeout the timeout in milliseconds; a value less or equal to zero disables the timeout
+	 */
+	public void setTimeout(int timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Removes all cached component results.
+	 */
+	public void clearCache() {
+		cache.clear();
+	}
+
+	/**
+	 * @return the result for the empty result (i.e., for an unsatisfiable formula)
+	 */
+	protected abstract T zero();
+
+	protected abstract boolean isZero(T result);
+
+	/**
+	 * Combines the result of a branch.
+	 *
+	 * @param literals the literals assigned within the branch (by decision or propagation)
+	 * @param freeVariables the unassigned variables that do not occur in any remaining clause
+	 * @param components the results of the independent components of the branch
+	 * @return the result of the branch
+	 */
+	protected abstract T branch(int[] literals, int[] freeVariables, List<T> components);
+
+	/**
+	 * Combines the two branches of a decision.
+	 *
+	 * @param variable the decision variable
+	 * @param positive the result of the branch in which the variable is {@code true}
+	 * @param negative the result of the branch in which the variable is {@code false}
+	 * @return the result of the decision
+	 */
+	protected abstract T decision(int variable, T positive, T negative);
+
+	/**
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @param monitor the monitor used to check for cancel requests (may be {@code null})
+	 * @return the combined result for all assignments of the formula that are consistent with the given partial assignment
+	 *
+	 * @throws RuntimeTimeoutException if the timeout is reached
+	 */
+	protected final T search(LiteralSet assumptions, IMonitor<?> monitor) {
+		this.monitor = monitor != null ? monitor : new NullMonitor<>();
+		deadline = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+		checkCounter = 0;
+		try {
+			if (emptyClause) {
+				return zero();
+			}
+			for (final int literal : unitClauses) {
+				if (!assign(literal)) {
+					return zero();
+				}
+			}
+			if (assumptions != null) {
+				for (final int literal : cnf.getInternalVariables().convertToInternal(assumptions.getLiterals())) {
+					if ((literal != 0) && !assign(literal)) {
+						return zero();
+					}
+				}
+			}
+			if (!propagate()) {
+				return zero();
+			}
+
+			final int[] allVariables = new int[numberOfVariables];
+			for (int i = 0; i < numberOfVariables; i++) {
+				allVariables[i] = i + 1;
+			}
+			final int[] allClauses = new int[clauses.length];
+			for (int i = 0; i < clauses.length; i++) {
+				allClauses[i] = i;
+			}
+			return searchBranch(allVariables, allClauses, 0);
+		} finally {
+			undo(0);
+			this.monitor = null;
+		}
+	}
+
+	/**
+	 * Computes the result of a branch after unit propagation. The search uses an explicit stack of {@link Branch branches} instead of recursion, such that the
+	 * number of nested decisions is not limited by the size of the call stack.
+	 */
+	private T searchBranch(int[] variables, int[] clauseIds, int trailMark) {
+		final ArrayDeque<Branch<T>> stack = new ArrayDeque<>();
+		Branch<T> branch = createBranch(variables, clauseIds, trailMark);
+		while (true) {
+			final Branch<T> childBranch = advance(branch);
+			if (childBranch != null) {
+				stack.push(branch);
+				branch = childBranch;
+			} else if (stack.isEmpty()) {
+				return branch.result;
+			} else {
+				final T result = branch.result;
+				branch = stack.pop();
+				setDecisionResult(branch, result);
+			}
+		}
+	}
+
+	/**
+	 * Creates a branch for the current assignment. The remaining clauses are split into components that are searched independently.
+	 */
+	private Branch<T> createBranch(int[] variables, int[] clauseIds, int trailMark) {
+		final int[] activeClauses = new int[clauseIds.length];
+		int activeCount = 0;
+		final int activeStamp = ++stamp;
+		for (final int clauseId : clauseIds) {
+			if (!isSatisfied(clauses[clauseId])) {
+				activeClauses[activeCount++] = clauseId;
+				clauseStamps[clauseId] = activeStamp;
+				for (final int literal : clauses[clauseId]) {
+					variableStamps[Math.abs(literal)] = activeStamp;
+				}
+			}
+		}
+		int freeVariableCount = 0;
+		final int[] freeVariables = new int[variables.length];
+		for (final int variable : variables) {
+			if ((values[variable] == 0) && (variableStamps[variable] != activeStamp)) {
+				freeVariables[freeVariableCount++] = variable;
+			}
+		}
+		final int[] literals = Arrays.copyOfRange(trail, trailMark, trailSize);
+		if (activeCount == 0) {
+			return new Branch<>(literals, Arrays.copyOf(freeVariables, freeVariableCount), new int[0][], new int[0][]);
+		}
+
+		// Split active clauses into components
+		final int visitStamp = ++stamp;
+		final int[] componentClauses = new int[activeCount];
+		final int[] componentVariables = new int[variables.length];
+		final int[] queueStarts = new int[activeCount + 1];
+		final int[] variableStarts = new int[activeCount + 1];
+		int componentCount = 0;
+		int clauseIndex = 0;
+		int variableIndex = 0;
+		for (int i = 0; i < activeCount; i++) {
+			final int startClause = activeClauses[i];
+			if (visitedClauseStamps[startClause] != visitStamp) {
+				queueStarts[componentCount] = clauseIndex;
+				variableStarts[componentCount] = variableIndex;
+				componentCount++;
+				visitedClauseStamps[startClause] = visitStamp;
+				componentClauses[clauseIndex++] = startClause;
+				for (int j = queueStarts[componentCount - 1]; j < clauseIndex; j++) {
+					for (final int literal : clauses[componentClauses[j]]) {
+						final int variable = Math.abs(literal);
+						if ((values[variable] == 0) && (variableStamps[variable] != visitStamp)) {
+							variableStamps[variable] = visitStamp;
+							componentVariables[variableIndex++] = variable;
+							for (final int otherClause : occurrences[variable << 1]) {
+								if ((clauseStamps[otherClause] == activeStamp) && (visitedClauseStamps[otherClause] != visitStamp)) {
+									visitedClauseStamps[otherClause] = visitStamp;
+									componentClauses[clauseIndex++] = otherClause;
+								}
+							}
+							for (final int otherClause : occurrences[(variable << 1) + 1]) {
+								if ((clauseStamps[otherClause] == activeStamp) && (visitedClauseStamps[otherClause] != visitStamp)) {
+									visitedClauseStamps[otherClause] = visitStamp;
+									componentClauses[clauseIndex++] = otherClause;
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		queueStarts[componentCount] = clauseIndex;
+		variableStarts[componentCount] = variableIndex;
+
+		final int[][] branchVariables = new int[componentCount][];
+		final int[][] branchClauses = new int[componentCount][];
+		for (int i = 0; i < componentCount; i++) {
+			branchVariables[i] = Arrays.copyOfRange(componentVariables, variableStarts[i], variableStarts[i + 1]);
+			branchClauses[i] = Arrays.copyOfRange(componentClauses, queueStarts[i], queueStarts[i + 1]);
+		}
+		return new Branch<>(literals, Arrays.copyOf(freeVariables, freeVariableCount), branchVariables, branchClauses);
+	}
+
+	/**
+	 * Continues the search of a branch until it is finished or a decision requires a new branch.
+	 *
+	 * @return the new branch or {@code null}, if the given branch is finished (see {@link Branch#result})
+	 */
+	private Branch<T> advance(Branch<T> branch) {
+		while (true) {
+			final int componentIndex = branch.componentResults.size();
+			if (branch.decisionVariable == 0) {
+				if (componentIndex == branch.componentVariables.length) {
+					branch.result = branch(branch.literals, branch.freeVariables, branch.componentResults);
+					return null;
+				}
+				checkLimits();
+
+				// Search the next component, which is a connected component, whose clauses are unsatisfied and whose variables are unassigned
+				final int[] clauseIds = branch.componentClauses[componentIndex];
+				final ComponentKey key = getKey(clauseIds);
+				final T cachedResult = cache.get(key);
+				if (cachedResult != null) {
+					if (!addComponentResult(branch, cachedResult)) {
+						return null;
+					}
+				} else {
+					branch.key = key;
+					branch.decisionVariable = selectDecisionVariable(branch.componentVariables[componentIndex], clauseIds);
+					branch.trailMark = trailSize;
+					branch.positiveResult = null;
+					branch.negativeResult = null;
+				}
+			} else if ((branch.positiveResult == null) || (branch.negativeResult == null)) {
+				final int literal = branch.positiveResult == null ? branch.decisionVariable : -branch.decisionVariable;
+				if (assign(literal) && propagate()) {
+					return createBranch(branch.componentVariables[componentIndex], branch.componentClauses[componentIndex], branch.trailMark);
+				}
+				setDecisionResult(branch, zero());
+			} else {
+				final T result = decision(branch.decisionVariable, branch.positiveResult, branch.negativeResult);
+				cache.put(branch.key, result);
+				branch.key = null;
+				branch.decisionVariable = 0;
+				if (!addComponentResult(branch, result)) {
+					return null;
+				}
+			}
+		}
+	}
+
+	private void setDecisionResult(Branch<T> branch, T result) {
+		undo(branch.trailMark);
+		if (branch.positiveResult == null) {
+			branch.positiveResult = result;
+		} else {
+			branch.negativeResult = result;
+		}
+	}
+
+	private boolean addComponentResult(Branch<T> branch, T result) {
+		if (isZero(result)) {
+			branch.result = zero();
+			return false;
+		}
+		branch.componentResults.add(result);
+		return true;
+	}
+
+	/**
+	 * @return the variable with the most occurrences in the given clauses
+	 */
+	private int selectDecisionVariable(int[] variables, int[] clauseIds) {
+		for (final int clauseId : clauseIds) {
+			for (final int literal : clauses[clauseId]) {
+				occurrenceCounter[Math.abs(literal)]++;
+			}
+		}
+		int decisionVariable = variables[0];
+		for (final int variable : variables) {
+			if (occurrenceCounter[variable] > occurrenceCounter[decisionVariable]) {
+				decisionVariable = variable;
+			}
+		}
+		for (final int clauseId : clauseIds) {
+			for (final int literal : clauses[clauseId]) {
+				occurrenceCounter[Math.abs(literal)] = 0;
+			}
+		}
+		return decisionVariable;
+	}
+
+	private ComponentKey getKey(int[] clauseIds) {
+		final int[][] residualClauses = new int[clauseIds.length][];
+		int length = 0;
+		for (int i = 0; i < clauseIds.length; i++) {
+			final int[] clause = clauses[clauseIds[i]];
+			int unassigned = 0;
+			for (final int literal : clause) {
+				if (values[Math.abs(literal)] == 0) {
+					unassigned++;
+				}
+			}
+			final int[] residualClause = new int[unassigned];
+			int j = 0;
+			for (final int literal : clause) {
+				if (values[Math.abs(literal)] == 0) {
+					residualClause[j++] = literal;
+				}
+			}
+			residualClauses[i] = residualClause;
+			length += unassigned + 1;
+		}
+		Arrays.sort(residualClauses, AComponentSearch::compareClauses);
+
+		final int[] keyLiterals = new int[length];
+		int index = 0;
+		for (final int[] residualClause : residualClauses) {
+			System.arraycopy(residualClause, 0, keyLiterals, index, residualClause.length);
+			index += residualClause.length + 1;
+		}
+		return new ComponentKey(keyLiterals);
+	}
+
+	private static int compareClauses(int[] clause1, int[] clause2) {
+		final int length = Math.min(clause1.length, clause2.length);
+		for (int i = 0; i < length; i++) {
+			final int diff = Integer.compare(clause1[i], clause2[i]);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return clause1.length - clause2.length;
+	}
+
+	private boolean isSatisfied(int[] clause) {
+		for (final int literal : clause) {
+			if ((literal > 0) ? values[literal] > 0 : values[-literal] < 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean assign(int literal) {
+		final int variable = Math.abs(literal);
+		final byte value = values[variable];
+		if (value != 0) {
+			return (value > 0) == (literal > 0);
+		}
+		values[variable] = (byte) (literal > 0 ? 1 : -1);
+		trail[trailSize++] = literal;
+		return true;
+	}
+
+	private boolean propagate() {
+		while (propagationIndex < trailSize) {
+			final int falseLiteral = -trail[propagationIndex++];
+			for (final int clauseId : occurrences[getLiteralIndex(falseLiteral)]) {
+				int unassignedLiteral = 0;
+				int unassignedCount = 0;
+				boolean satisfied = false;
+				for (final int literal : clauses[clauseId]) {
+					final byte value = values[Math.abs(literal)];
+					if (value == 0) {
+						unassignedLiteral = literal;
+						unassignedCount++;
+					} else if ((value > 0) == (literal > 0)) {
+						satisfied = true;
+						break;
+					}
+				}
+				if (!satisfied) {
+					if (unassignedCount == 0) {
+						return false;
+					} else if (unassignedCount == 1) {
+						assign(unassignedLiteral);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private void undo(int trailMark) {
+		while (trailSize > trailMark) {
+			values[Math.abs(trail[--trailSize])] = 0;
+		}
+		propagationIndex = trailMark;
+	}
+
+	private void checkLimits() {
+		if (++checkCounter >= CHECK_INTERVAL) {
+			checkCounter = 0;
+			monitor.checkCancel();
+			if (System.currentTimeMillis() > deadline) {
+				throw new RuntimeTimeoutException();
+			}
+		}
+	}
+
+}
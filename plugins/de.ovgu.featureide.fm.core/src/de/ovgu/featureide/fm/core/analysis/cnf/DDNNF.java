@@ -0,0 +1,362 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+
+/**
+ * Compiled representation of a {@link CNF} as smooth, deterministic, decomposable negation normal form (d-DNNF).<br> <br> After compilation, counting,
+ * satisfiability checks, computing implied literals, and uniform sampling under a partial assignment only require linear time in the size of the d-DNNF.<br>
+ * <br> The nodes are stored in topological order (i.e., each child has a smaller index than its parent).
+ *
+ * @see DDNNFCompiler
+ *
+ * @author Sebastian Krieter
+ */
+public class DDNNF {
+
+	static final byte LITERAL = 0;
+	static final byte FREE = 1;
+	static final byte AND = 2;
+	static final byte OR = 3;
+
+	private final CNF cnf;
+	private final int numberOfVariables;
+
+	private final byte[] types;
+	private final int[] values;
+	private final int[] childrenStart;
+	private final int[] children;
+	private final int root;
+
+	DDNNF(CNF cnf, byte[] types, int[] values, int[] childrenStart, int[] children, int root) {
+		this.cnf = cnf;
+		this.types = types;
+		this.values = values;
+		this.childrenStart = childrenStart;
+		this.children = children;
+		this.root = root;
+		numberOfVariables = cnf.getVariables().size();
+	}
+
+	/**
+	 * Creates an incomplete d-DNNF for a formula whose compilation was aborted.
+	 *
+	 * @param cnf the formula
+	 */
+	public DDNNF(CNF cnf) {
+		this(cnf, new byte[0], new int[0], new int[1], new int[0], -1);
+	}
+
+	public CNF getCNF() {
+		return cnf;
+	}
+
+	/**
+	 * @return {@code true} if the compilation was successful, {@code false} otherwise. All queries on an incomplete d-DNNF throw an
+	 *         {@link IllegalStateException}.
+	 */
+	public boolean isComplete() {
+		return root >= 0;
+	}
+
+	public int size() {
+		return types.length;
+	}
+
+	/**
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @return the number of satisfying assignments of the formula that are consistent with the given partial assignment
+	 */
+	public BigInteger countSolutions(LiteralSet assumptions) {
+		return computeCounts(convertAssumptions(assumptions))[root];
+	}
+
+	/**
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @return {@code true} if there is a satisfying assignment that is consistent with the given partial assignment
+	 */
+	public boolean isSatisfiable(LiteralSet assumptions) {
+		return computeSatisfiability(convertAssumptions(assumptions))[root];
+	}
+
+	/**
+	 * Computes all literals that are implied by the formula and the given partial assignment (i.e., core and dead features).
+	 *
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @return the implied literals without the assumptions ordered by their variable or {@code null} if the partial assignment is not consistent with the
+	 *         formula
+	 */
+	public LiteralSet getImpliedLiterals(LiteralSet assumptions) {
+		final byte[] assignment = convertAssumptions(assumptions);
+		final boolean[] satisfiable = computeSatisfiability(assignment);
+		if (!satisfiable[root]) {
+			return null;
+		}
+
+		// Mark all nodes that are part of at least one satisfying assignment
+		final boolean[] marked = new boolean[types.length];
+		marked[root] = true;
+		final byte[] possibleValues = new byte[numberOfVariables + 1];
+		for (int i = root; i >= 0; i--) {
+			if (marked[i]) {
+				switch (types[i]) {
+				case LITERAL:
+					possibleValues[Math.abs(values[i])] |= values[i] > 0 ? 1 : 2;
+					break;
+				case FREE:
+					final int variable = values[i];
+					possibleValues[variable] |= assignment[variable] == 0 ? 3 : assignment[variable];
+					break;
+				case AND:
+				case OR:
+					for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+						final int child = children[j];
+						if (satisfiable[child]) {
+							marked[child] = true;
+						}
+					}
+					break;
+				default:
+					throw new IllegalStateException(String.valueOf(types[i]));
+				}
+			}
+		}
+
+		final IInternalVariables internalVariables = cnf.getInternalVariables();
+		final int[] impliedLiterals = new int[numberOfVariables];
+		int count = 0;
+		for (int variable = 1; variable <= numberOfVariables; variable++) {
+			if (assignment[variable] == 0) {
+				switch (possibleValues[variable]) {
+				case 1:
+					impliedLiterals[count++] = internalVariables.convertToOriginal(variable);
+					break;
+				case 2:
+					impliedLiterals[count++] = internalVariables.convertToOriginal(-variable);
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		return new LiteralSet(Arrays.copyOf(impliedLiterals, count), Order.UNORDERED, false);
+	}
+
+	/**
+	 * Returns a uniformly distributed random solution that is consistent with the given partial assignment.
+	 *
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @param random the random number generator
+	 * @return a random solution or {@code null} if there is none
+	 */
+	public LiteralSet getRandomSolution(LiteralSet assumptions, Random random) {
+		final List<LiteralSet> solutions = getRandomSolutions(assumptions, random, 1);
+		return solutions.isEmpty() ? null : solutions.get(0);
+	}
+
+	/**
+	 * Returns uniformly distributed random solutions that are consistent with the given partial assignment. Solutions are drawn independently, thus the result
+	 * may contain duplicates.
+	 *
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @param random the random number generator
+	 * @param numberOfSolutions the number of solutions to draw
+	 * @return a list of random solutions ordered by their variables, which is empty if there is no solution
+	 */
+	public List<LiteralSet> getRandomSolutions(LiteralSet assumptions, Random random, int numberOfSolutions) {
+		final byte[] assignment = convertAssumptions(assumptions);
+		final BigInteger[] counts = computeCounts(assignment);
+		if (counts[root].signum() == 0) {
+			return new ArrayList<>(0);
+		}
+		final IInternalVariables internalVariables = cnf.getInternalVariables();
+		final List<LiteralSet> solutions = new ArrayList<>(numberOfSolutions);
+		final boolean[] selected = new boolean[types.length];
+		final int[] solution = new int[numberOfVariables];
+		for (int s = 0; s < numberOfSolutions; s++) {
+			Arrays.fill(selected, false);
+			selected[root] = true;
+			for (int i = root; i >= 0; i--) {
+				if (selected[i]) {
+					switch (types[i]) {
+					case LITERAL:
+						solution[Math.abs(values[i]) - 1] = values[i];
+						break;
+					case FREE:
+						final int variable = values[i];
+						final boolean value = assignment[variable] == 0 ? random.nextBoolean() : assignment[variable] == 1;
+						solution[variable - 1] = value ? variable : -variable;
+						break;
+					case AND:
+						for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+							selected[children[j]] = true;
+						}
+						break;
+					case OR:
+						BigInteger randomCount = nextRandom(counts[i], random);
+						for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+							final int child = children[j];
+							randomCount = randomCount.subtract(counts[child]);
+							if (randomCount.signum() < 0) {
+								selected[child] = true;
+								break;
+							}
+						}
+						break;
+					default:
+						throw new IllegalStateException(String.valueOf(types[i]));
+					}
+				}
+			}
+			solutions.add(new LiteralSet(internalVariables.convertToOriginal(Arrays.copyOf(solution, solution.length)), Order.UNORDERED, false));
+		}
+		return solutions;
+	}
+
+	/**
+	 * @return a uniformly distributed random number between 0 (inclusive) and the given bound (exclusive)
+	 */
+	private static BigInteger nextRandom(BigInteger bound, Random random) {
+		BigInteger result;
+		do {
+			result = new BigInteger(bound.bitLength(), random);
+		} while (result.compareTo(bound) >= 0);
+		return result;
+	}
+
+	/**
+	 * @return an array that contains for each variable 1 (true), 2 (false), or 0 (unassigned)
+	 */
+	private byte[] convertAssumptions(LiteralSet assumptions) {
+		if (!isComplete()) {
+			throw new IllegalStateException("Compilation of d-DNNF is incomplete");
+		}
+		final byte[] assignment = new byte[numberOfVariables + 1];
+		if (assumptions != null) {
+			for (final int literal : cnf.getInternalVariables().convertToInternal(assumptions.getLiterals())) {
+				if (literal != 0) {
+					final int variable = Math.abs(literal);
+					final byte value = (byte) (literal > 0 ? 1 : 2);
+					if ((assignment[variable] != 0) && (assignment[variable] != value)) {
+						// contradicting assumptions are handled by the literal nodes
+						assignment[variable] = 3;
+					} else {
+						assignment[variable] = value;
+					}
+				}
+			}
+		}
+		return assignment;
+	}
+
+	private boolean[] computeSatisfiability(byte[] assignment) {
+		final boolean[] satisfiable = new boolean[root + 1];
+		for (int i = 0; i <= root; i++) {
+			switch (types[i]) {
+			case LITERAL:
+				satisfiable[i] = isConsistent(values[i], assignment);
+				break;
+			case FREE:
+				satisfiable[i] = assignment[values[i]] != 3;
+				break;
+			case AND:
+				satisfiable[i] = true;
+				for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+					if (!satisfiable[children[j]]) {
+						satisfiable[i] = false;
+						break;
+					}
+				}
+				break;
+			case OR:
+				satisfiable[i] = false;
+				for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+					if (satisfiable[children[j]]) {
+						satisfiable[i] = true;
+						break;
+					}
+				}
+				break;
+			default:
+				throw new IllegalStateException(String.valueOf(types[i]));
+			}
+		}
+		return satisfiable;
+	}
+
+	private BigInteger[] computeCounts(byte[] assignment) {
+		final BigInteger[] counts = new BigInteger[root + 1];
+		final BigInteger two = BigInteger.valueOf(2);
+		for (int i = 0; i <= root; i++) {
+			switch (types[i]) {
+			case LITERAL:
+				counts[i] = isConsistent(values[i], assignment) ? BigInteger.ONE : BigInteger.ZERO;
+				break;
+			case FREE:
+				switch (assignment[values[i]]) {
+				case 0:
+					counts[i] = two;
+					break;
+				case 3:
+					counts[i] = BigInteger.ZERO;
+					break;
+				default:
+					counts[i] = BigInteger.ONE;
+					break;
+				}
+				break;
+			case AND:
+				BigInteger product = BigInteger.ONE;
+				for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+					product = product.multiply(counts[children[j]]);
+					if (product.signum() == 0) {
+						break;
+					}
+				}
+				counts[i] = product;
+				break;
+			case OR:
+				BigInteger sum = BigInteger.ZERO;
+				for (int j = childrenStart[i]; j < childrenStart[i + 1]; j++) {
+					sum = sum.add(counts[children[j]]);
+				}
+				counts[i] = sum;
+				break;
+			default:
+				throw new IllegalStateException(String.valueOf(types[i]));
+			}
+		}
+		return counts;
+	}
+
+	private static boolean isConsistent(int literal, byte[] assignment) {
+		final byte value = assignment[Math.abs(literal)];
+		return (value == 0) || (value == (literal > 0 ? 1 : 2));
+	}
+
+}
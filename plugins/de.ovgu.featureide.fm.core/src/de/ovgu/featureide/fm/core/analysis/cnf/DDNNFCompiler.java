@@ -0,0 +1,177 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Compiles a {@link CNF} into a {@link DDNNF}.<br> <br> The compiler records the trace of the exhaustive search of the {@link ModelCounter}. Each decision
+ * results in an OR node and each branch in an AND node of its assigned literals, free variables, and independent components. Cached components are shared
+ * between their parents.
+ *
+ * @author Sebastian Krieter
+ */
+public class DDNNFCompiler extends AComponentSearch<Integer> {
+
+	private static final int FALSE = 0;
+	private static final int TRUE = 1;
+
+	private byte[] types;
+	private int[] values;
+	private int[] childrenStart;
+	private int[] children;
+	private int nodeCount;
+	private int childrenCount;
+
+	private int[] literalNodes;
+	private int[] freeNodes;
+
+	public DDNNFCompiler(CNF cnf) {
+		this(cnf, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param cnf the formula
+	 * @param cacheSize the maximum number of cached components
+	 */
+	public DDNNFCompiler(CNF cnf, int cacheSize) {
+		super(cnf, cacheSize);
+	}
+
+	/**
+	 * @return the compiled formula
+	 *
+	 * @throws RuntimeTimeoutException if the timeout is reached
+	 */
+	public DDNNF compile() {
+		return compile(null);
+	}
+
+	/**
+	 * @param monitor the monitor used to check for cancel requests (may be {@code null})
+	 * @return the compiled formula
+	 *
+	 * @throws RuntimeTimeoutException if the timeout is reached
+	 */
+	public DDNNF compile(IMonitor<?> monitor) {
+		clearCache();
+		types = new byte[1024];
+		values = new int[1024];
+		childrenStart = new int[1025];
+		children = new int[1024];
+		nodeCount = 0;
+		childrenCount = 0;
+		literalNodes = new int[(numberOfVariables << 1) + 2];
+		freeNodes = new int[numberOfVariables + 1];
+		Arrays.fill(literalNodes, -1);
+		Arrays.fill(freeNodes, -1);
+
+		addNode(DDNNF.OR, 0, new int[0]);
+		addNode(DDNNF.AND, 0, new int[0]);
+		try {
+			final int root = search(null, monitor);
+			return new DDNNF(cnf, Arrays.copyOf(types, nodeCount), Arrays.copyOf(values, nodeCount), Arrays.copyOf(childrenStart, nodeCount + 1),
+					Arrays.copyOf(children, childrenCount), root);
+		} finally {
+			clearCache();
+			types = null;
+			values = null;
+			childrenStart = null;
+			children = null;
+			literalNodes = null;
+			freeNodes = null;
+		}
+	}
+
+	@Override
+	protected Integer zero() {
+		return FALSE;
+	}
+
+	@Override
+	protected boolean isZero(Integer result) {
+		return result == FALSE;
+	}
+
+	@Override
+	protected Integer branch(int[] literals, int[] freeVariables, List<Integer> components) {
+		final int[] branchChildren = new int[literals.length + freeVariables.length + components.size()];
+		int index = 0;
+		for (final int literal : literals) {
+			final int literalIndex = literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+			if (literalNodes[literalIndex] < 0) {
+				literalNodes[literalIndex] = addNode(DDNNF.LITERAL, literal, new int[0]);
+			}
+			branchChildren[index++] = literalNodes[literalIndex];
+		}
+		for (final int variable : freeVariables) {
+			if (freeNodes[variable] < 0) {
+				freeNodes[variable] = addNode(DDNNF.FREE, variable, new int[0]);
+			}
+			branchChildren[index++] = freeNodes[variable];
+		}
+		for (final int component : components) {
+			branchChildren[index++] = component;
+		}
+		switch (branchChildren.length) {
+		case 0:
+			return TRUE;
+		case 1:
+			return branchChildren[0];
+		default:
+			return addNode(DDNNF.AND, 0, branchChildren);
+		}
+	}
+
+	@Override
+	protected Integer decision(int variable, Integer positive, Integer negative) {
+		if (positive == FALSE) {
+			return negative;
+		} else if (negative == FALSE) {
+			return positive;
+		} else {
+			return addNode(DDNNF.OR, variable, new int[] { positive, negative });
+		}
+	}
+
+	private int addNode(byte type, int value, int[] nodeChildren) {
+		if (nodeCount == types.length) {
+			final int newSize = types.length << 1;
+			types = Arrays.copyOf(types, newSize);
+			values = Arrays.copyOf(values, newSize);
+			childrenStart = Arrays.copyOf(childrenStart, newSize + 1);
+		}
+		if ((childrenCount + nodeChildren.length) > children.length) {
+			children = Arrays.copyOf(children, Math.max(children.length << 1, childrenCount + nodeChildren.length));
+		}
+		System.arraycopy(nodeChildren, 0, children, childrenCount, nodeChildren.length);
+		childrenCount += nodeChildren.length;
+		types[nodeCount] = type;
+		values[nodeCount] = value;
+		childrenStart[nodeCount + 1] = childrenCount;
+		return nodeCount++;
+	}
+
+}
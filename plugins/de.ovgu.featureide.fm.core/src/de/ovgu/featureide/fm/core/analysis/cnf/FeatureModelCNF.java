@@ -21,10 +21,23 @@
 package de.ovgu.featureide.fm.core.analysis.cnf;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseOrigin.OriginType;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelElement;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+import de.ovgu.featureide.fm.core.editing.FeatureModelToNodeTraceModel;
+import de.ovgu.featureide.fm.core.editing.FeatureModelToNodeTraceModel.FeatureModelElementTrace;
 
 /**
  * Represents an instance of a satisfiability problem in CNF.
@@ -41,6 +54,8 @@ public class FeatureModelCNF extends CNF {
 
 	protected final boolean useOldNames;
 
+	private transient Map<LiteralSet, ClauseOrigin> originMap;
+
 	public FeatureModelCNF(IFeatureModel featureModel) {
 		this(featureModel, false);
 	}
@@ -61,4 +76,66 @@ public class FeatureModelCNF extends CNF {
 		this(oldSatInstance, true);
 	}
 
+	/**
+	 * Returns the element of the feature model from which the given clause was created. The origins are computed from a trace of the feature model when this
+	 * method is called for the first time.
+	 *
+	 * @param clause the clause
+	 * @return the origin of the clause or an origin of type {@link OriginType#Derived} if the clause was not directly created from the feature model (e.g., by
+	 *         slicing)
+	 */
+	public synchronized ClauseOrigin getOrigin(LiteralSet clause) {
+		if (originMap == null) {
+			originMap = computeOrigins();
+		}
+		final ClauseOrigin origin = originMap.get(new LiteralSet(clause, Order.NATURAL));
+		return origin != null ? origin : new ClauseOrigin(OriginType.Derived, null);
+	}
+
+	private Map<LiteralSet, ClauseOrigin> computeOrigins() {
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(featureModel);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		nodeCreator.setUseOldNames(useOldNames);
+		nodeCreator.setRecordTraceModel(true);
+		final Node[] clauseNodes = nodeCreator.createNodes().getChildren();
+		final FeatureModelToNodeTraceModel traceModel = nodeCreator.getTraceModel();
+
+		final Map<LiteralSet, ClauseOrigin> origins = new HashMap<>();
+		for (int i = 0; i < clauseNodes.length; i++) {
+			final ClauseOrigin origin = getOrigin(traceModel.getTrace(i));
+			for (final LiteralSet clause : Nodes.convert(getVariables(), clauseNodes[i])) {
+				origins.putIfAbsent(new LiteralSet(clause, Order.NATURAL), origin);
+			}
+		}
+		return origins;
+	}
+
+	private static ClauseOrigin getOrigin(FeatureModelElementTrace trace) {
+		switch (trace.getOrigin()) {
+		case ROOT:
+			return new ClauseOrigin(OriginType.Root, trace.getElement());
+		case CONSTRAINT:
+			return new ClauseOrigin(OriginType.Constraint, trace.getElement());
+		case CHILD_UP:
+			return new ClauseOrigin(OriginType.ParentChild, trace.getElement());
+		case CHILD_DOWN: {
+			final IFeatureStructure structure = ((IFeature) trace.getElement()).getStructure();
+			if (structure.isAnd()) {
+				return new ClauseOrigin(OriginType.Mandatory, trace.getElement());
+			} else if (structure.isOr()) {
+				return new ClauseOrigin(OriginType.Or, trace.getElement());
+			} else {
+				return new ClauseOrigin(OriginType.Alternative, trace.getElement());
+			}
+		}
+		case CHILD_HORIZONTAL: {
+			final IFeatureModelElement child = trace.getElements().iterator().next();
+			return new ClauseOrigin(OriginType.Alternative, ((IFeature) child).getStructure().getParent().getFeature());
+		}
+		default:
+			return new ClauseOrigin(OriginType.Derived, null);
+		}
+	}
+
 }
@@ -0,0 +1,104 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Counts the number of satisfying assignments of a {@link CNF} (#SAT).<br> <br> The counter performs an exhaustive DPLL search with unit propagation. After
+ * each decision, the remaining clauses are split into independent components, whose counts are multiplied. The count of each component is cached using its
+ * residual clauses as key. As the key does not depend on the current assignment, the cache is reused by subsequent calls of {@link #count(LiteralSet)}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ModelCounter extends AComponentSearch<BigInteger> {
+
+	public ModelCounter(CNF cnf) {
+		this(cnf, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param cnf the formula
+	 * @param cacheSize the maximum number of cached component counts
+	 */
+	public ModelCounter(CNF cnf, int cacheSize) {
+		super(cnf, cacheSize);
+	}
+
+	/**
+	 * @return the number of satisfying assignments of the formula
+	 *
+	 * @throws RuntimeTimeoutException if the timeout is reached
+	 */
+	public BigInteger count() {
+		return count(null, null);
+	}
+
+	/**
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @return the number of satisfying assignments of the formula that are consistent with the given partial assignment
+	 *
+	 * @throws RuntimeTimeoutException if the timeout is reached
+	 */
+	public BigInteger count(LiteralSet assumptions) {
+		return count(assumptions, null);
+	}
+
+	/**
+	 * @param assumptions a partial assignment (may be {@code null})
+	 * @param monitor the monitor used to check for cancel requests (may be {@code null})
+	 * @return the number of satisfying assignments of the formula that are consistent with the given partial assignment
+	 *
+	 * @throws RuntimeTimeoutException if the timeout is reached
+	 */
+	public BigInteger count(LiteralSet assumptions, IMonitor<?> monitor) {
+		return search(assumptions, monitor);
+	}
+
+	@Override
+	protected BigInteger zero() {
+		return BigInteger.ZERO;
+	}
+
+	@Override
+	protected boolean isZero(BigInteger result) {
+		return result.signum() == 0;
+	}
+
+	@Override
+	protected BigInteger branch(int[] literals, int[] freeVariables, List<BigInteger> components) {
+		BigInteger result = BigInteger.ONE.shiftLeft(freeVariables.length);
+		for (final BigInteger componentCount : components) {
+			result = result.multiply(componentCount);
+		}
+		return result;
+	}
+
+	@Override
+	protected BigInteger decision(int variable, BigInteger positive, BigInteger negative) {
+		return positive.add(negative);
+	}
+
+}
@@ -21,6 +21,11 @@
 package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.sat4j.core.VecInt;
 import org.sat4j.specs.IteratorInt;
@@ -35,12 +40,20 @@ import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionExcept
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Finds core and dead features.
+ * Finds core and dead features.<br> <br> Optionally, the variables can be tested in parallel by a pool of independent solvers (see
+ * {@link #setParallelism(int)}).
  *
  * @author Sebastian Krieter
  */
 public class CoreDeadAnalysis extends AVariableAnalysis<LiteralSet> {
 
+	/**
+	 * Minimum number of candidate variables that a single parallel task tests before it is split further.
+	 */
+	private static final int MIN_TASK_SIZE = 16;
+
+	private int parallelism = 1;
+
 	public CoreDeadAnalysis(ISatSolver solver) {
 		this(solver, null);
 	}
@@ -61,7 +74,22 @@ public class CoreDeadAnalysis extends AVariableAnalysis<LiteralSet> {
 
 	@Override
 	public LiteralSet analyze(IMonitor<LiteralSet> monitor) throws Exception {
-		return analyze1(monitor);
+		return parallelism > 1 ? analyzeParallel(monitor) : analyze1(monitor);
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of solvers that test variables concurrently. A value greater than 1 enables the parallel mode.<br> <br> <b>Note:</b> The workers use
+	 * {@link ISatSolver#clone() clones} of the solver, which only contain the clauses of its {@link CNF} and the current assignment. Thus, the parallel mode
+	 * should only be used, if no other clauses were added to the solver.
+	 *
+	 * @param parallelism the number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
 	}
 
 	@Override
@@ -240,4 +268,248 @@ public class CoreDeadAnalysis extends AVariableAnalysis<LiteralSet> {
 		return new LiteralSet(solver.getAssignmentArray(initialAssignmentLength, solver.getAssignmentSize()));
 	}
 
+	/**
+	 * Parallel version of {@link #analyze1(IMonitor)}. The candidate variables, which are derived from two initial solutions, are partitioned and tested by a
+	 * fork-join pool. Each worker thread uses its own solver. Solutions found by a worker immediately remove candidates from all partitions, and each core or
+	 * dead literal found by a worker is added as unit clause to the assignments of all other workers. The result is equal to the result of the sequential
+	 * analysis.
+	 *
+	 * @param monitor the monitor
+	 * @return the core and dead literals
+	 * @throws Exception if the analysis fails
+	 */
+	public LiteralSet analyzeParallel(IMonitor<LiteralSet> monitor) throws Exception {
+		final ISatSolver firstWorkerSolver;
+		try {
+			firstWorkerSolver = solver.clone();
+		} catch (final RuntimeException e) {
+			// Solver does not support cloning
+			return analyze1(monitor);
+		}
+
+		final int initialAssignmentLength = solver.getAssignmentSize();
+		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
+		int[] model1 = solver.findSolution();
+
+		if (model1 != null) {
+			solver.setSelectionStrategy(SelectionStrategy.NEGATIVE);
+			final int[] model2 = solver.findSolution();
+
+			if (variables != null) {
+				final int[] model3 = new int[model1.length];
+				for (int i = 0; i < variables.getLiterals().length; i++) {
+					final int index = variables.getLiterals()[i] - 1;
+					if (index >= 0) {
+						model3[index] = model1[index];
+					}
+				}
+				model1 = model3;
+			}
+
+			for (int i = 0; i < initialAssignmentLength; i++) {
+				model1[Math.abs(solver.assignmentGet(i)) - 1] = 0;
+			}
+
+			LiteralSet.resetConflicts(model1, model2);
+			final boolean min =
+				model1.length > (new LiteralSet(model2, Order.INDEX, false).countNegative() + new LiteralSet(model1, Order.INDEX, false).countNegative());
+
+			final ParallelState state = new ParallelState(model1, min, monitor);
+			state.addWorker(state.createWorker(firstWorkerSolver));
+
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				pool.invoke(new CandidateTask(state, 0, state.candidateIndices.length));
+			} finally {
+				pool.shutdownNow();
+			}
+
+			final int[] foundLiterals = state.getFoundLiterals();
+			final int[] sortedLiterals = new int[model1.length];
+			for (final int literal : foundLiterals) {
+				sortedLiterals[Math.abs(literal) - 1] = literal;
+			}
+			for (final int literal : sortedLiterals) {
+				if (literal != 0) {
+					solver.assignmentPush(literal);
+				}
+			}
+		}
+
+		return new LiteralSet(solver.getAssignmentArray(initialAssignmentLength, solver.getAssignmentSize()));
+	}
+
+	/**
+	 * Data shared by all workers of a parallel analysis.
+	 */
+	private final class ParallelState {
+
+		private final AtomicIntegerArray candidates;
+		private final int[] candidateIndices;
+		private final int[] initialModel;
+		private final boolean min;
+		private final IMonitor<LiteralSet> monitor;
+
+		private final ConcurrentLinkedQueue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+
+		private int[] foundLiterals;
+		private int foundLiteralsCount = 0;
+
+		private ParallelState(int[] model, boolean min, IMonitor<LiteralSet> monitor) {
+			initialModel = Arrays.copyOf(model, model.length);
+			candidates = new AtomicIntegerArray(model);
+			this.min = min;
+			this.monitor = monitor;
+
+			int count = 0;
+			for (final int literal : model) {
+				if (literal != 0) {
+					count++;
+				}
+			}
+			candidateIndices = new int[count];
+			for (int i = 0, j = 0; i < model.length; i++) {
+				if (model[i] != 0) {
+					candidateIndices[j++] = i;
+				}
+			}
+			foundLiterals = new int[Math.min(16, count)];
+		}
+
+		private synchronized Worker createWorker() {
+			return createWorker(solver.clone());
+		}
+
+		private synchronized Worker createWorker(ISatSolver workerSolver) {
+			return new Worker(workerSolver, Arrays.copyOf(initialModel, initialModel.length), min, new Random(getRandom().nextLong()));
+		}
+
+		private Worker acquireWorker() {
+			final Worker worker = idleWorkers.poll();
+			return worker != null ? worker : createWorker();
+		}
+
+		private void addWorker(Worker worker) {
+			idleWorkers.offer(worker);
+		}
+
+		private void resetConflicts(int[] solution) {
+			for (final int index : candidateIndices) {
+				final int literal = candidates.get(index);
+				if ((literal != 0) && (literal != solution[index])) {
+					candidates.set(index, 0);
+				}
+			}
+		}
+
+		private synchronized void addFoundLiteral(int literal) {
+			if (foundLiteralsCount == foundLiterals.length) {
+				foundLiterals = Arrays.copyOf(foundLiterals, Math.max(1, foundLiterals.length << 1));
+			}
+			foundLiterals[foundLiteralsCount++] = literal;
+			monitor.invoke(new LiteralSet(literal));
+		}
+
+		private synchronized int[] getFoundLiterals(int from) {
+			return Arrays.copyOfRange(foundLiterals, from, foundLiteralsCount);
+		}
+
+		private synchronized int[] getFoundLiterals() {
+			return Arrays.copyOf(foundLiterals, foundLiteralsCount);
+		}
+
+	}
+
+	/**
+	 * A solver used by one worker thread at a time.
+	 */
+	private static final class Worker {
+
+		private final ISatSolver solver;
+		private final int[] model;
+		private final Random random;
+		private int knownLiterals = 0;
+
+		private Worker(ISatSolver solver, int[] model, boolean min, Random random) {
+			this.solver = solver;
+			this.model = model;
+			this.random = random;
+			solver.setSelectionStrategy(model, min);
+		}
+
+		private void update(ParallelState state) {
+			final int[] newLiterals = state.getFoundLiterals(knownLiterals);
+			if (newLiterals.length > 0) {
+				solver.assignmentPushAll(newLiterals);
+				knownLiterals += newLiterals.length;
+			}
+		}
+
+	}
+
+	/**
+	 * Tests a range of candidate variables and splits itself if the range is large enough.
+	 */
+	private final class CandidateTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 6542213957815163442L;
+
+		private final ParallelState state;
+		private final int start, end;
+
+		private CandidateTask(ParallelState state, int start, int end) {
+			this.state = state;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			final int length = end - start;
+			if ((length > MIN_TASK_SIZE) && (length > (state.candidateIndices.length / (parallelism << 2)))) {
+				final int middle = start + (length >> 1);
+				invokeAll(new CandidateTask(state, start, middle), new CandidateTask(state, middle, end));
+			} else {
+				final Worker worker = state.acquireWorker();
+				try {
+					test(worker);
+				} finally {
+					state.addWorker(worker);
+				}
+			}
+		}
+
+		private void test(Worker worker) {
+			final ISatSolver workerSolver = worker.solver;
+			for (int i = start; i < end; i++) {
+				final int index = state.candidateIndices[i];
+				final int varX = state.candidates.get(index);
+				if (varX != 0) {
+					state.monitor.checkCancel();
+					worker.update(state);
+					workerSolver.assignmentPush(-varX);
+					switch (workerSolver.hasSolution()) {
+					case FALSE:
+						workerSolver.assignmentPop();
+						state.candidates.set(index, 0);
+						state.addFoundLiteral(varX);
+						break;
+					case TIMEOUT:
+						workerSolver.assignmentPop();
+						reportTimeout();
+						break;
+					case TRUE:
+						workerSolver.assignmentPop();
+						final int[] solution = workerSolver.getSolution();
+						LiteralSet.resetConflicts(worker.model, solution);
+						state.resetConflicts(solution);
+						workerSolver.shuffleOrder(worker.random);
+						break;
+					}
+				}
+			}
+		}
+
+	}
+
 }
@@ -20,16 +20,22 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
 
+import java.math.BigInteger;
+
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.ModelCounter;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Attempts to count the number of possible solutions of a given {@link CNF}.
+ * Attempts to count the number of possible solutions of a given {@link CNF}.<br> <br> The solutions are counted by a {@link ModelCounter} using the
+ * {@link CNF} of the solver and its current assignment (additional clauses of the solver are not considered). If the counter reaches the timeout, the solutions
+ * are enumerated by the solver instead to compute a lower bound.
  *
  * @author Sebastian Krieter
  */
@@ -45,6 +51,17 @@ public class CountSolutionsAnalysis extends AbstractAnalysis<Long> {
 
 	@Override
 	public Long analyze(IMonitor<Long> monitor) throws Exception {
+		final ModelCounter modelCounter = new ModelCounter(solver.getSatInstance());
+		modelCounter.setTimeout(getTimeout());
+		try {
+			final BigInteger solutionCount = modelCounter.count(new LiteralSet(solver.getAssignmentArray()), monitor);
+			return solutionCount.bitLength() < Long.SIZE ? solutionCount.longValue() : -Long.MAX_VALUE;
+		} catch (final RuntimeTimeoutException e) {
+			return enumerateSolutions();
+		}
+	}
+
+	private long enumerateSolutions() {
 		solver.setGlobalTimeout(true);
 		long solutionCount = 0;
 		SatResult hasSolution = solver.hasSolution();
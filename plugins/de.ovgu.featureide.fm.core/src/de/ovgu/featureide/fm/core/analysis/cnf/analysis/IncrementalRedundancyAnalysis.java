@@ -0,0 +1,398 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds redundant clauses with respect to a given {@link CNF}. Uses the same definition of redundancy as {@link RemoveRedundancyAnalysis}, but all clauses
+ * are added only once to a single solver. Each clause is extended by a selector variable, which (de-)activates the clause by an assumption, such that no clause
+ * has to be removed or re-added and learned clauses remain valid. In particular, unit clauses can be deactivated like any other clause.<br> <br> In parallel
+ * mode (see {@link #setParallelism(int)}), each clause is first checked against all other clauses by multiple solvers. Clauses that are not redundant with
+ * respect to all other clauses cannot be redundant with respect to a subset of them and are thus skipped afterwards. Then, the clause groups are checked in
+ * their given order, as in {@link RemoveRedundancyAnalysis}.<br> <br> Clauses that are already implied by the strong edges or core features of a
+ * {@link ModalImplicationGraph} of the given {@link CNF} are redundant without calling the solver. If no graph is set (see
+ * {@link #setModalImplicationGraph(ModalImplicationGraph)}), the binary and unit clauses of the {@link CNF} are used.
+ *
+ * @author Sebastian Krieter
+ *
+ * @see RemoveRedundancyAnalysis
+ */
+public class IncrementalRedundancyAnalysis extends AClauseAnalysis<List<LiteralSet>> {
+
+	private static final String SELECTOR_PREFIX = "__selector_";
+
+	/**
+	 * Minimum number of clauses that a single parallel task checks.
+	 */
+	private static final int MIN_TASK_SIZE = 8;
+
+	private int parallelism = 1;
+
+	private ModalImplicationGraph modalImplicationGraph;
+
+	public IncrementalRedundancyAnalysis(CNF satInstance) {
+		super(satInstance);
+	}
+
+	public IncrementalRedundancyAnalysis(ISatSolver solver) {
+		super(solver);
+	}
+
+	public IncrementalRedundancyAnalysis(CNF satInstance, List<LiteralSet> clauseList) {
+		super(satInstance);
+		this.clauseList = clauseList;
+	}
+
+	public IncrementalRedundancyAnalysis(ISatSolver solver, List<LiteralSet> clauseList) {
+		super(solver);
+		this.clauseList = clauseList;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of solvers that check clauses concurrently in the first phase of the analysis. A value greater than 1 enables the parallel mode.
+	 *
+	 * @param parallelism the number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public ModalImplicationGraph getModalImplicationGraph() {
+		return modalImplicationGraph;
+	}
+
+	/**
+	 * Sets a graph that is used to find redundant clauses without calling the solver. The graph must be built from the {@link CNF} of this analysis (e.g., the
+	 * feature tree), but must not contain the analyzed clauses.
+	 *
+	 * @param modalImplicationGraph the graph (may be {@code null})
+	 */
+	public void setModalImplicationGraph(ModalImplicationGraph modalImplicationGraph) {
+		this.modalImplicationGraph = modalImplicationGraph;
+	}
+
+	@Override
+	public List<LiteralSet> analyze(IMonitor<List<LiteralSet>> monitor) throws Exception {
+		if (clauseList == null) {
+			return Collections.emptyList();
+		}
+		if (clauseGroupSize == null) {
+			clauseGroupSize = new int[clauseList.size()];
+			Arrays.fill(clauseGroupSize, 1);
+		}
+		monitor.setRemainingWork(clauseGroupSize.length + 2);
+
+		final List<LiteralSet> resultList = new ArrayList<>(clauseGroupSize.length);
+		for (int i = 0; i < clauseGroupSize.length; i++) {
+			resultList.add(null);
+		}
+
+		final CNF satInstance = solver.getSatInstance();
+		final int[] selectors = new int[clauseList.size()];
+		final AdvancedSatSolver selectorSolver = new AdvancedSatSolver(createSelectorCNF(satInstance, selectors));
+		selectorSolver.setTimeout(getTimeout());
+		final boolean[] implied = getImpliedClauses(satInstance);
+		monitor.step();
+
+		final boolean[] candidates;
+		if (parallelism > 1) {
+			candidates = getCandidatesParallel(selectorSolver, selectors, implied);
+		} else {
+			// Without parallelism the first phase does not pay off, since each candidate is checked again in the second phase.
+			candidates = new boolean[selectors.length];
+			Arrays.fill(candidates, true);
+		}
+		monitor.step();
+
+		// Selectors of clauses that are already decided are fixed by unit clauses, such that only the remaining selectors must be assumed.
+		boolean contradiction = false;
+		int endIndex = 0;
+		for (int i = 0; i < clauseGroupSize.length; i++) {
+			final int startIndex = endIndex;
+			endIndex += clauseGroupSize[i];
+			boolean containsCandidate = false;
+			for (int j = startIndex; j < endIndex; j++) {
+				if (candidates[j]) {
+					containsCandidate = true;
+					break;
+				}
+			}
+
+			if (contradiction) {
+				resultList.set(i, clauseList.get(startIndex));
+			} else if (containsCandidate) {
+				final int[] activeSelectors = Arrays.copyOfRange(selectors, startIndex, selectors.length);
+				for (int j = startIndex; j < endIndex; j++) {
+					activeSelectors[j - startIndex] = -selectors[j];
+				}
+				boolean completelyRedundant = true;
+				for (int j = startIndex; j < endIndex; j++) {
+					final boolean redundant = candidates[j] && (implied[j] || isRedundant(selectorSolver, activeSelectors, (j - startIndex) + 1, j));
+					completelyRedundant &= redundant;
+					contradiction = !fixSelector(selectorSolver, redundant ? -selectors[j] : selectors[j]);
+					if (contradiction) {
+						break;
+					}
+				}
+				if (completelyRedundant) {
+					resultList.set(i, clauseList.get(startIndex));
+				}
+			} else {
+				for (int j = startIndex; j < endIndex && !contradiction; j++) {
+					contradiction = !fixSelector(selectorSolver, selectors[j]);
+				}
+			}
+			monitor.step();
+		}
+
+		return resultList;
+	}
+
+	private CNF createSelectorCNF(CNF satInstance, int[] selectors) {
+		final IVariables variables = satInstance.getVariables();
+		final int numberOfVariables = variables.maxVariableID();
+		final List<String> names = new ArrayList<>(numberOfVariables + selectors.length);
+		for (int i = 1; i <= numberOfVariables; i++) {
+			names.add(variables.getName(i));
+		}
+		final List<LiteralSet> clauses = new ArrayList<>(satInstance.getClauses().size() + selectors.length);
+		clauses.addAll(satInstance.getClauses());
+		for (int i = 0; i < selectors.length; i++) {
+			names.add(SELECTOR_PREFIX + i);
+			selectors[i] = numberOfVariables + i + 1;
+
+			final int[] literals = clauseList.get(i).getLiterals();
+			final int[] selectorClause = Arrays.copyOf(literals, literals.length + 1);
+			selectorClause[literals.length] = -selectors[i];
+			clauses.add(new LiteralSet(selectorClause));
+		}
+		return new CNF(new Variables(names), clauses);
+	}
+
+	/**
+	 * Checks each clause against all other clauses. Clauses that are not redundant in this case are never redundant in the second phase.
+	 */
+	private boolean[] getCandidates(AdvancedSatSolver selectorSolver, int[] selectors, boolean[] implied, int start, int end) {
+		final boolean[] candidates = new boolean[selectors.length];
+		final int[] activeSelectors = Arrays.copyOf(selectors, selectors.length);
+		for (int i = start; i < end; i++) {
+			if (implied[i]) {
+				candidates[i] = true;
+			} else {
+				activeSelectors[i] = -selectors[i];
+				candidates[i] = isRedundant(selectorSolver, activeSelectors, 0, i);
+				activeSelectors[i] = selectors[i];
+			}
+		}
+		return candidates;
+	}
+
+	private boolean[] getCandidatesParallel(AdvancedSatSolver selectorSolver, int[] selectors, boolean[] implied) throws Exception {
+		final int taskCount = Math.max(1, Math.min(parallelism, selectors.length / MIN_TASK_SIZE));
+		final boolean[] candidates = new boolean[selectors.length];
+		final ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			final List<Callable<boolean[]>> tasks = new ArrayList<>(taskCount);
+			for (int i = 0; i < taskCount; i++) {
+				final int start = (int) (((long) selectors.length * i) / taskCount);
+				final int end = (int) (((long) selectors.length * (i + 1)) / taskCount);
+				final AdvancedSatSolver workerSolver = i == 0 ? selectorSolver : selectorSolver.clone();
+				workerSolver.setTimeout(getTimeout());
+				tasks.add(() -> getCandidates(workerSolver, selectors, implied, start, end));
+			}
+			for (final Future<boolean[]> future : pool.invokeAll(tasks)) {
+				final boolean[] taskCandidates = getResult(future);
+				for (int i = 0; i < candidates.length; i++) {
+					candidates[i] |= taskCandidates[i];
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return candidates;
+	}
+
+	private static <T> T getResult(Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : e;
+		}
+	}
+
+	private static boolean fixSelector(AdvancedSatSolver selectorSolver, int selectorLiteral) {
+		try {
+			selectorSolver.addClause(new LiteralSet(selectorLiteral));
+			return true;
+		} catch (final RuntimeContradictionException e) {
+			return false;
+		}
+	}
+
+	private boolean isRedundant(AdvancedSatSolver selectorSolver, int[] activeSelectors, int from, int clauseIndex) {
+		final int[] complement = clauseList.get(clauseIndex).negate().getLiterals();
+		final int[] assumptions = new int[(activeSelectors.length - from) + complement.length];
+		System.arraycopy(complement, 0, assumptions, 0, complement.length);
+		System.arraycopy(activeSelectors, from, assumptions, complement.length, activeSelectors.length - from);
+
+		final SatResult hasSolution = selectorSolver.hasSolution(assumptions);
+		switch (hasSolution) {
+		case FALSE:
+			return true;
+		case TIMEOUT:
+			reportTimeout();
+			return false;
+		case TRUE:
+			return false;
+		default:
+			throw new AssertionError(hasSolution);
+		}
+	}
+
+	/**
+	 * Finds all clauses that are implied by the strong edges and core features of the implication graph.
+	 */
+	private boolean[] getImpliedClauses(CNF satInstance) {
+		final ModalImplicationGraph graph = modalImplicationGraph != null ? modalImplicationGraph : createImplicationGraph(satInstance);
+		final int numberOfVariables = graph.getAdjList().size() / 2;
+
+		final boolean[] marks = new boolean[2 * (numberOfVariables + 1)];
+		final ArrayDeque<Integer> stack = new ArrayDeque<>();
+		final boolean[] coreLiterals = new boolean[marks.length];
+		for (final Vertex vertex : graph.getAdjList()) {
+			if (vertex.isCore()) {
+				stack.push(vertex.getVar());
+			}
+		}
+		markImplied(graph, stack, coreLiterals);
+
+		final boolean[] implied = new boolean[clauseList.size()];
+		clauseLoop: for (int i = 0; i < implied.length; i++) {
+			final int[] literals = clauseList.get(i).getLiterals();
+			for (final int literal : literals) {
+				if (Math.abs(literal) > numberOfVariables) {
+					continue clauseLoop;
+				}
+			}
+			for (final int literal : literals) {
+				if (coreLiterals[getIndex(literal)]) {
+					implied[i] = true;
+					continue clauseLoop;
+				}
+			}
+			for (final int literal : literals) {
+				Arrays.fill(marks, false);
+				stack.push(-literal);
+				markImplied(graph, stack, marks);
+				for (final int otherLiteral : literals) {
+					if (marks[getIndex(otherLiteral)]) {
+						implied[i] = true;
+						continue clauseLoop;
+					}
+				}
+			}
+		}
+		return implied;
+	}
+
+	private static void markImplied(ModalImplicationGraph graph, ArrayDeque<Integer> stack, boolean[] marks) {
+		while (!stack.isEmpty()) {
+			final int literal = stack.pop();
+			final int index = getIndex(literal);
+			if (!marks[index]) {
+				marks[index] = true;
+				final int[] strongEdges = graph.getVertex(literal).getStrongEdges();
+				if (strongEdges != null) {
+					for (final int strongEdge : strongEdges) {
+						stack.push(strongEdge);
+					}
+				}
+			}
+		}
+	}
+
+	private static int getIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+	}
+
+	/**
+	 * Creates a graph that only contains the unit and binary clauses of the given {@link CNF}, without computing their transitive closure.
+	 */
+	private static ModalImplicationGraph createImplicationGraph(CNF satInstance) {
+		final int numberOfVariables = satInstance.getVariables().maxVariableID();
+		final List<Vertex> vertices = new ArrayList<>(2 * numberOfVariables);
+		for (int var = 1; var <= numberOfVariables; var++) {
+			vertices.add(createVertex(-var, vertices.size()));
+			vertices.add(createVertex(var, vertices.size()));
+		}
+		final ModalImplicationGraph graph = new ModalImplicationGraph(vertices, Collections.<LiteralSet> emptyList());
+		for (final LiteralSet clause : satInstance.getClauses()) {
+			switch (clause.size()) {
+			case 1:
+				final int literal = clause.getLiterals()[0];
+				graph.getVertex(literal).setCore(true);
+				graph.getVertex(-literal).setDead(true);
+				break;
+			case 2:
+				graph.addClause(clause);
+				break;
+			default:
+				break;
+			}
+		}
+		return graph;
+	}
+
+	private static Vertex createVertex(int literal, int id) {
+		final Vertex vertex = new Vertex(literal);
+		vertex.setId(id);
+		vertex.setStrongEdges(new int[0]);
+		vertex.setComplexClauses(new int[0]);
+		return vertex;
+	}
+
+}
@@ -20,9 +20,14 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+
 /**
  * Abstract creator to derive an element from a {@link FeatureModelFormula feature model}.
  *
@@ -41,7 +46,14 @@ public abstract class ACreator<T> {
 		lock.lock();
 		try {
 			if (formulaElement == null) {
-				formulaElement = create();
+				formulaElement = formula.loadElement(this);
+				if (formulaElement == null) {
+					formulaElement = formula.updateElement(this);
+					if (formulaElement == null) {
+						formulaElement = create();
+						formula.storeElement(this, formulaElement);
+					}
+				}
 			}
 			return formulaElement;
 		} finally {
@@ -54,8 +66,74 @@ public abstract class ACreator<T> {
 		this.lock = new ReentrantLock();
 	}
 
+	/**
+	 * @return the element, if it was already created, {@code null} otherwise or if it is currently being created
+	 */
+	T getCachedElement() {
+		if (lock.tryLock()) {
+			try {
+				return formulaElement;
+			} finally {
+				lock.unlock();
+			}
+		}
+		return null;
+	}
+
 	protected abstract T create();
 
+	/**
+	 * Derives the element from the element of a previous version of the feature model. Subclasses can override this method, if the element can be patched
+	 * more efficiently than creating it from scratch.
+	 *
+	 * @param oldElement the element of the previous version
+	 * @param delta the changes between the previous and the current version
+	 * @return the updated element or {@code null}, if the element must be created from scratch
+	 *
+	 * @see FeatureModelFormula#FeatureModelFormula(IFeatureModel, FeatureModelFormula)
+	 */
+	protected T update(T oldElement, FormulaDelta delta) {
+		return null;
+	}
+
+	/**
+	 * Returns whether the elements of this creator can be stored in a {@link FormulaCache}. Subclasses that return {@code true} must also implement
+	 * {@link #writeElement(Object, DataOutput)} and {@link #readElement(ByteBuffer)}.
+	 *
+	 * @return {@code true}, if the element can be cached persistently, {@code false} otherwise
+	 */
+	protected boolean isCacheable() {
+		return false;
+	}
+
+	/**
+	 * Returns the name of the file for this creator in a {@link FormulaCache}. Only used, if the creator is {@link #isCacheable() cacheable}.
+	 *
+	 * @return the identifier
+	 */
+	protected String getCacheId() {
+		return getClass().getSimpleName();
+	}
+
+	/**
+	 * Writes an element in a binary format. Only called, if the creator is {@link #isCacheable() cacheable}.
+	 *
+	 * @param element the element
+	 * @param out the output to write to
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected void writeElement(T element, DataOutput out) throws IOException {}
+
+	/**
+	 * Reads an element written by {@link #writeElement(Object, DataOutput)}. Only called, if the creator is {@link #isCacheable() cacheable}.
+	 *
+	 * @param in the buffer to read from
+	 * @return the element or {@code null}, if the stored element does not fit to the current feature model
+	 */
+	protected T readElement(ByteBuffer in) {
+		return null;
+	}
+
 	@Override
 	public int hashCode() {
 		return getClass().getName().hashCode();
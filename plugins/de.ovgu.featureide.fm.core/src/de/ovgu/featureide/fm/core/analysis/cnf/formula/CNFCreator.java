@@ -20,8 +20,17 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
 import de.ovgu.featureide.fm.core.analysis.cnf.FeatureModelCNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
 import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
 
 /**
@@ -38,4 +47,98 @@ public class CNFCreator extends ACreator<CNF> {
 		return cnf;
 	}
 
+	@Override
+	protected CNF update(CNF oldElement, FormulaDelta delta) {
+		final List<LiteralSet> removedClauses = delta.getRemovedClauses();
+		final List<LiteralSet> addedClauses = delta.getAddedClauses();
+		if ((removedClauses == null) || (addedClauses == null)) {
+			return null;
+		}
+		final HashMap<LiteralSet, Integer> removedClauseCount = new HashMap<>();
+		for (final LiteralSet clause : removedClauses) {
+			// the order of literals within a clause is not stable
+			removedClauseCount.merge(new LiteralSet(clause, Order.NATURAL), 1, Integer::sum);
+		}
+
+		final CNF cnf = new FeatureModelCNF(formula.getFeatureModel(), false);
+		final ClauseList clauses = new ClauseList(oldElement.getClauses().size() + addedClauses.size());
+		for (final LiteralSet clause : oldElement.getClauses()) {
+			if (clause.containsVariable(0)) {
+				// formula contains a contradiction
+				return null;
+			}
+			if (removedClauseCount.isEmpty()) {
+				clauses.add(clause);
+			} else {
+				final LiteralSet sortedClause = new LiteralSet(clause, Order.NATURAL);
+				final Integer count = removedClauseCount.get(sortedClause);
+				if (count == null) {
+					clauses.add(clause);
+				} else if (count > 1) {
+					removedClauseCount.put(sortedClause, count - 1);
+				} else {
+					removedClauseCount.remove(sortedClause);
+				}
+			}
+		}
+		if (!removedClauseCount.isEmpty()) {
+			return null;
+		}
+		clauses.addAll(addedClauses);
+		cnf.addClauses(clauses);
+		return cnf;
+	}
+
+	@Override
+	protected boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	protected String getCacheId() {
+		return "cnf";
+	}
+
+	@Override
+	protected void writeElement(CNF element, DataOutput out) throws IOException {
+		out.writeInt(element.getVariables().size());
+		writeClauses(element.getClauses(), out);
+	}
+
+	@Override
+	protected CNF readElement(ByteBuffer in) {
+		final CNF cnf = new FeatureModelCNF(formula.getFeatureModel(), false);
+		if (in.getInt() != cnf.getVariables().size()) {
+			return null;
+		}
+		cnf.addClauses(readClauses(in));
+		return cnf;
+	}
+
+	static void writeClauses(List<LiteralSet> clauses, DataOutput out) throws IOException {
+		out.writeInt(clauses.size());
+		for (final LiteralSet clause : clauses) {
+			final int[] literals = clause.getLiterals();
+			out.writeByte(clause.getOrder().ordinal());
+			out.writeInt(literals.length);
+			for (final int literal : literals) {
+				out.writeInt(literal);
+			}
+		}
+	}
+
+	static ClauseList readClauses(ByteBuffer in) {
+		final int clauseCount = in.getInt();
+		final ClauseList clauses = new ClauseList(clauseCount);
+		final Order[] orders = Order.values();
+		for (int i = 0; i < clauseCount; i++) {
+			final Order order = orders[in.get()];
+			final int[] literals = new int[in.getInt()];
+			in.asIntBuffer().get(literals);
+			in.position(in.position() + (literals.length << 2));
+			clauses.add(new LiteralSet(literals, order, false));
+		}
+		return clauses;
+	}
+
 }
@@ -0,0 +1,60 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNFCompiler;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+
+/**
+ * Creates a {@link DDNNF}. If the compilation exceeds the timeout, an {@link DDNNF#isComplete() incomplete} d-DNNF is returned.
+ *
+ * @author Sebastian Krieter
+ */
+public class DDNNFCreator extends ACreator<DDNNF> {
+
+	private int timeout = 10000;
+
+	@Override
+	protected DDNNF create() {
+		final CNF cnf = formula.getElement(new CNFCreator());
+		final DDNNFCompiler compiler = new DDNNFCompiler(cnf);
+		compiler.setTimeout(timeout);
+		try {
+			return compiler.compile();
+		} catch (final RuntimeTimeoutException e) {
+			return new DDNNF(cnf);
+		}
+	}
+
+	public int getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * @param timeout the timeout for the compilation in milliseconds; a value less or equal to zero disables the timeout
+	 */
+	public void setTimeout(int timeout) {
+		this.timeout = timeout;
+	}
+
+}
@@ -61,12 +61,83 @@ public class FeatureModelFormula {
 		return (T) mappedFormulaElement.get();
 	}
 
+	/**
+	 * Get an element that can be derived from the associated feature model only if it was already computed. In contrast to
+	 * {@link #getElement(ACreator)}, this method never blocks.
+	 *
+	 * @return the element or {@code null}, if it was not computed yet or is currently being computed
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getCachedElement(ACreator<T> formulaElement) {
+		final ACreator<?> mappedFormulaElement;
+		synchronized (map) {
+			mappedFormulaElement = map.get(formulaElement);
+		}
+		return mappedFormulaElement == null ? null : (T) mappedFormulaElement.getCachedElement();
+	}
+
 	private final IFeatureModel featureModel;
 
+	private final HashMap<ACreator<?>, Object> previousElements = new HashMap<>();
+	private IFeatureModel previousFeatureModel;
+	private FormulaDelta delta;
+
+	private FormulaCache cache;
+	private byte[] hash;
+
 	public FeatureModelFormula(IFeatureModel featureModel) {
 		this.featureModel = featureModel;
 	}
 
+	/**
+	 * Creates a formula for a new version of a feature model. All elements that were already computed for the previous version are kept. If the feature tree
+	 * was not changed, these elements are {@link ACreator#update(Object, FormulaDelta) updated} with the changed constraints instead of being created from
+	 * scratch.
+	 *
+	 * @param featureModel the new version of the feature model
+	 * @param previousFormula the formula of a previous version of the feature model (may be {@code null})
+	 */
+	public FeatureModelFormula(IFeatureModel featureModel, FeatureModelFormula previousFormula) {
+		this.featureModel = featureModel;
+		if (previousFormula != null) {
+			synchronized (previousFormula.map) {
+				for (final ACreator<?> creator : previousFormula.map.values()) {
+					final Object element = creator.getCachedElement();
+					if (element != null) {
+						previousElements.put(creator, element);
+					}
+				}
+			}
+			if (!previousElements.isEmpty()) {
+				previousFeatureModel = previousFormula.featureModel;
+			}
+		}
+	}
+
+	/**
+	 * @return the updated element or {@code null}, if there is no previous element or it cannot be updated
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T updateElement(ACreator<T> formulaElement) {
+		final Object previousElement;
+		final FormulaDelta currentDelta;
+		synchronized (previousElements) {
+			previousElement = previousElements.remove(formulaElement);
+			if (previousElement == null) {
+				return null;
+			}
+			if ((delta == null) && (previousFeatureModel != null)) {
+				delta = FormulaDelta.compute(previousFeatureModel, featureModel);
+				if (delta == null) {
+					previousElements.clear();
+				}
+				previousFeatureModel = null;
+			}
+			currentDelta = delta;
+		}
+		return currentDelta == null ? null : formulaElement.update((T) previousElement, currentDelta);
+	}
+
 	public IFeatureModel getFeatureModel() {
 		return featureModel;
 	}
@@ -106,10 +177,54 @@ public class FeatureModelFormula {
 		return getElement(new FMAnalyzerCreator());
 	}
 
+	public FormulaCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Sets a persistent cache for the elements of this formula. Elements that are {@link ACreator#isCacheable() cacheable} are loaded from the cache, if
+	 * possible, and stored in the cache after they have been created.
+	 *
+	 * @param cache the cache (may be {@code null})
+	 */
+	public void setCache(FormulaCache cache) {
+		this.cache = cache;
+	}
+
+	<T> T loadElement(ACreator<T> formulaElement) {
+		final FormulaCache currentCache = cache;
+		if ((currentCache == null) || !formulaElement.isCacheable()) {
+			return null;
+		}
+		return currentCache.load(getHash(), formulaElement);
+	}
+
+	<T> void storeElement(ACreator<T> formulaElement, T element) {
+		final FormulaCache currentCache = cache;
+		if ((currentCache != null) && (element != null) && formulaElement.isCacheable()) {
+			currentCache.store(getHash(), formulaElement, element);
+		}
+	}
+
+	private synchronized byte[] getHash() {
+		if (hash == null) {
+			hash = FormulaCache.computeHash(featureModel);
+		}
+		return hash;
+	}
+
 	public void resetFormula() {
 		synchronized (map) {
 			map.clear();
 		}
+		synchronized (previousElements) {
+			previousElements.clear();
+			previousFeatureModel = null;
+			delta = null;
+		}
+		synchronized (this) {
+			hash = null;
+		}
 	}
 
 }
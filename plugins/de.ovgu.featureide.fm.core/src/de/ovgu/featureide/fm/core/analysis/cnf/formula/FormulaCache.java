@@ -0,0 +1,212 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.prop4j.Literal;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+
+/**
+ * Persistent cache for elements of a {@link FeatureModelFormula}.<br> <br> Each element is stored in a separate file in a compact binary format, which is
+ * defined by its {@link ACreator creator}. The file contains a hash of the normalized feature model, such that a cached element is ignored and overwritten
+ * after the feature model has changed. Files are read completely into memory and closed immediately, such that they are never locked while
+ * being replaced.
+ *
+ * @see ACreator#isCacheable()
+ *
+ * @author Sebastian Krieter
+ */
+public class FormulaCache {
+
+	private static final int MAGIC_NUMBER = 0x46494443;
+	private static final int VERSION = 1;
+	private static final String FILE_EXTENSION = ".bin";
+
+	private final Path directory;
+
+	/**
+	 * @param directory the directory to store the cached elements in (will be created, if necessary)
+	 */
+	public FormulaCache(Path directory) {
+		this.directory = directory;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Computes a hash of all properties of a feature model that affect its propositional formula (i.e., the feature tree, the feature names and their order,
+	 * and all constraints). Other properties, such as descriptions or the graphical layout, are ignored.
+	 *
+	 * @param featureModel the feature model
+	 * @return the hash as byte array
+	 */
+	public static byte[] computeHash(IFeatureModel featureModel) {
+		final StringBuilder sb = new StringBuilder();
+		final IFeatureStructure root = featureModel.getStructure().getRoot();
+		sb.append(root != null ? root.getFeature().getName() : "");
+		sb.append('\n');
+		for (final IFeature feature : featureModel.getFeatures()) {
+			final IFeatureStructure structure = feature.getStructure();
+			sb.append(feature.getName());
+			sb.append(structure.isAbstract() ? 'a' : 'c');
+			sb.append(structure.isHidden() ? 'h' : 'v');
+			sb.append(structure.isMandatory() ? 'm' : 'o');
+			if (structure.hasChildren()) {
+				sb.append(structure.isAnd() ? '&' : structure.isOr() ? '|' : '^');
+				sb.append('(');
+				for (final IFeatureStructure child : structure.getChildren()) {
+					sb.append(child.getFeature().getName());
+					sb.append('\0');
+				}
+				sb.append(')');
+			}
+			sb.append('\n');
+		}
+		for (final IConstraint constraint : featureModel.getConstraints()) {
+			appendNode(constraint.getNode(), sb);
+			sb.append('\n');
+		}
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void appendNode(Node node, StringBuilder sb) {
+		if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			sb.append(literal.positive ? '+' : '-');
+			sb.append(literal.var);
+			sb.append('\0');
+		} else {
+			sb.append(node.getClass().getSimpleName());
+			sb.append('(');
+			for (final Node child : node.getChildren()) {
+				appendNode(child, sb);
+			}
+			sb.append(')');
+		}
+	}
+
+	/**
+	 * Loads a cached element.
+	 *
+	 * @param hash the hash of the feature model
+	 * @param creator the creator of the element
+	 * @return the cached element or {@code null}, if there is no valid cached element for the given hash
+	 */
+	public <T> T load(byte[] hash, ACreator<T> creator) {
+		final Path file = getFile(creator);
+		if ((file == null) || !Files.isRegularFile(file)) {
+			return null;
+		}
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+			if ((buffer.remaining() < (12 + hash.length)) || (buffer.getInt() != MAGIC_NUMBER) || (buffer.getInt() != VERSION)
+				|| (buffer.getInt() != hash.length)) {
+				return null;
+			}
+			for (final byte b : hash) {
+				if (buffer.get() != b) {
+					return null;
+				}
+			}
+			return creator.readElement(buffer);
+		} catch (final IOException | RuntimeException e) {
+			// invalid or incomplete cache file
+			return null;
+		}
+	}
+
+	/**
+	 * Stores an element. Overwrites the previously cached element of the same creator.
+	 *
+	 * @param hash the hash of the feature model
+	 * @param creator the creator of the element
+	 * @param element the element to store
+	 */
+	public <T> void store(byte[] hash, ACreator<T> creator, T element) {
+		final Path file = getFile(creator);
+		if (file == null) {
+			return;
+		}
+		Path tempFile = null;
+		try {
+			Files.createDirectories(directory);
+			tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(MAGIC_NUMBER);
+				out.writeInt(VERSION);
+				out.writeInt(hash.length);
+				out.write(hash);
+				creator.writeElement(element, out);
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (final IOException e) {
+			Logger.logError(e);
+			if (tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				} catch (final IOException e1) {}
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached elements.
+	 */
+	public void clear() {
+		if (Files.isDirectory(directory)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+				for (final Path file : files) {
+					Files.deleteIfExists(file);
+				}
+			} catch (final IOException e) {
+				Logger.logError(e);
+			}
+		}
+	}
+
+	private Path getFile(ACreator<?> creator) {
+		return creator.isCacheable() ? directory.resolve(creator.getCacheId() + FILE_EXTENSION) : null;
+	}
+
+}
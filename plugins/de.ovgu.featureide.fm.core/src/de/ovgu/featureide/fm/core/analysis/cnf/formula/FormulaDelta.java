@@ -0,0 +1,267 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.prop4j.And;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator;
+import de.ovgu.featureide.fm.core.editing.AdvancedNodeCreator.CNFType;
+
+/**
+ * Describes the difference between two versions of a feature model with respect to their propositional formula.<br> <br> A delta can only be computed, if
+ * both versions have the same feature tree (up to renamed features) and only differ in their cross-tree constraints. In this case, the variables of both
+ * versions have the same indices and the clauses of the feature tree are identical.
+ *
+ * @see ACreator#update(Object, FormulaDelta)
+ *
+ * @author Sebastian Krieter
+ */
+public class FormulaDelta {
+
+	private final IFeatureModel oldFeatureModel;
+	private final IFeatureModel newFeatureModel;
+	private final Variables oldVariables;
+	private final Variables newVariables;
+
+	private final List<IConstraint> addedConstraints;
+	private final List<IConstraint> removedConstraints;
+
+	private List<LiteralSet> addedClauses;
+	private List<LiteralSet> removedClauses;
+
+	private FormulaDelta(IFeatureModel oldFeatureModel, IFeatureModel newFeatureModel, Variables oldVariables, Variables newVariables,
+			List<IConstraint> addedConstraints, List<IConstraint> removedConstraints) {
+		this.oldFeatureModel = oldFeatureModel;
+		this.newFeatureModel = newFeatureModel;
+		this.oldVariables = oldVariables;
+		this.newVariables = newVariables;
+		this.addedConstraints = addedConstraints;
+		this.removedConstraints = removedConstraints;
+	}
+
+	/**
+	 * Computes the delta between two versions of a feature model.
+	 *
+	 * @param oldFeatureModel the previous version
+	 * @param newFeatureModel the current version
+	 * @return the delta or {@code null}, if the feature trees of both versions differ
+	 */
+	public static FormulaDelta compute(IFeatureModel oldFeatureModel, IFeatureModel newFeatureModel) {
+		final List<String> oldNames = FeatureUtils.getFeatureNamesList(oldFeatureModel);
+		final List<String> newNames = FeatureUtils.getFeatureNamesList(newFeatureModel);
+		if (oldNames.size() != newNames.size()) {
+			return null;
+		}
+		final Variables oldVariables = new Variables(oldNames);
+		final Variables newVariables = new Variables(newNames);
+		if ((oldVariables.size() != oldNames.size()) || (newVariables.size() != newNames.size())) {
+			return null;
+		}
+
+		if (!equalStructure(oldFeatureModel, newFeatureModel, oldVariables, newVariables)) {
+			return null;
+		}
+
+		final Map<String, ArrayDeque<IConstraint>> oldConstraints = new HashMap<>();
+		for (final IConstraint constraint : oldFeatureModel.getConstraints()) {
+			final String key = getKey(constraint.getNode(), oldVariables);
+			ArrayDeque<IConstraint> constraints = oldConstraints.get(key);
+			if (constraints == null) {
+				constraints = new ArrayDeque<>(1);
+				oldConstraints.put(key, constraints);
+			}
+			constraints.add(constraint);
+		}
+		final List<IConstraint> addedConstraints = new ArrayList<>();
+		for (final IConstraint constraint : newFeatureModel.getConstraints()) {
+			final ArrayDeque<IConstraint> constraints = oldConstraints.get(getKey(constraint.getNode(), newVariables));
+			if ((constraints == null) || (constraints.poll() == null)) {
+				addedConstraints.add(constraint);
+			}
+		}
+		final List<IConstraint> removedConstraints = new ArrayList<>();
+		for (final ArrayDeque<IConstraint> constraints : oldConstraints.values()) {
+			removedConstraints.addAll(constraints);
+		}
+
+		return new FormulaDelta(oldFeatureModel, newFeatureModel, oldVariables, newVariables, addedConstraints, removedConstraints);
+	}
+
+	private static boolean equalStructure(IFeatureModel oldFeatureModel, IFeatureModel newFeatureModel, Variables oldVariables, Variables newVariables) {
+		final IFeatureStructure oldRoot = oldFeatureModel.getStructure().getRoot();
+		final IFeatureStructure newRoot = newFeatureModel.getStructure().getRoot();
+		if ((oldRoot == null) || (newRoot == null)) {
+			return oldRoot == newRoot;
+		}
+		if (!equalFeature(oldRoot.getFeature(), newRoot.getFeature(), oldVariables, newVariables)) {
+			return false;
+		}
+		final Iterator<IFeature> oldIterator = oldFeatureModel.getFeatures().iterator();
+		final Iterator<IFeature> newIterator = newFeatureModel.getFeatures().iterator();
+		while (oldIterator.hasNext() && newIterator.hasNext()) {
+			final IFeatureStructure oldStructure = oldIterator.next().getStructure();
+			final IFeatureStructure newStructure = newIterator.next().getStructure();
+			final List<IFeatureStructure> oldChildren = oldStructure.getChildren();
+			final List<IFeatureStructure> newChildren = newStructure.getChildren();
+			if (oldChildren.size() != newChildren.size()) {
+				return false;
+			}
+			if (!oldChildren.isEmpty()) {
+				if ((oldStructure.isAnd() != newStructure.isAnd()) || (oldStructure.isOr() != newStructure.isOr())
+					|| (oldStructure.isAlternative() != newStructure.isAlternative())) {
+					return false;
+				}
+				for (int i = 0; i < oldChildren.size(); i++) {
+					final IFeatureStructure oldChild = oldChildren.get(i);
+					final IFeatureStructure newChild = newChildren.get(i);
+					if ((oldChild.isMandatory() != newChild.isMandatory())
+						|| !equalFeature(oldChild.getFeature(), newChild.getFeature(), oldVariables, newVariables)) {
+						return false;
+					}
+				}
+			}
+		}
+		return oldIterator.hasNext() == newIterator.hasNext();
+	}
+
+	private static boolean equalFeature(IFeature oldFeature, IFeature newFeature, Variables oldVariables, Variables newVariables) {
+		return oldVariables.getVariable(oldFeature.getName()) == newVariables.getVariable(newFeature.getName());
+	}
+
+	/**
+	 * Creates a key for a constraint node that does not depend on the names of the features, but only on their variable indices.
+	 */
+	private static String getKey(Node node, Variables variables) {
+		final StringBuilder sb = new StringBuilder();
+		appendKey(node, variables, sb);
+		return sb.toString();
+	}
+
+	private static void appendKey(Node node, Variables variables, StringBuilder sb) {
+		if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			if (!literal.positive) {
+				sb.append('-');
+			}
+			final String name = String.valueOf(literal.var);
+			final int variable = variables.getVariable(name);
+			if (variable != 0) {
+				sb.append(variable);
+			} else {
+				sb.append('"');
+				sb.append(name);
+				sb.append('"');
+			}
+		} else {
+			sb.append(node.getClass().getSimpleName());
+			sb.append('(');
+			for (final Node child : node.getChildren()) {
+				appendKey(child, variables, sb);
+				sb.append(',');
+			}
+			sb.append(')');
+		}
+	}
+
+	private static List<LiteralSet> convert(IFeatureModel featureModel, Collection<IConstraint> constraints, Variables variables) {
+		if (constraints.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final AdvancedNodeCreator nodeCreator = new AdvancedNodeCreator(featureModel);
+		nodeCreator.setCnfType(CNFType.Regular);
+		nodeCreator.setIncludeBooleanValues(false);
+		final List<Node> clauseNodes = new ArrayList<>();
+		for (final IConstraint constraint : constraints) {
+			Collections.addAll(clauseNodes, nodeCreator.createConstraintNode(constraint).getChildren());
+		}
+		final ClauseList clauses = Nodes.convert(variables, new And(clauseNodes.toArray(new Node[0])));
+		for (final LiteralSet clause : clauses) {
+			if (clause.isEmpty() || clause.containsVariable(0)) {
+				return null;
+			}
+		}
+		return clauses;
+	}
+
+	public IFeatureModel getOldFeatureModel() {
+		return oldFeatureModel;
+	}
+
+	public IFeatureModel getNewFeatureModel() {
+		return newFeatureModel;
+	}
+
+	public List<IConstraint> getAddedConstraints() {
+		return Collections.unmodifiableList(addedConstraints);
+	}
+
+	public List<IConstraint> getRemovedConstraints() {
+		return Collections.unmodifiableList(removedConstraints);
+	}
+
+	/**
+	 * @return {@code true}, if both versions have the same formula
+	 */
+	public boolean isEmpty() {
+		return addedConstraints.isEmpty() && removedConstraints.isEmpty();
+	}
+
+	/**
+	 * @return the clauses of all added constraints or {@code null} if they cannot be represented by the variables of the feature model
+	 */
+	public synchronized List<LiteralSet> getAddedClauses() {
+		if (addedClauses == null) {
+			addedClauses = convert(newFeatureModel, addedConstraints, newVariables);
+		}
+		return addedClauses;
+	}
+
+	/**
+	 * @return the clauses of all removed constraints or {@code null} if they cannot be represented by the variables of the feature model
+	 */
+	public synchronized List<LiteralSet> getRemovedClauses() {
+		if (removedClauses == null) {
+			removedClauses = convert(oldFeatureModel, removedConstraints, oldVariables);
+		}
+		return removedClauses;
+	}
+
+}
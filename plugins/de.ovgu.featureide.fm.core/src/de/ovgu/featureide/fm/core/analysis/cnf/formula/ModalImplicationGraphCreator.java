@@ -20,8 +20,19 @@
  */
 package de.ovgu.featureide.fm.core.analysis.cnf.formula;
 
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
 import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
 import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 
 /**
@@ -31,11 +42,124 @@ import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
  */
 public class ModalImplicationGraphCreator extends ACreator<ModalImplicationGraph> {
 
+	/**
+	 * Minimum number of variables for which the graph is built in parallel.
+	 */
+	private static final int PARALLEL_THRESHOLD = 1000;
+
 	private boolean complete = false;
 
 	@Override
 	protected ModalImplicationGraph create() {
-		return LongRunningWrapper.runMethod(new MIGBuilder(formula.getElement(new CNFCreator()), complete));
+		final CNF cnf = formula.getElement(new CNFCreator());
+		final MIGBuilder builder = new MIGBuilder(cnf, complete);
+		if (cnf.getVariables().size() >= PARALLEL_THRESHOLD) {
+			builder.setParallelism(Runtime.getRuntime().availableProcessors());
+		}
+		return LongRunningWrapper.runMethod(builder);
+	}
+
+	/**
+	 * Adds the clauses of new constraints to a copy of the previous graph. The graph is created from scratch, if constraints were removed, as strong edges
+	 * derived from the removed clauses cannot be identified, if the graph is {@link #setComplete(boolean) complete}, as strong edges implied by complex
+	 * clauses are not detected incrementally, or if the new constraints change the core and dead features, as these simplify all clauses of the graph.
+	 * Otherwise, the updated graph has the same core and dead features and the same strong edges as a new graph, but may contain complex clauses that a new
+	 * graph would omit as redundant.
+	 */
+	@Override
+	protected ModalImplicationGraph update(ModalImplicationGraph oldElement, FormulaDelta delta) {
+		if (complete || !delta.getRemovedConstraints().isEmpty() || oldElement.getAdjList().isEmpty()) {
+			return null;
+		}
+		if (delta.isEmpty()) {
+			return oldElement;
+		}
+		final List<LiteralSet> addedClauses = delta.getAddedClauses();
+		if (addedClauses == null) {
+			return null;
+		}
+		final LiteralSet coreDead = LongRunningWrapper.runMethod(new CoreDeadAnalysis(formula.getElement(new CNFCreator())));
+		if ((coreDead == null) || !hasCoreDead(oldElement, coreDead)) {
+			return null;
+		}
+		final ModalImplicationGraph mig = new ModalImplicationGraph(oldElement);
+		try {
+			mig.addClausesTransitive(addedClauses);
+		} catch (final RuntimeContradictionException e) {
+			return null;
+		}
+		return mig;
+	}
+
+	/**
+	 * Checks whether exactly the given literals are core or dead in the given graph.
+	 */
+	private static boolean hasCoreDead(ModalImplicationGraph mig, LiteralSet coreDead) {
+		int count = 0;
+		for (final Vertex vertex : mig.getAdjList()) {
+			if (vertex.isCore()) {
+				if (!coreDead.containsLiteral(vertex.getVar())) {
+					return false;
+				}
+				count++;
+			}
+		}
+		return count == coreDead.size();
+	}
+
+	@Override
+	protected boolean isCacheable() {
+		return true;
+	}
+
+	@Override
+	protected String getCacheId() {
+		return complete ? "mig_complete" : "mig";
+	}
+
+	@Override
+	protected void writeElement(ModalImplicationGraph element, DataOutput out) throws IOException {
+		final List<Vertex> adjList = element.getAdjList();
+		out.writeInt(adjList.size());
+		for (final Vertex vertex : adjList) {
+			out.writeInt(vertex.getVar());
+			out.writeInt(vertex.getId());
+			out.writeByte((vertex.isCore() ? 1 : 0) | (vertex.isDead() ? 2 : 0));
+			writeInts(vertex.getStrongEdges(), out);
+			writeInts(vertex.getComplexClauses(), out);
+		}
+		CNFCreator.writeClauses(element.getComplexClauses(), out);
+	}
+
+	@Override
+	protected ModalImplicationGraph readElement(ByteBuffer in) {
+		final int vertexCount = in.getInt();
+		final List<Vertex> adjList = new ArrayList<>(vertexCount);
+		for (int i = 0; i < vertexCount; i++) {
+			final Vertex vertex = new Vertex(in.getInt());
+			vertex.setId(in.getInt());
+			final byte flags = in.get();
+			vertex.setCore((flags & 1) != 0);
+			vertex.setDead((flags & 2) != 0);
+			vertex.setStrongEdges(readInts(in));
+			vertex.setComplexClauses(readInts(in));
+			adjList.add(vertex);
+		}
+		return new ModalImplicationGraph(adjList, CNFCreator.readClauses(in));
+	}
+
+	private static void writeInts(int[] values, DataOutput out) throws IOException {
+		out.writeInt(values.length);
+		for (final int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	private static int[] readInts(ByteBuffer in) {
+		final int[] values = new int[in.getInt()];
+		in.asIntBuffer().get(values);
+		in.position(in.position() + (values.length << 2));
+		return values;
 	}
 
 	public boolean isComplete() {
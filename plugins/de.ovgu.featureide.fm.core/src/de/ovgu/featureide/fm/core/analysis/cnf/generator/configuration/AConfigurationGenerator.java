@@ -24,12 +24,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
 
-import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.AbstractAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor.MethodCancelException;
 
 /**
  * Finds certain solutions of propositional formulas.
@@ -41,7 +41,8 @@ public abstract class AConfigurationGenerator extends AbstractAnalysis<List<Lite
 	protected final int maxSampleSize;
 
 	private final List<LiteralSet> resultList = new ArrayList<>();
-	private final LinkedBlockingQueue<LiteralSet> resultQueue;
+	private LinkedBlockingQueue<LiteralSet> resultQueue;
+	private boolean keepResults = true;
 
 	public AConfigurationGenerator(CNF cnf) {
 		this(cnf, Integer.MAX_VALUE);
@@ -54,13 +55,21 @@ public abstract class AConfigurationGenerator extends AbstractAnalysis<List<Lite
 	public AConfigurationGenerator(CNF cnf, int maxSampleSize) {
 		super(cnf);
 		this.maxSampleSize = maxSampleSize;
-		resultQueue = new LinkedBlockingQueue<>();
+		initResultQueue(Integer.MAX_VALUE);
 	}
 
 	public AConfigurationGenerator(ISatSolver solver, int maxSampleSize) {
 		super(solver);
 		this.maxSampleSize = maxSampleSize;
-		resultQueue = new LinkedBlockingQueue<>();
+		initResultQueue(Integer.MAX_VALUE);
+	}
+
+	private void initResultQueue(int capacity) {
+		resultQueue = new LinkedBlockingQueue<>(capacity);
+		if (solver == null) {
+			// formula is unsatisfiable, thus analyze is never called
+			resultQueue.add(END_OF_RESULTS);
+		}
 	}
 
 	@Override
@@ -68,19 +77,39 @@ public abstract class AConfigurationGenerator extends AbstractAnalysis<List<Lite
 		resultList.clear();
 		resultQueue.clear();
 
-		generate(monitor);
+		try {
+			generate(monitor);
+		} finally {
+			// offer does not fail if the thread was interrupted
+			if (!resultQueue.offer(END_OF_RESULTS)) {
+				try {
+					resultQueue.put(END_OF_RESULTS);
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
 
 		return resultList;
 	}
 
 	protected abstract void generate(IMonitor<List<LiteralSet>> monitor) throws Exception;
 
-	protected void addResult(LiteralSet result) {
-		resultList.add(result);
+	/**
+	 * Adds a configuration to the result list and the result queue. If the result queue is full, this method blocks until there is enough space.
+	 *
+	 * @param result the configuration
+	 * @throws MethodCancelException if the thread is interrupted while waiting
+	 */
+	protected void addResult(LiteralSet result) throws MethodCancelException {
+		if (keepResults) {
+			resultList.add(result);
+		}
 		try {
 			resultQueue.put(result);
 		} catch (final InterruptedException e) {
-			Logger.logError(e);
+			Thread.currentThread().interrupt();
+			throw new MethodCancelException();
 		}
 	}
 
@@ -89,4 +118,18 @@ public abstract class AConfigurationGenerator extends AbstractAnalysis<List<Lite
 		return resultQueue;
 	}
 
+	@Override
+	public void setResultQueueCapacity(int capacity) {
+		initResultQueue(Math.max(1, capacity));
+	}
+
+	public boolean isKeepResults() {
+		return keepResults;
+	}
+
+	@Override
+	public void setKeepResults(boolean keepResults) {
+		this.keepResults = keepResults;
+	}
+
 }
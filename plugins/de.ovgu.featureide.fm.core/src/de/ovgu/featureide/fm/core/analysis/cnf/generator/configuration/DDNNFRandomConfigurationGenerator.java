@@ -0,0 +1,155 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNFCompiler;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeTimeoutException;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Finds uniformly distributed random solutions of propositional formulas. The formula is compiled into a {@link DDNNF}, which allows to draw each solution
+ * with exactly the same probability in linear time in the size of the d-DNNF. If the compilation exceeds its timeout, the
+ * {@link UniformRandomConfigurationGenerator} is used instead, which only approximates a uniform distribution.<br> <br> Without duplicates, solutions are
+ * drawn repeatedly until enough distinct solutions are found. If the formula has not more solutions than requested, all solutions are enumerated instead.
+ *
+ * @author Sebastian Krieter
+ */
+public class DDNNFRandomConfigurationGenerator extends ARandomConfigurationGenerator {
+
+	/**
+	 * Number of solutions that are drawn at once, such that the counts of the d-DNNF are only computed once per batch.
+	 */
+	private static final int BATCH_SIZE = 1000;
+
+	private DDNNF ddnnf = null;
+	private int compilationTimeout = 10000;
+
+	public DDNNFRandomConfigurationGenerator(CNF cnf, int maxNumber) {
+		super(cnf, maxNumber);
+	}
+
+	@Override
+	protected void generate(IMonitor<List<LiteralSet>> monitor) throws Exception {
+		final DDNNF compiledFormula = getCompiledFormula(monitor);
+		if (!compiledFormula.isComplete()) {
+			final UniformRandomConfigurationGenerator gen = new UniformRandomConfigurationGenerator(solver.getSatInstance(), maxSampleSize);
+			gen.setAllowDuplicates(allowDuplicates);
+			gen.setRandom(getRandom());
+			gen.setAssumptions(assumptions);
+			for (final LiteralSet solution : LongRunningWrapper.runMethod(gen)) {
+				addResult(solution);
+			}
+			return;
+		}
+
+		final BigInteger count = compiledFormula.countSolutions(assumptions);
+		if (count.signum() == 0) {
+			return;
+		}
+		monitor.setRemainingWork(maxSampleSize);
+		if (allowDuplicates) {
+			for (int i = 0; i < maxSampleSize;) {
+				for (final LiteralSet solution : compiledFormula.getRandomSolutions(assumptions, getRandom(), Math.min(BATCH_SIZE, maxSampleSize - i))) {
+					addResult(toModel(solution));
+					monitor.step();
+					i++;
+				}
+			}
+		} else if (count.compareTo(BigInteger.valueOf(maxSampleSize)) <= 0) {
+			final List<LiteralSet> allConfigurations = new ArrayList<>(LongRunningWrapper.runMethod(new AllConfigurationGenerator(solver)));
+			Collections.shuffle(allConfigurations, getRandom());
+			for (final LiteralSet solution : allConfigurations) {
+				addResult(solution);
+				monitor.step();
+			}
+		} else {
+			final HashSet<LiteralSet> solutionSet = new HashSet<>();
+			while (solutionSet.size() < maxSampleSize) {
+				for (final LiteralSet solution : compiledFormula.getRandomSolutions(assumptions, getRandom(), Math.min(BATCH_SIZE, maxSampleSize - solutionSet.size()))) {
+					final LiteralSet model = toModel(solution);
+					if (solutionSet.add(model)) {
+						addResult(model);
+						monitor.step();
+					}
+				}
+			}
+		}
+	}
+
+	private DDNNF getCompiledFormula(IMonitor<?> monitor) {
+		if (ddnnf != null) {
+			return ddnnf;
+		}
+		final CNF cnf = solver.getSatInstance();
+		final DDNNFCompiler compiler = new DDNNFCompiler(cnf);
+		compiler.setTimeout(compilationTimeout);
+		try {
+			return compiler.compile(monitor);
+		} catch (final RuntimeTimeoutException e) {
+			return new DDNNF(cnf);
+		}
+	}
+
+	private LiteralSet toModel(LiteralSet solution) {
+		final int[] model = new int[solver.getSatInstance().getVariables().size()];
+		for (final int literal : solution.getLiterals()) {
+			model[Math.abs(literal) - 1] = literal;
+		}
+		return new LiteralSet(model, Order.INDEX, false);
+	}
+
+	public DDNNF getDDNNF() {
+		return ddnnf;
+	}
+
+	/**
+	 * Sets an already compiled formula, which must be compiled from the same formula as this generator. If not set, the formula is compiled each time the
+	 * generator is executed.
+	 *
+	 * @param ddnnf the compiled formula or {@code null}
+	 */
+	public void setDDNNF(DDNNF ddnnf) {
+		this.ddnnf = ddnnf;
+	}
+
+	public int getCompilationTimeout() {
+		return compilationTimeout;
+	}
+
+	/**
+	 * @param compilationTimeout the timeout for the compilation in milliseconds; a value less or equal to zero disables the timeout
+	 */
+	public void setCompilationTimeout(int compilationTimeout) {
+		this.compilationTimeout = compilationTimeout;
+	}
+
+}
@@ -33,6 +33,34 @@ import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IAnalysis;
  */
 public interface IConfigurationGenerator extends IAnalysis<List<LiteralSet>> {
 
+	/**
+	 * Marker that is added to the {@link #getResultQueue() result queue} after the last configuration, even if the generation fails or is canceled. It is
+	 * compared by identity and must not be interpreted as a configuration.
+	 */
+	LiteralSet END_OF_RESULTS = new LiteralSet();
+
+	/**
+	 * Returns the queue to which each configuration is added as soon as it is generated, followed by {@link #END_OF_RESULTS}. This allows to process
+	 * configurations while the generation is still running.
+	 *
+	 * @return the result queue
+	 */
 	LinkedBlockingQueue<LiteralSet> getResultQueue();
 
+	/**
+	 * Limits the number of configurations in the {@link #getResultQueue() result queue}. If the queue is full, the generation is blocked until a
+	 * configuration is taken from the queue. Must be called before the generation is started.
+	 *
+	 * @param capacity the maximum number of configurations in the queue
+	 */
+	void setResultQueueCapacity(int capacity);
+
+	/**
+	 * Sets whether the generated configurations are also collected in the result list. If not, the configurations are only available from the
+	 * {@link #getResultQueue() result queue} and the result list is empty, such that the memory consumption does not depend on the sample size.
+	 *
+	 * @param keepResults {@code true} to collect all configurations in the result list (default)
+	 */
+	void setKeepResults(boolean keepResults);
+
 }
@@ -65,4 +65,34 @@ class CoverAll implements ICoverStrategy {
 		return CombinationStatus.COVERED;
 	}
 
+	/**
+	 * Same as {@link #cover(ClauseList)}, but uses the given, previously computed validity of each literal set of the condition.
+	 *
+	 * @param nextCondition the condition to cover
+	 * @param validity the validity of the literal set with the same index in {@code nextCondition}
+	 * @return the status of the condition
+	 */
+	public CombinationStatus cover(ClauseList nextCondition, boolean[] validity) {
+		if (util.isCovered(nextCondition)) {
+			return CombinationStatus.COVERED;
+		}
+
+		util.initCandidatesList(nextCondition, candidatesList);
+
+		if (util.cover(false, candidatesList)) {
+			return CombinationStatus.COVERED;
+		}
+
+		if (util.removeInvalidClauses(nextCondition, candidatesList, validity)) {
+			return CombinationStatus.INVALID;
+		}
+
+		if (util.cover(true, candidatesList)) {
+			return CombinationStatus.COVERED;
+		}
+
+		util.newConfiguration(nextCondition.get(0));
+		return CombinationStatus.COVERED;
+	}
+
 }
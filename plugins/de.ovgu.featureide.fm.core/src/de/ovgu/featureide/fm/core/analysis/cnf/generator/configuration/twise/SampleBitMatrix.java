@@ -0,0 +1,188 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Transposed representation of a sample. For each literal, a bit set stores which configurations of the sample contain the literal (one bit per
+ * configuration). Thus, the configurations covering a conjunction of literals can be computed by intersecting the bit sets of these literals word by word.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleBitMatrix {
+
+	private final long[][] literalBits;
+	private final int numberOfConfigurations;
+	private final int numberOfWords;
+
+	public SampleBitMatrix(List<? extends LiteralSet> configurations, int numberOfVariables) {
+		numberOfConfigurations = configurations.size();
+		numberOfWords = (numberOfConfigurations + 63) >>> 6;
+		literalBits = new long[(numberOfVariables + 1) << 1][];
+
+		int configurationIndex = 0;
+		for (final LiteralSet configuration : configurations) {
+			final int word = configurationIndex >>> 6;
+			final long bit = 1L << configurationIndex;
+			for (final int literal : configuration.getLiterals()) {
+				if (literal != 0) {
+					final int index = getIndex(literal);
+					long[] bits = literalBits[index];
+					if (bits == null) {
+						bits = new long[numberOfWords];
+						literalBits[index] = bits;
+					}
+					bits[word] |= bit;
+				}
+			}
+			configurationIndex++;
+		}
+	}
+
+	/**
+	 * Creates a bit matrix from precomputed bit sets, e.g., from a columnar sample file.
+	 *
+	 * @param literalBits the bit set for each literal (positive literal {@code l} at index {@code 2l}, negative literal {@code -l} at index {@code 2l + 1}),
+	 *        which has one word per 64 configurations. An entry may be {@code null} if no configuration contains the literal.
+	 * @param numberOfConfigurations the number of configurations
+	 */
+	public SampleBitMatrix(long[][] literalBits, int numberOfConfigurations) {
+		this.numberOfConfigurations = numberOfConfigurations;
+		numberOfWords = (numberOfConfigurations + 63) >>> 6;
+		this.literalBits = literalBits;
+		for (int i = 0; i < literalBits.length; i++) {
+			if ((literalBits[i] != null) && isEmpty(literalBits[i])) {
+				literalBits[i] = null;
+			}
+		}
+	}
+
+	private static int getIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+	}
+
+	public int getNumberOfConfigurations() {
+		return numberOfConfigurations;
+	}
+
+	public int getNumberOfWords() {
+		return numberOfWords;
+	}
+
+	/**
+	 * Returns the bit set of configurations that contain the given literal.
+	 *
+	 * @param literal the literal
+	 * @return the bit set or {@code null} if no configuration contains the literal
+	 */
+	public long[] getBits(int literal) {
+		final int index = getIndex(literal);
+		return index < literalBits.length ? literalBits[index] : null;
+	}
+
+	/**
+	 * Computes the bit set of configurations that contain all given literals.
+	 *
+	 * @param literals the literals
+	 * @return a new bit set
+	 */
+	public long[] getBits(LiteralSet literals) {
+		final long[] result = new long[numberOfWords];
+		if (numberOfWords > 0) {
+			for (int i = 0; i < (numberOfWords - 1); i++) {
+				result[i] = -1L;
+			}
+			result[numberOfWords - 1] = -1L >>> (-numberOfConfigurations);
+			for (final int literal : literals.getLiterals()) {
+				final long[] bits = getBits(literal);
+				if (bits == null) {
+					return new long[numberOfWords];
+				}
+				for (int i = 0; i < numberOfWords; i++) {
+					result[i] &= bits[i];
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the bit set of configurations that contain all literals of at least one literal set of the given condition.
+	 *
+	 * @param condition the condition in disjunctive normal form
+	 * @return a new bit set
+	 */
+	public long[] getBits(ClauseList condition) {
+		final long[] result = new long[numberOfWords];
+		for (final LiteralSet literals : condition) {
+			final long[] bits = getBits(literals);
+			for (int i = 0; i < numberOfWords; i++) {
+				result[i] |= bits[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Stores the intersection of two bit sets in a third one.
+	 *
+	 * @param bits1 the first bit set
+	 * @param bits2 the second bit set
+	 * @param result the bit set to store the intersection in (may be identical to one of the other bit sets)
+	 */
+	public static void and(long[] bits1, long[] bits2, long[] result) {
+		for (int i = 0; i < result.length; i++) {
+			result[i] = bits1[i] & bits2[i];
+		}
+	}
+
+	/**
+	 * @param bits1 the first bit set
+	 * @param bits2 the second bit set
+	 * @return {@code true} if both bit sets have at least one common bit
+	 */
+	public static boolean intersects(long[] bits1, long[] bits2) {
+		for (int i = 0; i < bits1.length; i++) {
+			if ((bits1[i] & bits2[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param bits the bit set
+	 * @return {@code true} if the bit set has no set bit
+	 */
+	public static boolean isEmpty(long[] bits) {
+		for (final long word : bits) {
+			if (word != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -79,15 +79,16 @@ public class SampleTester {
 	}
 
 	private List<LiteralSet> getInvalidSolutions(boolean cancelAfterFirst) {
+		final SampleValidator validator = new SampleValidator(cnf);
 		final ArrayList<LiteralSet> invalidSolutions = new ArrayList<>();
-		configLoop: for (final LiteralSet solution : sample) {
-			for (final LiteralSet clause : cnf.getClauses()) {
-				if (!solution.hasDuplicates(clause)) {
-					invalidSolutions.add(solution);
-					if (cancelAfterFirst) {
-						break configLoop;
-					}
-				}
+		if (cancelAfterFirst) {
+			final SampleValidator.Violation violation = validator.findFirstViolation(sample);
+			if (violation != null) {
+				invalidSolutions.add(violation.getConfiguration());
+			}
+		} else {
+			for (final SampleValidator.Violation violation : validator.validate(sample)) {
+				invalidSolutions.add(violation.getConfiguration());
 			}
 		}
 		return invalidSolutions;
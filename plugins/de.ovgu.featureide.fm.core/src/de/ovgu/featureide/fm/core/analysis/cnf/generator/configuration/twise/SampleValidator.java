@@ -0,0 +1,210 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseOrigin;
+import de.ovgu.featureide.fm.core.analysis.cnf.FeatureModelCNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Checks whether the configurations of a sample satisfy all clauses of a {@link CNF}. The sample is stored as a {@link SampleBitMatrix}, such that each
+ * clause is evaluated for 64 configurations at once by combining the bit sets of its literals.
+ *
+ * @author Sebastian Krieter
+ */
+public class SampleValidator {
+
+	/**
+	 * An invalid configuration together with the first clause it violates.
+	 */
+	public static class Violation {
+
+		private final int configurationIndex;
+		private final LiteralSet configuration;
+		private final int clauseIndex;
+		private final LiteralSet clause;
+		private final ClauseOrigin origin;
+
+		private Violation(int configurationIndex, LiteralSet configuration, int clauseIndex, LiteralSet clause, ClauseOrigin origin) {
+			this.configurationIndex = configurationIndex;
+			this.configuration = configuration;
+			this.clauseIndex = clauseIndex;
+			this.clause = clause;
+			this.origin = origin;
+		}
+
+		public int getConfigurationIndex() {
+			return configurationIndex;
+		}
+
+		public LiteralSet getConfiguration() {
+			return configuration;
+		}
+
+		public int getClauseIndex() {
+			return clauseIndex;
+		}
+
+		public LiteralSet getClause() {
+			return clause;
+		}
+
+		/**
+		 * @return the origin of the violated clause or {@code null} if the CNF was not created from a feature model
+		 */
+		public ClauseOrigin getOrigin() {
+			return origin;
+		}
+
+		@Override
+		public String toString() {
+			return "Violation [configuration=" + configurationIndex + ", clause=" + clause + ", origin="
+				+ (origin != null ? origin.getOriginType() : null) + "]";
+		}
+
+	}
+
+	private final CNF cnf;
+
+	public SampleValidator(CNF cnf) {
+		this.cnf = cnf;
+	}
+
+	public CNF getCnf() {
+		return cnf;
+	}
+
+	/**
+	 * Returns all invalid configurations of the given sample in the order of the sample.
+	 *
+	 * @param sample the sample
+	 * @return a list containing one violation for each invalid configuration
+	 */
+	public List<Violation> validate(List<? extends LiteralSet> sample) {
+		return validate(sample, false);
+	}
+
+	/**
+	 * Returns the first invalid configuration of the given sample.
+	 *
+	 * @param sample the sample
+	 * @return the violation of the first invalid configuration or {@code null} if all configurations are valid
+	 */
+	public Violation findFirstViolation(List<? extends LiteralSet> sample) {
+		final List<Violation> violations = validate(sample, true);
+		return violations.isEmpty() ? null : violations.get(0);
+	}
+
+	private List<Violation> validate(List<? extends LiteralSet> sample, boolean cancelAfterFirst) {
+		final List<Violation> violations = new ArrayList<>();
+		final List<LiteralSet> clauses = cnf.getClauses();
+		final int numberOfClauses = clauses.size();
+		final int[][] clauseLiterals = new int[numberOfClauses][];
+		for (int i = 0; i < numberOfClauses; i++) {
+			clauseLiterals[i] = clauses.get(i).getLiterals();
+		}
+
+		final SampleBitMatrix sampleBits = new SampleBitMatrix(sample, cnf.getVariables().size());
+		final int numberOfConfigurations = sample.size();
+		final int numberOfWords = sampleBits.getNumberOfWords();
+		final int[] violatedClauses = new int[Long.SIZE];
+
+		for (int word = 0; word < numberOfWords; word++) {
+			final long validMask = word < (numberOfWords - 1) ? -1L : -1L >>> (-numberOfConfigurations);
+			long remaining = validMask;
+			for (int clauseIndex = 0; clauseIndex < numberOfClauses; clauseIndex++) {
+				long satisfied = 0;
+				for (final int literal : clauseLiterals[clauseIndex]) {
+					final long[] bits = sampleBits.getBits(literal);
+					if (bits != null) {
+						satisfied |= bits[word];
+					}
+				}
+				long violated = remaining & ~satisfied;
+				if (violated != 0) {
+					remaining &= satisfied;
+					for (; violated != 0; violated &= violated - 1) {
+						violatedClauses[Long.numberOfTrailingZeros(violated)] = clauseIndex;
+					}
+					if (remaining == 0) {
+						break;
+					}
+				}
+			}
+			for (long invalid = validMask & ~remaining; invalid != 0; invalid &= invalid - 1) {
+				final int bit = Long.numberOfTrailingZeros(invalid);
+				final int configurationIndex = (word << 6) + bit;
+				final int clauseIndex = violatedClauses[bit];
+				final LiteralSet clause = clauses.get(clauseIndex);
+				violations.add(new Violation(configurationIndex, sample.get(configurationIndex), clauseIndex, clause, getOrigin(clause)));
+				if (cancelAfterFirst) {
+					return violations;
+				}
+			}
+		}
+		return violations;
+	}
+
+	private ClauseOrigin getOrigin(LiteralSet clause) {
+		return (cnf instanceof FeatureModelCNF) ? ((FeatureModelCNF) cnf).getOrigin(clause) : null;
+	}
+
+	/**
+	 * Creates a readable description of the given violation using the variable names of the CNF.
+	 *
+	 * @param violation the violation
+	 * @return the description
+	 */
+	public String toString(Violation violation) {
+		final IVariables variables = cnf.getVariables();
+		final StringBuilder sb = new StringBuilder();
+		sb.append("Configuration ");
+		sb.append(violation.getConfigurationIndex());
+		sb.append(" violates clause (");
+		final int[] literals = violation.getClause().getLiterals();
+		for (int i = 0; i < literals.length; i++) {
+			if (i > 0) {
+				sb.append(" | ");
+			}
+			if (literals[i] < 0) {
+				sb.append('-');
+			}
+			sb.append(variables.getName(literals[i]));
+		}
+		sb.append(')');
+		final ClauseOrigin origin = violation.getOrigin();
+		if (origin != null) {
+			sb.append(" from ");
+			sb.append(origin.getOriginType());
+			if (origin.getOriginObject() != null) {
+				sb.append(' ');
+				sb.append(origin.getOriginObject().getName());
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -25,17 +25,26 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.ITWiseConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.ICoverStrategy.CombinationStatus;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.ICombinationSupplier;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.MergeIterator3;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.iterator.SingleIterator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 import de.ovgu.featureide.fm.core.job.monitor.MonitorThread;
 
@@ -123,9 +132,44 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		return TWiseCombiner.convertExpressions(expressions);
 	}
 
+	/**
+	 * Converts the configurations of a sample to the variables of another formula (e.g., of an evolved feature model) by matching the variable names.
+	 * Variables that do not exist in the given variables are dropped and new variables remain unassigned (i.e., 0).
+	 *
+	 * @param sample the sample
+	 * @param variables the variables of the new formula
+	 * @return a list of configurations that can be used as an {@link #setInitialSample(List) initial sample}.
+	 */
+	public static List<LiteralSet> adaptSample(SolutionList sample, IVariables variables) {
+		final IVariables oldVariables = sample.getVariables();
+		final List<LiteralSet> adaptedSample = new ArrayList<>(sample.getSolutions().size());
+		for (final LiteralSet configuration : sample.getSolutions()) {
+			final int[] literals = new int[variables.size()];
+			for (final int literal : configuration.getLiterals()) {
+				if (literal != 0) {
+					final int newLiteral = variables.getVariable(oldVariables.getName(literal), literal > 0);
+					if (newLiteral != 0) {
+						literals[Math.abs(newLiteral) - 1] = newLiteral;
+					}
+				}
+			}
+			adaptedSample.add(new LiteralSet(literals, LiteralSet.Order.INDEX, false));
+		}
+		return adaptedSample;
+	}
+
+	/**
+	 * Number of combinations per thread that are checked in parallel before they are covered sequentially.
+	 */
+	private static final int BATCH_SIZE_PER_THREAD = 1024;
+
 	// TODO Variation Point: Iterations of removing low-contributing Configurations
 	private int iterations = 5;
 
+	private int parallelism = 1;
+	private ForkJoinPool pool;
+	private ISatSolver[] workerSolvers;
+
 	protected TWiseConfigurationUtil util;
 	protected TWiseCombiner combiner;
 
@@ -136,6 +180,8 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 	protected long numberOfCombinations, count, coveredCount, invalidCount;
 	protected int phaseCount;
 
+	private List<LiteralSet> initialSample = null;
+
 	private List<TWiseConfiguration> curResult = null;
 	private ArrayList<TWiseConfiguration> bestResult = null;
 
@@ -189,12 +235,141 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 
 		phaseCount = 0;
 
-		for (int i = 0; i < iterations; i++) {
-			trimConfigurations();
+		// without trimming, completed configurations are part of the final sample and can be emitted immediately
+		final boolean streaming = (initialSample != null) || (iterations <= 1);
+		if (streaming) {
+			util.setCompletedConfigurationListener(configuration -> addResult(configuration.getCompleteSolution()));
+		}
+
+		if (parallelism > 1) {
+			pool = new ForkJoinPool(parallelism);
+			try {
+				sample();
+			} finally {
+				pool.shutdownNow();
+				pool = null;
+				workerSolvers = null;
+			}
+		} else {
+			sample();
+		}
+
+		if (streaming) {
+			util.getIncompleteSolutionList().forEach(configuration -> addResult(configuration.getCompleteSolution()));
+		} else {
+			bestResult.forEach(configuration -> addResult(configuration.getCompleteSolution()));
+		}
+	}
+
+	private void sample() throws Exception {
+		if (initialSample != null) {
+			addInitialSample();
 			buildCombinations();
+			// configurations of the initial sample are complete and stay at the beginning of the complete solution list
+			bestResult = new ArrayList<>(util.getCompleteSolutionList());
+			bestResult.addAll(util.getIncompleteSolutionList());
+		} else {
+			for (int i = 0; i < iterations; i++) {
+				trimConfigurations();
+				buildCombinations();
+			}
 		}
+	}
 
-		bestResult.forEach(configuration -> addResult(configuration.getCompleteSolution()));
+	private void addInitialSample() {
+		final List<SampleValidator.Violation> violations = new SampleValidator(util.getCnf()).validate(initialSample);
+		final Iterator<SampleValidator.Violation> violationIterator = violations.iterator();
+		SampleValidator.Violation nextViolation = violationIterator.hasNext() ? violationIterator.next() : null;
+		int index = 0;
+		for (final LiteralSet configuration : initialSample) {
+			if ((util.getCompleteSolutionList().size() + util.getIncompleteSolutionList().size()) >= util.getMaxSampleSize()) {
+				Logger.logWarning("Initial sample was truncated to the maximum sample size of " + util.getMaxSampleSize() + " (" + index + " of "
+					+ initialSample.size() + " configurations were processed)");
+				break;
+			}
+			final boolean valid;
+			if ((nextViolation != null) && (nextViolation.getConfigurationIndex() == index)) {
+				valid = false;
+				nextViolation = violationIterator.hasNext() ? violationIterator.next() : null;
+			} else {
+				valid = isComplete(configuration);
+			}
+			index++;
+
+			final LiteralSet completeConfiguration = valid ? configuration : repair(configuration);
+			if (completeConfiguration != null) {
+				util.newConfiguration(completeConfiguration);
+			}
+		}
+	}
+
+	private static boolean isComplete(LiteralSet configuration) {
+		for (final int literal : configuration.getLiterals()) {
+			if (literal == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Computes a valid configuration that greedily keeps the literals of the given configuration. Starting with a solution that is guided by the literals of
+	 * the configuration, each literal that is not contained in the current solution is kept, if there is still a solution containing it and all previously
+	 * kept literals. Thus, no changed literal can be restored without changing another one (i.e., the set of changed literals is subset-minimal), but another
+	 * repair may change fewer literals.
+	 *
+	 * @param configuration a possibly invalid or partial configuration
+	 * @return a valid configuration or {@code null} if the formula is not satisfiable
+	 */
+	private LiteralSet repair(LiteralSet configuration) {
+		final int[] model = new int[util.getCnf().getVariables().size()];
+		for (final int literal : configuration.getLiterals()) {
+			if (literal != 0) {
+				model[Math.abs(literal) - 1] = literal;
+			}
+		}
+		if (!util.hasSolver()) {
+			for (int i = 0; i < model.length; i++) {
+				if (model[i] == 0) {
+					model[i] = -(i + 1);
+				}
+			}
+			return new LiteralSet(model, LiteralSet.Order.INDEX, false);
+		}
+
+		// unassigned variables are preferably deselected
+		final int[] negatedModel = new int[model.length];
+		for (int i = 0; i < model.length; i++) {
+			negatedModel[i] = model[i] == 0 ? i + 1 : -model[i];
+		}
+		final ISatSolver solver = util.getSolver();
+		final int orgAssignmentSize = solver.getAssignmentSize();
+		// prefer the phases of the given configuration
+		solver.setSelectionStrategy(negatedModel, false);
+		try {
+			int[] solution = solver.findSolution();
+			if (solution == null) {
+				return null;
+			}
+			for (final int literal : model) {
+				if (literal != 0) {
+					if (solution[Math.abs(literal) - 1] == literal) {
+						solver.assignmentPush(literal);
+					} else {
+						solver.assignmentPush(literal);
+						if (solver.hasSolution() == SatResult.TRUE) {
+							solution = solver.getSolution();
+						} else {
+							solver.assignmentPop();
+						}
+					}
+				}
+			}
+			return new LiteralSet(solution, LiteralSet.Order.INDEX, false);
+		} finally {
+			solver.assignmentClear(orgAssignmentSize);
+			solver.setSelectionStrategy(SelectionStrategy.ORG);
+		}
 	}
 
 	private void trimConfigurations() {
@@ -229,10 +404,11 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		return index;
 	}
 
-	private void buildCombinations() {
+	private void buildCombinations() throws Exception {
 		// TODO Variation Point: Cover Strategies
+		final CoverAll coverAll = new CoverAll(util);
 		final List<? extends ICoverStrategy> phaseList = Arrays.asList(//
-				new CoverAll(util) //
+				coverAll //
 		);
 
 		// TODO Variation Point: Combination order
@@ -261,33 +437,21 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 				count = coveredCount;
 				phaseCount++;
 				ICoverStrategy phase = phaseList.get(0);
-				while (true) {
-					final ClauseList combinedCondition = it.get();
-					if (combinedCondition == null) {
-						break;
-					}
-					if (combinedCondition.isEmpty()) {
-						invalidCount++;
-					} else {
-						final CombinationStatus covered = phase.cover(combinedCondition);
-						switch (covered) {
-						case NOT_COVERED:
-							combinationListUncovered.add(combinedCondition);
-							break;
-						case COVERED:
-							coveredCount++;
-							combinedCondition.clear();
+				if (pool != null) {
+					coverParallel(it, coverAll, combinationListUncovered);
+				} else {
+					while (true) {
+						final ClauseList combinedCondition = it.get();
+						if (combinedCondition == null) {
 							break;
-						case INVALID:
+						}
+						if (combinedCondition.isEmpty()) {
 							invalidCount++;
-							combinedCondition.clear();
-							break;
-						default:
-							combinedCondition.clear();
-							break;
+						} else {
+							updateStatus(combinedCondition, phase.cover(combinedCondition), combinationListUncovered);
 						}
+						count++;
 					}
-					count++;
 				}
 
 				int coveredIndex = -1;
@@ -327,6 +491,112 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		}
 	}
 
+	private void updateStatus(ClauseList combinedCondition, CombinationStatus covered, List<ClauseList> combinationListUncovered) {
+		switch (covered) {
+		case NOT_COVERED:
+			combinationListUncovered.add(combinedCondition);
+			break;
+		case COVERED:
+			coveredCount++;
+			combinedCondition.clear();
+			break;
+		case INVALID:
+			invalidCount++;
+			combinedCondition.clear();
+			break;
+		default:
+			combinedCondition.clear();
+			break;
+		}
+	}
+
+	/**
+	 * Covers all combinations of the given iterator in batches. For each batch, the worker threads first check in parallel whether a combination is already
+	 * covered by the current sample and, if not, whether its literal sets are valid, each thread using its own solver. As the sample is not modified during
+	 * this step, no synchronization is needed. Afterwards, the remaining combinations are covered sequentially in their original order, using the computed
+	 * validity instead of calling the solver again.
+	 */
+	private void coverParallel(ICombinationSupplier<ClauseList> it, CoverAll coverAll, List<ClauseList> combinationListUncovered) throws Exception {
+		if (workerSolvers == null) {
+			workerSolvers = new ISatSolver[parallelism];
+			if (util.hasSolver()) {
+				for (int i = 0; i < parallelism; i++) {
+					workerSolvers[i] = util.getSolver().clone();
+				}
+			}
+		}
+
+		final int batchSize = BATCH_SIZE_PER_THREAD * parallelism;
+		final ClauseList[] batch = new ClauseList[batchSize];
+		final boolean[][] validity = new boolean[batchSize][];
+		final List<Callable<List<int[]>>> tasks = new ArrayList<>(parallelism);
+		int size;
+		do {
+			for (size = 0; size < batchSize; size++) {
+				final ClauseList combinedCondition = it.get();
+				if (combinedCondition == null) {
+					break;
+				}
+				batch[size] = combinedCondition;
+			}
+			if (size == 0) {
+				break;
+			}
+
+			tasks.clear();
+			final int batchEnd = size;
+			for (int i = 0; i < parallelism; i++) {
+				final int worker = i;
+				tasks.add(() -> {
+					final ISatSolver workerSolver = workerSolvers[worker];
+					final List<int[]> solutions = new ArrayList<>();
+					for (int j = worker; j < batchEnd; j += parallelism) {
+						final ClauseList combinedCondition = batch[j];
+						if (combinedCondition.isEmpty() || util.isCovered(combinedCondition)) {
+							validity[j] = null;
+						} else {
+							final boolean[] combinationValidity = new boolean[combinedCondition.size()];
+							for (int k = 0; k < combinationValidity.length; k++) {
+								combinationValidity[k] = util.isCombinationValid(combinedCondition.get(k), workerSolver, solutions::add);
+							}
+							validity[j] = combinationValidity;
+						}
+					}
+					return solutions;
+				});
+			}
+			for (final Future<List<int[]>> result : pool.invokeAll(tasks)) {
+				for (final int[] solution : getResult(result)) {
+					util.addSolverSolution(solution);
+				}
+			}
+
+			for (int j = 0; j < size; j++) {
+				final ClauseList combinedCondition = batch[j];
+				if (combinedCondition.isEmpty()) {
+					invalidCount++;
+				} else if (validity[j] == null) {
+					coveredCount++;
+					combinedCondition.clear();
+				} else {
+					updateStatus(combinedCondition, coverAll.cover(combinedCondition, validity[j]), combinationListUncovered);
+				}
+				batch[j] = null;
+				validity[j] = null;
+				count++;
+			}
+		} while (size == batchSize);
+	}
+
+	private static <T> T getResult(Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : e;
+		}
+	}
+
 	public TWiseConfigurationUtil getUtil() {
 		return util;
 	}
@@ -335,8 +605,49 @@ public class TWiseConfigurationGenerator extends AConfigurationGenerator impleme
 		return iterations;
 	}
 
+	/**
+	 * Sets the number of sampling iterations. After each iteration, configurations that contribute little to the coverage are removed and the sample is
+	 * completed again. Thus, the final sample is only known after the last iteration. With a single iteration, each configuration is added to the
+	 * {@link #getResultQueue() result queue} as soon as it is completed.
+	 *
+	 * @param iterations the number of iterations
+	 */
 	public void setIterations(int iterations) {
 		this.iterations = iterations;
 	}
 
+	public List<LiteralSet> getInitialSample() {
+		return initialSample;
+	}
+
+	/**
+	 * Sets a previously generated sample that should be reused, for instance, after the feature model has evolved. Valid configurations of the initial sample
+	 * are kept unchanged, invalid and partial configurations are repaired greedily, such that the set of changed literals is subset-minimal (but not
+	 * necessarily of minimum size). Afterwards, new configurations are added only for interactions that are not covered by these configurations. The
+	 * configurations of the initial sample are returned first and in their original order. If the initial sample is larger than the maximum sample size, only
+	 * its first configurations are kept and a warning is logged. As the initial sample is retained, no further {@link #setIterations(int) iterations} are
+	 * performed.
+	 *
+	 * @param initialSample the previous sample (must use the variables of the formula of this generator, see {@link #adaptSample(SolutionList, IVariables)})
+	 *        or {@code null} to generate a new sample
+	 */
+	public void setInitialSample(List<LiteralSet> initialSample) {
+		this.initialSample = initialSample;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that are used for sampling. A value greater than 1 enables the parallel mode, in which the coverage and validity of
+	 * combinations are checked concurrently by a fork-join pool with one solver per thread. The resulting sample may differ from the sequential one, as the
+	 * solutions found by the worker solvers are added to the solution pool in a different order.
+	 *
+	 * @param parallelism the number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 }
@@ -22,10 +22,16 @@ package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.util.Pair;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 
 /**
  * Calculates statistics regarding t-wise feature coverage of a set of solutions.
@@ -52,6 +58,7 @@ public class TWiseConfigurationStatistic {
 	private boolean countValid = true;
 	private boolean fastCalc = false;
 	private boolean onlyCoverage = false;
+	private int parallelism = 1;
 	private int t;
 
 	public boolean isCountValid() {
@@ -86,6 +93,19 @@ public class TWiseConfigurationStatistic {
 		this.onlyCoverage = onlyCoverage;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that are used to calculate the coverage. Only has an effect if {@link #isOnlyCoverage()} is {@code true}.
+	 *
+	 * @param parallelism the number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	public void calculate(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
 		numberOfValidConditions = 0;
 		numberOfInvalidConditions = 0;
@@ -96,7 +116,7 @@ public class TWiseConfigurationStatistic {
 		configValues2 = null;
 
 		if (onlyCoverage) {
-			completeCalc2(util, configurations, groupedPresenceConditions);
+			bitSetCalc(util, configurations, groupedPresenceConditions);
 		} else {
 			if (fastCalc) {
 				fastCalc(util, configurations, groupedPresenceConditions);
@@ -212,102 +232,211 @@ public class TWiseConfigurationStatistic {
 		}
 	}
 
-	private void completeCalc2(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
+	private void bitSetCalc(TWiseConfigurationUtil util, List<? extends LiteralSet> configurations, List<List<PresenceCondition>> groupedPresenceConditions) {
 		configValues = new double[configurations.size()];
 		configValues2 = new double[configurations.size()];
 
-		final TWiseCombiner combiner = new TWiseCombiner(util.getCnf().getVariables().size());
-		final ClauseList combinedCondition = new ClauseList();
-		final PresenceCondition[] clauseListArray = new PresenceCondition[t];
+		final SampleBitMatrix sampleBits = new SampleBitMatrix(configurations, util.getCnf().getVariables().size());
 
-		final ArrayList<List<Pair<Integer, LiteralSet>>> lists = new ArrayList<>(t);
-		{
-			for (int i = 0; i <= t; i++) {
-				lists.add(new ArrayList<Pair<Integer, LiteralSet>>());
+		if (parallelism > 1) {
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				final ISatSolver[] workerSolvers = new ISatSolver[parallelism];
+				if (util.hasSolver()) {
+					for (int i = 0; i < parallelism; i++) {
+						workerSolvers[i] = util.getSolver().clone();
+					}
+				}
+				final Consumer<int[]> solutions = solution -> {};
+				for (final List<PresenceCondition> expressions : groupedPresenceConditions) {
+					final int n = expressions.size();
+					if (n == 0) {
+						continue;
+					}
+					final int t2 = (n < t) ? n : t;
+					final long[][] conditionBits = getConditionBits(sampleBits, expressions);
+					final List<Callable<BitSetCounter>> tasks = new ArrayList<>(parallelism);
+					for (int i = 0; i < parallelism; i++) {
+						final int worker = i;
+						tasks.add(() -> {
+							final BitSetCounter counter = new BitSetCounter(util, workerSolvers[worker], solutions, t2);
+							for (int first = worker; first <= (n - t2); first += parallelism) {
+								counter.count(expressions, conditionBits, first);
+							}
+							return counter;
+						});
+					}
+					for (final Future<BitSetCounter> future : pool.invokeAll(tasks)) {
+						add(getResult(future));
+					}
+				}
+			} finally {
+				pool.shutdownNow();
 			}
-			final List<Pair<Integer, LiteralSet>> list = lists.get(0);
-			int confIndex = 0;
-			for (final LiteralSet configuration : configurations) {
-				list.add(new Pair<>(confIndex++, configuration));
+		} else {
+			for (final List<PresenceCondition> expressions : groupedPresenceConditions) {
+				final int n = expressions.size();
+				if (n == 0) {
+					continue;
+				}
+				final int t2 = (n < t) ? n : t;
+				final long[][] conditionBits = getConditionBits(sampleBits, expressions);
+				final BitSetCounter counter = new BitSetCounter(util, null, null, t2);
+				for (int first = 0; first <= (n - t2); first++) {
+					counter.count(expressions, conditionBits, first);
+				}
+				add(counter);
 			}
 		}
-		final List<Pair<Integer, LiteralSet>> curConfigurationList = lists.get(t);
+	}
 
-		for (final List<PresenceCondition> expressions : groupedPresenceConditions) {
-			final int n = expressions.size();
-			if (n == 0) {
-				continue;
+	private static long[][] getConditionBits(SampleBitMatrix sampleBits, List<PresenceCondition> expressions) {
+		final long[][] conditionBits = new long[expressions.size()][];
+		for (int i = 0; i < conditionBits.length; i++) {
+			conditionBits[i] = sampleBits.getBits(expressions.get(i));
+		}
+		return conditionBits;
+	}
+
+	private void add(BitSetCounter counter) {
+		numberOfValidConditions += counter.numberOfValidConditions;
+		numberOfInvalidConditions += counter.numberOfInvalidConditions;
+		numberOfCoveredConditions += counter.numberOfCoveredConditions;
+		numberOfUncoveredConditions += counter.numberOfUncoveredConditions;
+	}
+
+	private static <T> T getResult(Future<T> future) {
+		try {
+			return future.get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
 			}
-			final int t2 = (n < t) ? n : t;
-			final int[] c = new int[t2 + 1];
-			c[0] = -1;
-			for (int i = 1; i <= t2; i++) {
-				c[i] = n - (t2 - i);
+			throw new RuntimeException(cause);
+		}
+	}
+
+	/**
+	 * Counts the covered and valid combinations that start with a given presence condition. Each instance holds its own buffers and can be used by one
+	 * thread at a time.<br> Combinations are enumerated in lexicographic order, such that the intersection of the bit sets of a common prefix is computed only
+	 * once. If the presence conditions of a prefix are not covered by any configuration and cannot be selected together, every combination with this prefix
+	 * is invalid as well. Thus, the validity of an uncovered prefix is computed at most once.
+	 */
+	private final class BitSetCounter {
+
+		private static final byte UNKNOWN = 0;
+		private static final byte VALID = 1;
+		private static final byte INVALID = 2;
+
+		private final TWiseConfigurationUtil util;
+		private final ISatSolver solver;
+		private final Consumer<int[]> solutions;
+
+		private final TWiseCombiner combiner;
+		private final ClauseList combinedCondition = new ClauseList();
+		private final PresenceCondition[][] clauseListArrays;
+		private final int[] c;
+		private final long[][] prefixBits;
+		private final byte[] prefixValidity;
+
+		private long numberOfValidConditions;
+		private long numberOfInvalidConditions;
+		private long numberOfCoveredConditions;
+		private long numberOfUncoveredConditions;
+
+		private BitSetCounter(TWiseConfigurationUtil util, ISatSolver solver, Consumer<int[]> solutions, int t) {
+			this.util = util;
+			this.solver = solver;
+			this.solutions = solutions;
+			combiner = new TWiseCombiner(util.getCnf().getVariables().size());
+			clauseListArrays = new PresenceCondition[t + 1][];
+			for (int i = 1; i <= t; i++) {
+				clauseListArrays[i] = new PresenceCondition[i];
 			}
-			boolean first = true;
+			c = new int[t - 1];
+			prefixBits = new long[t][];
+			prefixValidity = new byte[t];
+		}
 
-			combinationLoop: while (true) {
-				int i = t2;
-				for (; i > 0; i--) {
-					final int ci = ++c[i];
-					if (ci < ((n - t2) + i)) {
-						break;
-					}
+		private void count(List<PresenceCondition> expressions, long[][] conditionBits, int first) {
+			final int n = expressions.size();
+			final int k = c.length;
+			prefixBits[0] = conditionBits[first];
+			for (int i = 1; i < k; i++) {
+				if (prefixBits[i] == null) {
+					prefixBits[i] = new long[prefixBits[0].length];
 				}
+			}
+			for (int i = 0; i < k; i++) {
+				c[i] = first + 1 + i;
+			}
+			prefixValidity[0] = UNKNOWN;
 
-				if (i == 0) {
-					if (first) {
-						first = false;
+			int changed = 0;
+			while (true) {
+				for (int j = changed; j < (k - 1); j++) {
+					SampleBitMatrix.and(prefixBits[j], conditionBits[c[j]], prefixBits[j + 1]);
+					prefixValidity[j + 1] = UNKNOWN;
+				}
+				final boolean covered = k == 0 //
+					? !SampleBitMatrix.isEmpty(prefixBits[0]) //
+					: SampleBitMatrix.intersects(prefixBits[k - 1], conditionBits[c[k - 1]]);
+				if (covered) {
+					numberOfCoveredConditions++;
+					if (countValid) {
+						numberOfValidConditions++;
+					}
+				} else if (countValid) {
+					if (isValid(expressions, first, k)) {
+						numberOfValidConditions++;
+						numberOfUncoveredConditions++;
 					} else {
-						break combinationLoop;
+						numberOfInvalidConditions++;
 					}
+				} else {
+					numberOfUncoveredConditions++;
 				}
 
-				for (int j = i + 1; j <= t2; j++) {
-					c[j] = c[j - 1] + 1;
+				int i = k - 1;
+				while ((i >= 0) && (c[i] == ((n - k) + i))) {
+					i--;
 				}
-
-				for (int j = i; j <= t2; j++) {
-					if (j > 0) {
-						final List<Pair<Integer, LiteralSet>> prevList = lists.get(j - 1);
-						final List<Pair<Integer, LiteralSet>> curList = lists.get(j);
-						curList.clear();
-						final PresenceCondition presenceCondition = expressions.get(c[j]);
-						entryLoop: for (final Pair<Integer, LiteralSet> entry : prevList) {
-							for (final LiteralSet literals : presenceCondition) {
-								if (entry.getValue().containsAll(literals)) {
-									curList.add(entry);
-									continue entryLoop;
-								}
-							}
-						}
-					}
+				if (i < 0) {
+					break;
 				}
+				c[i]++;
+				for (int j = i + 1; j < k; j++) {
+					c[j] = c[j - 1] + 1;
+				}
+				changed = i;
+			}
+		}
 
-				final int count = curConfigurationList.size();
-				if (count > 0) {
-					numberOfCoveredConditions++;
-					if (countValid) {
-						numberOfValidConditions++;
+		private boolean isValid(List<PresenceCondition> expressions, int first, int k) {
+			for (int j = 0; j < k; j++) {
+				if (SampleBitMatrix.isEmpty(prefixBits[j])) {
+					if (prefixValidity[j] == UNKNOWN) {
+						prefixValidity[j] = isValid(expressions, first, j) ? VALID : INVALID;
 					}
-				} else {
-					if (countValid) {
-						for (int j = 1; j < c.length; j++) {
-							clauseListArray[j - 1] = expressions.get(c[j]);
-						}
-						combinedCondition.clear();
-						combiner.combineConditions(clauseListArray, combinedCondition);
-						if (util.isCombinationValid(combinedCondition)) {
-							numberOfValidConditions++;
-							numberOfUncoveredConditions++;
-						} else {
-							numberOfInvalidConditions++;
-						}
-					} else {
-						numberOfUncoveredConditions++;
+					if (prefixValidity[j] == INVALID) {
+						return false;
 					}
 				}
 			}
+			final PresenceCondition[] clauseListArray = clauseListArrays[k + 1];
+			clauseListArray[0] = expressions.get(first);
+			for (int j = 0; j < k; j++) {
+				clauseListArray[j + 1] = expressions.get(c[j]);
+			}
+			combinedCondition.clear();
+			combiner.combineConditions(clauseListArray, combinedCondition);
+			return solver == null //
+				? util.isCombinationValid(combinedCondition) //
+				: util.isCombinationValid(combinedCondition, solver, solutions);
 		}
 	}
 
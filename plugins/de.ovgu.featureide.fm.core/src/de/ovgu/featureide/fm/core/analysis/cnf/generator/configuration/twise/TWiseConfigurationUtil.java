@@ -29,6 +29,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 import org.sat4j.core.VecInt;
 
@@ -78,6 +79,8 @@ public class TWiseConfigurationUtil {
 
 	protected int maxSampleSize = Integer.MAX_VALUE;
 
+	protected Consumer<TWiseConfiguration> completedConfigurationListener = null;
+
 	public TWiseConfigurationUtil(CNF cnf, ISatSolver localSolver) {
 		this.cnf = cnf;
 		this.localSolver = localSolver;
@@ -188,6 +191,19 @@ public class TWiseConfigurationUtil {
 		return !isCombinationInvalidMIG(literals) && isCombinationValidSAT(literals);
 	}
 
+	/**
+	 * Checks whether the given literals are valid using the given solver instead of the solver of this instance. Found solutions are passed to the given
+	 * consumer instead of being added to the solution pool. Thus, the check can be run concurrently by threads with their own solvers.
+	 *
+	 * @param literals the literals to check
+	 * @param solver the solver to use
+	 * @param solutions receives all found solutions
+	 * @return {@code true} if the literals can be selected together
+	 */
+	public boolean isCombinationValid(LiteralSet literals, ISatSolver solver, Consumer<int[]> solutions) {
+		return !isCombinationInvalidMIG(literals) && isCombinationValidSAT(literals, solver, solutions);
+	}
+
 	public boolean isCombinationValid(ClauseList clauses) {
 		if (hasSolver()) {
 			for (final LiteralSet literalSet : clauses) {
@@ -205,6 +221,32 @@ public class TWiseConfigurationUtil {
 		return !clauses.isEmpty();
 	}
 
+	/**
+	 * Same as {@link #isCombinationValid(ClauseList)}, but uses the given solver and passes found solutions to the given consumer (see
+	 * {@link #isCombinationValid(LiteralSet, ISatSolver, Consumer)}).
+	 *
+	 * @param clauses the condition in disjunctive normal form
+	 * @param solver the solver to use
+	 * @param solutions receives all found solutions
+	 * @return {@code true} if at least one literal set of the condition can be selected
+	 */
+	public boolean isCombinationValid(ClauseList clauses, ISatSolver solver, Consumer<int[]> solutions) {
+		if (hasSolver()) {
+			for (final LiteralSet literalSet : clauses) {
+				if (isCombinationInvalidMIG(literalSet)) {
+					return false;
+				}
+			}
+			for (final LiteralSet literalSet : clauses) {
+				if (isCombinationValidSAT(literalSet, solver, solutions)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return !clauses.isEmpty();
+	}
+
 	public boolean isCombinationInvalidMIG(LiteralSet literals) {
 		if (hasSolver()) {
 			for (final int literal : literals.getLiterals()) {
@@ -217,6 +259,10 @@ public class TWiseConfigurationUtil {
 	}
 
 	public boolean isCombinationValidSAT(LiteralSet literals) {
+		return isCombinationValidSAT(literals, getSolver(), this::addSolverSolution);
+	}
+
+	private boolean isCombinationValidSAT(LiteralSet literals, ISatSolver solver, Consumer<int[]> solutions) {
 		if (hasSolver()) {
 			for (final LiteralSet s : randomSample) {
 				if (!s.hasConflicts(literals)) {
@@ -224,14 +270,13 @@ public class TWiseConfigurationUtil {
 				}
 			}
 
-			final ISatSolver solver = getSolver();
 			final int orgAssingmentLength = solver.getAssignmentSize();
 			solver.assignmentPushAll(literals.getLiterals());
 			try {
 				final SatResult hasSolution = solver.hasSolution();
 				switch (hasSolution) {
 				case TRUE:
-					addSolverSolution(solver.getSolution());
+					solutions.accept(solver.getSolution());
 					break;
 				case FALSE:
 				case TIMEOUT:
@@ -251,17 +296,40 @@ public class TWiseConfigurationUtil {
 		for (final LiteralSet literals : nextCondition) {
 			if (!isCombinationValid(literals)) {
 				validCount--;
-				for (final Iterator<Pair<LiteralSet, TWiseConfiguration>> iterator = candidatesList.iterator(); iterator.hasNext();) {
-					final Pair<LiteralSet, TWiseConfiguration> pair = iterator.next();
-					if (pair.getKey().equals(literals)) {
-						iterator.remove();
-					}
-				}
+				removeCandidates(literals, candidatesList);
+			}
+		}
+		return validCount == 0;
+	}
+
+	/**
+	 * Same as {@link #removeInvalidClauses(ClauseList, List)}, but uses the given, previously computed validity of each literal set of the condition.
+	 *
+	 * @param nextCondition the condition
+	 * @param candidatesList the candidates
+	 * @param validity the validity of the literal set with the same index in {@code nextCondition}
+	 * @return {@code true} if all literal sets of the condition are invalid
+	 */
+	public boolean removeInvalidClauses(ClauseList nextCondition, List<Pair<LiteralSet, TWiseConfiguration>> candidatesList, boolean[] validity) {
+		int validCount = nextCondition.size();
+		for (int i = 0; i < validity.length; i++) {
+			if (!validity[i]) {
+				validCount--;
+				removeCandidates(nextCondition.get(i), candidatesList);
 			}
 		}
 		return validCount == 0;
 	}
 
+	private void removeCandidates(LiteralSet literals, List<Pair<LiteralSet, TWiseConfiguration>> candidatesList) {
+		for (final Iterator<Pair<LiteralSet, TWiseConfiguration>> iterator = candidatesList.iterator(); iterator.hasNext();) {
+			final Pair<LiteralSet, TWiseConfiguration> pair = iterator.next();
+			if (pair.getKey().equals(literals)) {
+				iterator.remove();
+			}
+		}
+	}
+
 	public boolean isSelectionPossible(final LiteralSet literals, final TWiseConfiguration configuration, boolean useSolver) {
 		if (hasSolver()) {
 			if (useSolver) {
@@ -318,7 +386,7 @@ public class TWiseConfigurationUtil {
 			for (final Iterator<TWiseConfiguration> iterator = incompleteSolutionList.iterator(); iterator.hasNext();) {
 				if (iterator.next() == solution) {
 					iterator.remove();
-					completeSolutionList.add(solution);
+					addCompleteConfiguration(solution);
 					break;
 				}
 			}
@@ -381,7 +449,7 @@ public class TWiseConfigurationUtil {
 			configuration.updateSolverSolutions();
 			if (configuration.isComplete()) {
 				configuration.clear();
-				completeSolutionList.add(configuration);
+				addCompleteConfiguration(configuration);
 			} else {
 				incompleteSolutionList.add(configuration);
 				Collections.sort(incompleteSolutionList, (a, b) -> a.countLiterals() - b.countLiterals());
@@ -389,6 +457,13 @@ public class TWiseConfigurationUtil {
 		}
 	}
 
+	private void addCompleteConfiguration(TWiseConfiguration configuration) {
+		completeSolutionList.add(configuration);
+		if (completedConfigurationListener != null) {
+			completedConfigurationListener.accept(configuration);
+		}
+	}
+
 	public List<TWiseConfiguration> getIncompleteSolutionList() {
 		return incompleteSolutionList;
 	}
@@ -412,6 +487,20 @@ public class TWiseConfigurationUtil {
 		this.maxSampleSize = maxSampleSize;
 	}
 
+	public Consumer<TWiseConfiguration> getCompletedConfigurationListener() {
+		return completedConfigurationListener;
+	}
+
+	/**
+	 * Sets a listener that is notified whenever a configuration is completed, i.e., all of its variables are assigned. Completed configurations are never
+	 * changed afterwards, but may still be removed when trimming the sample.
+	 *
+	 * @param completedConfigurationListener the listener or {@code null}
+	 */
+	public void setCompletedConfigurationListener(Consumer<TWiseConfiguration> completedConfigurationListener) {
+		this.completedConfigurationListener = completedConfigurationListener;
+	}
+
 	public void setRandom(Random random) {
 		this.random = random;
 	}
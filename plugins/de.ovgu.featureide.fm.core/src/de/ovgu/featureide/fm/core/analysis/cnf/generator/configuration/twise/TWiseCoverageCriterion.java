@@ -40,6 +40,7 @@ public class TWiseCoverageCriterion implements CoverageCriterion {
 	private final TWiseConfigurationUtil util;
 	private PresenceConditionManager presenceConditionManager;
 	private int t;
+	private int parallelism = 1;
 
 	public TWiseCoverageCriterion(CNF cnf, int t) {
 		if (!cnf.getClauses().isEmpty()) {
@@ -64,6 +65,19 @@ public class TWiseCoverageCriterion implements CoverageCriterion {
 		this.t = t;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that are used to calculate the coverage.
+	 *
+	 * @param parallelism the number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	@Override
 	public double getCoverage(List<LiteralSet> sample) {
 		final TWiseConfigurationStatistic statistic = getStatistics(sample);
@@ -90,6 +104,7 @@ public class TWiseCoverageCriterion implements CoverageCriterion {
 		final TWiseConfigurationStatistic statistic = new TWiseConfigurationStatistic();
 		statistic.setT(t);
 		statistic.setOnlyCoverage(true);
+		statistic.setParallelism(parallelism);
 		statistic.calculate(util, sample, presenceConditionManager.getGroupedPresenceConditions());
 		return statistic;
 	}
@@ -27,9 +27,11 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-
-import org.sat4j.specs.TimeoutException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseLengthComparatorDsc;
@@ -37,18 +39,17 @@ import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.SlicedVariables;
 import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
 import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.AbstractManipulator;
-import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove.heuristic.AFeatureOrderHeuristic;
-import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove.heuristic.MinimumClauseHeuristic;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver;
-import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
-import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
-import de.ovgu.featureide.fm.core.job.monitor.MonitorThread;
 
 /**
- * Removes features from a model while retaining dependencies of all other feature.
+ * Removes features from a model while retaining dependencies of all other feature.<br> <br> The clauses that contain removed (dirty) variables are split
+ * into {@link SlicingComponent components} that are connected by dirty variables. Each component is sliced independently (optionally in parallel) by
+ * eliminating its dirty variables with resolution. Subsumed clauses are removed immediately using occurrence lists. New dirty clauses are only checked for
+ * redundancy with a sat solver, if the number of clauses of a component grows by more than a given bound. Finally, new clauses that are implied by all other
+ * clauses are removed.
  *
  * @author Sebastian Krieter
  */
@@ -58,29 +59,20 @@ public class CNFSlicer extends AbstractManipulator {
 
 	protected final CNF cnfCopy;
 
-	protected final List<DeprecatedClause> newDirtyClauseList = new ArrayList<>();
-	protected final List<DeprecatedClause> newCleanClauseList = new ArrayList<>();
-	protected final List<DeprecatedClause> dirtyClauseList = new ArrayList<>();
-	protected final ArrayList<LiteralSet> cleanClauseList = new ArrayList<>();
-	protected final Set<DeprecatedClause> dirtyClauseSet = new HashSet<>();
-	protected final Set<DeprecatedClause> cleanClauseSet = new HashSet<>();
-
 	protected final LiteralSet dirtyVariables;
-//	private int numberOfCleanFeatures = 0;
-	private int numberOfDirtyFeatures = 0;
 
-	protected int[] helper;
-	protected DeprecatedFeature[] map;
-	protected AFeatureOrderHeuristic heuristic;
-	private ISimpleSatSolver newSolver;
+	private int parallelism = 1;
+	private int maxClauseGrowth = 0;
 
-	private boolean first = false;
+	private List<LiteralSet> cleanClauseList;
 
-	protected int globalMixedClauseCount = 0;
-
-	protected int dirtyListPosIndex = 0;
-	protected int dirtyListNegIndex = 0;
-	protected int newDirtyListDelIndex = 0;
+	private final AtomicLong clauseCount = new AtomicLong();
+	private final AtomicLong literalCount = new AtomicLong();
+	private final AtomicLong maxClauseCount = new AtomicLong();
+	private final AtomicLong maxLiteralCount = new AtomicLong();
+	private final AtomicLong resolventCount = new AtomicLong();
+	private final AtomicLong subsumedClauseCount = new AtomicLong();
+	private final AtomicLong redundantClauseCount = new AtomicLong();
 
 	public CNFSlicer(CNF orgCNF, Collection<String> dirtyVariableNames) {
 		super(orgCNF);
@@ -94,42 +86,19 @@ public class CNFSlicer extends AbstractManipulator {
 		cnfCopy = new CNF(orgCNF, false);
 	}
 
-	int cr = 0, cnr = 0, dr = 0, dnr = 0;
-
-	ModalImplicationGraph dirtyGraph;
-
-	MonitorThread monitorThread = new MonitorThread(new Runnable() {
-
-		@Override
-		public void run() {
-			final StringBuilder sb = new StringBuilder();
-
-			sb.append(heuristic.size()).append(": ");
-			sb.append((newCleanClauseList.size() + newDirtyClauseList.size())).append(" || ");
-			sb.append(cr).append(" | ");
-			sb.append(cnr).append(" || ");
-			sb.append(dr).append(" | ");
-			sb.append(dnr);
-
-			System.out.println(sb.toString());
-		}
-	});
-
 	@Override
-	protected CNF manipulate(IMonitor<CNF> monitor) throws TimeoutException {
-		// Collect all features in the prop node and remove TRUE and FALSE
-		init();
+	protected CNF manipulate(IMonitor<CNF> monitor) throws Exception {
+		resetStatistics();
 
 		final String[] names = orgCNF.getVariables().getNames();
 		final String[] variableObjects = Arrays.copyOf(names, names.length);
-		map = new DeprecatedFeature[orgCNF.getVariables().maxVariableID() + 1];
-		numberOfDirtyFeatures = 0;
+		final boolean[] dirty = new boolean[orgCNF.getVariables().maxVariableID() + 1];
+		int numberOfDirtyFeatures = 0;
 		for (final int curFeature : dirtyVariables.getLiterals()) {
-			map[curFeature] = new DeprecatedFeature(curFeature);
+			dirty[curFeature] = true;
 			variableObjects[curFeature] = null;
 			numberOfDirtyFeatures++;
 		}
-		helper = new int[map.length];
 
 		final ArrayList<String> slicedFeatureList = new ArrayList<>(variableObjects.length - numberOfDirtyFeatures);
 		for (final String object : variableObjects) {
@@ -139,195 +108,135 @@ public class CNFSlicer extends AbstractManipulator {
 		}
 		final SlicedVariables mapping = new SlicedVariables((Variables) orgCNF.getVariables(), slicedFeatureList);
 
-		// Initialize lists and sets
-		createClauseLists();
+		final List<List<LiteralSet>> components = createComponents(dirty);
 
-		if (!prepareHeuristics()) {
-			return new CNF(mapping, orgCNF.getClauses());
-		}
-
-//		final CNF cleanCNF = new CNF(mapping, cleanClauseList);
-//		numberOfCleanFeatures = cleanCNF.getVariables().size();
-//		cleanGraph = ModalImplicationGraph.build(cleanCNF, false);
-//		dirtyGraph = ModalImplicationGraph.build(orgCNF, false);
-//
-//		final Traverser traverser = dirtyGraph.traverse();
-//		final List<VertexPath> paths = new ArrayList<>(dirtyGraph.getAdjList().size());
-//		for (final Vertex vertex : dirtyGraph.getAdjList()) {
-//			final VertexPath vertexPath = new VertexPath(dirtyGraph, vertex.getId(), dirtyGraph.getAdjList().size());
-//			paths.add(vertexPath);
-//			traverser.setVisitor(vertexPath);
-//			traverser.setModel(new int[numberOfDirtyFeatures]);
-//			traverser.traverse(vertex.getVar());
-//		}
-
-		monitor.setRemainingWork(heuristic.size());
+		monitor.setRemainingWork(components.size() + 1);
 		monitor.checkCancel();
-//		monitorThread.start();
 
-		while (heuristic.hasNext()) {
-			final DeprecatedFeature nextFeature = heuristic.next();
-			if (nextFeature == null) {
-				break;
+		final List<LiteralSet> newCleanClauses = new ArrayList<>();
+		if ((parallelism > 1) && (components.size() > 1)) {
+			final ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				final List<Callable<List<LiteralSet>>> tasks = new ArrayList<>(components.size());
+				for (final List<LiteralSet> component : components) {
+					tasks.add(() -> new SlicingComponent(this, component, dirty).slice());
+				}
+				for (final Future<List<LiteralSet>> future : pool.invokeAll(tasks)) {
+					newCleanClauses.addAll(getResult(future));
+					monitor.step();
+				}
+			} finally {
+				pool.shutdownNow();
 			}
-
-			// Remove redundant dirty clauses
-			firstRedundancyCheck(nextFeature);
-
-			// Partition dirty list into clauses that contain the current variable and clauses that don't
-			partitionDirtyList(nextFeature);
-
-			// Remove variable & create transitive clauses
-			resolution(nextFeature);
-
-			// Remove redundant clauses
-			detectRedundancy(nextFeature);
-
-			// Merge new dirty list into the old list
-			updateLists();
-
-			monitor.step();
-
-			// If ALL dirty clauses exclusively consists of dirty features, they can just be removed without applying resolution
-			if (globalMixedClauseCount == 0) {
-				break;
+		} else {
+			for (final List<LiteralSet> component : components) {
+				newCleanClauses.addAll(new SlicingComponent(this, component, dirty).slice());
+				monitor.step();
 			}
 		}
 
-		addCleanClauses();
-
-		release();
-//		monitorThread.finish();
+		final List<LiteralSet> slicedClauses = addCleanClauses(newCleanClauses);
+		monitor.step();
 
-		return new CNF(mapping, cleanClauseList);
+		return new CNF(mapping, slicedClauses);
 	}
 
-	private void addNewClause(final DeprecatedClause curClause) {
-		if (curClause != null) {
-			if (curClause.computeRelevance(map)) {
-				globalMixedClauseCount++;
-			}
-			if (curClause.getRelevance() == 0) {
-				if (cleanClauseSet.add(curClause)) {
-					newCleanClauseList.add(curClause);
-				} else {
-					deleteClause(curClause);
+	/**
+	 * Splits the clauses of the formula into clean clauses (stored in {@link #cleanClauseList}) and components of dirty clauses that are connected by dirty
+	 * variables.
+	 */
+	private List<List<LiteralSet>> createComponents(boolean[] dirty) {
+		final int[] parent = new int[dirty.length];
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = i;
+		}
+		final HashSet<LiteralSet> clauseSet = new HashSet<>();
+		final List<LiteralSet> dirtyClauses = new ArrayList<>();
+		cleanClauseList = new ArrayList<>();
+		for (final LiteralSet clause : orgCNF.getClauses()) {
+			if (clauseSet.add(clause)) {
+				int firstDirtyVariable = 0;
+				for (final int literal : clause.getLiterals()) {
+					final int variable = Math.abs(literal);
+					if (dirty[variable]) {
+						if (firstDirtyVariable == 0) {
+							firstDirtyVariable = variable;
+						} else {
+							parent[find(parent, variable)] = find(parent, firstDirtyVariable);
+						}
+					}
 				}
-			} else {
-				if (dirtyClauseSet.add(curClause)) {
-					newDirtyClauseList.add(curClause);
+				if (firstDirtyVariable == 0) {
+					cleanClauseList.add(clause);
 				} else {
-					deleteClause(curClause);
+					dirtyClauses.add(clause);
 				}
 			}
 		}
-	}
-
-	private void createClauseLists() {
-		for (final LiteralSet clause : orgCNF.getClauses()) {
-			addNewClause(new DeprecatedClause(clause.getLiterals()));
-		}
-
-		cleanClauseList.ensureCapacity(cleanClauseList.size() + newCleanClauseList.size());
-		for (final DeprecatedClause deprecatedClause : newCleanClauseList) {
-			cleanClauseList.add(new LiteralSet(deprecatedClause));
-		}
-		dirtyClauseList.addAll(newDirtyClauseList);
-		newDirtyClauseList.clear();
-		newCleanClauseList.clear();
 
-		dirtyListPosIndex = dirtyClauseList.size();
-		dirtyListNegIndex = dirtyClauseList.size();
-	}
-
-	protected final void deleteClause(final DeprecatedClause curClause) {
-		if (curClause.delete(map)) {
-			globalMixedClauseCount--;
-		}
-	}
-
-	protected final void deleteOldDirtyClauses() {
-		if (dirtyListPosIndex < dirtyClauseList.size()) {
-			final List<DeprecatedClause> subList = dirtyClauseList.subList(dirtyListPosIndex, dirtyClauseList.size());
-			dirtyClauseSet.removeAll(subList);
-			for (final DeprecatedClause deprecatedClause : subList) {
-				deleteClause(deprecatedClause);
+		final List<List<LiteralSet>> components = new ArrayList<>();
+		final int[] componentIndex = new int[dirty.length];
+		Arrays.fill(componentIndex, -1);
+		for (final LiteralSet clause : dirtyClauses) {
+			for (final int literal : clause.getLiterals()) {
+				final int variable = Math.abs(literal);
+				if (dirty[variable]) {
+					final int root = find(parent, variable);
+					if (componentIndex[root] < 0) {
+						componentIndex[root] = components.size();
+						components.add(new ArrayList<>());
+					}
+					components.get(componentIndex[root]).add(clause);
+					break;
+				}
 			}
-			subList.clear();
 		}
+		return components;
 	}
 
-	protected final void deleteNewDirtyClauses() {
-		if (newDirtyListDelIndex < newDirtyClauseList.size()) {
-			final List<DeprecatedClause> subList = newDirtyClauseList.subList(newDirtyListDelIndex, newDirtyClauseList.size());
-			dirtyClauseSet.removeAll(subList);
-			for (final DeprecatedClause deprecatedClause : subList) {
-				deleteClause(deprecatedClause);
-			}
+	private static int find(int[] parent, int variable) {
+		while (parent[variable] != variable) {
+			parent[variable] = parent[parent[variable]];
+			variable = parent[variable];
 		}
+		return variable;
 	}
 
-	private void init() {
-		release();
-		cleanClauseList.clear();
-	}
+	/**
+	 * Adds the new clean clauses to the clean clauses of the original formula. Shorter clauses are added first and each clause that is implied by the previous
+	 * clauses is omitted.
+	 */
+	private List<LiteralSet> addCleanClauses(List<LiteralSet> newCleanClauses) {
+		final List<LiteralSet> slicedClauses = new ArrayList<>(cleanClauseList.size() + newCleanClauses.size());
+		slicedClauses.addAll(cleanClauseList);
 
-	private void resolution(DeprecatedFeature nextFeature) {
-		final int curFeatureID = nextFeature.getId();
-		for (int i = dirtyListPosIndex; i < dirtyListNegIndex; i++) {
-			final int[] posOrChildren = dirtyClauseList.get(i).getLiterals();
-			for (int j = dirtyListNegIndex; j < dirtyClauseList.size(); j++) {
-				final int[] negOrChildren = dirtyClauseList.get(j).getLiterals();
-				final int[] newChildren = new int[posOrChildren.length + negOrChildren.length];
-
-				System.arraycopy(posOrChildren, 0, newChildren, 0, posOrChildren.length);
-				System.arraycopy(negOrChildren, 0, newChildren, posOrChildren.length, negOrChildren.length);
-
-				addNewClause(DeprecatedClause.createClause(newChildren, curFeatureID, helper));
-			}
-		}
-		newDirtyListDelIndex = newDirtyClauseList.size();
-	}
-
-	private void partitionDirtyList(DeprecatedFeature nextFeature) {
-		final int curFeatureID = nextFeature.getId();
-		for (int i = 0; i < dirtyListNegIndex; i++) {
-			final LiteralSet clause = dirtyClauseList.get(i);
-			for (final int literal : clause.getLiterals()) {
-				if (literal == -curFeatureID) {
-					Collections.swap(dirtyClauseList, i--, --dirtyListNegIndex);
-					break;
-				}
-			}
+		Collections.sort(newCleanClauses, lengthComparator);
+		ISimpleSatSolver solver;
+		try {
+			solver = new SimpleSatSolver(cnfCopy);
+			solver.addClauses(cleanClauseList);
+		} catch (final RuntimeContradictionException e) {
+			solver = null;
 		}
-		dirtyListPosIndex = dirtyListNegIndex;
-		for (int i = 0; i < dirtyListPosIndex; i++) {
-			final LiteralSet clause = dirtyClauseList.get(i);
-			for (final int literal : clause.getLiterals()) {
-				if (literal == curFeatureID) {
-					Collections.swap(dirtyClauseList, i--, --dirtyListPosIndex);
-					break;
+		for (int i = newCleanClauses.size() - 1; i >= 0; --i) {
+			final LiteralSet clause = newCleanClauses.get(i);
+			if ((solver != null) && isRedundant(solver, clause)) {
+				redundantClauseCount.incrementAndGet();
+			} else {
+				if (solver != null) {
+					try {
+						solver.addClause(clause);
+					} catch (final RuntimeContradictionException e) {
+						solver = null;
+					}
 				}
+				slicedClauses.add(clause);
 			}
 		}
+		return slicedClauses;
 	}
 
-	private void updateLists() {
-		// delete old & redundant dirty clauses
-		deleteOldDirtyClauses();
-
-		// delete new & redundant dirty clauses
-		deleteNewDirtyClauses();
-
-		dirtyClauseList.addAll(newDirtyClauseList.subList(0, newDirtyListDelIndex));
-		newDirtyClauseList.clear();
-
-		dirtyListPosIndex = dirtyClauseList.size();
-		dirtyListNegIndex = dirtyClauseList.size();
-		newDirtyListDelIndex = 0;
-	}
-
-	protected final boolean isRedundant(ISimpleSatSolver solver, LiteralSet curClause) {
+	protected static boolean isRedundant(ISimpleSatSolver solver, LiteralSet curClause) {
 		switch (solver.hasSolution(curClause.negate())) {
 		case FALSE:
 			return true;
@@ -340,111 +249,113 @@ public class CNFSlicer extends AbstractManipulator {
 		}
 	}
 
-	protected void detectRedundancy(DeprecatedFeature nextFeature) {
-		if (nextFeature.getClauseCount() > 0) {
-			addCleanClauses();
-
-			final ISimpleSatSolver solver = new SimpleSatSolver(cnfCopy);
-			solver.addClauses(cleanClauseList);
-			solver.addClauses(dirtyClauseList.subList(0, dirtyListPosIndex));
-
-			Collections.sort(newDirtyClauseList.subList(0, newDirtyListDelIndex), lengthComparator);
-			for (int i = newDirtyListDelIndex - 1; i >= 0; --i) {
-				final DeprecatedClause curClause = newDirtyClauseList.get(i);
-				if (isRedundant(solver, curClause)) {
-					dr++;
-					Collections.swap(newDirtyClauseList, i, --newDirtyListDelIndex);
-				} else {
-					dnr++;
-					solver.addClause(curClause);
-				}
-			}
+	private static <T> T getResult(Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : e;
 		}
 	}
 
-	protected void addCleanClauses() {
-		Collections.sort(newCleanClauseList, lengthComparator);
-
-		for (int i = newCleanClauseList.size() - 1; i >= 0; --i) {
-			final DeprecatedClause clause = newCleanClauseList.get(i);
-
-//			if (clause.getLiterals().length == 2) {
-//				if (paths.get(dirtyGraph.getVertex(clause.getLiterals()[0]).getId()).hasStrongPath(clause.getLiterals()[1])) {
-//					deleteClause(clause);
-//				}
-////				dirtyGraph.addClause(clause);
-//			} else {
-//				for (final int literals : clause.getLiterals()) {
-//
-//				}
-//			}
-
-			if (isRedundant(newSolver, clause)) {
-				cr++;
-				deleteClause(clause);
-			} else {
-				cnr++;
-				newSolver.addClause(clause);
-				cleanClauseList.add(new LiteralSet(clause));
-			}
-		}
-		newCleanClauseList.clear();
+	CNF getVariableCNF() {
+		return cnfCopy;
 	}
 
-	protected void firstRedundancyCheck(DeprecatedFeature nextFeature) {
-		if (first && (nextFeature.getClauseCount() > 0)) {
-			first = false;
-			Collections.sort(dirtyClauseList.subList(0, dirtyListPosIndex), lengthComparator);
+	List<LiteralSet> getCleanClauses() {
+		return cleanClauseList;
+	}
 
-			addCleanClauses();
+	void updateClauseCount(long clauseDelta, long literalDelta) {
+		final long clauses = clauseCount.addAndGet(clauseDelta);
+		final long literals = literalCount.addAndGet(literalDelta);
+		maxClauseCount.accumulateAndGet(clauses, Math::max);
+		maxLiteralCount.accumulateAndGet(literals, Math::max);
+	}
 
-			final ISimpleSatSolver solver = new SimpleSatSolver(cnfCopy);
-			solver.addClauses(cleanClauseList);
+	void addResolvents(long count) {
+		resolventCount.addAndGet(count);
+	}
 
-			// SAT Relevant
-			for (int i = dirtyListPosIndex - 1; i >= 0; --i) {
-				final DeprecatedClause mainClause = dirtyClauseList.get(i);
-				if (isRedundant(solver, mainClause)) {
-					dr++;
-					Collections.swap(dirtyClauseList, i, --dirtyListPosIndex);
-				} else {
-					dnr++;
-					solver.addClause(mainClause);
-				}
-			}
-			deleteOldDirtyClauses();
-
-			dirtyListPosIndex = dirtyClauseList.size();
-			dirtyListNegIndex = dirtyClauseList.size();
-			cr = 0;
-			cnr = 0;
-			dr = 0;
-			dnr = 0;
-		}
+	void addSubsumedClauses(long count) {
+		subsumedClauseCount.addAndGet(count);
 	}
 
-	protected boolean prepareHeuristics() {
-		heuristic = new MinimumClauseHeuristic(map, numberOfDirtyFeatures);
-		first = true;
-		try {
-			newSolver = new SimpleSatSolver(cnfCopy);
-			// newSolver.addClauses(cleanClauseList);
-		} catch (final RuntimeContradictionException e) {
-			return false;
-		}
-		return newSolver.hasSolution() == SatResult.TRUE;
+	void addRedundantClauses(long count) {
+		redundantClauseCount.addAndGet(count);
 	}
 
-	protected void release() {
-		newDirtyClauseList.clear();
-		newCleanClauseList.clear();
-		dirtyClauseSet.clear();
-		cleanClauseSet.clear();
-		dirtyClauseList.clear();
+	private void resetStatistics() {
+		clauseCount.set(0);
+		literalCount.set(0);
+		maxClauseCount.set(0);
+		maxLiteralCount.set(0);
+		resolventCount.set(0);
+		subsumedClauseCount.set(0);
+		redundantClauseCount.set(0);
+	}
 
-		if (newSolver != null) {
-			newSolver.reset();
-		}
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that are used for slicing independent components. The result does not depend on the number of threads.
+	 *
+	 * @param parallelism the number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	public int getMaxClauseGrowth() {
+		return maxClauseGrowth;
+	}
+
+	/**
+	 * Sets the number of clauses a component may grow by when eliminating a single variable before the new clauses are checked for redundancy using a sat
+	 * solver. A higher bound results in less sat calls, but may increase the number of intermediate clauses.
+	 *
+	 * @param maxClauseGrowth the maximum number of additional clauses per variable elimination
+	 */
+	public void setMaxClauseGrowth(int maxClauseGrowth) {
+		this.maxClauseGrowth = maxClauseGrowth;
+	}
+
+	/**
+	 * @return the maximum number of dirty and new clauses that were stored at the same time during the last slicing
+	 */
+	public long getMaxClauseCount() {
+		return maxClauseCount.get();
+	}
+
+	/**
+	 * @return the maximum number of literals in all dirty and new clauses that were stored at the same time during the last slicing (i.e., an estimate of
+	 *         the used memory)
+	 */
+	public long getMaxLiteralCount() {
+		return maxLiteralCount.get();
+	}
+
+	/**
+	 * @return the number of non-tautological resolvents computed during the last slicing
+	 */
+	public long getResolventCount() {
+		return resolventCount.get();
+	}
+
+	/**
+	 * @return the number of clauses that were removed during the last slicing, because they were subsumed by another clause
+	 */
+	public long getSubsumedClauseCount() {
+		return subsumedClauseCount.get();
+	}
+
+	/**
+	 * @return the number of clauses that were removed during the last slicing, because they were implied by the other clauses
+	 */
+	public long getRedundantClauseCount() {
+		return redundantClauseCount.get();
 	}
 
 }
@@ -34,6 +34,7 @@ public class DeprecatedClause extends LiteralSet {
 	private static final long serialVersionUID = -5929829591136725758L;
 
 	private int relevance;
+	private boolean deleted;
 
 	public static DeprecatedClause createClause(int[] newLiterals, int curFeature) {
 		final HashSet<Integer> literalSet = new HashSet<>(newLiterals.length << 1);
@@ -138,6 +139,7 @@ public class DeprecatedClause extends LiteralSet {
 	}
 
 	public boolean delete(DeprecatedFeature[] map) {
+		deleted = true;
 		if (literals.length > 1) {
 			final boolean mixed = ((relevance > 0) && (relevance < literals.length));
 			for (final int literal : literals) {
@@ -169,6 +171,13 @@ public class DeprecatedClause extends LiteralSet {
 		return false;
 	}
 
+	/**
+	 * @return {@code true} if {@link #delete(DeprecatedFeature[])} was called for this clause
+	 */
+	public boolean isDeleted() {
+		return deleted;
+	}
+
 	public int getRelevance() {
 		return relevance;
 	}
@@ -0,0 +1,418 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseLengthComparatorDsc;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove.heuristic.MinimumClauseHeuristic;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
+
+/**
+ * Part of a formula that is sliced independently by the {@link CNFSlicer}. A component consists of all clauses that are connected by dirty variables. Thus,
+ * the resolvents of a component never contain dirty variables of another component.<br> <br> Within a component, variables are renumbered (dirty variables
+ * first), such that all clauses are indexed by array-based occurrence lists. These are used to remove subsumed clauses and to strengthen clauses by
+ * self-subsumption whenever a clause is added.
+ *
+ * @author Sebastian Krieter
+ */
+class SlicingComponent {
+
+	private static final Comparator<LiteralSet> lengthComparator = new ClauseLengthComparatorDsc();
+
+	private final CNFSlicer slicer;
+	private final List<int[]> initialClauses;
+
+	private final int[] localToGlobal;
+	private final int numberOfDirtyVariables;
+
+	private final DeprecatedFeature[] map;
+	private final int[] helper;
+	private final List<List<DeprecatedClause>> occurrences;
+	private final List<DeprecatedClause> cleanClauses = new ArrayList<>();
+	private final ArrayDeque<DeprecatedClause> pendingClauses = new ArrayDeque<>();
+	private final List<DeprecatedClause> addedClauses = new ArrayList<>();
+
+	private int mixedClauseCount = 0;
+	private int clauseCount = 0;
+	private long literalCount = 0;
+
+	/**
+	 * @param slicer the slicer, which provides the settings and collects statistics
+	 * @param clauses the clauses of this component (using the variables of the original formula)
+	 * @param dirty for each variable of the original formula, whether it is removed
+	 */
+	SlicingComponent(CNFSlicer slicer, List<LiteralSet> clauses, boolean[] dirty) {
+		this.slicer = slicer;
+
+		final HashMap<Integer, Integer> globalToLocal = new HashMap<>();
+		final ArrayList<Integer> variables = new ArrayList<>();
+		variables.add(0);
+		addVariables(clauses, dirty, true, globalToLocal, variables);
+		numberOfDirtyVariables = variables.size() - 1;
+		addVariables(clauses, dirty, false, globalToLocal, variables);
+		localToGlobal = new int[variables.size()];
+		for (int i = 1; i < localToGlobal.length; i++) {
+			localToGlobal[i] = variables.get(i);
+		}
+
+		initialClauses = new ArrayList<>(clauses.size());
+		for (final LiteralSet clause : clauses) {
+			final int[] globalLiterals = clause.getLiterals();
+			final int[] localLiterals = new int[globalLiterals.length];
+			for (int i = 0; i < globalLiterals.length; i++) {
+				final int literal = globalLiterals[i];
+				final int variable = globalToLocal.get(Math.abs(literal));
+				localLiterals[i] = literal > 0 ? variable : -variable;
+			}
+			initialClauses.add(localLiterals);
+		}
+
+		map = new DeprecatedFeature[localToGlobal.length];
+		for (int i = 1; i <= numberOfDirtyVariables; i++) {
+			map[i] = new DeprecatedFeature(i);
+		}
+		helper = new int[localToGlobal.length];
+		occurrences = new ArrayList<>(localToGlobal.length << 1);
+		for (int i = 0; i < (localToGlobal.length << 1); i++) {
+			occurrences.add(new ArrayList<>());
+		}
+	}
+
+	private static void addVariables(List<LiteralSet> clauses, boolean[] dirty, boolean addDirty, HashMap<Integer, Integer> globalToLocal,
+			List<Integer> variables) {
+		for (final LiteralSet clause : clauses) {
+			for (final int literal : clause.getLiterals()) {
+				final int variable = Math.abs(literal);
+				if ((dirty[variable] == addDirty) && !globalToLocal.containsKey(variable)) {
+					globalToLocal.put(variable, variables.size());
+					variables.add(variable);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Eliminates all dirty variables of this component.
+	 *
+	 * @return the new clauses that contain no dirty variables (using the variables of the original formula)
+	 */
+	List<LiteralSet> slice() {
+		for (final int[] clause : initialClauses) {
+			final DeprecatedClause newClause = DeprecatedClause.createClause(clause);
+			if (newClause != null) {
+				pendingClauses.add(newClause);
+			}
+		}
+		initialClauses.clear();
+		addPendingClauses();
+
+		final MinimumClauseHeuristic heuristic = new MinimumClauseHeuristic(map, numberOfDirtyVariables);
+		// If all dirty clauses exclusively consist of dirty variables, they can just be removed without applying resolution
+		while (heuristic.hasNext() && (mixedClauseCount > 0)) {
+			final DeprecatedFeature nextFeature = heuristic.next();
+			if (nextFeature == null) {
+				break;
+			}
+			eliminate(nextFeature.getId());
+		}
+
+		final List<LiteralSet> newCleanClauses = new ArrayList<>();
+		for (final DeprecatedClause clause : cleanClauses) {
+			if (!clause.isDeleted()) {
+				newCleanClauses.add(new LiteralSet(toGlobal(clause.getLiterals())));
+			}
+		}
+		slicer.updateClauseCount(-clauseCount, -literalCount);
+		return newCleanClauses;
+	}
+
+	private void eliminate(int variable) {
+		final List<DeprecatedClause> positiveClauses = removeOccurrences(variable);
+		final List<DeprecatedClause> negativeClauses = removeOccurrences(-variable);
+		final int orgClauseCount = clauseCount + positiveClauses.size() + negativeClauses.size();
+
+		int resolventCount = 0;
+		for (final DeprecatedClause positiveClause : positiveClauses) {
+			final int[] positiveLiterals = positiveClause.getLiterals();
+			for (final DeprecatedClause negativeClause : negativeClauses) {
+				final int[] negativeLiterals = negativeClause.getLiterals();
+				final int[] newLiterals = new int[positiveLiterals.length + negativeLiterals.length];
+				System.arraycopy(positiveLiterals, 0, newLiterals, 0, positiveLiterals.length);
+				System.arraycopy(negativeLiterals, 0, newLiterals, positiveLiterals.length, negativeLiterals.length);
+				final DeprecatedClause resolvent = DeprecatedClause.createClause(newLiterals, variable, helper);
+				if (resolvent != null) {
+					pendingClauses.add(resolvent);
+					resolventCount++;
+				}
+			}
+		}
+		slicer.addResolvents(resolventCount);
+
+		// Shorter clauses first, as they may subsume longer ones
+		final ArrayList<DeprecatedClause> resolvents = new ArrayList<>(pendingClauses);
+		Collections.sort(resolvents, lengthComparator);
+		Collections.reverse(resolvents);
+		pendingClauses.clear();
+		pendingClauses.addAll(resolvents);
+		addedClauses.clear();
+		addPendingClauses();
+
+		if ((clauseCount - orgClauseCount) > slicer.getMaxClauseGrowth()) {
+			removeRedundantClauses();
+		}
+	}
+
+	/**
+	 * Removes new dirty clauses that are implied by the remaining clauses of this component and the clean clauses of the original formula.
+	 */
+	private void removeRedundantClauses() {
+		final List<DeprecatedClause> candidates = new ArrayList<>();
+		for (final DeprecatedClause clause : addedClauses) {
+			if (!clause.isDeleted() && (clause.getRelevance() > 0)) {
+				candidates.add(clause);
+			}
+		}
+		if (candidates.isEmpty()) {
+			return;
+		}
+
+		final Set<DeprecatedClause> candidateSet = Collections.newSetFromMap(new IdentityHashMap<>());
+		candidateSet.addAll(candidates);
+		final ISimpleSatSolver solver;
+		try {
+			solver = new SimpleSatSolver(slicer.getVariableCNF());
+			solver.addClauses(slicer.getCleanClauses());
+			for (int i = 0; i < occurrences.size(); i++) {
+				final int literal = (i & 1) == 0 ? i >> 1 : -(i >> 1);
+				for (final DeprecatedClause clause : compact(literal)) {
+					// add each clause only once (i.e., for its first literal)
+					if ((clause.getLiterals()[0] == literal) && !candidateSet.contains(clause)) {
+						solver.addClause(new LiteralSet(toGlobal(clause.getLiterals())));
+					}
+				}
+			}
+		} catch (final RuntimeContradictionException e) {
+			return;
+		}
+
+		Collections.sort(candidates, lengthComparator);
+		for (int i = candidates.size() - 1; i >= 0; --i) {
+			final DeprecatedClause clause = candidates.get(i);
+			final LiteralSet globalClause = new LiteralSet(toGlobal(clause.getLiterals()));
+			if (CNFSlicer.isRedundant(solver, globalClause)) {
+				slicer.addRedundantClauses(1);
+				deleteClause(clause);
+			} else {
+				solver.addClause(globalClause);
+			}
+		}
+	}
+
+	private void addPendingClauses() {
+		while (!pendingClauses.isEmpty()) {
+			DeprecatedClause clause = pendingClauses.poll();
+			clause = strengthen(clause);
+			if (isSubsumed(clause)) {
+				slicer.addSubsumedClauses(1);
+			} else {
+				removeSubsumedClauses(clause);
+				addClause(clause);
+			}
+		}
+	}
+
+	/**
+	 * Removes literals from the given clause by self-subsuming resolution with existing clauses. (I.e., if there is a clause {@code C + l} and the given clause
+	 * is {@code D + -l} with {@code C} being a subset of {@code D}, the resolvent {@code D} subsumes the given clause.)
+	 */
+	private DeprecatedClause strengthen(DeprecatedClause clause) {
+		boolean changed;
+		do {
+			changed = false;
+			final int[] literals = clause.getLiterals();
+			for (final int literal : literals) {
+				for (final DeprecatedClause other : compact(-literal)) {
+					if ((other.size() <= literals.length) && isSubsetExcept(other, clause, -literal, literal)) {
+						clause = removeLiteral(clause, literal);
+						changed = true;
+						break;
+					}
+				}
+				if (changed) {
+					break;
+				}
+			}
+		} while (changed);
+		return clause;
+	}
+
+	/**
+	 * @return {@code true} if the given clause contains all literals of an existing clause
+	 */
+	private boolean isSubsumed(DeprecatedClause clause) {
+		for (final int literal : clause.getLiterals()) {
+			for (final DeprecatedClause other : compact(literal)) {
+				// check each clause only once (i.e., for its first literal)
+				if ((other.getLiterals()[0] == literal) && (other.size() <= clause.size()) && clause.containsAll(other)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Deletes all existing clauses that contain the given clause. Clauses that can be strengthened by the given clause are replaced by their strengthened
+	 * version.
+	 */
+	private void removeSubsumedClauses(DeprecatedClause clause) {
+		final int[] literals = clause.getLiterals();
+		if (literals.length == 0) {
+			return;
+		}
+		int minLiteral = literals[0];
+		for (final int literal : literals) {
+			if (occurrences.get(getIndex(literal)).size() < occurrences.get(getIndex(minLiteral)).size()) {
+				minLiteral = literal;
+			}
+		}
+		for (final DeprecatedClause other : new ArrayList<>(compact(minLiteral))) {
+			if (!other.isDeleted() && (other.size() > literals.length) && other.containsAll(clause)) {
+				slicer.addSubsumedClauses(1);
+				deleteClause(other);
+			}
+		}
+		for (final int literal : literals) {
+			for (final DeprecatedClause other : new ArrayList<>(compact(-literal))) {
+				if (!other.isDeleted() && (other.size() >= literals.length) && isSubsetExcept(clause, other, literal, -literal)) {
+					deleteClause(other);
+					pendingClauses.add(removeLiteral(other, -literal));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if all literals of {@code subset} except {@code subsetLiteral} are contained in {@code superset} without {@code supersetLiteral}
+	 */
+	private static boolean isSubsetExcept(LiteralSet subset, LiteralSet superset, int subsetLiteral, int supersetLiteral) {
+		for (final int literal : subset.getLiterals()) {
+			if ((literal != subsetLiteral) && ((literal == supersetLiteral) || !superset.containsLiteral(literal))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static DeprecatedClause removeLiteral(DeprecatedClause clause, int literal) {
+		final int[] literals = clause.getLiterals();
+		final int[] newLiterals = new int[literals.length - 1];
+		int index = 0;
+		for (final int otherLiteral : literals) {
+			if (otherLiteral != literal) {
+				newLiterals[index++] = otherLiteral;
+			}
+		}
+		return new DeprecatedClause(newLiterals);
+	}
+
+	private void addClause(DeprecatedClause clause) {
+		if (clause.computeRelevance(map)) {
+			mixedClauseCount++;
+		}
+		if (clause.getRelevance() == 0) {
+			cleanClauses.add(clause);
+		}
+		for (final int literal : clause.getLiterals()) {
+			occurrences.get(getIndex(literal)).add(clause);
+		}
+		addedClauses.add(clause);
+		clauseCount++;
+		literalCount += clause.size();
+		slicer.updateClauseCount(1, clause.size());
+	}
+
+	private void deleteClause(DeprecatedClause clause) {
+		if (clause.delete(map)) {
+			mixedClauseCount--;
+		}
+		clauseCount--;
+		literalCount -= clause.size();
+		slicer.updateClauseCount(-1, -clause.size());
+	}
+
+	/**
+	 * Deletes all clauses that contain the given literal.
+	 *
+	 * @return the deleted clauses
+	 */
+	private List<DeprecatedClause> removeOccurrences(int literal) {
+		final List<DeprecatedClause> clauses = new ArrayList<>(compact(literal));
+		for (final DeprecatedClause clause : clauses) {
+			deleteClause(clause);
+		}
+		occurrences.get(getIndex(literal)).clear();
+		return clauses;
+	}
+
+	/**
+	 * Removes deleted clauses from the occurrence list of the given literal.
+	 *
+	 * @return the occurrence list
+	 */
+	private List<DeprecatedClause> compact(int literal) {
+		final List<DeprecatedClause> occurrenceList = occurrences.get(getIndex(literal));
+		int index = 0;
+		for (int i = 0; i < occurrenceList.size(); i++) {
+			final DeprecatedClause clause = occurrenceList.get(i);
+			if (!clause.isDeleted()) {
+				occurrenceList.set(index++, clause);
+			}
+		}
+		occurrenceList.subList(index, occurrenceList.size()).clear();
+		return occurrenceList;
+	}
+
+	private static int getIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+	}
+
+	private int[] toGlobal(int[] literals) {
+		final int[] globalLiterals = new int[literals.length];
+		for (int i = 0; i < literals.length; i++) {
+			final int literal = literals[i];
+			globalLiterals[i] = literal > 0 ? localToGlobal[literal] : -localToGlobal[-literal];
+		}
+		return globalLiterals;
+	}
+
+}
@@ -0,0 +1,408 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+
+/**
+ * Incremental unit propagation for a fixed {@link CNF}, which is intended to be kept alive while a single configuration is edited.<br> <br> Like a logic truth
+ * maintenance system, the propagator records a justification for each derived literal, i.e., the clause that became unit. Thus, adding an assumption only
+ * propagates its consequences and retracting an assumption only removes the literals that (transitively) depend on it. Literals that cannot be derived by
+ * unit propagation are computed by a {@link CoreDeadAnalysis} on demand (see {@link #getImpliedLiterals(IMonitor)}). The results of this analysis are reused
+ * as long as they remain valid: implied literals stay implied when assumptions are added and undetermined variables stay undetermined when assumptions are
+ * retracted.<br> <br> All methods synchronize on the propagator. Callers that change the assumptions and then query the result must hold the lock of the
+ * propagator for both steps, if it is shared between threads.
+ *
+ * @author Sebastian Krieter
+ */
+public class IncrementalUnitPropagator {
+
+	private static final int ASSUMPTION = -1;
+
+	private final CNF cnf;
+
+	private final int[][] clauses;
+	private final int[][] occurrences;
+	private final int[] trueCounts;
+	private final int[] falseCounts;
+
+	private final int[] values;
+	private final int[] reasons;
+	private final int[] trail;
+	private int trailSize = 0;
+
+	private final int[] unitClauses;
+	private final boolean[] queued;
+	private int unitClauseCount = 0;
+	private final boolean[] retracted;
+	private final int[] retractedLiterals;
+
+	private final int[] satImplied;
+	private final boolean[] undetermined;
+	private AdvancedSatSolver solver;
+
+	/**
+	 * Creates a new propagator and applies all unit clauses of the given CNF.
+	 *
+	 * @param cnf the CNF
+	 * @throws RuntimeContradictionException if the CNF is contradictory by unit propagation
+	 */
+	public IncrementalUnitPropagator(CNF cnf) throws RuntimeContradictionException {
+		this.cnf = cnf;
+		final int numberOfVariables = cnf.getVariables().maxVariableID();
+		final List<LiteralSet> clauseList = cnf.getClauses();
+
+		clauses = new int[clauseList.size()][];
+		final int[] occurrenceCounts = new int[2 * (numberOfVariables + 1)];
+		for (int i = 0; i < clauses.length; i++) {
+			final int[] literals = clauseList.get(i).getLiterals();
+			clauses[i] = literals;
+			for (final int literal : literals) {
+				occurrenceCounts[getIndex(literal)]++;
+			}
+		}
+		occurrences = new int[occurrenceCounts.length][];
+		for (int i = 0; i < occurrences.length; i++) {
+			occurrences[i] = new int[occurrenceCounts[i]];
+		}
+		Arrays.fill(occurrenceCounts, 0);
+		for (int i = 0; i < clauses.length; i++) {
+			for (final int literal : clauses[i]) {
+				final int index = getIndex(literal);
+				occurrences[index][occurrenceCounts[index]++] = i;
+			}
+		}
+
+		trueCounts = new int[clauses.length];
+		falseCounts = new int[clauses.length];
+		values = new int[numberOfVariables + 1];
+		reasons = new int[numberOfVariables + 1];
+		trail = new int[numberOfVariables];
+		unitClauses = new int[clauses.length];
+		queued = new boolean[clauses.length];
+		retracted = new boolean[numberOfVariables + 1];
+		retractedLiterals = new int[numberOfVariables];
+		satImplied = new int[numberOfVariables + 1];
+		undetermined = new boolean[numberOfVariables + 1];
+
+		for (int i = 0; i < clauses.length; i++) {
+			if (clauses[i].length <= 1) {
+				enqueue(i);
+			}
+		}
+		if (!propagate()) {
+			throw new RuntimeContradictionException();
+		}
+	}
+
+	private static int getIndex(int literal) {
+		return literal > 0 ? literal << 1 : ((-literal) << 1) + 1;
+	}
+
+	public CNF getCnf() {
+		return cnf;
+	}
+
+	/**
+	 * Adds an assumption and propagates its consequences. If the assumption leads to a contradiction by unit propagation, the state of the propagator remains
+	 * unchanged.
+	 *
+	 * @param literal the assumed literal
+	 * @return {@code true} if the assumption was added, {@code false} if it contradicts the current assignment
+	 */
+	public synchronized boolean assume(int literal) {
+		final int variable = Math.abs(literal);
+		final int value = values[variable];
+		if (value == -literal) {
+			return false;
+		} else if (value == literal) {
+			reasons[variable] = ASSUMPTION;
+			return true;
+		}
+		final int oldTrailSize = trailSize;
+		assign(literal, ASSUMPTION);
+		if (propagate()) {
+			Arrays.fill(undetermined, false);
+			return true;
+		} else {
+			while (trailSize > oldTrailSize) {
+				unassign(trail[--trailSize]);
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Retracts an assumption together with all derived literals that depend on it. Afterwards, literals that still have another justification are derived
+	 * again.
+	 *
+	 * @param literal the literal or its complement
+	 * @return {@code true} if the variable was assumed before, {@code false} otherwise
+	 */
+	public synchronized boolean retract(int literal) {
+		final int variable = Math.abs(literal);
+		if ((values[variable] == 0) || (reasons[variable] != ASSUMPTION)) {
+			return false;
+		}
+		int start = 0;
+		while (Math.abs(trail[start]) != variable) {
+			start++;
+		}
+		retracted[variable] = true;
+		for (int i = start + 1; i < trailSize; i++) {
+			final int derivedVariable = Math.abs(trail[i]);
+			final int reason = reasons[derivedVariable];
+			if (reason != ASSUMPTION) {
+				for (final int antecedent : clauses[reason]) {
+					if (retracted[Math.abs(antecedent)]) {
+						retracted[derivedVariable] = true;
+						break;
+					}
+				}
+			}
+		}
+
+		final int oldTrailSize = trailSize;
+		int retractedCount = 0;
+		trailSize = start;
+		for (int i = start; i < oldTrailSize; i++) {
+			final int trailLiteral = trail[i];
+			if (retracted[Math.abs(trailLiteral)]) {
+				retractedLiterals[retractedCount++] = trailLiteral;
+			} else {
+				trail[trailSize++] = trailLiteral;
+			}
+		}
+		for (int i = 0; i < retractedCount; i++) {
+			final int retractedLiteral = retractedLiterals[i];
+			retracted[Math.abs(retractedLiteral)] = false;
+			unassign(retractedLiteral);
+		}
+		// Literals with another justification are derived again
+		for (int i = 0; i < retractedCount; i++) {
+			final int retractedLiteral = retractedLiterals[i];
+			collectUnitClauses(occurrences[getIndex(retractedLiteral)]);
+			collectUnitClauses(occurrences[getIndex(-retractedLiteral)]);
+		}
+		if (!propagate()) {
+			// Cannot happen, as the remaining literals are a subset of the previous (consistent) assignment
+			throw new IllegalStateException();
+		}
+		Arrays.fill(satImplied, 0);
+		return true;
+	}
+
+	/**
+	 * Computes all literals that are implied by the current assumptions. Literals that are derived by unit propagation are complemented by a
+	 * {@link CoreDeadAnalysis} for all variables whose value is not known yet.
+	 *
+	 * @param monitor the monitor
+	 * @return all implied literals except the assumptions or {@code null}, if the assumptions are contradictory or the analysis did not terminate in time
+	 */
+	public synchronized LiteralSet getImpliedLiterals(IMonitor<LiteralSet> monitor) {
+		if (solver == null) {
+			try {
+				solver = new AdvancedSatSolver(cnf);
+			} catch (final RuntimeContradictionException e) {
+				return null;
+			}
+		}
+
+		final int[] knownLiterals = new int[values.length - 1];
+		final int[] candidates = new int[values.length - 1];
+		int knownCount = 0;
+		int candidateCount = 0;
+		for (int variable = 1; variable < values.length; variable++) {
+			if (values[variable] != 0) {
+				knownLiterals[knownCount++] = values[variable];
+			} else if (satImplied[variable] != 0) {
+				knownLiterals[knownCount++] = satImplied[variable];
+			} else if (!undetermined[variable]) {
+				candidates[candidateCount++] = variable;
+			}
+		}
+		final LiteralSet assumptions = new LiteralSet(Arrays.copyOf(knownLiterals, knownCount), Order.UNORDERED, false);
+
+		solver.assignmentClear(0);
+		solver.assignmentPushAll(assumptions.getLiterals());
+		final SatResult satResult = solver.hasSolution();
+		solver.assignmentClear(0);
+		switch (satResult) {
+		case FALSE:
+		case TIMEOUT:
+			return null;
+		case TRUE:
+			break;
+		default:
+			throw new AssertionError(satResult);
+		}
+
+		if (candidateCount > 0) {
+			final CoreDeadAnalysis analysis =
+				new CoreDeadAnalysis(solver, new LiteralSet(Arrays.copyOf(candidates, candidateCount), Order.UNORDERED, false));
+			analysis.setAssumptions(assumptions);
+			final LiteralSet impliedLiterals = LongRunningWrapper.runMethod(analysis, monitor);
+			if (impliedLiterals == null) {
+				return null;
+			}
+			for (final int literal : impliedLiterals.getLiterals()) {
+				satImplied[Math.abs(literal)] = literal;
+			}
+			for (int i = 0; i < candidateCount; i++) {
+				final int variable = candidates[i];
+				if (satImplied[variable] == 0) {
+					undetermined[variable] = true;
+				}
+			}
+		}
+
+		final int[] impliedLiterals = new int[values.length - 1];
+		int impliedCount = 0;
+		for (int variable = 1; variable < values.length; variable++) {
+			if (values[variable] != 0) {
+				if (reasons[variable] != ASSUMPTION) {
+					impliedLiterals[impliedCount++] = values[variable];
+				}
+			} else if (satImplied[variable] != 0) {
+				impliedLiterals[impliedCount++] = satImplied[variable];
+			}
+		}
+		return new LiteralSet(Arrays.copyOf(impliedLiterals, impliedCount), Order.INDEX, false);
+	}
+
+	/**
+	 * @param variable the variable
+	 * @return the literal of the variable in the current assignment or {@code 0}, if it is not assigned by an assumption or by unit propagation
+	 */
+	public synchronized int getValue(int variable) {
+		return values[variable];
+	}
+
+	public synchronized boolean isAssumption(int variable) {
+		return (values[variable] != 0) && (reasons[variable] == ASSUMPTION);
+	}
+
+	/**
+	 * @param variable the variable
+	 * @return the clause from which the value of the variable was derived or {@code null}, if the variable is not assigned or an assumption
+	 */
+	public synchronized LiteralSet getReason(int variable) {
+		return (values[variable] != 0) && (reasons[variable] != ASSUMPTION) ? cnf.getClauses().get(reasons[variable]) : null;
+	}
+
+	public synchronized LiteralSet getAssumptions() {
+		return getTrailLiterals(true);
+	}
+
+	public synchronized LiteralSet getPropagatedLiterals() {
+		return getTrailLiterals(false);
+	}
+
+	private LiteralSet getTrailLiterals(boolean assumptions) {
+		final int[] literals = new int[trailSize];
+		int count = 0;
+		for (int i = 0; i < trailSize; i++) {
+			final int literal = trail[i];
+			if ((reasons[Math.abs(literal)] == ASSUMPTION) == assumptions) {
+				literals[count++] = literal;
+			}
+		}
+		return new LiteralSet(Arrays.copyOf(literals, count), Order.UNORDERED, false);
+	}
+
+	private void assign(int literal, int reason) {
+		final int variable = Math.abs(literal);
+		values[variable] = literal;
+		reasons[variable] = reason;
+		trail[trailSize++] = literal;
+		for (final int clauseIndex : occurrences[getIndex(literal)]) {
+			trueCounts[clauseIndex]++;
+		}
+		for (final int clauseIndex : occurrences[getIndex(-literal)]) {
+			if ((++falseCounts[clauseIndex] >= (clauses[clauseIndex].length - 1)) && (trueCounts[clauseIndex] == 0)) {
+				enqueue(clauseIndex);
+			}
+		}
+	}
+
+	private void unassign(int literal) {
+		values[Math.abs(literal)] = 0;
+		for (final int clauseIndex : occurrences[getIndex(literal)]) {
+			trueCounts[clauseIndex]--;
+		}
+		for (final int clauseIndex : occurrences[getIndex(-literal)]) {
+			falseCounts[clauseIndex]--;
+		}
+	}
+
+	private void collectUnitClauses(int[] clauseIndexes) {
+		for (final int clauseIndex : clauseIndexes) {
+			if ((trueCounts[clauseIndex] == 0) && (falseCounts[clauseIndex] >= (clauses[clauseIndex].length - 1))) {
+				enqueue(clauseIndex);
+			}
+		}
+	}
+
+	private void enqueue(int clauseIndex) {
+		if (!queued[clauseIndex]) {
+			queued[clauseIndex] = true;
+			unitClauses[unitClauseCount++] = clauseIndex;
+		}
+	}
+
+	private boolean propagate() {
+		while (unitClauseCount > 0) {
+			final int clauseIndex = unitClauses[--unitClauseCount];
+			queued[clauseIndex] = false;
+			if (trueCounts[clauseIndex] == 0) {
+				final int[] clause = clauses[clauseIndex];
+				switch (clause.length - falseCounts[clauseIndex]) {
+				case 0:
+					while (unitClauseCount > 0) {
+						queued[unitClauses[--unitClauseCount]] = false;
+					}
+					return false;
+				case 1:
+					for (final int literal : clause) {
+						if (values[Math.abs(literal)] == 0) {
+							assign(literal, clauseIndex);
+							break;
+						}
+					}
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		return true;
+	}
+
+}
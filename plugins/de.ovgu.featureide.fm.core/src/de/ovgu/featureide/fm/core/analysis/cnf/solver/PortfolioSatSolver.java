@@ -0,0 +1,435 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.solver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.core.IOrder;
+import org.sat4j.minisat.core.RestartStrategy;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.minisat.orders.NegativeLiteralSelectionStrategy;
+import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
+import org.sat4j.minisat.orders.RSATPhaseSelectionStrategy;
+import org.sat4j.minisat.orders.VarOrderHeap;
+import org.sat4j.minisat.restarts.ArminRestarts;
+import org.sat4j.minisat.restarts.Glucose21Restarts;
+import org.sat4j.minisat.restarts.LubyRestarts;
+import org.sat4j.minisat.restarts.MiniSATRestarts;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolverService;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.SearchListenerAdapter;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Sat solver that races several differently configured Sat4J instances (portfolio approach).<br> Each member of the portfolio uses another restart
+ * policy and, for the {@link SelectionStrategy#ORG original} selection strategy, another phase selection. All members solve the same query on separate
+ * threads and the first member that decides it answers the query. The remaining members are stopped.<br> <br> Short learned clauses are shared
+ * between the members: each member reports learned clauses with at most {@link #MAX_SHARED_CLAUSE_LENGTH} literals, which are added to all other
+ * members before the next query. As clauses are never removed from this solver, learned clauses remain implied by the formula.<br> <br> Solutions
+ * and unsat explanations are taken from the member that answered the last query.
+ *
+ * @author Sebastian Krieter
+ */
+public class PortfolioSatSolver extends AdvancedSatSolver {
+
+	/**
+	 * Maximum number of literals of a learned clause that is shared with other members.
+	 */
+	public static final int MAX_SHARED_CLAUSE_LENGTH = 3;
+
+	/**
+	 * Maximum number of learned clauses that are shared in total.
+	 */
+	public static final int MAX_SHARED_CLAUSES = 10_000;
+
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		final Thread thread = new Thread(runnable, "PortfolioSatSolver");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static final class SharedClause {
+
+		private final int source;
+		private final int[] literals;
+
+		private SharedClause(int source, int[] literals) {
+			this.source = source;
+			this.literals = literals;
+		}
+
+	}
+
+	private static final class ClauseCollector extends SearchListenerAdapter<ISolverService> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int source;
+		private final List<SharedClause> sharedClauses;
+
+		private ClauseCollector(int source, List<SharedClause> sharedClauses) {
+			this.source = source;
+			this.sharedClauses = sharedClauses;
+		}
+
+		@Override
+		public void learn(IConstr c) {
+			final int size = c.size();
+			if ((size > 1) && (size <= MAX_SHARED_CLAUSE_LENGTH)) {
+				final int[] literals = new int[size];
+				for (int i = 0; i < size; i++) {
+					literals[i] = LiteralsUtils.toDimacs(c.get(i));
+				}
+				share(literals);
+			}
+		}
+
+		@Override
+		public void learnUnit(int p) {
+			share(new int[] { p });
+		}
+
+		private void share(int[] literals) {
+			synchronized (sharedClauses) {
+				if (sharedClauses.size() < MAX_SHARED_CLAUSES) {
+					sharedClauses.add(new SharedClause(source, literals));
+				}
+			}
+		}
+
+	}
+
+	private final List<SharedClause> sharedClauses = new ArrayList<>();
+
+	private Solver<?>[] members;
+	private int[] importedClauses;
+	private int winner = 0;
+
+	/**
+	 * Creates a new portfolio solver.
+	 *
+	 * @param satInstance the formula
+	 * @param numberOfSolvers the number of Sat4J instances that are raced against each other (at least one)
+	 */
+	public PortfolioSatSolver(CNF satInstance, int numberOfSolvers) {
+		super(satInstance);
+		initMembers(numberOfSolvers);
+	}
+
+	protected PortfolioSatSolver(PortfolioSatSolver oldSolver) {
+		super(oldSolver);
+		initMembers(oldSolver.getNumberOfSolvers());
+	}
+
+	private void initMembers(int numberOfSolvers) {
+		if (contradiction) {
+			members = new Solver<?>[0];
+		} else {
+			members = new Solver<?>[Math.max(1, numberOfSolvers)];
+			members[0] = solver;
+			for (int i = 1; i < members.length; i++) {
+				final Solver<?> member = newSolver();
+				member.setTimeoutMs(solver.getTimeoutMs());
+				member.setRestartStrategy(createRestartStrategy(i));
+				members[i] = member;
+				setOrder(i, createOrder(i, strategy));
+			}
+			if (members.length > 1) {
+				for (int i = 0; i < members.length; i++) {
+					members[i].setSearchListener(new ClauseCollector(i, sharedClauses));
+				}
+			}
+		}
+		importedClauses = new int[members.length];
+	}
+
+	public int getNumberOfSolvers() {
+		return members.length;
+	}
+
+	private static RestartStrategy createRestartStrategy(int member) {
+		switch (member % 4) {
+		case 1:
+			return new LubyRestarts();
+		case 2:
+			return new ArminRestarts();
+		case 3:
+			return new MiniSATRestarts();
+		default:
+			return new Glucose21Restarts();
+		}
+	}
+
+	/**
+	 * Creates the variable order for a member except the first one, which is configured by {@link AdvancedSatSolver}.
+	 *
+	 * @return the new order or {@code null}, if the strategy requires additional parameters.
+	 */
+	private IOrder createOrder(int member, SelectionStrategy strategy) {
+		switch (strategy) {
+		case NEGATIVE:
+			return new VarOrderHeap2(new NegativeLiteralSelectionStrategy(), order);
+		case POSITIVE:
+			return new VarOrderHeap2(new PositiveLiteralSelectionStrategy(), order);
+		case RANDOM:
+			return new VarOrderHeap2(new RandomSelectionStrategy(), order);
+		case ORG:
+			switch (member % 4) {
+			case 1:
+				return new VarOrderHeap(new RandomSelectionStrategy());
+			case 2:
+				return new VarOrderHeap(new NegativeLiteralSelectionStrategy());
+			case 3:
+				return new VarOrderHeap(new PositiveLiteralSelectionStrategy());
+			default:
+				return new VarOrderHeap(new RSATPhaseSelectionStrategy());
+			}
+		case FIXED:
+		case UNIFORM_RANDOM:
+			return null;
+		default:
+			throw new AssertionError(strategy);
+		}
+	}
+
+	private void setOrder(int member, IOrder order) {
+		if (order != null) {
+			members[member].setOrder(order);
+		}
+		members[member].getOrder().init();
+	}
+
+	@Override
+	protected IConstr addClause(Solver<?> solver, int[] literals) throws RuntimeContradictionException {
+		final IConstr constr = super.addClause(solver, literals);
+		if ((members != null) && (solver == this.solver)) {
+			for (int i = 1; i < members.length; i++) {
+				super.addClause(members[i], literals);
+			}
+		}
+		return constr;
+	}
+
+	private void importSharedClauses() {
+		synchronized (sharedClauses) {
+			for (int i = 0; i < members.length; i++) {
+				final Solver<?> member = members[i];
+				for (int j = importedClauses[i]; j < sharedClauses.size(); j++) {
+					final SharedClause sharedClause = sharedClauses.get(j);
+					if (sharedClause.source != i) {
+						try {
+							member.addClause(new VecInt(Arrays.copyOf(sharedClause.literals, sharedClause.literals.length)));
+						} catch (final ContradictionException e) {
+							// The member will detect the contradiction on its own.
+						}
+					}
+				}
+				importedClauses[i] = sharedClauses.size();
+			}
+		}
+	}
+
+	private SatResult solve(int[] internalAssumptions) {
+		importSharedClauses();
+		final CompletionService<SatResult> completionService = new ExecutorCompletionService<>(EXECUTOR);
+		final List<Future<SatResult>> futures = new ArrayList<>(members.length);
+		for (final Solver<?> member : members) {
+			final IVecInt assumptions = new VecInt(Arrays.copyOf(internalAssumptions, internalAssumptions.length));
+			final boolean global = globalTimeout;
+			futures.add(completionService.submit(() -> {
+				try {
+					return member.isSatisfiable(assumptions, global) ? SatResult.TRUE : SatResult.FALSE;
+				} catch (final TimeoutException e) {
+					return SatResult.TIMEOUT;
+				}
+			}));
+		}
+
+		winner = 0;
+		SatResult result = SatResult.TIMEOUT;
+		try {
+			for (int i = 0; i < members.length; i++) {
+				final Future<SatResult> future = completionService.take();
+				final SatResult memberResult = getResult(future);
+				if (memberResult != SatResult.TIMEOUT) {
+					winner = futures.indexOf(future);
+					result = memberResult;
+					break;
+				}
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			stopMembers(futures);
+		}
+
+		if ((result == SatResult.TRUE) && useSolutionList) {
+			solutionList.add(members[winner].model());
+		}
+		return result;
+	}
+
+	private void stopMembers(List<Future<SatResult>> futures) {
+		for (int i = 0; i < members.length; i++) {
+			final Future<SatResult> future = futures.get(i);
+			// A member may not have started its search yet, which resets its timeout, so it is expired until it has finished.
+			while (!future.isDone()) {
+				members[i].expireTimeout();
+				try {
+					future.get(1, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException | ExecutionException | java.util.concurrent.TimeoutException e) {}
+			}
+		}
+	}
+
+	private static SatResult getResult(Future<SatResult> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw (cause instanceof RuntimeException) ? (RuntimeException) cause : new RuntimeException(cause);
+		}
+	}
+
+	@Override
+	public SatResult hasSolution() {
+		if (contradiction || (members.length == 1)) {
+			return super.hasSolution();
+		}
+		return solve(Arrays.copyOf(assignment.toArray(), assignment.size()));
+	}
+
+	/**
+	 * {@inheritDoc}<br> <br> Does only consider the given {@code assignment} and <b>not</b> the global assignment variable of the solver.
+	 */
+	@Override
+	public SatResult hasSolution(int... assignment) {
+		if (contradiction || (members.length == 1)) {
+			return super.hasSolution(assignment);
+		}
+		for (final Solver<?> member : members) {
+			member.setKeepSolverHot(true);
+		}
+		return solve(internalMapping.convertToInternal(assignment));
+	}
+
+	@Override
+	public int[] findSolution() {
+		return hasSolution() == SatResult.TRUE ? members[winner].model() : null;
+	}
+
+	@Override
+	public int[] getSolution() {
+		return contradiction ? null : internalMapping.convertToOriginal(members[winner].model());
+	}
+
+	@Override
+	public int[] getInternalSolution() {
+		return contradiction ? null : members[winner].model();
+	}
+
+	@Override
+	public int[] getContradictoryAssignment() {
+		if (contradiction) {
+			return new int[0];
+		}
+		final IVecInt unsatExplanation = members[winner].unsatExplanation();
+		return internalMapping.convertToOriginal(Arrays.copyOf(unsatExplanation.toArray(), unsatExplanation.size()));
+	}
+
+	@Override
+	public void setSelectionStrategy(SelectionStrategy strategy) {
+		final boolean changed = this.strategy != strategy;
+		super.setSelectionStrategy(strategy);
+		if (!contradiction) {
+			for (int i = 1; i < members.length; i++) {
+				setOrder(i, changed ? createOrder(i, strategy) : null);
+			}
+		}
+	}
+
+	@Override
+	public void setSelectionStrategy(int[] model, boolean min) {
+		super.setSelectionStrategy(model, min);
+		if (!contradiction) {
+			for (int i = 1; i < members.length; i++) {
+				setOrder(i, new VarOrderHeap2(new FixedLiteralSelectionStrategy(model, min), order));
+			}
+		}
+	}
+
+	@Override
+	public void setSelectionStrategy(List<LiteralSet> sample) {
+		super.setSelectionStrategy(sample);
+		if (!contradiction) {
+			for (int i = 1; i < members.length; i++) {
+				setOrder(i, new VarOrderHeap3(sample));
+			}
+		}
+	}
+
+	@Override
+	public void setTimeout(int timeout) {
+		super.setTimeout(timeout);
+		for (int i = 1; i < members.length; i++) {
+			members[i].setTimeoutMs(timeout);
+		}
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		for (int i = 1; i < members.length; i++) {
+			members[i].reset();
+		}
+		synchronized (sharedClauses) {
+			sharedClauses.clear();
+			Arrays.fill(importedClauses, 0);
+		}
+		winner = 0;
+	}
+
+	@Override
+	public PortfolioSatSolver clone() {
+		if (this.getClass() == PortfolioSatSolver.class) {
+			return new PortfolioSatSolver(this);
+		} else {
+			throw new RuntimeException("Cloning not supported for " + this.getClass().toString());
+		}
+	}
+
+}
@@ -24,13 +24,15 @@ abstract class ATraverser implements ITraverser {
 
 	protected final boolean[] dfsMark;
 	protected final ModalImplicationGraph mig;
+	protected final CompactModalImplicationGraph graph;
 
 	protected Visitor<?> visitor = null;
 	protected int[] currentConfiguration = null;
 
 	public ATraverser(ModalImplicationGraph mig) {
 		this.mig = mig;
-		dfsMark = new boolean[mig.getAdjList().size()];
+		graph = mig.getCompactGraph();
+		dfsMark = new boolean[graph.getVertexCount()];
 	}
 
 	@Override
@@ -0,0 +1,159 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+
+/**
+ * Read-only representation of a {@link ModalImplicationGraph} in compressed sparse row format.<br> All strong edges are stored consecutively in a single
+ * array and the edges of a vertex are located by an offset array. The same holds for the references from a vertex to its complex clauses and for the literals
+ * of the complex clauses themselves. In contrast to the list of {@link Vertex} objects, traversing this representation does not require any pointer chasing.
+ *
+ * @author Sebastian Krieter
+ *
+ * @see ModalImplicationGraph#getCompactGraph()
+ */
+public final class CompactModalImplicationGraph {
+
+	private static final byte CORE = 1;
+	private static final byte DEAD = 2;
+
+	final byte[] status;
+
+	final int[] strongEdgeOffsets;
+	final int[] strongEdges;
+
+	final int[] clauseReferenceOffsets;
+	final int[] clauseReferences;
+
+	final int[] clauseOffsets;
+	final int[] clauseLiterals;
+
+	public CompactModalImplicationGraph(ModalImplicationGraph mig) {
+		final List<Vertex> adjList = mig.adjList;
+		final List<LiteralSet> complexClauses = mig.complexClauses;
+		final int vertexCount = adjList.size();
+
+		status = new byte[vertexCount];
+		strongEdgeOffsets = new int[vertexCount + 1];
+		clauseReferenceOffsets = new int[vertexCount + 1];
+		for (int i = 0; i < vertexCount; i++) {
+			final Vertex vertex = adjList.get(i);
+			status[i] = (byte) ((vertex.isCore() ? CORE : 0) | (vertex.isDead() ? DEAD : 0));
+			strongEdgeOffsets[i + 1] = strongEdgeOffsets[i] + length(vertex.getStrongEdges());
+			clauseReferenceOffsets[i + 1] = clauseReferenceOffsets[i] + length(vertex.getComplexClauses());
+		}
+		strongEdges = new int[strongEdgeOffsets[vertexCount]];
+		clauseReferences = new int[clauseReferenceOffsets[vertexCount]];
+		for (int i = 0; i < vertexCount; i++) {
+			final Vertex vertex = adjList.get(i);
+			copy(vertex.getStrongEdges(), strongEdges, strongEdgeOffsets[i]);
+			copy(vertex.getComplexClauses(), clauseReferences, clauseReferenceOffsets[i]);
+		}
+
+		final int clauseCount = complexClauses.size();
+		clauseOffsets = new int[clauseCount + 1];
+		for (int i = 0; i < clauseCount; i++) {
+			final LiteralSet clause = complexClauses.get(i);
+			clauseOffsets[i + 1] = clauseOffsets[i] + (clause == null ? 0 : clause.size());
+		}
+		clauseLiterals = new int[clauseOffsets[clauseCount]];
+		for (int i = 0; i < clauseCount; i++) {
+			final LiteralSet clause = complexClauses.get(i);
+			if (clause != null) {
+				System.arraycopy(clause.getLiterals(), 0, clauseLiterals, clauseOffsets[i], clause.size());
+			}
+		}
+	}
+
+	private static int length(int[] array) {
+		return array == null ? 0 : array.length;
+	}
+
+	private static void copy(int[] source, int[] destination, int offset) {
+		if (source != null) {
+			System.arraycopy(source, 0, destination, offset, source.length);
+		}
+	}
+
+	/**
+	 * Returns the index of the vertex that represents the given literal. The index is equal to the id of the corresponding {@link Vertex}.
+	 *
+	 * @param literal the literal
+	 * @return the vertex index
+	 */
+	public static int getVertexIndex(int literal) {
+		return ((Math.abs(literal) - 1) << 1) + (literal < 0 ? 0 : 1);
+	}
+
+	public int getVertexCount() {
+		return status.length;
+	}
+
+	public int getComplexClauseCount() {
+		return clauseOffsets.length - 1;
+	}
+
+	public boolean isCore(int vertexIndex) {
+		return (status[vertexIndex] & CORE) != 0;
+	}
+
+	public boolean isDead(int vertexIndex) {
+		return (status[vertexIndex] & DEAD) != 0;
+	}
+
+	public int getStrongEdgeCount(int vertexIndex) {
+		return strongEdgeOffsets[vertexIndex + 1] - strongEdgeOffsets[vertexIndex];
+	}
+
+	/**
+	 * @param vertexIndex the index of the source vertex
+	 * @param i the position of the edge within the strong edges of the source vertex
+	 * @return the literal of the target vertex
+	 */
+	public int getStrongEdge(int vertexIndex, int i) {
+		return strongEdges[strongEdgeOffsets[vertexIndex] + i];
+	}
+
+	public int getComplexClauseReferenceCount(int vertexIndex) {
+		return clauseReferenceOffsets[vertexIndex + 1] - clauseReferenceOffsets[vertexIndex];
+	}
+
+	/**
+	 * @param vertexIndex the index of the vertex
+	 * @param i the position of the reference within the references of the vertex
+	 * @return the index of the complex clause
+	 */
+	public int getComplexClauseReference(int vertexIndex, int i) {
+		return clauseReferences[clauseReferenceOffsets[vertexIndex] + i];
+	}
+
+	public int getComplexClauseSize(int clauseIndex) {
+		return clauseOffsets[clauseIndex + 1] - clauseOffsets[clauseIndex];
+	}
+
+	public int getComplexClauseLiteral(int clauseIndex, int i) {
+		return clauseLiterals[clauseOffsets[clauseIndex] + i];
+	}
+
+}
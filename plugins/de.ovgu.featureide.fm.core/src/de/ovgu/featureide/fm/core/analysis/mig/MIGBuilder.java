@@ -30,20 +30,29 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import org.sat4j.core.VecInt;
 import org.sat4j.specs.ContradictionException;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
 
 /**
- * Adjacency matrix implementation for a feature graph.
+ * Adjacency matrix implementation for a feature graph.<br> <br> Optionally, the core features, the strong edges, and the redundant clauses can be computed in
+ * parallel by a pool of independent solvers (see {@link #setParallelism(int)}). The resulting graph is equal to the graph of the sequential build.
  *
  * @author Sebastian Krieter
  */
@@ -79,6 +88,8 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 	private final int numberOfVariables;
 
 	private ISatSolver solver;
+	private ForkJoinPool pool;
+	private int parallelism = 1;
 
 	protected Random random = new Random(112358);
 
@@ -91,8 +102,35 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 		mig = new ModalImplicationGraph(2 * numberOfVariables);
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of solvers that are used concurrently. A value greater than 1 enables the parallel mode, in which the core features, the strong edges,
+	 * and the redundant clauses are computed by a fork-join pool.
+	 *
+	 * @param parallelism the number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	@Override
 	public ModalImplicationGraph execute(IMonitor<ModalImplicationGraph> monitor) throws Exception {
+		if (parallelism > 1) {
+			pool = new ForkJoinPool(parallelism);
+			try {
+				return build(monitor);
+			} finally {
+				pool.shutdownNow();
+				pool = null;
+			}
+		}
+		return build(monitor);
+	}
+
+	private ModalImplicationGraph build(IMonitor<ModalImplicationGraph> monitor) throws Exception {
 		monitor.setRemainingWork(5 + (detectStrong ? 3 : 0));
 		if (!init()) {
 			return null;
@@ -106,10 +144,18 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 			dfsWeak();
 			monitor.step();
 
-			dfsDetectStrongEdges();
+			if (pool != null) {
+				detectStrongEdgesParallel(monitor);
+			} else {
+				dfsDetectStrongEdges();
+			}
 			monitor.step();
 		}
-		cleanClauseList();
+		if (pool != null) {
+			cleanClauseListParallel(monitor);
+		} else {
+			cleanClauseList();
+		}
 		monitor.step();
 
 		readdEdges();
@@ -228,7 +274,7 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 //		solver.initSolutionList(1000);
 		solver.setSelectionStrategy(SelectionStrategy.POSITIVE);
 
-		final boolean satisfiable = getCoreFeatures();
+		final boolean satisfiable = (pool != null) ? getCoreFeaturesParallel() : getCoreFeatures();
 		if (satisfiable) {
 			initEdges();
 		}
@@ -260,6 +306,62 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 		newClauseList.clear();
 	}
 
+	/**
+	 * Parallel version of {@link #cleanClauseList()}. A clause is redundant with respect to the clauses kept before it if and only if it is redundant with
+	 * respect to all clauses before it, because every removed clause is implied by the kept ones. Thus, each task can check a range of clauses independently
+	 * using a solver that contains all preceding clauses.
+	 */
+	private void cleanClauseListParallel(IMonitor<?> monitor) throws Exception {
+		Collections.sort(newClauseList, lengthComparator);
+
+		int firstComplexClause = 0;
+		while ((firstComplexClause < newClauseList.size()) && (newClauseList.get(firstComplexClause).getLiterals().length < 3)) {
+			firstComplexClause++;
+		}
+
+		final List<Callable<boolean[]>> tasks = new ArrayList<>();
+		final int taskSize = Math.max(1, (newClauseList.size() - firstComplexClause) / (parallelism << 2));
+		for (int start = firstComplexClause; start < newClauseList.size(); start += taskSize) {
+			final int taskStart = start;
+			final int taskEnd = Math.min(start + taskSize, newClauseList.size());
+			tasks.add(() -> {
+				final AdvancedSatSolver newSolver = new AdvancedSatSolver(new CNF(satInstance, false));
+				newSolver.addClauses(newClauseList.subList(0, taskStart));
+				final boolean[] redundant = new boolean[taskEnd - taskStart];
+				for (int i = taskStart; i < taskEnd; i++) {
+					monitor.checkCancel();
+					final LiteralSet clause = newClauseList.get(i);
+					redundant[i - taskStart] = isRedundant(newSolver, clause);
+					newSolver.addClause(clause);
+				}
+				return redundant;
+			});
+		}
+		final List<Future<boolean[]>> results = pool.invokeAll(tasks);
+
+		adjMatrix.clauseList.addAll(newClauseList.subList(0, firstComplexClause));
+		int i = firstComplexClause;
+		for (final Future<boolean[]> result : results) {
+			for (final boolean redundant : getResult(result)) {
+				if (!redundant) {
+					adjMatrix.clauseList.add(newClauseList.get(i));
+				}
+				i++;
+			}
+		}
+
+		newClauseList.clear();
+	}
+
+	private static <T> T getResult(Future<T> future) throws Exception {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			throw (cause instanceof Exception) ? (Exception) cause : e;
+		}
+	}
+
 	private final boolean isRedundant(ISatSolver solver, LiteralSet curClause) {
 		return solver.hasSolution(curClause.negate()) == SatResult.FALSE;
 	}
@@ -515,6 +617,136 @@ public class MIGBuilder implements LongRunningMethod<ModalImplicationGraph>, IEd
 		return false;
 	}
 
+	private boolean getCoreFeaturesParallel() {
+		if (solver.findSolution() == null) {
+			return false;
+		}
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(satInstance);
+		analysis.setParallelism(parallelism);
+		for (final int literal : LongRunningWrapper.runMethod(analysis).getLiterals()) {
+			addClause(literal);
+			solver.assignmentPush(literal);
+			adjMatrix.core[Math.abs(literal) - 1] = (byte) Math.signum(literal);
+		}
+		return true;
+	}
+
+	/**
+	 * Parallel version of {@link #dfsDetectStrongEdges()}. The literals are partitioned and each task tests the implications between its literals and all
+	 * weakly connected variables with a higher index. The found implications are added in the order of their literals afterwards. In contrast to the
+	 * sequential version, transitive implications are not added as clauses, as they are restored by {@link #dfsStrong()}.
+	 */
+	private void detectStrongEdgesParallel(IMonitor<?> monitor) throws Exception {
+		final ConcurrentLinkedQueue<ISatSolver> solvers = new ConcurrentLinkedQueue<>();
+		for (int i = 0; i < parallelism; i++) {
+			solvers.add(solver.clone());
+		}
+
+		final List<Callable<VecInt>> tasks = new ArrayList<>();
+		final int taskSize = Math.max(1, numberOfVariables / (parallelism << 4));
+		for (int start = 0; start < numberOfVariables; start += taskSize) {
+			final int taskStart = start;
+			final int taskEnd = Math.min(start + taskSize, numberOfVariables);
+			final long seed = random.nextLong();
+			tasks.add(() -> {
+				final ISatSolver workerSolver = acquireSolver(solvers);
+				try {
+					final Random workerRandom = new Random(seed);
+					final VecInt implications = new VecInt();
+					for (int i = taskStart; i < taskEnd; i++) {
+						monitor.checkCancel();
+						if (adjMatrix.core[i] == 0) {
+							testLiteral(workerSolver, workerRandom, i + 1, implications);
+							testLiteral(workerSolver, workerRandom, -(i + 1), implications);
+						}
+					}
+					return implications;
+				} finally {
+					solvers.add(workerSolver);
+				}
+			});
+		}
+
+		for (final Future<VecInt> result : pool.invokeAll(tasks)) {
+			final VecInt implications = getResult(result);
+			for (int i = 0; i < implications.size(); i += 2) {
+				final int mx1 = implications.get(i);
+				final int my1 = implications.get(i + 1);
+				if (addStrongRelation(-mx1, my1)) {
+					addClause(-mx1, my1);
+				}
+			}
+		}
+	}
+
+	private ISatSolver acquireSolver(ConcurrentLinkedQueue<ISatSolver> solvers) {
+		final ISatSolver workerSolver = solvers.poll();
+		if (workerSolver == null) {
+			synchronized (solver) {
+				return solver.clone();
+			}
+		}
+		return workerSolver;
+	}
+
+	/**
+	 * Tests for a literal, which of the weakly connected variables with a higher index it implies. Only reads the adjacency matrix, such that it can be called
+	 * concurrently.
+	 *
+	 * @param workerSolver the solver of the current task
+	 * @param workerRandom the random instance of the current task
+	 * @param mx1 the literal
+	 * @param implications the list to which the pairs of implying and implied literal are added
+	 */
+	private void testLiteral(ISatSolver workerSolver, Random workerRandom, int mx1, VecInt implications) {
+		final int i = Math.abs(mx1) - 1;
+		final byte weakMask = mx1 > 0 ? EDGE_WEAK_POSITIVE : EDGE_WEAK_NEGATIVE;
+
+		int[] xModel1 = null;
+		for (final int[] solution : workerSolver.getSolutionList()) {
+			if (mx1 == solution[i]) {
+				xModel1 = solution;
+				break;
+			}
+		}
+		workerSolver.assignmentPush(mx1);
+		if (xModel1 == null) {
+			xModel1 = workerSolver.findSolution();
+			if (xModel1 == null) {
+				workerSolver.assignmentPop();
+				return;
+			}
+		}
+
+		int c = 0;
+		final int rowIndex = i * adjMatrix.getNumVariables();
+		inner1: for (int j = i + 1; j < xModel1.length; j++) {
+			if ((adjMatrix.core[j] == 0) && ((adjMatrix.edges[rowIndex + j] & weakMask) != 0)) {
+				final int my1 = xModel1[j];
+				for (final int[] solution : workerSolver.getSolutionList()) {
+					if ((mx1 == solution[i]) && (my1 != solution[j])) {
+						continue inner1;
+					}
+				}
+
+				workerSolver.assignmentPush(-my1);
+				workerSolver.setSelectionStrategy(((c++ % 2) != 0) ? SelectionStrategy.POSITIVE : SelectionStrategy.NEGATIVE);
+				switch (workerSolver.hasSolution()) {
+				case FALSE:
+					implications.push(mx1).push(my1);
+					break;
+				case TIMEOUT:
+					break;
+				case TRUE:
+					workerSolver.shuffleOrder(workerRandom);
+					break;
+				}
+				workerSolver.assignmentPop();
+			}
+		}
+		workerSolver.assignmentPop();
+	}
+
 	private void mark() {
 		for (int i = 0; i < dfsMark.length; i++) {
 			dfsMark[i] &= 2;
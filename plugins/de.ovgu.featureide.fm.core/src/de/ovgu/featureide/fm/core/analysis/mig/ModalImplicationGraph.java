@@ -23,6 +23,7 @@ package de.ovgu.featureide.fm.core.analysis.mig;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -47,6 +48,8 @@ public class ModalImplicationGraph implements IEdgeTypes, Serializable {
 	final List<Vertex> adjList;
 	final List<LiteralSet> complexClauses = new ArrayList<>(0);
 
+	private transient CompactModalImplicationGraph compactGraph = null;
+
 	public ModalImplicationGraph() {
 		adjList = new ArrayList<>(0);
 	}
@@ -55,9 +58,50 @@ public class ModalImplicationGraph implements IEdgeTypes, Serializable {
 		adjList = new ArrayList<>(numVariables);
 	}
 
+	/**
+	 * @param adjList the vertices of the graph ordered by their id
+	 * @param complexClauses the complex clauses referenced by the vertices
+	 */
+	public ModalImplicationGraph(List<Vertex> adjList, List<LiteralSet> complexClauses) {
+		this.adjList = new ArrayList<>(adjList);
+		this.complexClauses.addAll(complexClauses);
+	}
+
+	/**
+	 * Copy constructor. Creates a copy of all vertices, such that clauses can be added to the copy without changing the given graph.
+	 *
+	 * @param other the graph to copy
+	 */
+	public ModalImplicationGraph(ModalImplicationGraph other) {
+		adjList = new ArrayList<>(other.adjList.size());
+		for (final Vertex vertex : other.adjList) {
+			adjList.add(new Vertex(vertex));
+		}
+		complexClauses.addAll(other.complexClauses);
+	}
+
 	public void copyValues(ModalImplicationGraph other) {
 		adjList.addAll(other.adjList);
 		complexClauses.addAll(other.complexClauses);
+		invalidateCompactGraph();
+	}
+
+	/**
+	 * Returns a compact, read-only representation of this graph that is used by the traversers. The representation is created on the first call and reused
+	 * until the graph is modified by one of its methods.<br> If vertices of this graph are modified directly, {@link #invalidateCompactGraph()} must be called
+	 * afterwards.
+	 *
+	 * @return the compact representation of this graph
+	 */
+	public synchronized CompactModalImplicationGraph getCompactGraph() {
+		if (compactGraph == null) {
+			compactGraph = new CompactModalImplicationGraph(this);
+		}
+		return compactGraph;
+	}
+
+	public synchronized void invalidateCompactGraph() {
+		compactGraph = null;
 	}
 
 	public Traverser traverse() {
@@ -77,6 +121,7 @@ public class ModalImplicationGraph implements IEdgeTypes, Serializable {
 	}
 
 	public void addClause(LiteralSet clause) {
+		invalidateCompactGraph();
 		final int[] literals = clause.getLiterals();
 		switch (clause.size()) {
 		case 0:
@@ -107,6 +152,7 @@ public class ModalImplicationGraph implements IEdgeTypes, Serializable {
 	}
 
 	public void removeClause(LiteralSet clause) {
+		invalidateCompactGraph();
 		final int[] literals = clause.getLiterals();
 		switch (clause.size()) {
 		case 0:
@@ -136,6 +182,100 @@ public class ModalImplicationGraph implements IEdgeTypes, Serializable {
 		}
 	}
 
+	/**
+	 * Adds clauses to the graph and keeps the strong edges transitively closed, such that traversing the graph remains complete with respect to the strong
+	 * edges. In contrast to {@link MIGBuilder}, this method does not detect new core and dead features or new strong edges that are implied by complex
+	 * clauses.
+	 *
+	 * @param clauses the clauses to add
+	 *
+	 * @throws RuntimeContradictionException if a clause contradicts the core and dead features of the graph
+	 */
+	public void addClausesTransitive(Collection<LiteralSet> clauses) {
+		invalidateCompactGraph();
+		for (final LiteralSet clause : clauses) {
+			final int[] literals = clause.getLiterals();
+			final int[] remainingLiterals = new int[literals.length];
+			int remainingCount = 0;
+			boolean satisfied = false;
+			for (final int literal : literals) {
+				final Vertex vertex = getVertex(literal);
+				if (vertex.isCore()) {
+					satisfied = true;
+					break;
+				} else if (!vertex.isDead()) {
+					remainingLiterals[remainingCount++] = literal;
+				}
+			}
+			if (satisfied) {
+				continue;
+			}
+			switch (remainingCount) {
+			case 0:
+				throw new RuntimeContradictionException();
+			case 1:
+				final Vertex vertex = getVertex(remainingLiterals[0]);
+				setCore(vertex);
+				for (final int strongEdge : vertex.getStrongEdges()) {
+					setCore(getVertex(strongEdge));
+				}
+				break;
+			case 2:
+				addStrongEdgeTransitive(-remainingLiterals[0], remainingLiterals[1]);
+				addStrongEdgeTransitive(-remainingLiterals[1], remainingLiterals[0]);
+				break;
+			default:
+				addClause(new LiteralSet(Arrays.copyOf(remainingLiterals, remainingCount)));
+				break;
+			}
+		}
+	}
+
+	private void setCore(Vertex vertex) {
+		final Vertex complementVertex = getVertex(-vertex.getVar());
+		if (vertex.isDead()) {
+			throw new RuntimeContradictionException();
+		}
+		vertex.setCore(true);
+		complementVertex.setDead(true);
+	}
+
+	/**
+	 * Adds a strong edge and all strong edges of its target to the source and all vertices that have a strong edge to the source.
+	 */
+	private void addStrongEdgeTransitive(int source, int target) {
+		final int[] targetEdges = getVertex(target).getStrongEdges();
+		final int[] impliedLiterals = Arrays.copyOf(targetEdges, targetEdges.length + 1);
+		impliedLiterals[targetEdges.length] = target;
+		for (final Vertex vertex : adjList) {
+			final int[] strongEdges = vertex.getStrongEdges();
+			if ((vertex.getVar() == source) || contains(strongEdges, source)) {
+				int[] newStrongEdges = strongEdges;
+				int size = strongEdges.length;
+				for (final int literal : impliedLiterals) {
+					if ((literal != vertex.getVar()) && !contains(strongEdges, literal)) {
+						if (newStrongEdges == strongEdges) {
+							newStrongEdges = Arrays.copyOf(strongEdges, strongEdges.length + impliedLiterals.length);
+						}
+						newStrongEdges[size++] = literal;
+					}
+				}
+				if (newStrongEdges != strongEdges) {
+					vertex.setStrongEdges(Arrays.copyOf(newStrongEdges, size));
+				}
+			}
+		}
+	}
+
+	private static boolean contains(int[] literals, int literal) {
+		for (final int l : literals) {
+			if (l == literal) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	private void addWeakEdge(final Vertex vertex, final int index) {
 		final int[] oldComplexClauses = vertex.getComplexClauses();
 		final int[] newComplexClauses = Arrays.copyOf(oldComplexClauses, oldComplexClauses.length + 1);
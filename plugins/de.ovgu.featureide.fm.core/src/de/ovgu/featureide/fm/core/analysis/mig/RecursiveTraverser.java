@@ -25,8 +25,6 @@ import java.util.Arrays;
 import org.sat4j.core.VecInt;
 import org.sat4j.specs.IteratorInt;
 
-import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
-
 public class RecursiveTraverser extends ATraverser {
 
 	public RecursiveTraverser(ModalImplicationGraph mig) {
@@ -54,10 +52,14 @@ public class RecursiveTraverser extends ATraverser {
 	}
 
 	private void traverseStrongRec(int curLiteral) {
-		final Vertex vertex = mig.getVertex(curLiteral);
+		final int vertexIndex = CompactModalImplicationGraph.getVertexIndex(curLiteral);
+		final int[] strongEdges = graph.strongEdges;
+		final int[] clauseReferences = graph.clauseReferences;
+		final int[] clauseLiterals = graph.clauseLiterals;
 
 		// Strong Edges
-		for (final int strongEdge : vertex.getStrongEdges()) {
+		for (int i = graph.strongEdgeOffsets[vertexIndex], end = graph.strongEdgeOffsets[vertexIndex + 1]; i < end; i++) {
+			final int strongEdge = strongEdges[i];
 			final int modelIndex = Math.abs(strongEdge) - 1;
 			if (currentConfiguration[modelIndex] == 0) {
 				currentConfiguration[modelIndex] = strongEdge;
@@ -66,15 +68,13 @@ public class RecursiveTraverser extends ATraverser {
 		}
 
 		// Weak Edges
-		final int[] complexClauses = vertex.getComplexClauses();
 		final VecInt v = new VecInt();
-		outerLoop: for (int i = 0; i < complexClauses.length; i++) {
-			final LiteralSet clause = mig.getComplexClauses().get(complexClauses[i]);
+		outerLoop: for (int i = graph.clauseReferenceOffsets[vertexIndex], end = graph.clauseReferenceOffsets[vertexIndex + 1]; i < end; i++) {
+			final int clauseIndex = clauseReferences[i];
 
 			v.clear();
-			final int[] literals = clause.getLiterals();
-			for (int j = 0; j < literals.length; j++) {
-				final int literal = literals[j];
+			for (int j = graph.clauseOffsets[clauseIndex], clauseEnd = graph.clauseOffsets[clauseIndex + 1]; j < clauseEnd; j++) {
+				final int literal = clauseLiterals[j];
 				if (literal == -curLiteral) {
 					continue;
 				}
@@ -109,7 +109,7 @@ public class RecursiveTraverser extends ATraverser {
 	}
 
 	private void traverse(boolean strongPath, int curLiteral) {
-		final Vertex vertex = mig.getVertex(curLiteral);
+		final int vertexIndex = CompactModalImplicationGraph.getVertexIndex(curLiteral);
 
 		if (strongPath) {
 			final int modelIndex = Math.abs(curLiteral) - 1;
@@ -119,30 +119,32 @@ public class RecursiveTraverser extends ATraverser {
 			}
 		}
 
-		if (!dfsMark[vertex.getId()]) {
-			dfsMark[vertex.getId()] = true;
+		if (!dfsMark[vertexIndex]) {
+			dfsMark[vertexIndex] = true;
 			if (!strongPath) {
 				visitor.visitWeak(curLiteral);
 			}
 
+			final int[] strongEdges = graph.strongEdges;
+			final int[] clauseReferences = graph.clauseReferences;
+			final int[] clauseLiterals = graph.clauseLiterals;
+
 			// Strong Edges
-			for (final int strongEdge : vertex.getStrongEdges()) {
+			for (int i = graph.strongEdgeOffsets[vertexIndex], end = graph.strongEdgeOffsets[vertexIndex + 1]; i < end; i++) {
+				final int strongEdge = strongEdges[i];
 				if (currentConfiguration[Math.abs(strongEdge) - 1] == 0) {
 					traverse(strongPath, strongEdge);
 				}
 			}
 
-			final int[] complexClauses = vertex.getComplexClauses();
-
 			// Weak Edges
 			final VecInt v = new VecInt();
-			outerLoop: for (int i = 0; i < complexClauses.length; i++) {
-				final LiteralSet clause = mig.getComplexClauses().get(complexClauses[i]);
+			outerLoop: for (int i = graph.clauseReferenceOffsets[vertexIndex], end = graph.clauseReferenceOffsets[vertexIndex + 1]; i < end; i++) {
+				final int clauseIndex = clauseReferences[i];
 
 				v.clear();
-				final int[] literals = clause.getLiterals();
-				for (int j = 0; j < literals.length; j++) {
-					final int literal = literals[j];
+				for (int j = graph.clauseOffsets[clauseIndex], clauseEnd = graph.clauseOffsets[clauseIndex + 1]; j < clauseEnd; j++) {
+					final int literal = clauseLiterals[j];
 					if (literal == -curLiteral) {
 						continue;
 					}
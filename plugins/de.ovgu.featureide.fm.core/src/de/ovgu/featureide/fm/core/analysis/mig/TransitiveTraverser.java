@@ -30,7 +30,6 @@ import java.util.Map.Entry;
 import org.sat4j.core.VecInt;
 import org.sat4j.specs.IteratorInt;
 
-import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.mig.Visitor.VisitResult;
 
 public class TransitiveTraverser extends ATraverser {
@@ -53,16 +52,16 @@ public class TransitiveTraverser extends ATraverser {
 					for (final IteratorInt iterator = v.iterator(); iterator.hasNext();) {
 						final int literal = iterator.next();
 						if (currentConfiguration[Math.abs(literal) - 1] == 0) {
-							final Vertex vertex = mig.getVertex(literal);
-							if (!dfsMark[vertex.getId()]) {
-								dfsMark[vertex.getId()] = true;
+							final int vertexIndex = CompactModalImplicationGraph.getVertexIndex(literal);
+							if (!dfsMark[vertexIndex]) {
+								dfsMark[vertexIndex] = true;
 								boolean changed = false;
 								final VisitResult visitWeakResult = visitor.visitWeak(literal);
 								switch (visitWeakResult) {
 								case Cancel:
 									return;
 								case Continue:
-									changed |= addComplexClauses(complexClauseMap, vertex) > 0;
+									changed |= addComplexClauses(complexClauseMap, vertexIndex) > 0;
 									break;
 								case Select:
 									changed |= attemptStrongSelect(literal, complexClauseMap);
@@ -154,12 +153,13 @@ public class TransitiveTraverser extends ATraverser {
 			default:
 				throw new AssertionError(visitStrongResult);
 			}
-			final Vertex curVertex = mig.getVertex(curLiteral);
+			final int curVertexIndex = CompactModalImplicationGraph.getVertexIndex(curLiteral);
 			if (complexClauseMap != null) {
-				addComplexClauses(complexClauseMap, curVertex);
+				addComplexClauses(complexClauseMap, curVertexIndex);
 			}
-			for (final int strongEdge : curVertex.getStrongEdges()) {
-				attemptStrongSelect(strongEdge, complexClauseMap);
+			final int[] strongEdges = graph.strongEdges;
+			for (int i = graph.strongEdgeOffsets[curVertexIndex], end = graph.strongEdgeOffsets[curVertexIndex + 1]; i < end; i++) {
+				attemptStrongSelect(strongEdges[i], complexClauseMap);
 			}
 			if (complexClauseMap != null) {
 				return false;
@@ -169,15 +169,16 @@ public class TransitiveTraverser extends ATraverser {
 		return false;
 	}
 
-	private int addComplexClauses(final HashMap<Integer, VecInt> complexClauseMap, final Vertex vertex) {
+	private int addComplexClauses(final HashMap<Integer, VecInt> complexClauseMap, final int vertexIndex) {
 		int added = 0;
-		final int[] complexClauses = vertex.getComplexClauses();
-		for (int i = 0; i < complexClauses.length; i++) {
-			final Integer index = complexClauses[i];
+		final int[] clauseReferences = graph.clauseReferences;
+		for (int i = graph.clauseReferenceOffsets[vertexIndex], end = graph.clauseReferenceOffsets[vertexIndex + 1]; i < end; i++) {
+			final Integer index = clauseReferences[i];
 			if (!complexClauseMap.containsKey(index)) {
-				final LiteralSet clause = mig.getComplexClauses().get(index);
-				if (clause != null) {
-					complexClauseMap.putIfAbsent(index, new VecInt(Arrays.copyOf(clause.getLiterals(), clause.size())));
+				final int start = graph.clauseOffsets[index];
+				final int clauseEnd = graph.clauseOffsets[index + 1];
+				if (start < clauseEnd) {
+					complexClauseMap.putIfAbsent(index, new VecInt(Arrays.copyOfRange(graph.clauseLiterals, start, clauseEnd)));
 					added++;
 				}
 			}
@@ -30,7 +30,6 @@ import java.util.Map.Entry;
 import org.sat4j.core.VecInt;
 import org.sat4j.specs.IteratorInt;
 
-import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.mig.Visitor.VisitResult;
 
 public class Traverser extends ATraverser {
@@ -62,16 +61,16 @@ public class Traverser extends ATraverser {
 					for (final IteratorInt literalIterator = openClause.iterator(); literalIterator.hasNext();) {
 						final int literal = literalIterator.next();
 						if (currentConfiguration[getIndex(literal)] == 0) {
-							final Vertex vertex = mig.getVertex(literal);
-							if (!dfsMark[vertex.getId()]) {
-								dfsMark[vertex.getId()] = true;
+							final int vertexIndex = CompactModalImplicationGraph.getVertexIndex(literal);
+							if (!dfsMark[vertexIndex]) {
+								dfsMark[vertexIndex] = true;
 								boolean changed = false;
 								final VisitResult visitWeakResult = visitor.visitWeak(literal);
 								switch (visitWeakResult) {
 								case Cancel:
 									return;
 								case Continue:
-									changed |= addComplexClauses(openClauseMap, vertex) > 0;
+									changed |= addComplexClauses(openClauseMap, vertexIndex) > 0;
 									break;
 								case Select:
 									changed |= attemptStrongSelect(literal, openClauseMap);
@@ -165,10 +164,12 @@ public class Traverser extends ATraverser {
 				throw new AssertionError(visitStrongResult);
 			}
 
-			final Vertex curVertex = mig.getVertex(curLiteral);
-			addComplexClauses(complexClauseMap, curVertex);
+			final int curVertexIndex = CompactModalImplicationGraph.getVertexIndex(curLiteral);
+			addComplexClauses(complexClauseMap, curVertexIndex);
 
-			for (final int strongVertex : curVertex.getStrongEdges()) {
+			final int[] strongEdges = graph.strongEdges;
+			for (int i = graph.strongEdgeOffsets[curVertexIndex], end = graph.strongEdgeOffsets[curVertexIndex + 1]; i < end; i++) {
+				final int strongVertex = strongEdges[i];
 				final int strongVertexIndex = getIndex(strongVertex);
 				if (currentConfiguration[strongVertexIndex] == 0) {
 					currentConfiguration[strongVertexIndex] = strongVertex;
@@ -180,7 +181,7 @@ public class Traverser extends ATraverser {
 						break;
 					case Select:
 					case Continue:
-						addComplexClauses(complexClauseMap, mig.getVertex(strongVertex));
+						addComplexClauses(complexClauseMap, CompactModalImplicationGraph.getVertexIndex(strongVertex));
 						break;
 					default:
 						throw new AssertionError(visitStrongResult);
@@ -199,14 +200,13 @@ public class Traverser extends ATraverser {
 		return Math.abs(literal) - 1;
 	}
 
-	private int addComplexClauses(final HashMap<Integer, VecInt> complexClauseMap, final Vertex vertex) {
+	private int addComplexClauses(final HashMap<Integer, VecInt> complexClauseMap, final int vertexIndex) {
 		int added = 0;
-		final int[] complexClauses = vertex.getComplexClauses();
-		for (int i = 0; i < complexClauses.length; i++) {
-			final Integer index = complexClauses[i];
+		final int[] clauseReferences = graph.clauseReferences;
+		for (int i = graph.clauseReferenceOffsets[vertexIndex], end = graph.clauseReferenceOffsets[vertexIndex + 1]; i < end; i++) {
+			final Integer index = clauseReferences[i];
 			if (!complexClauseMap.containsKey(index)) {
-				final LiteralSet clause = mig.getComplexClauses().get(index);
-				complexClauseMap.put(index, new VecInt(Arrays.copyOf(clause.getLiterals(), clause.size())));
+				complexClauseMap.put(index, new VecInt(Arrays.copyOfRange(graph.clauseLiterals, graph.clauseOffsets[index], graph.clauseOffsets[index + 1])));
 				added++;
 			}
 		}
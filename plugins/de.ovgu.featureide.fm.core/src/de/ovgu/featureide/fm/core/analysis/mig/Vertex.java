@@ -38,6 +38,20 @@ public class Vertex implements Serializable {
 		this.var = var;
 	}
 
+	/**
+	 * Copy constructor. The edge arrays are shared, as they are replaced instead of modified when an edge is added.
+	 *
+	 * @param other the vertex to copy
+	 */
+	public Vertex(Vertex other) {
+		var = other.var;
+		id = other.id;
+		core = other.core;
+		dead = other.dead;
+		complexClauses = other.complexClauses;
+		strongEdges = other.strongEdges;
+	}
+
 	public int getVar() {
 		return var;
 	}
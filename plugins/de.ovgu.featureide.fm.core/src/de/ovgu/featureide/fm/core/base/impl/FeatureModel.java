@@ -24,6 +24,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
@@ -418,8 +419,7 @@ public class FeatureModel implements IFeatureModel {
 	@Override
 	public void setFeatureOrderList(List<String> featureOrderList) {
 		final List<String> basicSet = Functional.mapToList(new FeaturePreOrder(this), new ConcreteFeatureFilter(), IFeature::getName);
-		// TODO optimize performance
-		basicSet.removeAll(featureOrderList);
+		basicSet.removeAll(new HashSet<>(featureOrderList));
 		this.featureOrderList.clear();
 		this.featureOrderList.addAll(featureOrderList);
 		this.featureOrderList.addAll(basicSet);
@@ -12,7 +12,6 @@ import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
 import de.ovgu.featureide.fm.core.io.manager.FileHandler;
 import de.ovgu.featureide.fm.core.job.SliceFeatureModel;
-import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.ConsoleMonitor;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
@@ -26,6 +25,7 @@ public class CLISlicer extends ACLIFunction {
     private String selectedFeatures;
 	private Path outputFile;
 	private Path fmFile;
+	private int threads;
 
 	@Override
 	public String getId() {
@@ -55,7 +55,8 @@ public class CLISlicer extends ACLIFunction {
 			throw new IllegalArgumentException(fileHandler.getLastProblems().getErrors().get(0).error);
 		}
 
-        final LongRunningMethod<IFeatureModel> method = new SliceFeatureModel(fileHandler.getObject(), selectedFeatureList, true);
+        final SliceFeatureModel method = new SliceFeatureModel(fileHandler.getObject(), selectedFeatureList, true);
+        method.setParallelism(threads);
     
         //final IRunner<IFeatureModel> runner = LongRunningWrapper.getRunner(method, "Slicing Feature Model");
         final IPersistentFormat<IFeatureModel> format = fileHandler.getFormat();
@@ -68,6 +69,7 @@ public class CLISlicer extends ACLIFunction {
 		selectedFeatures = null;
 		outputFile = null;
 		fmFile = null;
+		threads = 1;
 	}
 
 	public static Collection<String> splitFeatureCLIArguments(String features){
@@ -93,6 +95,10 @@ public class CLISlicer extends ACLIFunction {
 					fmFile = Paths.get(getArgValue(iterator, arg));
 					break;
 				}
+				case "p": {
+					threads = Integer.parseInt(getArgValue(iterator, arg));
+					break;
+				}
 				default: {
 					throw new IllegalArgumentException(arg);
 				}
@@ -33,22 +33,26 @@ import java.util.List;
 import java.util.StringTokenizer;
 import java.util.stream.Collectors;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AllConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.DDNNFRandomConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.IConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.PairWiseConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.RandomConfigurationGenerator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.SPLCAToolConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.SampleValidator;
 import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.TWiseConfigurationGenerator;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.IFeatureStructure;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
 import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.binary.BinarySolutionListFormat;
 import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
 import de.ovgu.featureide.fm.core.io.expression.ExpressionGroupFormat;
 import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
@@ -73,6 +77,8 @@ public class ConfigurationGenerator extends ACLIFunction {
 	private int t;
 	private int m;
 	private int limit;
+	private int threads;
+	private Path initialSampleFile;
 
 	@Override
 	public String getId() {
@@ -148,12 +154,25 @@ public class ConfigurationGenerator extends ACLIFunction {
 				generator = new TWiseConfigurationGenerator(cnf, expressionGroups, t, limit);
 			}
 			((TWiseConfigurationGenerator) generator).setIterations(m);
+			((TWiseConfigurationGenerator) generator).setParallelism(threads);
+			if (initialSampleFile != null) {
+				final SolutionList initialSample = new SolutionList();
+				final ProblemList lastProblems = FileHandler.load(initialSampleFile, initialSample, getSampleFormat(initialSampleFile));
+				if (lastProblems.containsError()) {
+					throw new IllegalArgumentException(lastProblems.getErrors().get(0).error);
+				}
+				((TWiseConfigurationGenerator) generator).setInitialSample(TWiseConfigurationGenerator.adaptSample(initialSample, cnf.getVariables()));
+			}
 			break;
 		}
 		case "random": {
 			generator = new RandomConfigurationGenerator(cnf, limit);
 			break;
 		}
+		case "uniform": {
+			generator = new DDNNFRandomConfigurationGenerator(cnf, limit);
+			break;
+		}
 		case "all": {
 			generator = new AllConfigurationGenerator(cnf, limit);
 			break;
@@ -162,7 +181,11 @@ public class ConfigurationGenerator extends ACLIFunction {
 			throw new IllegalArgumentException("No algorithm specified!");
 		}
 		final List<LiteralSet> result = LongRunningWrapper.runMethod(generator, new ConsoleMonitor<>());
-		FileHandler.save(outputFile, new SolutionList(cnf.getVariables(), result), new ConfigurationListFormat());
+		final SampleValidator validator = new SampleValidator(cnf);
+		for (final SampleValidator.Violation violation : validator.validate(result)) {
+			Logger.logWarning(validator.toString(violation));
+		}
+		FileHandler.save(outputFile, new SolutionList(cnf.getVariables(), result), getSampleFormat(outputFile));
 		// FileHandler.save(outputFileMeta, new SolutionList(cnf.getVariables(), metaData), new ConfigurationListFormat());
 		try (BufferedWriter writer = Files.newBufferedWriter(outputFileMeta, StandardCharsets.UTF_8)) {
 			for (final int[] valueList : metaData) {
@@ -179,6 +202,18 @@ public class ConfigurationGenerator extends ACLIFunction {
 		}
 	}
 
+	/**
+	 * Returns the format for a sample file depending on its file extension. Files with the extension of {@link BinarySolutionListFormat} are stored in the
+	 * columnar binary format, all other files as CSV.
+	 *
+	 * @param path the sample file
+	 * @return the format
+	 */
+	private static IPersistentFormat<SolutionList> getSampleFormat(Path path) {
+		return BinarySolutionListFormat.FILE_EXTENSION.equals(FileHandler.getFileExtension(path)) ? new BinarySolutionListFormat()
+			: new ConfigurationListFormat();
+	}
+
 	/**
 	 * This method slices the original CNF if necessary (if slicing parameters are given and set) otherwise returns original CNF.
 	 *
@@ -259,6 +294,8 @@ public class ConfigurationGenerator extends ACLIFunction {
 		t = 0;
 		m = 1;
 		limit = Integer.MAX_VALUE;
+		threads = 1;
+		initialSampleFile = null;
 	}
 
 	private void parseArguments(List<String> args) {
@@ -293,6 +330,14 @@ public class ConfigurationGenerator extends ACLIFunction {
 					limit = Integer.parseInt(getArgValue(iterator, arg));
 					break;
 				}
+				case "p": {
+					threads = Integer.parseInt(getArgValue(iterator, arg));
+					break;
+				}
+				case "s": {
+					initialSampleFile = Paths.get(getArgValue(iterator, arg));
+					break;
+				}
 				case "e": {
 					expressionFile = Paths.get(getArgValue(iterator, arg));
 					break;
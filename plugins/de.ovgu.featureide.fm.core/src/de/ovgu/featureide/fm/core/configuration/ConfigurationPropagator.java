@@ -31,9 +31,11 @@ import org.sat4j.specs.TimeoutException;
 
 import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
 import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CountSolutionsAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.DDNNFCreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractCNFCreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractNoHiddenCNFCreator;
@@ -44,6 +46,7 @@ import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.OneWiseCo
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.IncrementalUnitPropagator;
 import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
 import de.ovgu.featureide.fm.core.job.LongRunningMethod;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
@@ -174,7 +177,9 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 				return 0L;
 			}
 			solver.setTimeout(timeout);
-			return new CountSolutionsAnalysis(solver).analyze(monitor);
+			final CountSolutionsAnalysis analysis = new CountSolutionsAnalysis(solver);
+			analysis.setTimeout(timeout);
+			return analysis.analyze(monitor);
 		}
 
 	}
@@ -388,13 +393,30 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			workMonitor.setRemainingWork(manualLiterals.size() + 1);
 			Collections.reverse(manualLiterals);
 
-			final CoreDeadAnalysis analysis = new CoreDeadAnalysis(rootNode);
 			final int[] intLiterals = new int[manualLiterals.size()];
 			for (int i = 0; i < intLiterals.length; i++) {
 				intLiterals[i] = manualLiterals.get(i);
 			}
-			analysis.setAssumptions(new LiteralSet(intLiterals));
-			final LiteralSet impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			final LiteralSet assumptions = new LiteralSet(intLiterals);
+			final LiteralSet impliedFeatures;
+			final DDNNF ddnnf = useKnowledgeCompilation ? formula.getElement(new DDNNFCreator()) : null;
+			final IncrementalUnitPropagator unitPropagator =
+				(incrementalPropagator != null) && (incrementalPropagator.getCnf() == rootNode) ? incrementalPropagator : null;
+			if ((ddnnf != null) && ddnnf.isComplete()) {
+				impliedFeatures = ddnnf.getImpliedLiterals(assumptions);
+				workMonitor.step();
+			} else if (unitPropagator != null) {
+				// The propagator may be shared by several update jobs, so the assumptions must not change until the implied literals are computed
+				synchronized (unitPropagator) {
+					impliedFeatures = updateAssumptions(unitPropagator, intLiterals, manualLiteralSet)
+						? unitPropagator.getImpliedLiterals(workMonitor.subTask(1))
+						: null;
+				}
+			} else {
+				final CoreDeadAnalysis analysis = new CoreDeadAnalysis(rootNode);
+				analysis.setAssumptions(assumptions);
+				impliedFeatures = LongRunningWrapper.runMethod(analysis, workMonitor.subTask(1));
+			}
 
 			// if there is a contradiction within the configuration
 			if (impliedFeatures == null) {
@@ -464,6 +486,23 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 			return result;
 		}
 
+		/**
+		 * Retracts all assumptions of the given propagator that are no longer selected manually and adds the new manual selections.
+		 */
+		private boolean updateAssumptions(IncrementalUnitPropagator unitPropagator, int[] manualLiterals, Collection<Integer> manualLiteralSet) {
+			for (final int literal : unitPropagator.getAssumptions().getLiterals()) {
+				if (!manualLiteralSet.contains(literal)) {
+					unitPropagator.retract(literal);
+				}
+			}
+			for (final int literal : manualLiterals) {
+				if (!unitPropagator.assume(literal)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 	}
 
 	public class ResetAutomaticMethod implements LongRunningMethod<Collection<SelectableFeature>> {
@@ -504,6 +543,10 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 
 	protected boolean includeAbstractFeatures = true;
 
+	protected boolean useKnowledgeCompilation = false;
+
+	protected IncrementalUnitPropagator incrementalPropagator = null;
+
 	/**
 	 * This method creates a clone of the given {@link ConfigurationPropagator}
 	 *
@@ -513,6 +556,7 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		formula = oldPropagator.formula;
 		this.configuration = configuration;
 		includeAbstractFeatures = oldPropagator.includeAbstractFeatures;
+		useKnowledgeCompilation = oldPropagator.useKnowledgeCompilation;
 	}
 
 	public ConfigurationPropagator(FeatureModelFormula formula, Configuration configuration) {
@@ -530,6 +574,37 @@ public class ConfigurationPropagator implements IConfigurationPropagator {
 		this.includeAbstractFeatures = includeAbstractFeatures;
 	}
 
+	public boolean isUseKnowledgeCompilation() {
+		return useKnowledgeCompilation;
+	}
+
+	/**
+	 * If enabled, the feature model is compiled into a {@link DDNNF} once, which is then used to compute the automatic selections of each update. If the
+	 * compilation exceeds its timeout, the propagator falls back to the solver-based analysis. The first update blocks until the compilation has finished,
+	 * so callers that must stay responsive should only enable it if {@link FeatureModelFormula#getCachedElement} already returns the d-DNNF.
+	 *
+	 * @param useKnowledgeCompilation whether to use a d-DNNF for propagation
+	 */
+	public void setUseKnowledgeCompilation(boolean useKnowledgeCompilation) {
+		this.useKnowledgeCompilation = useKnowledgeCompilation;
+	}
+
+	public IncrementalUnitPropagator getIncrementalPropagator() {
+		return incrementalPropagator;
+	}
+
+	/**
+	 * Sets a propagator that is kept alive while the configuration is edited. If set, each update only propagates the changes of the manual selections and
+	 * uses a sat solver only for implications that cannot be derived by unit propagation. The propagator is ignored, if it was not created for the current
+	 * {@link FeatureModelFormula#getCNF() CNF} of the feature model or if {@link #setUseKnowledgeCompilation(boolean) knowledge compilation} is used. The
+	 * propagator may be shared by several instances, as each update holds its lock until the automatic selections are computed.
+	 *
+	 * @param incrementalPropagator the propagator for the edited configuration (may be {@code null})
+	 */
+	public void setIncrementalPropagator(IncrementalUnitPropagator incrementalPropagator) {
+		this.incrementalPropagator = incrementalPropagator;
+	}
+
 	protected AdvancedSatSolver getSolverForCurrentConfiguration(boolean deselectUndefinedFeatures, boolean includeHiddenFeatures) {
 		final AdvancedSatSolver solver = getSolver(includeHiddenFeatures);
 		if (solver == null) {
@@ -28,18 +28,36 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.impl.ConfigFormatManager;
+import de.ovgu.featureide.fm.core.base.impl.ConfigurationFactoryManager;
 import de.ovgu.featureide.fm.core.configuration.Configuration;
 import de.ovgu.featureide.fm.core.configuration.FeatureIDEFormat;
-import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
-import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
 
 /**
- * This class loads all configurations of a given IFeatureModel.
+ * This class loads all configurations of a given IFeatureModel.<br> <br> The configuration files can be parsed by multiple threads (see
+ * {@link #setParallelism(int)}). Instead of {@link Configuration} objects, the configurations can also be loaded as a compact {@link SolutionList} (see
+ * {@link #loadSolutions(FeatureModelFormula, Path, String)}).
  *
  * @author Paul Maximilian Bittner
  * @author Antje Moench
@@ -47,8 +65,50 @@ import de.ovgu.featureide.fm.core.io.manager.FileHandler;
  */
 public class ConfigurationLoader {
 
+	/**
+	 * Parses configuration files. Each instance keeps one instance of each format it has used and should only be used by one thread at a time.
+	 */
+	private static final class ConfigurationReader {
+
+		private final HashMap<String, IPersistentFormat<Configuration>> formats = new HashMap<>();
+
+		private Configuration read(Path file) {
+			try {
+				final String source = new String(FileSystem.read(file), SimpleFileHandler.DEFAULT_CHARSET);
+				final IPersistentFormat<Configuration> format = getFormat(file, source);
+				if (format != null) {
+					final Configuration configuration = ConfigurationFactoryManager.getInstance().getFactory(file, format).create();
+					if (!format.read(configuration, source).containsError()) {
+						return configuration;
+					}
+				}
+			} catch (final Exception e) {
+				Logger.logError(e);
+			}
+			return null;
+		}
+
+		private IPersistentFormat<Configuration> getFormat(Path file, String source) {
+			final String extension = SimpleFileHandler.getFileExtension(file);
+			for (final IPersistentFormat<Configuration> format : ConfigFormatManager.getInstance().getExtensions()) {
+				if (extension.equals(format.getSuffix()) && format.supportsContent(source)) {
+					IPersistentFormat<Configuration> formatInstance = formats.get(format.getId());
+					if (formatInstance == null) {
+						formatInstance = format.getInstance();
+						formats.put(format.getId(), formatInstance);
+					}
+					return formatInstance;
+				}
+			}
+			return null;
+		}
+
+	}
+
 	private final IConfigurationLoaderCallback callback;
 
+	private int parallelism = 1;
+
 	public ConfigurationLoader() {
 		this(null);
 	}
@@ -57,6 +117,21 @@ public class ConfigurationLoader {
 		this.callback = callback;
 	}
 
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that parse configuration files concurrently. A value greater than 1 enables the parallel mode. In both modes, the
+	 * configurations are returned and passed to the callback in the same order. In sequential mode, the callback is notified directly after each file was
+	 * parsed. In parallel mode, the callback is notified after all files were parsed.
+	 *
+	 * @param parallelism the number of worker threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	public List<Configuration> loadConfigurations(FeatureModelFormula featureModel, String path) {
 		return loadConfigurations(featureModel, Paths.get(path));
 	}
@@ -70,50 +145,218 @@ public class ConfigurationLoader {
 	}
 
 	public List<Configuration> loadConfigurations(final FeatureModelFormula featureModel, Path path, final String excludeFile) {
+		if (callback != null) {
+			callback.onLoadingStarted();
+		}
+
+		final List<Path> files = new ArrayList<>();
+		final IOException walkException = collectFiles(path, excludeFile, files);
 		final List<Configuration> configs = new ArrayList<>();
-		final HashSet<String> configurationNames = new HashSet<>();
+		readAll(files, new ConfigurationParser<Configuration>() {
+
+			@Override
+			public Configuration parse(ConfigurationReader reader, Path file) {
+				final Configuration configuration = reader.read(file);
+				if (configuration != null) {
+					configuration.updateFeatures(featureModel);
+				}
+				return configuration;
+			}
+		}, new BiConsumer<Configuration, Path>() {
 
+			@Override
+			public void accept(Configuration configuration, Path file) {
+				configs.add(configuration);
+				if (callback != null) {
+					callback.onConfigurationLoaded(configuration, file);
+				}
+			}
+		});
+
+		finishLoading(walkException);
+		return configs;
+	}
+
+	public SolutionList loadSolutions(FeatureModelFormula featureModel, Path path) {
+		return loadSolutions(featureModel, path, null);
+	}
+
+	/**
+	 * Loads all configurations in the given directory as a list of solutions. In contrast to {@link #loadConfigurations(FeatureModelFormula, Path, String)},
+	 * no {@link SelectableFeature} trees are created for the configurations. Each configuration is represented by a {@link LiteralSet} that contains one
+	 * literal for each variable of the given formula, sorted by index. A literal is positive, if the corresponding feature is selected in the configuration,
+	 * and negative otherwise. Selected features that are not part of the formula are ignored.<br> The callback is notified about the start and the end of
+	 * the loading, but not about the single configurations.
+	 *
+	 * @param featureModel the feature model formula
+	 * @param path the directory containing the configuration files
+	 * @param excludeFile the name of a file that should be ignored (may be {@code null})
+	 * @return the solution list containing the configurations in the same order as {@link #loadConfigurations(FeatureModelFormula, Path, String)}
+	 */
+	public SolutionList loadSolutions(final FeatureModelFormula featureModel, Path path, final String excludeFile) {
 		if (callback != null) {
 			callback.onLoadingStarted();
 		}
 
+		final IVariables variables = featureModel.getVariables();
+		final List<Path> files = new ArrayList<>();
+		final IOException walkException = collectFiles(path, excludeFile, files);
+		final List<LiteralSet> solutionList = new ArrayList<>(files.size());
+		readAll(files, new ConfigurationParser<LiteralSet>() {
+
+			@Override
+			public LiteralSet parse(ConfigurationReader reader, Path file) {
+				final Configuration configuration = reader.read(file);
+				if (configuration == null) {
+					return null;
+				}
+				final int[] literals = new int[variables.size()];
+				for (int i = 0; i < literals.length; i++) {
+					literals[i] = -(i + 1);
+				}
+				for (final SelectableFeature feature : configuration.getFeatures()) {
+					if (feature.getSelection() == Selection.SELECTED) {
+						final int variable = variables.getVariable(feature.getName());
+						if (variable > 0) {
+							literals[variable - 1] = variable;
+						}
+					}
+				}
+				return new LiteralSet(literals, Order.INDEX, false);
+			}
+		}, new BiConsumer<LiteralSet, Path>() {
+
+			@Override
+			public void accept(LiteralSet solution, Path file) {
+				solutionList.add(solution);
+			}
+		});
+
+		finishLoading(walkException);
+		return new SolutionList(variables, solutionList);
+	}
+
+	private void finishLoading(IOException walkException) {
+		if (walkException != null) {
+			Logger.logError(walkException);
+			if (callback != null) {
+				callback.onLoadingError(walkException);
+			}
+		}
+
+		if (callback != null) {
+			callback.onLoadingFinished();
+		}
+	}
+
+	/**
+	 * Collects all configuration files within the given directory. Of multiple files with the same name but different extensions, only the first file is
+	 * used.
+	 *
+	 * @param path the directory
+	 * @param excludeFile the name of a file that should be ignored (may be {@code null})
+	 * @param files the list to add the files to
+	 * @return an exception, if the directory could not be walked completely, {@code null} otherwise
+	 */
+	private IOException collectFiles(Path path, final String excludeFile, final List<Path> files) {
+		final HashSet<String> configurationNames = new HashSet<>();
+		final String featureIDESuffix = "." + new FeatureIDEFormat().getSuffix();
 		try {
 			Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
 
 				@Override
 				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
 					final String fileName = file.getFileName().toString();
-					if (!fileName.equals(excludeFile) && !fileName.endsWith("." + new FeatureIDEFormat().getSuffix()) && Files.isReadable(file)
-						&& Files.isRegularFile(file)) {
+					if (!fileName.equals(excludeFile) && !fileName.endsWith(featureIDESuffix) && Files.isReadable(file) && Files.isRegularFile(file)) {
 						final int extensionIndex = fileName.lastIndexOf('.');
 						final String configurationName = (extensionIndex > 0) ? fileName.substring(0, extensionIndex) : fileName;
 						if (configurationNames.add(configurationName)) {
-							final FileHandler<Configuration> fileHandler = ConfigurationManager.getFileHandler(file);
-							if (!fileHandler.getLastProblems().containsError()) {
-								final Configuration currentConfiguration = fileHandler.getObject();
-								currentConfiguration.updateFeatures(featureModel);
-								configs.add(currentConfiguration);
-								if (callback != null) {
-									callback.onConfigurationLoaded(currentConfiguration, file);
-								}
-							}
+							files.add(file);
 						}
 					}
 					return super.visitFile(file, attrs);
 				}
 			});
 		} catch (final IOException e) {
-			Logger.logError(e);
-			if (callback != null) {
-				callback.onLoadingError(e);
-			}
+			return e;
 		}
+		return null;
+	}
 
-		if (callback != null) {
-			callback.onLoadingFinished();
+	private static interface ConfigurationParser<R> {
+
+		R parse(ConfigurationReader reader, Path file);
+
+	}
+
+	private static <R> R parse(ConfigurationParser<R> parser, ConfigurationReader reader, Path file) {
+		try {
+			return parser.parse(reader, file);
+		} catch (final RuntimeException e) {
+			Logger.logError(e);
+			return null;
 		}
+	}
 
-		return configs;
+	/**
+	 * Parses all given files, either sequentially or with a fixed number of worker threads, and passes each result to the given consumer in the order of the
+	 * given list. Files that could not be parsed are logged and skipped in both modes. In sequential mode, each result is passed directly after its file was
+	 * parsed. In parallel mode, each worker uses its own {@link ConfigurationReader} and takes the next unparsed file until all files are parsed, and the
+	 * results are passed afterwards. If the calling thread is interrupted while waiting for the workers, no results are passed.
+	 *
+	 * @param files the files to parse
+	 * @param parser the parser
+	 * @param consumer receives each result together with its file
+	 */
+	@SuppressWarnings("unchecked")
+	private <R> void readAll(final List<Path> files, final ConfigurationParser<R> parser, final BiConsumer<R, Path> consumer) {
+		final int numberOfWorkers = Math.min(parallelism, files.size());
+		if (numberOfWorkers <= 1) {
+			final ConfigurationReader reader = new ConfigurationReader();
+			for (final Path file : files) {
+				final R result = parse(parser, reader, file);
+				if (result != null) {
+					consumer.accept(result, file);
+				}
+			}
+		} else {
+			final Object[] results = new Object[files.size()];
+			final AtomicInteger nextIndex = new AtomicInteger();
+			final Runnable worker = new Runnable() {
+
+				@Override
+				public void run() {
+					final ConfigurationReader reader = new ConfigurationReader();
+					for (int i = nextIndex.getAndIncrement(); i < results.length; i = nextIndex.getAndIncrement()) {
+						results[i] = parse(parser, reader, files.get(i));
+					}
+				}
+			};
+			final ExecutorService executor = Executors.newFixedThreadPool(numberOfWorkers);
+			try {
+				final List<Future<?>> futures = new ArrayList<>(numberOfWorkers);
+				for (int i = 0; i < numberOfWorkers; i++) {
+					futures.add(executor.submit(worker));
+				}
+				for (final Future<?> future : futures) {
+					try {
+						future.get();
+					} catch (final ExecutionException e) {
+						Logger.logError(e.getCause());
+					}
+				}
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				executor.shutdownNow();
+			}
+			for (int i = 0; i < results.length; i++) {
+				if (results[i] != null) {
+					consumer.accept((R) results[i], files.get(i));
+				}
+			}
+		}
 	}
 
 }
@@ -20,6 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.explanations;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Generates {@link Explanation explanations}.
  *
@@ -51,4 +55,21 @@ public interface ExplanationCreator<S, E extends Explanation<S>> {
 	 */
 	public E getExplanation() throws IllegalStateException;
 
+	/**
+	 * Returns explanations for all given subjects. Implementations may share work between the explanations, which is usually faster than explaining each
+	 * subject on its own. Changes the current subject.
+	 *
+	 * @param subjects the subjects with an attribute to be explained; not null
+	 * @return the explanations by subject in the order of the given subjects; an explanation is null if none could be generated
+	 * @throws IllegalStateException if a subject or its context is not set
+	 */
+	public default Map<S, E> getExplanations(Collection<S> subjects) throws IllegalStateException {
+		final Map<S, E> explanations = new LinkedHashMap<>();
+		for (final S subject : subjects) {
+			setSubject(subject);
+			explanations.put(subject, getExplanation());
+		}
+		return explanations;
+	}
+
 }
@@ -40,7 +40,14 @@ public class CompositeFeatureModelExplanationCreatorFactory extends FeatureModel
 	/** Factory for LTMS. */
 	private final FeatureModelExplanationCreatorFactory ltms = new LtmsFeatureModelExplanationCreatorFactory();
 	/** Factory for MUS. */
-	private final FeatureModelExplanationCreatorFactory mus = new MusFeatureModelExplanationCreatorFactory();
+	private final MusFeatureModelExplanationCreatorFactory mus = new MusFeatureModelExplanationCreatorFactory();
+
+	/**
+	 * Constructs a new instance of this class.
+	 */
+	public CompositeFeatureModelExplanationCreatorFactory() {
+		mus.setParallelism(Runtime.getRuntime().availableProcessors());
+	}
 
 	@Override
 	public DeadFeatureExplanationCreator getDeadFeatureExplanationCreator() {
@@ -65,6 +65,11 @@ public class MusDeadFeatureExplanationCreator extends MusFeatureModelExplanation
 		return explanation;
 	}
 
+	@Override
+	protected MusDeadFeatureExplanationCreator createCopy() {
+		return new MusDeadFeatureExplanationCreator(getSatSolverFactory());
+	}
+
 	@Override
 	protected DeadFeatureExplanation getConcreteExplanation() {
 		return new DeadFeatureExplanation(getSubject());
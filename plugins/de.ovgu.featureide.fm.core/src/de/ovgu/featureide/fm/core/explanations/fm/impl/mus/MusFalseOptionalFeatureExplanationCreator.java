@@ -67,6 +67,11 @@ public class MusFalseOptionalFeatureExplanationCreator extends MusFeatureModelEx
 		return explanation;
 	}
 
+	@Override
+	protected MusFalseOptionalFeatureExplanationCreator createCopy() {
+		return new MusFalseOptionalFeatureExplanationCreator(getSatSolverFactory());
+	}
+
 	@Override
 	protected FalseOptionalFeatureExplanation getConcreteExplanation() {
 		return new FalseOptionalFeatureExplanation(getSubject());
@@ -20,6 +20,16 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm.impl.mus;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.SatSolverFactory;
 
@@ -30,6 +40,10 @@ import de.ovgu.featureide.fm.core.explanations.fm.impl.AbstractFeatureModelExpla
 /**
  * Abstract implementation of {@link FeatureModelExplanationCreator} using a {@link MusExtractor MUS extractor}.
  *
+ * <p> When explaining several subjects at once using {@link #getExplanations(Collection)}, the subjects are explained with the same oracle, which keeps its
+ * learned clauses between the explanations. Each subject is explained by all minimal unsatisfiable subsets, such that the explanations are the same as when
+ * explaining each subject on its own. If the parallelism is greater than one, the subjects are distributed among several independent creators. </p>
+ *
  * @param <S> subject
  * @param <E> explanation
  * @author Timo G&uuml;nther
@@ -37,9 +51,15 @@ import de.ovgu.featureide.fm.core.explanations.fm.impl.AbstractFeatureModelExpla
 public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureModelExplanation<S>>
 		extends AbstractFeatureModelExplanationCreator<S, E, MusExtractor> {
 
+	/** The minimum number of subjects explained by each thread. */
+	private static final int MIN_SUBJECTS_PER_THREAD = 16;
+
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
 
+	/** The number of threads used for explaining multiple subjects. */
+	private int parallelism = 1;
+
 	/**
 	 * Constructs a new instance of this class.
 	 *
@@ -61,6 +81,24 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 		return solverFactory;
 	}
 
+	/**
+	 * Returns the number of threads used for explaining multiple subjects.
+	 *
+	 * @return the number of threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads used for explaining multiple subjects. Each thread uses its own oracle.
+	 *
+	 * @param parallelism the number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	@Override
 	protected MusExtractor createOracle() {
 		final MusExtractor oracle = getSatSolverFactory().getMusExtractor();
@@ -68,4 +106,75 @@ public abstract class MusFeatureModelExplanationCreator<S, E extends FeatureMode
 		return oracle;
 	}
 
+	/**
+	 * Returns a new instance of this class with the same solver factory.
+	 *
+	 * @return a new instance of this class; not null
+	 */
+	protected abstract MusFeatureModelExplanationCreator<S, E> createCopy();
+
+	@Override
+	public Map<S, E> getExplanations(Collection<S> subjects) throws IllegalStateException {
+		final List<S> subjectList = new ArrayList<>(subjects);
+		final int threadCount = Math.min(parallelism, subjectList.size() / MIN_SUBJECTS_PER_THREAD);
+		if (threadCount <= 1) {
+			return explainAll(subjectList);
+		}
+
+		final int chunkSize = ((subjectList.size() - 1) / threadCount) + 1;
+		final List<Callable<Map<S, E>>> tasks = new ArrayList<>(threadCount);
+		for (int i = 0; i < subjectList.size(); i += chunkSize) {
+			final MusFeatureModelExplanationCreator<S, E> worker = createCopy();
+			worker.setFeatureModel(getFeatureModel());
+			worker.getOracle(); // create the formula in the calling thread, as the feature model is not thread-safe
+			final List<S> chunk = subjectList.subList(i, Math.min(i + chunkSize, subjectList.size()));
+			tasks.add(() -> worker.explainAll(chunk));
+		}
+		final Map<S, E> explanations = new LinkedHashMap<>();
+		final ForkJoinPool pool = new ForkJoinPool(threadCount);
+		try {
+			for (final Future<Map<S, E>> future : pool.invokeAll(tasks)) {
+				explanations.putAll(getResult(future));
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} finally {
+			pool.shutdownNow();
+		}
+		return explanations;
+	}
+
+	private static <T> T getResult(Future<T> future) throws IllegalStateException, InterruptedException {
+		try {
+			return future.get();
+		} catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Explains the given subjects one after another with the same oracle.
+	 *
+	 * @param subjects the subjects to explain
+	 * @return the explanations by subject
+	 */
+	private Map<S, E> explainAll(List<S> subjects) {
+		final Map<S, E> explanations = new LinkedHashMap<>();
+		final S previousSubject = getSubject();
+		try {
+			for (final S subject : subjects) {
+				setSubject(subject);
+				explanations.put(subject, getExplanation());
+			}
+		} finally {
+			setSubject(previousSubject);
+		}
+		return explanations;
+	}
+
 }
@@ -39,6 +39,9 @@ public class MusFeatureModelExplanationCreatorFactory extends FeatureModelExplan
 	/** The solver factory used to create the oracle. */
 	private final SatSolverFactory solverFactory;
 
+	/** The number of threads used by the creators for explaining multiple subjects. */
+	private int parallelism = 1;
+
 	/**
 	 * Constructs a new instance of this class.
 	 */
@@ -58,19 +61,45 @@ public class MusFeatureModelExplanationCreatorFactory extends FeatureModelExplan
 		this.solverFactory = solverFactory;
 	}
 
+	/**
+	 * Returns the number of threads used by the creators for explaining multiple subjects.
+	 *
+	 * @return the number of threads
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads used by the creators for explaining multiple subjects.
+	 *
+	 * @param parallelism the number of threads
+	 *
+	 * @see MusFeatureModelExplanationCreator#setParallelism(int)
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
 	@Override
 	public DeadFeatureExplanationCreator getDeadFeatureExplanationCreator() {
-		return new MusDeadFeatureExplanationCreator(solverFactory);
+		final MusDeadFeatureExplanationCreator creator = new MusDeadFeatureExplanationCreator(solverFactory);
+		creator.setParallelism(parallelism);
+		return creator;
 	}
 
 	@Override
 	public FalseOptionalFeatureExplanationCreator getFalseOptionalFeatureExplanationCreator() {
-		return new MusFalseOptionalFeatureExplanationCreator(solverFactory);
+		final MusFalseOptionalFeatureExplanationCreator creator = new MusFalseOptionalFeatureExplanationCreator(solverFactory);
+		creator.setParallelism(parallelism);
+		return creator;
 	}
 
 	@Override
 	public RedundantConstraintExplanationCreator getRedundantConstraintExplanationCreator() {
-		return new MusRedundantConstraintExplanationCreator(solverFactory);
+		final MusRedundantConstraintExplanationCreator creator = new MusRedundantConstraintExplanationCreator(solverFactory);
+		creator.setParallelism(parallelism);
+		return creator;
 	}
 
 }
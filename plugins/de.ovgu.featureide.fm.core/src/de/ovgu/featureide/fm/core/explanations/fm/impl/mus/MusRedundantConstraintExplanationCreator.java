@@ -112,6 +112,11 @@ public class MusRedundantConstraintExplanationCreator extends MusFeatureModelExp
 		return explanation;
 	}
 
+	@Override
+	protected MusRedundantConstraintExplanationCreator createCopy() {
+		return new MusRedundantConstraintExplanationCreator(getSatSolverFactory());
+	}
+
 	@Override
 	protected RedundantConstraintExplanation getConcreteExplanation() {
 		return new RedundantConstraintExplanation(getSubject());
@@ -22,7 +22,10 @@ package de.ovgu.featureide.fm.core.explanations.impl.composite;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.prop4j.explain.solvers.MusExtractor;
 import org.prop4j.explain.solvers.impl.ltms.Ltms;
@@ -88,4 +91,33 @@ public abstract class CompositeExplanationCreator<S, E extends Explanation<S>, C
 		}
 		return null;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p> Passes all subjects to the first composite at once and only the subjects that could not be explained to the following composites. </p>
+	 */
+	@Override
+	public Map<S, E> getExplanations(Collection<S> subjects) throws IllegalStateException {
+		final Map<S, E> explanations = new LinkedHashMap<>();
+		for (final S subject : subjects) {
+			explanations.put(subject, null);
+		}
+		List<S> remainingSubjects = new ArrayList<>(explanations.keySet());
+		for (final C composite : getComposites()) {
+			if (remainingSubjects.isEmpty()) {
+				break;
+			}
+			final List<S> unexplainedSubjects = new ArrayList<>();
+			for (final Entry<S, E> entry : composite.getExplanations(remainingSubjects).entrySet()) {
+				if (entry.getValue() != null) {
+					explanations.put(entry.getKey(), entry.getValue());
+				} else {
+					unexplainedSubjects.add(entry.getKey());
+				}
+			}
+			remainingSubjects = unexplainedSubjects;
+		}
+		return explanations;
+	}
 }
@@ -46,6 +46,7 @@ import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
 import de.ovgu.featureide.fm.core.configuration.XMLConfFormat;
 import de.ovgu.featureide.fm.core.io.FileSystem;
 import de.ovgu.featureide.fm.core.io.JavaFileSystem;
+import de.ovgu.featureide.fm.core.io.binary.BinaryFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.cnf.CNFFormat;
 import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
 import de.ovgu.featureide.fm.core.io.splconquerer.ConquererFMWriter;
@@ -102,6 +103,7 @@ public final class FMCoreLibrary implements ILibrary {
 		FMFactoryManager.getInstance().setWorkspaceLoader(new CoreFactoryWorkspaceLoader());
 
 		FMFormatManager.getInstance().addExtension(new XmlFeatureModelFormat());
+		FMFormatManager.getInstance().addExtension(new BinaryFeatureModelFormat());
 
 		IFeatureModelFormat extendedFormatParser;
 		try {
@@ -24,6 +24,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -41,6 +42,7 @@ import org.eclipse.core.runtime.IPath;
 
 import de.ovgu.featureide.fm.core.FMCorePlugin;
 import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.io.FileSystem.IChannelWriter;
 import de.ovgu.featureide.fm.core.io.FileSystem.IFileSystem;
 
 public class EclipseFileSystem implements IFileSystem {
@@ -109,6 +111,20 @@ public class EclipseFileSystem implements IFileSystem {
 		return Files.readAllBytes(path);
 	}
 
+	@Override
+	public ReadableByteChannel newReadableChannel(Path path) throws IOException {
+		return JAVA.newReadableChannel(path);
+	}
+
+	@Override
+	public void write(Path path, IChannelWriter writer) throws IOException {
+		if (ResourcesPlugin.getWorkspace().getRoot().getFileForLocation(getIPath(path)) == null) {
+			JAVA.write(path, writer);
+		} else {
+			IFileSystem.super.write(path, writer);
+		}
+	}
+
 	@Override
 	public void mkDir(Path path) throws IOException {
 		IContainer container = ResourcesPlugin.getWorkspace().getRoot().getContainerForLocation(getIPath(path));
@@ -20,7 +20,12 @@
  */
 package de.ovgu.featureide.fm.core.io;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 
@@ -30,6 +35,15 @@ import java.nio.file.Path;
  */
 public final class FileSystem {
 
+	/**
+	 * Writes content to a channel (see {@link IFileSystem#write(Path, IChannelWriter)}).
+	 */
+	@FunctionalInterface
+	public static interface IChannelWriter {
+
+		void write(WritableByteChannel channel) throws IOException;
+	}
+
 	public static interface IFileSystem {
 
 		void write(Path path, byte[] content) throws IOException;
@@ -38,6 +52,31 @@ public final class FileSystem {
 
 		byte[] read(Path path) throws IOException;
 
+		/**
+		 * Opens a channel for reading the given file. On default, the complete file is read via {@link #read(Path)}.
+		 *
+		 * @param path the file to read
+		 * @return a new channel that must be closed by the caller
+		 * @throws IOException if the file cannot be opened
+		 */
+		default ReadableByteChannel newReadableChannel(Path path) throws IOException {
+			return Channels.newChannel(new ByteArrayInputStream(read(path)));
+		}
+
+		/**
+		 * (Over-)writes the given file with the content that is written by the given writer. The file is only changed if the writer completes without an
+		 * exception, otherwise its previous content is kept. On default, the content is buffered and written via {@link #write(Path, byte[])}.
+		 *
+		 * @param path the file to write
+		 * @param writer writes the content to the channel it is given, must not close the channel
+		 * @throws IOException if the writer fails or the file cannot be written
+		 */
+		default void write(Path path, IChannelWriter writer) throws IOException {
+			final ByteArrayOutputStream content = new ByteArrayOutputStream();
+			writer.write(Channels.newChannel(content));
+			write(path, content.toByteArray());
+		}
+
 		void mkDir(Path path) throws IOException;
 
 		void delete(Path path) throws IOException;
@@ -61,6 +100,14 @@ public final class FileSystem {
 		return INSTANCE.read(path);
 	}
 
+	public static ReadableByteChannel newReadableChannel(Path path) throws IOException {
+		return INSTANCE.newReadableChannel(path);
+	}
+
+	public static void write(Path path, IChannelWriter writer) throws IOException {
+		INSTANCE.write(path, writer);
+	}
+
 	public static void mkDir(Path path) throws IOException {
 		INSTANCE.mkDir(path);
 	}
@@ -20,6 +20,14 @@
  */
 package de.ovgu.featureide.fm.core.io;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 
 import de.ovgu.featureide.fm.core.IExtension;
@@ -60,6 +68,45 @@ public interface IPersistentFormat<T> extends IExtension {
 		return read(object, source);
 	}
 
+	/**
+	 * Parses the contents of the given reader and transfers all information onto the given object (see {@link #read(Object, CharSequence, Path)}). Formats that
+	 * can parse their input sequentially should override this method to avoid reading the complete source into memory. On default, the complete source is read
+	 * and passed to {@link #read(Object, CharSequence, Path)}.<br> The caller is responsible for closing the reader.
+	 *
+	 * @param object the object to write the information into.
+	 * @param source the source reader.
+	 * @param path the path of the source file (may be {@code null}).
+	 * @return A list of {@link Problem problems} that occurred during the parsing process.
+	 * @throws IOException if the source cannot be read.
+	 *
+	 * @see #supportsRead()
+	 */
+	default ProblemList read(T object, Reader source, Path path) throws IOException {
+		final StringBuilder content = new StringBuilder();
+		final char[] buffer = new char[1 << 13];
+		for (int charCount = source.read(buffer); charCount >= 0; charCount = source.read(buffer)) {
+			content.append(buffer, 0, charCount);
+		}
+		return read(object, content, path);
+	}
+
+	/**
+	 * Parses the contents of the given channel and transfers all information onto the given object (see {@link #read(Object, CharSequence, Path)}). On
+	 * default, the channel is decoded with {@link #getCharset()} and passed to {@link #read(Object, Reader, Path)}.<br> The caller is responsible for closing
+	 * the channel.
+	 *
+	 * @param object the object to write the information into.
+	 * @param source the source channel.
+	 * @param path the path of the source file (may be {@code null}).
+	 * @return A list of {@link Problem problems} that occurred during the parsing process.
+	 * @throws IOException if the source cannot be read.
+	 *
+	 * @see #supportsRead()
+	 */
+	default ProblemList read(T object, ReadableByteChannel source, Path path) throws IOException {
+		return read(object, Channels.newReader(source, getCharset().newDecoder(), -1), path);
+	}
+
 	/**
 	 * Writes the information of an object to a string. (Which information are considered is specified by the implementing class).
 	 *
@@ -70,6 +117,48 @@ public interface IPersistentFormat<T> extends IExtension {
 	 */
 	String write(T object);
 
+	/**
+	 * Writes the information of an object to the given writer (see {@link #write(Object)}). Formats that can create their output sequentially should override
+	 * this method to avoid creating the complete output in memory. On default, the result of {@link #write(Object)} is written.<br> The caller is responsible
+	 * for closing the writer.
+	 *
+	 * @param object the object to get the information from.
+	 * @param target the target writer.
+	 * @throws IOException if the target cannot be written.
+	 *
+	 * @see #supportsWrite()
+	 */
+	default void write(T object, Writer target) throws IOException {
+		target.write(write(object));
+	}
+
+	/**
+	 * Writes the information of an object to the given channel (see {@link #write(Object)}). On default, the output of {@link #write(Object, Writer)} is
+	 * encoded with {@link #getCharset()}.<br> The caller is responsible for closing the channel.
+	 *
+	 * @param object the object to get the information from.
+	 * @param target the target channel.
+	 * @throws IOException if the target cannot be written.
+	 *
+	 * @see #supportsWrite()
+	 */
+	default void write(T object, WritableByteChannel target) throws IOException {
+		final Writer writer = Channels.newWriter(target, getCharset().newEncoder(), -1);
+		write(object, writer);
+		writer.flush();
+	}
+
+	/**
+	 * Returns the charset that is used to convert between the string representation of this format (see {@link #read(Object, CharSequence)} and
+	 * {@link #write(Object)}) and the content of a file. Binary formats should return {@link StandardCharsets#ISO_8859_1}, which maps every byte to exactly
+	 * one character. On default, {@link StandardCharsets#UTF_8} is returned.
+	 *
+	 * @return the charset of this format.
+	 */
+	default Charset getCharset() {
+		return StandardCharsets.UTF_8;
+	}
+
 	/**
 	 * Returns the file extension for this format. (Without a leading ".")
 	 *
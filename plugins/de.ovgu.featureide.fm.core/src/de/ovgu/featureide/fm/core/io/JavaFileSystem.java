@@ -21,10 +21,20 @@
 package de.ovgu.featureide.fm.core.io;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.concurrent.ThreadLocalRandom;
 
+import de.ovgu.featureide.fm.core.io.FileSystem.IChannelWriter;
 import de.ovgu.featureide.fm.core.io.FileSystem.IFileSystem;
 
 public class JavaFileSystem implements IFileSystem {
@@ -44,6 +54,95 @@ public class JavaFileSystem implements IFileSystem {
 		return Files.readAllBytes(path);
 	}
 
+	@Override
+	public ReadableByteChannel newReadableChannel(Path path) throws IOException {
+		return Files.newByteChannel(path, StandardOpenOption.READ);
+	}
+
+	/**
+	 * Writes the content to a new temporary file in the same directory, which replaces the given file only after the writer has completed. Before the
+	 * replacement, the permissions, owner, and group of an existing file are copied to the temporary file.<br> <br> The file is overwritten in place instead
+	 * if it cannot be replaced without changing its identity, i.e., if it is a symbolic link or has further hard links, or if its owner cannot be kept. The
+	 * same applies if the temporary file cannot be created (e.g., the directory is not writable) or cannot be moved. In these cases, the content is still
+	 * completely written (to memory or to the temporary file) before the given file is changed, but the final write itself is not atomic.
+	 */
+	@Override
+	public void write(Path path, IChannelWriter writer) throws IOException {
+		final Path absolutePath = path.toAbsolutePath();
+		if (!isReplaceable(absolutePath)) {
+			IFileSystem.super.write(absolutePath, writer);
+			return;
+		}
+		final Path tempPath = absolutePath
+				.resolveSibling(absolutePath.getFileName().toString() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+		final FileChannel tempChannel;
+		try {
+			tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		} catch (final IOException e) {
+			IFileSystem.super.write(absolutePath, writer);
+			return;
+		}
+		try {
+			try (FileChannel channel = tempChannel) {
+				writer.write(channel);
+			}
+			if (!replace(tempPath, absolutePath)) {
+				try (OutputStream out = Files.newOutputStream(absolutePath)) {
+					Files.copy(tempPath, out);
+				}
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	private static boolean isReplaceable(Path path) {
+		if (Files.isSymbolicLink(path)) {
+			return false;
+		}
+		if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+			try {
+				final Object linkCount = Files.getAttribute(path, "unix:nlink", LinkOption.NOFOLLOW_LINKS);
+				return !(linkCount instanceof Integer) || ((Integer) linkCount <= 1);
+			} catch (UnsupportedOperationException | IllegalArgumentException | IOException e) {
+				return true;
+			}
+		}
+		return true;
+	}
+
+	private static boolean replace(Path tempPath, Path path) {
+		try {
+			if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+				copyAttributes(path, tempPath);
+			}
+			try {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} catch (final IOException e) {
+			return false;
+		}
+	}
+
+	private static void copyAttributes(Path source, Path target) throws IOException {
+		final PosixFileAttributeView sourceView = Files.getFileAttributeView(source, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+		final PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS);
+		if ((sourceView != null) && (targetView != null)) {
+			final PosixFileAttributes sourceAttributes = sourceView.readAttributes();
+			final PosixFileAttributes targetAttributes = targetView.readAttributes();
+			targetView.setPermissions(sourceAttributes.permissions());
+			if (!sourceAttributes.owner().equals(targetAttributes.owner())) {
+				targetView.setOwner(sourceAttributes.owner());
+			}
+			if (!sourceAttributes.group().equals(targetAttributes.group())) {
+				targetView.setGroup(sourceAttributes.group());
+			}
+		}
+	}
+
 	@Override
 	public void mkDir(Path path) throws IOException {
 		Files.createDirectories(path);
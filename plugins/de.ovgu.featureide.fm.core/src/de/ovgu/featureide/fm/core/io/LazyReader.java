@@ -79,7 +79,9 @@ public class LazyReader implements CharSequence {
 	public boolean expand() {
 		try {
 			final int charCount = reader.read(buffer);
-			content.append(buffer);
+			if (charCount > 0) {
+				content.append(buffer, 0, charCount);
+			}
 			return charCount > 0;
 		} catch (final IOException e) {
 			Logger.logError(e);
@@ -0,0 +1,971 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.prop4j.And;
+import org.prop4j.AtLeast;
+import org.prop4j.AtMost;
+import org.prop4j.Choose;
+import org.prop4j.Equals;
+import org.prop4j.False;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+import org.prop4j.True;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.PluginID;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer.Entry;
+import de.ovgu.featureide.fm.core.io.AFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.LazyReader;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.Problem.Severity;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Reads / Writes feature models in a compact binary format.<br> The format is meant for fast loading of large feature models, for instance as a cache of the
+ * original source file (see {@link de.ovgu.featureide.fm.core.io.manager.FeatureModelIO#loadCached(Path)}). A file consists of a magic number, a version
+ * byte, and a sequence of length-prefixed sections. Each section starts with its id and its length in bytes. Readers skip sections with unknown ids, such that
+ * subclasses can store additional information in their own sections (see {@link #writeSections(IFeatureModel, StringTable, List)} and
+ * {@link #readSection(IFeatureModel, int, Decoder)}).<br> All numbers are unsigned variable-length integers (7 bits per byte, least significant group first).
+ * All strings are stored once in a string table and are referenced by their index. Features are stored in preorder, constraints as preorder traversal of
+ * their node tree.<br> <br> The file is read completely into a heap buffer, which is not memory-mapped, such that a cache file can be replaced afterwards.
+ * Strings are decoded lazily on first access.<br> <br> The methods {@link #read(IFeatureModel, CharSequence)} and {@link #write(IFeatureModel)} map each
+ * byte to one character (ISO-8859-1, see {@link #getCharset()}), such that file managers that work on strings can store the format without loss. The
+ * channel-based methods, as used by {@link de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler}, avoid this conversion.
+ *
+ * @author Sebastian Krieter
+ */
+public class BinaryFeatureModelFormat extends AFeatureModelFormat {
+
+	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + BinaryFeatureModelFormat.class.getSimpleName();
+
+	public static final String FILE_EXTENSION = "fmb";
+
+	public static final int VERSION = 1;
+
+	private static final String MAGIC = "FIDEFM";
+
+	protected static final int SECTION_END = 0;
+	protected static final int SECTION_STRINGS = 1;
+	protected static final int SECTION_FEATURES = 2;
+	protected static final int SECTION_CONSTRAINTS = 3;
+	protected static final int SECTION_MODEL = 4;
+	protected static final int SECTION_SOURCE = 5;
+	/**
+	 * Section ids greater or equal to this value are reserved for subclasses.
+	 */
+	protected static final int SECTION_EXTENSION = 64;
+
+	private static final int FEATURE_ABSTRACT = 1;
+	private static final int FEATURE_MANDATORY = 1 << 1;
+	private static final int FEATURE_HIDDEN = 1 << 2;
+	private static final int FEATURE_OR = 1 << 3;
+	private static final int FEATURE_ALTERNATIVE = 1 << 4;
+	private static final int FEATURE_DESCRIPTION = 1 << 5;
+	private static final int FEATURE_PROPERTIES = 1 << 6;
+
+	private static final int CONSTRAINT_DESCRIPTION = 1;
+	private static final int CONSTRAINT_TAGS = 1 << 1;
+	private static final int CONSTRAINT_PROPERTIES = 1 << 2;
+
+	private static final int NODE_LITERAL = 1;
+	private static final int NODE_NEGATIVE_LITERAL = 2;
+	private static final int NODE_NOT = 3;
+	private static final int NODE_AND = 4;
+	private static final int NODE_OR = 5;
+	private static final int NODE_IMPLIES = 6;
+	private static final int NODE_EQUALS = 7;
+	private static final int NODE_AT_MOST = 8;
+	private static final int NODE_AT_LEAST = 9;
+	private static final int NODE_CHOOSE = 10;
+	private static final int NODE_TRUE = 11;
+	private static final int NODE_FALSE = 12;
+
+	/**
+	 * Collects all strings of a feature model while it is written and assigns an index to each distinct string.
+	 */
+	protected static final class StringTable {
+
+		private final HashMap<String, Integer> indices = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+
+		public int getIndex(String string) {
+			final Integer index = indices.get(string);
+			if (index != null) {
+				return index;
+			}
+			final int newIndex = strings.size();
+			indices.put(string, newIndex);
+			strings.add(string);
+			return newIndex;
+		}
+
+	}
+
+	/**
+	 * Growable byte buffer for writing sections.
+	 */
+	protected static final class Encoder {
+
+		private byte[] bytes = new byte[256];
+		private int size = 0;
+
+		private void ensureCapacity(int additionalBytes) {
+			if ((size + additionalBytes) > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + additionalBytes));
+			}
+		}
+
+		public void writeByte(int value) {
+			ensureCapacity(1);
+			bytes[size++] = (byte) value;
+		}
+
+		public void writeVarInt(long value) {
+			ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		public void writeBytes(byte[] value) {
+			ensureCapacity(value.length);
+			System.arraycopy(value, 0, bytes, size, value.length);
+			size += value.length;
+		}
+
+		public void writeString(StringTable strings, String value) {
+			writeVarInt(strings.getIndex(value));
+		}
+
+		public int size() {
+			return size;
+		}
+
+		private ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(bytes, 0, size);
+		}
+
+	}
+
+	/**
+	 * Reads sections from a byte buffer and resolves strings from the string table.
+	 */
+	protected static final class Decoder {
+
+		private final ByteBuffer buffer;
+
+		private int[] stringOffsets = new int[0];
+		private int[] stringLengths = new int[0];
+		private String[] stringCache = new String[0];
+
+		private Decoder(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		public int readByte() throws UnsupportedModelException {
+			if (!buffer.hasRemaining()) {
+				throw new UnsupportedModelException("Unexpected end of file", 0);
+			}
+			return buffer.get() & 0xFF;
+		}
+
+		public long readVarLong() throws UnsupportedModelException {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				final int b = readByte();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new UnsupportedModelException("Malformed number at position " + buffer.position(), 0);
+		}
+
+		public int readVarInt() throws UnsupportedModelException {
+			final long value = readVarLong();
+			if ((value < 0) || (value > Integer.MAX_VALUE)) {
+				throw new UnsupportedModelException("Number out of range at position " + buffer.position(), 0);
+			}
+			return (int) value;
+		}
+
+		public String readString() throws UnsupportedModelException {
+			final int index = readVarInt();
+			if (index >= stringCache.length) {
+				throw new UnsupportedModelException("Invalid string index " + index, 0);
+			}
+			String string = stringCache[index];
+			if (string == null) {
+				final byte[] bytes = new byte[stringLengths[index]];
+				final ByteBuffer duplicate = buffer.duplicate();
+				duplicate.position(stringOffsets[index]);
+				duplicate.get(bytes);
+				string = new String(bytes, StandardCharsets.UTF_8);
+				stringCache[index] = string;
+			}
+			return string;
+		}
+
+		private void readStringTable() throws UnsupportedModelException {
+			final int count = readVarInt();
+			stringOffsets = new int[count];
+			stringLengths = new int[count];
+			stringCache = new String[count];
+			for (int i = 0; i < count; i++) {
+				final int length = readVarInt();
+				stringOffsets[i] = buffer.position();
+				stringLengths[i] = length;
+				skip(length);
+			}
+		}
+
+		private void skip(int length) throws UnsupportedModelException {
+			if (length > buffer.remaining()) {
+				throw new UnsupportedModelException("Unexpected end of file", 0);
+			}
+			buffer.position(buffer.position() + length);
+		}
+
+	}
+
+	protected long sourceChecksum = -1;
+	protected List<Problem> sourceProblems = new ArrayList<>();
+
+	public BinaryFeatureModelFormat() {}
+
+	protected BinaryFeatureModelFormat(BinaryFeatureModelFormat oldFormat) {
+		super(oldFormat);
+		sourceChecksum = oldFormat.sourceChecksum;
+		sourceProblems = new ArrayList<>(oldFormat.sourceProblems);
+	}
+
+	/**
+	 * Computes a checksum of the content of a source file, which can be stored in a binary file via {@link #setSourceChecksum(long)}. The checksum combines the
+	 * length and the CRC32 of the content.
+	 *
+	 * @param content the content of the source file
+	 * @return the checksum
+	 */
+	public static long computeChecksum(byte[] content) {
+		final CRC32 crc = new CRC32();
+		crc.update(content, 0, content.length);
+		return ((long) content.length << 32) | crc.getValue();
+	}
+
+	/**
+	 * Returns the path of the binary file that is used as cache for the given source file. The file is located in the same directory as the other extra files
+	 * of the source file, i.e., {@code <parent>/.featureide/<file name>/<file name>.fmb}.
+	 *
+	 * @param sourcePath the path of the source file
+	 * @return the path of the binary file
+	 */
+	public static Path getCachePath(Path sourcePath) {
+		final Path mainPath = sourcePath.toAbsolutePath();
+		final String fileName = mainPath.getFileName().toString();
+		return mainPath.resolveSibling(".featureide").resolve(fileName).resolve(fileName + "." + FILE_EXTENSION);
+	}
+
+	/**
+	 * Returns the checksum of the source file that was stored in the last read binary file.
+	 *
+	 * @return the checksum or {@code -1} if no checksum was stored.
+	 *
+	 * @see #computeChecksum(byte[])
+	 */
+	public long getSourceChecksum() {
+		return sourceChecksum;
+	}
+
+	/**
+	 * Sets the checksum of the source file that is stored in the written binary file.
+	 *
+	 * @param sourceChecksum the checksum or {@code -1} if no checksum should be stored.
+	 *
+	 * @see #computeChecksum(byte[])
+	 */
+	public void setSourceChecksum(long sourceChecksum) {
+		this.sourceChecksum = sourceChecksum;
+	}
+
+	/**
+	 * Returns the problems that occurred while reading the source file, which were stored in the last read binary file.
+	 *
+	 * @return the problems, empty if no problems or no checksum was stored.
+	 */
+	public List<Problem> getSourceProblems() {
+		return sourceProblems;
+	}
+
+	/**
+	 * Sets the problems that occurred while reading the source file. The problems are stored together with the {@link #setSourceChecksum(long) checksum} of the
+	 * source file in the written binary file, such that they can be reported again, when the feature model is read from the binary file.
+	 *
+	 * @param sourceProblems the problems of the source file
+	 */
+	public void setSourceProblems(List<Problem> sourceProblems) {
+		this.sourceProblems = new ArrayList<>(sourceProblems);
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel object, CharSequence source) {
+		try {
+			return read(object, BinaryIO.toBuffer(source));
+		} catch (final UnsupportedModelException e) {
+			final ProblemList problems = new ProblemList();
+			problems.add(new Problem(e, e.lineNumber));
+			return problems;
+		}
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel object, ReadableByteChannel source, Path path) throws IOException {
+		return read(object, BinaryIO.readBuffer(source));
+	}
+
+	protected ProblemList read(IFeatureModel object, ByteBuffer buffer) {
+		final ProblemList problems = new ProblemList();
+		try {
+			readHeader(buffer);
+			object.reset();
+			setFactory(object);
+			sourceChecksum = -1;
+			sourceProblems = new ArrayList<>();
+
+			final Decoder in = new Decoder(buffer);
+			for (int sectionId = in.readVarInt(); sectionId != SECTION_END; sectionId = in.readVarInt()) {
+				final int length = in.readVarInt();
+				final int end = buffer.position() + length;
+				if ((length > buffer.remaining())) {
+					throw new UnsupportedModelException("Unexpected end of file", 0);
+				}
+				switch (sectionId) {
+				case SECTION_STRINGS:
+					in.readStringTable();
+					break;
+				case SECTION_FEATURES:
+					readFeatures(object, in, problems);
+					break;
+				case SECTION_CONSTRAINTS:
+					readConstraints(object, in);
+					break;
+				case SECTION_MODEL:
+					readModelProperties(object, in);
+					break;
+				case SECTION_SOURCE:
+					sourceChecksum = in.readVarLong();
+					// Older files only contain the checksum
+					if (buffer.position() < end) {
+						readSourceProblems(in);
+					}
+					break;
+				default:
+					readSection(object, sectionId, in);
+					break;
+				}
+				if (buffer.position() > end) {
+					throw new UnsupportedModelException("Section " + sectionId + " exceeds its length", 0);
+				}
+				buffer.position(end);
+			}
+			if (object.getStructure().getRoot() == null) {
+				throw new UnsupportedModelException("Missing root feature", 0);
+			}
+		} catch (final UnsupportedModelException e) {
+			problems.add(new Problem(e, e.lineNumber));
+		} catch (final Exception e) {
+			problems.add(new Problem(e));
+		}
+		return problems;
+	}
+
+	private void readSourceProblems(Decoder in) throws UnsupportedModelException {
+		final Severity[] severities = Severity.values();
+		final int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			final String message = in.readString();
+			final int line = in.readVarInt();
+			final int severity = in.readVarInt();
+			if (severity >= severities.length) {
+				throw new UnsupportedModelException("Invalid severity " + severity, 0);
+			}
+			sourceProblems.add(new Problem(message, line, severities[severity]));
+		}
+	}
+
+	private void readHeader(ByteBuffer buffer) throws UnsupportedModelException {
+		if (!hasMagicNumber(buffer)) {
+			throw new UnsupportedModelException("Not a binary feature model", 0);
+		}
+		buffer.position(buffer.position() + MAGIC.length());
+		final int version = buffer.get() & 0xFF;
+		if (version > VERSION) {
+			throw new UnsupportedModelException("Unsupported version " + version + " (supported up to " + VERSION + ")", 0);
+		}
+	}
+
+	private static boolean hasMagicNumber(ByteBuffer buffer) {
+		if (buffer.remaining() <= MAGIC.length()) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length(); i++) {
+			if (buffer.get(buffer.position() + i) != MAGIC.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void readFeatures(IFeatureModel object, Decoder in, ProblemList problems) throws UnsupportedModelException {
+		final int count = in.readVarInt();
+		// Stack of parent features and the number of their remaining children
+		final ArrayDeque<IFeatureStructure> parents = new ArrayDeque<>();
+		final ArrayDeque<Integer> remainingChildren = new ArrayDeque<>();
+		for (int i = 0; i < count; i++) {
+			final String name = in.readString();
+			final int flags = in.readByte();
+			if (object.getFeature(name) != null) {
+				throw new UnsupportedModelException("Duplicate entry for feature: " + name, 0);
+			}
+			if ((validator != null) && !validator.isValidFeatureName(name)) {
+				problems.add(new Problem(name + " is not a valid feature name", 0, Severity.ERROR));
+			}
+			final IFeature feature = factory.createFeature(object, name);
+			final IFeatureStructure structure = feature.getStructure();
+			if ((flags & FEATURE_OR) != 0) {
+				structure.setOr();
+			} else if ((flags & FEATURE_ALTERNATIVE) != 0) {
+				structure.setAlternative();
+			} else {
+				structure.setAnd();
+			}
+			structure.setAbstract((flags & FEATURE_ABSTRACT) != 0);
+			structure.setMandatory((flags & FEATURE_MANDATORY) != 0);
+			structure.setHidden((flags & FEATURE_HIDDEN) != 0);
+			if ((flags & FEATURE_DESCRIPTION) != 0) {
+				feature.getProperty().setDescription(in.readString());
+			}
+			if ((flags & FEATURE_PROPERTIES) != 0) {
+				readProperties(feature.getCustomProperties(), in);
+			}
+			final int childCount = in.readVarInt();
+
+			object.addFeature(feature);
+			if (parents.isEmpty()) {
+				if (object.getStructure().getRoot() != null) {
+					throw new UnsupportedModelException("Multiple root features", 0);
+				}
+				object.getStructure().setRoot(structure);
+			} else {
+				parents.peek().addChild(structure);
+				final int remaining = remainingChildren.pop() - 1;
+				if (remaining > 0) {
+					remainingChildren.push(remaining);
+				} else {
+					parents.pop();
+				}
+			}
+			if (childCount > 0) {
+				parents.push(structure);
+				remainingChildren.push(childCount);
+			}
+		}
+		if (!parents.isEmpty()) {
+			throw new UnsupportedModelException("Missing features", 0);
+		}
+	}
+
+	private void readConstraints(IFeatureModel object, Decoder in) throws UnsupportedModelException {
+		final int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			final int flags = in.readByte();
+			final IConstraint constraint = factory.createConstraint(object, readNode(object, in));
+			if ((flags & CONSTRAINT_DESCRIPTION) != 0) {
+				constraint.setDescription(in.readString());
+			}
+			if ((flags & CONSTRAINT_TAGS) != 0) {
+				final int tagCount = in.readVarInt();
+				final Set<String> tags = new HashSet<>();
+				for (int j = 0; j < tagCount; j++) {
+					tags.add(in.readString());
+				}
+				constraint.setTags(tags);
+			}
+			if ((flags & CONSTRAINT_PROPERTIES) != 0) {
+				readProperties(constraint.getCustomProperties(), in);
+			}
+			object.addConstraint(constraint);
+		}
+	}
+
+	private Node readNode(IFeatureModel object, Decoder in) throws UnsupportedModelException {
+		final int type = in.readVarInt();
+		switch (type) {
+		case NODE_LITERAL:
+		case NODE_NEGATIVE_LITERAL:
+			final String name = in.readString();
+			if (object.getFeature(name) == null) {
+				throw new UnsupportedModelException("Feature \"" + name + "\" does not exists", 0);
+			}
+			return new Literal(name, type == NODE_LITERAL);
+		case NODE_NOT:
+			return new Not(readNode(object, in));
+		case NODE_AND:
+			return new And(readChildren(object, in));
+		case NODE_OR:
+			return new Or(readChildren(object, in));
+		case NODE_IMPLIES:
+			return new Implies(readNode(object, in), readNode(object, in));
+		case NODE_EQUALS:
+			return new Equals(readNode(object, in), readNode(object, in));
+		case NODE_AT_MOST:
+			return new AtMost(in.readVarInt(), readChildren(object, in));
+		case NODE_AT_LEAST:
+			return new AtLeast(in.readVarInt(), readChildren(object, in));
+		case NODE_CHOOSE:
+			return new Choose(in.readVarInt(), readChildren(object, in));
+		case NODE_TRUE:
+			return new True();
+		case NODE_FALSE:
+			return new False();
+		default:
+			throw new UnsupportedModelException("Unknown node type " + type, 0);
+		}
+	}
+
+	private Node[] readChildren(IFeatureModel object, Decoder in) throws UnsupportedModelException {
+		final Node[] children = new Node[in.readVarInt()];
+		for (int i = 0; i < children.length; i++) {
+			children[i] = readNode(object, in);
+		}
+		return children;
+	}
+
+	private void readModelProperties(IFeatureModel object, Decoder in) throws UnsupportedModelException {
+		readProperties(object.getProperty(), in);
+		final int commentCount = in.readVarInt();
+		for (int i = 0; i < commentCount; i++) {
+			object.getProperty().addComment(in.readString());
+		}
+		object.setFeatureOrderUserDefined(in.readByte() != 0);
+		final int orderCount = in.readVarInt();
+		if (orderCount > 0) {
+			final List<String> order = new ArrayList<>(orderCount);
+			for (int i = 0; i < orderCount; i++) {
+				order.add(in.readString());
+			}
+			object.setFeatureOrderList(order);
+		}
+	}
+
+	private void readProperties(IPropertyContainer properties, Decoder in) throws UnsupportedModelException {
+		final int count = in.readVarInt();
+		for (int i = 0; i < count; i++) {
+			final String key = in.readString();
+			final String type = in.readString();
+			final String value = in.readString();
+			properties.set(key, type, value);
+		}
+	}
+
+	/**
+	 * Reads a section that is not known to this class. Can be overwritten be implementing classes to read sections that were written by
+	 * {@link #writeSections(IFeatureModel, StringTable, List)}. Does nothing on default, i.e., the section is skipped.
+	 *
+	 * @param object the feature model
+	 * @param sectionId the id of the section
+	 * @param in the decoder positioned at the start of the section's content
+	 * @throws UnsupportedModelException if the section cannot be parsed
+	 */
+	protected void readSection(IFeatureModel object, int sectionId, Decoder in) throws UnsupportedModelException {}
+
+	@Override
+	public String write(IFeatureModel object) {
+		try {
+			return BinaryIO.toString(channel -> write(object, channel));
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return "";
+		}
+	}
+
+	@Override
+	public void write(IFeatureModel object, WritableByteChannel target) throws IOException {
+		for (final ByteBuffer buffer : encode(object)) {
+			BinaryIO.writeFully(target, buffer);
+		}
+	}
+
+	private List<ByteBuffer> encode(IFeatureModel object) throws IOException {
+		final StringTable strings = new StringTable();
+		final List<Encoder> sections = new ArrayList<>();
+		final List<Integer> sectionIds = new ArrayList<>();
+
+		final Encoder features = new Encoder();
+		writeFeatures(object, features, strings);
+		sections.add(features);
+		sectionIds.add(SECTION_FEATURES);
+
+		final Encoder constraints = new Encoder();
+		writeConstraints(object, constraints, strings);
+		sections.add(constraints);
+		sectionIds.add(SECTION_CONSTRAINTS);
+
+		final Encoder model = new Encoder();
+		writeModelProperties(object, model, strings);
+		sections.add(model);
+		sectionIds.add(SECTION_MODEL);
+
+		if (sourceChecksum != -1) {
+			final Encoder source = new Encoder();
+			source.writeVarInt(sourceChecksum);
+			source.writeVarInt(sourceProblems.size());
+			for (final Problem problem : sourceProblems) {
+				source.writeString(strings, problem.message == null ? "" : problem.message);
+				source.writeVarInt(Math.max(problem.line, 0));
+				source.writeVarInt(problem.severity.ordinal());
+			}
+			sections.add(source);
+			sectionIds.add(SECTION_SOURCE);
+		}
+
+		final List<Encoder> additionalSections = new ArrayList<>();
+		writeSections(object, strings, additionalSections);
+		for (final Encoder section : additionalSections) {
+			sections.add(section);
+			sectionIds.add(-1);
+		}
+
+		final Encoder header = new Encoder();
+		header.writeBytes(MAGIC.getBytes(StandardCharsets.US_ASCII));
+		header.writeByte(VERSION);
+		final Encoder stringTable = new Encoder();
+		stringTable.writeVarInt(strings.strings.size());
+		for (final String string : strings.strings) {
+			final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			stringTable.writeVarInt(bytes.length);
+			stringTable.writeBytes(bytes);
+		}
+		header.writeVarInt(SECTION_STRINGS);
+		header.writeVarInt(stringTable.size());
+
+		final List<ByteBuffer> buffers = new ArrayList<>();
+		buffers.add(header.toByteBuffer());
+		buffers.add(stringTable.toByteBuffer());
+		for (int i = 0; i < sections.size(); i++) {
+			final Encoder section = sections.get(i);
+			final Encoder sectionHeader = new Encoder();
+			final int sectionId = sectionIds.get(i);
+			if (sectionId >= 0) {
+				sectionHeader.writeVarInt(sectionId);
+				sectionHeader.writeVarInt(section.size());
+				buffers.add(sectionHeader.toByteBuffer());
+			}
+			buffers.add(section.toByteBuffer());
+		}
+		final Encoder end = new Encoder();
+		end.writeVarInt(SECTION_END);
+		buffers.add(end.toByteBuffer());
+		return buffers;
+	}
+
+	private void writeFeatures(IFeatureModel object, Encoder out, StringTable strings) {
+		final IFeatureStructure root = object.getStructure().getRoot();
+		if (root == null) {
+			out.writeVarInt(0);
+			return;
+		}
+		final List<IFeatureStructure> preorder = new ArrayList<>(object.getNumberOfFeatures());
+		final ArrayDeque<Iterator<IFeatureStructure>> stack = new ArrayDeque<>();
+		preorder.add(root);
+		stack.push(root.getChildren().iterator());
+		while (!stack.isEmpty()) {
+			final Iterator<IFeatureStructure> iterator = stack.peek();
+			if (iterator.hasNext()) {
+				final IFeatureStructure child = iterator.next();
+				preorder.add(child);
+				stack.push(child.getChildren().iterator());
+			} else {
+				stack.pop();
+			}
+		}
+
+		out.writeVarInt(preorder.size());
+		for (final IFeatureStructure structure : preorder) {
+			final IFeature feature = structure.getFeature();
+			final String description = feature.getProperty().getDescription();
+			final boolean hasDescription = (description != null) && !description.isEmpty();
+			final boolean hasProperties = hasProperties(feature.getCustomProperties());
+			int flags = 0;
+			if (structure.isAbstract()) {
+				flags |= FEATURE_ABSTRACT;
+			}
+			if (structure.isMandatory()) {
+				flags |= FEATURE_MANDATORY;
+			}
+			if (structure.isHidden()) {
+				flags |= FEATURE_HIDDEN;
+			}
+			if (structure.isOr()) {
+				flags |= FEATURE_OR;
+			} else if (structure.isAlternative()) {
+				flags |= FEATURE_ALTERNATIVE;
+			}
+			if (hasDescription) {
+				flags |= FEATURE_DESCRIPTION;
+			}
+			if (hasProperties) {
+				flags |= FEATURE_PROPERTIES;
+			}
+			out.writeString(strings, feature.getName());
+			out.writeByte(flags);
+			if (hasDescription) {
+				out.writeString(strings, description);
+			}
+			if (hasProperties) {
+				writeProperties(feature.getCustomProperties(), out, strings);
+			}
+			out.writeVarInt(structure.getChildrenCount());
+		}
+	}
+
+	private void writeConstraints(IFeatureModel object, Encoder out, StringTable strings) throws IOException {
+		final List<IConstraint> constraints = object.getConstraints();
+		out.writeVarInt(constraints.size());
+		for (final IConstraint constraint : constraints) {
+			final String description = constraint.getDescription();
+			final boolean hasDescription = (description != null) && !description.isEmpty();
+			final Set<String> tags = constraint.getTags();
+			final boolean hasTags = (tags != null) && !tags.isEmpty();
+			final boolean hasProperties = hasProperties(constraint.getCustomProperties());
+			int flags = 0;
+			if (hasDescription) {
+				flags |= CONSTRAINT_DESCRIPTION;
+			}
+			if (hasTags) {
+				flags |= CONSTRAINT_TAGS;
+			}
+			if (hasProperties) {
+				flags |= CONSTRAINT_PROPERTIES;
+			}
+			out.writeByte(flags);
+			writeNode(constraint.getNode(), out, strings);
+			if (hasDescription) {
+				out.writeString(strings, description);
+			}
+			if (hasTags) {
+				out.writeVarInt(tags.size());
+				for (final String tag : tags) {
+					out.writeString(strings, tag);
+				}
+			}
+			if (hasProperties) {
+				writeProperties(constraint.getCustomProperties(), out, strings);
+			}
+		}
+	}
+
+	private void writeNode(Node node, Encoder out, StringTable strings) throws IOException {
+		if (node instanceof True) {
+			out.writeVarInt(NODE_TRUE);
+		} else if (node instanceof False) {
+			out.writeVarInt(NODE_FALSE);
+		} else if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			out.writeVarInt(literal.positive ? NODE_LITERAL : NODE_NEGATIVE_LITERAL);
+			out.writeString(strings, String.valueOf(literal.var));
+		} else if (node instanceof Not) {
+			out.writeVarInt(NODE_NOT);
+			writeNode(node.getChildren()[0], out, strings);
+		} else if (node instanceof And) {
+			out.writeVarInt(NODE_AND);
+			writeChildren(node, out, strings);
+		} else if (node instanceof Or) {
+			out.writeVarInt(NODE_OR);
+			writeChildren(node, out, strings);
+		} else if (node instanceof Implies) {
+			out.writeVarInt(NODE_IMPLIES);
+			writeNode(node.getChildren()[0], out, strings);
+			writeNode(node.getChildren()[1], out, strings);
+		} else if (node instanceof Equals) {
+			out.writeVarInt(NODE_EQUALS);
+			writeNode(node.getChildren()[0], out, strings);
+			writeNode(node.getChildren()[1], out, strings);
+		} else if (node instanceof AtMost) {
+			out.writeVarInt(NODE_AT_MOST);
+			out.writeVarInt(((AtMost) node).max);
+			writeChildren(node, out, strings);
+		} else if (node instanceof AtLeast) {
+			out.writeVarInt(NODE_AT_LEAST);
+			out.writeVarInt(((AtLeast) node).min);
+			writeChildren(node, out, strings);
+		} else if (node instanceof Choose) {
+			out.writeVarInt(NODE_CHOOSE);
+			out.writeVarInt(((Choose) node).n);
+			writeChildren(node, out, strings);
+		} else {
+			throw new IOException("Unsupported node type: " + (node == null ? null : node.getClass().getSimpleName()));
+		}
+	}
+
+	private void writeChildren(Node node, Encoder out, StringTable strings) throws IOException {
+		final Node[] children = node.getChildren();
+		out.writeVarInt(children.length);
+		for (final Node child : children) {
+			writeNode(child, out, strings);
+		}
+	}
+
+	private void writeModelProperties(IFeatureModel object, Encoder out, StringTable strings) {
+		writeProperties(object.getProperty(), out, strings);
+		final Collection<String> comments = object.getProperty().getComments();
+		out.writeVarInt(comments.size());
+		for (final String comment : comments) {
+			out.writeString(strings, comment);
+		}
+		if (object.isFeatureOrderUserDefined()) {
+			out.writeByte(1);
+			final List<String> order = object.getFeatureOrderList();
+			out.writeVarInt(order.size());
+			for (final String featureName : order) {
+				out.writeString(strings, featureName);
+			}
+		} else {
+			out.writeByte(0);
+			out.writeVarInt(0);
+		}
+	}
+
+	private static boolean hasProperties(IPropertyContainer properties) {
+		for (final Entry property : properties.getProperties()) {
+			if (property.getValue() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeProperties(IPropertyContainer properties, Encoder out, StringTable strings) {
+		final List<Entry> entries = new ArrayList<>();
+		for (final Entry property : properties.getProperties()) {
+			if (property.getValue() != null) {
+				entries.add(property);
+			}
+		}
+		out.writeVarInt(entries.size());
+		for (final Entry property : entries) {
+			out.writeString(strings, property.getKey());
+			out.writeString(strings, property.getType());
+			out.writeString(strings, property.getValue());
+		}
+	}
+
+	/**
+	 * Writes additional sections. Can be overwritten be implementing classes to store information that is not covered by this class. Each encoder in the given
+	 * list must contain a complete section, i.e., a section id greater or equal to {@link #SECTION_EXTENSION}, the length of the content, and the content
+	 * itself. Does nothing on default.
+	 *
+	 * @param object the feature model
+	 * @param strings the string table, which can be used to encode strings
+	 * @param sections the list to add the sections to
+	 */
+	protected void writeSections(IFeatureModel object, StringTable strings, List<Encoder> sections) {}
+
+	@Override
+	public boolean supportsRead() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsWrite() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsContent(CharSequence content) {
+		return (content.length() > MAGIC.length()) && MAGIC.contentEquals(content.subSequence(0, MAGIC.length()));
+	}
+
+	@Override
+	public boolean supportsContent(LazyReader reader) {
+		final StringBuilder sb = new StringBuilder();
+		do {
+			sb.setLength(0);
+			sb.append(reader, 0, Math.min(reader.length(), MAGIC.length() + 1));
+		} while ((sb.length() <= MAGIC.length()) && reader.expand());
+		return supportsContent(sb);
+	}
+
+	@Override
+	public Charset getCharset() {
+		return StandardCharsets.ISO_8859_1;
+	}
+
+	@Override
+	public String getSuffix() {
+		return FILE_EXTENSION;
+	}
+
+	@Override
+	public BinaryFeatureModelFormat getInstance() {
+		return new BinaryFeatureModelFormat(this);
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public String getName() {
+		return "FeatureIDE Binary";
+	}
+
+}
@@ -0,0 +1,150 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import de.ovgu.featureide.fm.core.io.FileSystem.IChannelWriter;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Common methods of the binary formats for reading channels into buffers and for converting between binary content and its string representation, which maps
+ * each byte to one character (ISO-8859-1).
+ *
+ * @author Sebastian Krieter
+ */
+final class BinaryIO {
+
+	private BinaryIO() {}
+
+	/**
+	 * Converts the string representation of binary content back to its bytes.
+	 *
+	 * @param source the string representation
+	 * @return a buffer containing the bytes
+	 * @throws UnsupportedModelException if the source contains a character that does not represent a byte, i.e., if the content was decoded as text
+	 */
+	static ByteBuffer toBuffer(CharSequence source) throws UnsupportedModelException {
+		final byte[] bytes = new byte[source.length()];
+		for (int i = 0; i < bytes.length; i++) {
+			final char c = source.charAt(i);
+			if (c > 0xFF) {
+				throw new UnsupportedModelException("Binary content was decoded as text, use a channel to read binary files", 0);
+			}
+			bytes[i] = (byte) c;
+		}
+		return ByteBuffer.wrap(bytes);
+	}
+
+	/**
+	 * Creates the string representation of the binary content that is written by the given writer.
+	 *
+	 * @param writer writes the binary content
+	 * @return the string representation
+	 * @throws IOException if the writer fails
+	 */
+	static String toString(IChannelWriter writer) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		writer.write(new WritableByteChannel() {
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {}
+
+			@Override
+			public int write(ByteBuffer src) {
+				final int length = src.remaining();
+				while (src.hasRemaining()) {
+					sb.append((char) (src.get() & 0xFF));
+				}
+				return length;
+			}
+		});
+		return sb.toString();
+	}
+
+	/**
+	 * Reads the remaining content of the given channel into a heap buffer. For a {@link FileChannel}, the buffer is allocated with the exact size of the file.
+	 * The content is not memory-mapped, such that the file can be replaced or deleted afterwards on all platforms.
+	 *
+	 * @param source the channel
+	 * @return a buffer containing the content, positioned at its start
+	 * @throws IOException if the channel cannot be read
+	 */
+	static ByteBuffer readBuffer(ReadableByteChannel source) throws IOException {
+		ByteBuffer buffer;
+		if (source instanceof FileChannel) {
+			final FileChannel fileChannel = (FileChannel) source;
+			final long size = fileChannel.size() - fileChannel.position();
+			if (size > (Integer.MAX_VALUE - 8)) {
+				throw new IOException("File is too large: " + size + " bytes");
+			}
+			// Allocates one additional byte to detect files that grow while reading
+			buffer = ByteBuffer.allocate((int) size + 1);
+		} else {
+			buffer = ByteBuffer.allocate(1 << 16);
+		}
+		while (source.read(buffer) >= 0) {
+			if (!buffer.hasRemaining()) {
+				final ByteBuffer newBuffer = ByteBuffer.allocate(buffer.capacity() << 1);
+				buffer.flip();
+				newBuffer.put(buffer);
+				buffer = newBuffer;
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Maps the remaining content of the given channel into memory, if it is a {@link FileChannel}. Otherwise, the content is read via
+	 * {@link #readBuffer(ReadableByteChannel)}.<br> A mapped file cannot be replaced or deleted on some platforms (e.g., Windows), while the buffer is in use.
+	 *
+	 * @param source the channel
+	 * @return a buffer containing the content, positioned at its start
+	 * @throws IOException if the channel cannot be read
+	 */
+	static ByteBuffer mapBuffer(ReadableByteChannel source) throws IOException {
+		if (source instanceof FileChannel) {
+			final FileChannel fileChannel = (FileChannel) source;
+			final long position = fileChannel.position();
+			return fileChannel.map(MapMode.READ_ONLY, position, fileChannel.size() - position);
+		} else {
+			return readBuffer(source);
+		}
+	}
+
+	static void writeFully(WritableByteChannel target, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			target.write(buffer);
+		}
+	}
+
+}
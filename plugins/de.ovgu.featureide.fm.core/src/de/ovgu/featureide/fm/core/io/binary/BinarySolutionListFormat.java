@@ -0,0 +1,254 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.Logger;
+import de.ovgu.featureide.fm.core.PluginID;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.io.APersistentFormat;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Reads / Writes a list of configurations in a columnar binary format.<br> In contrast to the CSV format of
+ * {@link de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat}, the selections are stored bit-packed, such that a file can be accessed randomly without
+ * parsing (see {@link MappedSolutionList}).<br> <br> A file starts with a header containing a magic number, a version byte, the number of bits per feature,
+ * the names of all variables, the number of configurations per chunk, and the total number of configurations. All numbers have a fixed width (big-endian).
+ * The configurations are stored in consecutive chunks. Within a chunk, each variable has a column of 64-bit words with one bit per configuration, which is
+ * set if the variable is selected. If at least one configuration is partial, two bits per feature are used, i.e., each chunk contains a second column per
+ * variable, which marks the configurations that deselect the variable. Otherwise, each variable that is not selected is deselected.<br> <br> The methods
+ * {@link #read(SolutionList, CharSequence)} and {@link #write(SolutionList)} map each byte to one character (ISO-8859-1, see {@link #getCharset()}). The
+ * channel-based methods avoid this conversion and should be used for files.
+ *
+ * @author Sebastian Krieter
+ */
+public class BinarySolutionListFormat extends APersistentFormat<SolutionList> {
+
+	public static final String ID = PluginID.PLUGIN_ID + ".format.fm." + BinarySolutionListFormat.class.getSimpleName();
+
+	public static final String FILE_EXTENSION = "sample";
+
+	public static final int VERSION = 1;
+
+	/**
+	 * Default number of configurations per chunk.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+	static final String MAGIC = "FIDESL";
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Sets the number of configurations per chunk. Chunks are the unit in which configurations are encoded while writing, so larger chunks need more memory.
+	 *
+	 * @param chunkSize the number of configurations per chunk (is rounded up to a multiple of 64)
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = Math.max(64, (chunkSize + 63) & ~63);
+	}
+
+	@Override
+	public ProblemList read(SolutionList configurationList, CharSequence source) {
+		try {
+			return read(configurationList, BinaryIO.toBuffer(source));
+		} catch (final UnsupportedModelException e) {
+			return new ProblemList(Arrays.asList(new Problem(e, e.lineNumber)));
+		}
+	}
+
+	@Override
+	public ProblemList read(SolutionList configurationList, ReadableByteChannel source, Path path) throws IOException {
+		return read(configurationList, BinaryIO.readBuffer(source));
+	}
+
+	private ProblemList read(SolutionList configurationList, ByteBuffer buffer) {
+		final ProblemList problems = new ProblemList();
+		try {
+			final MappedSolutionList sample = new MappedSolutionList(buffer);
+			configurationList.setVariables((Variables) sample.getVariables());
+			for (int i = 0; i < sample.size(); i++) {
+				configurationList.addSolution(sample.get(i));
+			}
+		} catch (final UnsupportedModelException e) {
+			problems.add(new Problem(e, e.lineNumber));
+		} catch (final Exception e) {
+			problems.add(new Problem(e));
+		}
+		return problems;
+	}
+
+	@Override
+	public String write(SolutionList configurationList) {
+		try {
+			return BinaryIO.toString(channel -> write(configurationList, channel));
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return "";
+		}
+	}
+
+	@Override
+	public void write(SolutionList configurationList, WritableByteChannel target) throws IOException {
+		final IVariables variables = configurationList.getVariables();
+		final List<LiteralSet> configurations = configurationList.getSolutions();
+		final int numberOfVariables = variables.size();
+		final int numberOfConfigurations = configurations.size();
+
+		final int bitsPerFeature = isComplete(configurations, numberOfVariables) ? 1 : 2;
+
+		final String[] names = variables.getNames();
+		final byte[][] nameBytes = new byte[numberOfVariables][];
+		int headerSize = MAGIC.length() + 2 + 4 + 4 + 4;
+		for (int i = 0; i < numberOfVariables; i++) {
+			nameBytes[i] = names[i + 1].getBytes(StandardCharsets.UTF_8);
+			headerSize += 4 + nameBytes[i].length;
+		}
+		final ByteBuffer header = ByteBuffer.allocate(headerSize);
+		header.put(MAGIC.getBytes(StandardCharsets.US_ASCII));
+		header.put((byte) VERSION);
+		header.put((byte) bitsPerFeature);
+		header.putInt(numberOfVariables);
+		for (final byte[] bytes : nameBytes) {
+			header.putInt(bytes.length);
+			header.put(bytes);
+		}
+		header.putInt(chunkSize);
+		header.putInt(numberOfConfigurations);
+		header.flip();
+		BinaryIO.writeFully(target, header);
+
+		final int maxWordsPerColumn = chunkSize >>> 6;
+		final long[] chunk = new long[bitsPerFeature * numberOfVariables * maxWordsPerColumn];
+		final ByteBuffer chunkBuffer = ByteBuffer.allocate(chunk.length << 3);
+		for (int chunkStart = 0; chunkStart < numberOfConfigurations; chunkStart += chunkSize) {
+			final int chunkEnd = Math.min(numberOfConfigurations, chunkStart + chunkSize);
+			final int wordsPerColumn = ((chunkEnd - chunkStart) + 63) >>> 6;
+			final int usedLength = bitsPerFeature * numberOfVariables * wordsPerColumn;
+			Arrays.fill(chunk, 0, usedLength, 0L);
+			for (int i = chunkStart; i < chunkEnd; i++) {
+				final int offset = i - chunkStart;
+				final int word = offset >>> 6;
+				final long bit = 1L << offset;
+				for (final int literal : configurations.get(i).getLiterals()) {
+					if (literal > 0) {
+						chunk[((literal - 1) * wordsPerColumn) + word] |= bit;
+					} else if ((literal < 0) && (bitsPerFeature == 2)) {
+						chunk[(((numberOfVariables - literal) - 1) * wordsPerColumn) + word] |= bit;
+					}
+				}
+			}
+			chunkBuffer.clear();
+			chunkBuffer.asLongBuffer().put(chunk, 0, usedLength);
+			chunkBuffer.limit(usedLength << 3);
+			BinaryIO.writeFully(target, chunkBuffer);
+		}
+	}
+
+	/**
+	 * Checks whether each configuration contains each variable either positive or negative.
+	 */
+	private static boolean isComplete(List<LiteralSet> configurations, int numberOfVariables) {
+		for (final LiteralSet configuration : configurations) {
+			final int[] literals = configuration.getLiterals();
+			if (literals.length != numberOfVariables) {
+				return false;
+			}
+			for (int i = 0; i < literals.length; i++) {
+				if (Math.abs(literals[i]) != (i + 1)) {
+					// Not in index order, check each variable
+					final boolean[] containsVariable = new boolean[numberOfVariables + 1];
+					for (final int literal : literals) {
+						containsVariable[Math.abs(literal)] = true;
+					}
+					for (int j = 1; j < containsVariable.length; j++) {
+						if (!containsVariable[j]) {
+							return false;
+						}
+					}
+					break;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public boolean supportsContent(CharSequence content) {
+		return (content.length() > MAGIC.length()) && MAGIC.contentEquals(content.subSequence(0, MAGIC.length()));
+	}
+
+	@Override
+	public Charset getCharset() {
+		return StandardCharsets.ISO_8859_1;
+	}
+
+	@Override
+	public String getSuffix() {
+		return FILE_EXTENSION;
+	}
+
+	@Override
+	public BinarySolutionListFormat getInstance() {
+		final BinarySolutionListFormat format = new BinarySolutionListFormat();
+		format.chunkSize = chunkSize;
+		return format;
+	}
+
+	@Override
+	public String getId() {
+		return ID;
+	}
+
+	@Override
+	public boolean supportsWrite() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRead() {
+		return true;
+	}
+
+	@Override
+	public String getName() {
+		return "Binary ConfigurationList";
+	}
+
+}
@@ -0,0 +1,274 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.SampleBitMatrix;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Provides random access to a list of configurations that is stored in the format of {@link BinarySolutionListFormat}. The file is memory-mapped and
+ * configurations are only decoded on access, such that samples larger than the available heap can be processed.<br> Besides accessing single configurations
+ * by their index, the selections of a variable can be accessed column-wise, which is the representation used by {@link SampleBitMatrix}.
+ *
+ * @author Sebastian Krieter
+ */
+public class MappedSolutionList {
+
+	private final ByteBuffer buffer;
+	private final Variables variables;
+	private final int numberOfVariables;
+	private final int numberOfConfigurations;
+	private final int bitsPerFeature;
+	private final int chunkSize;
+	private final int dataStart;
+
+	/**
+	 * Opens the given file via memory mapping.
+	 *
+	 * @param path the path to the file
+	 * @return the solution list
+	 * @throws IOException if the file cannot be read or is not a valid file
+	 */
+	public static MappedSolutionList open(Path path) throws IOException {
+		try (ReadableByteChannel channel = FileSystem.newReadableChannel(path)) {
+			return new MappedSolutionList(BinaryIO.mapBuffer(channel));
+		} catch (final UnsupportedModelException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	MappedSolutionList(ByteBuffer buffer) throws UnsupportedModelException {
+		this.buffer = buffer;
+		try {
+			final String magic = BinarySolutionListFormat.MAGIC;
+			if (buffer.remaining() <= magic.length()) {
+				throw new UnsupportedModelException("Not a binary configuration list", 0);
+			}
+			int position = buffer.position();
+			for (int i = 0; i < magic.length(); i++) {
+				if (buffer.get(position++) != magic.charAt(i)) {
+					throw new UnsupportedModelException("Not a binary configuration list", 0);
+				}
+			}
+			final int version = buffer.get(position++) & 0xFF;
+			if (version > BinarySolutionListFormat.VERSION) {
+				throw new UnsupportedModelException("Unsupported version " + version + " (supported up to " + BinarySolutionListFormat.VERSION + ")", 0);
+			}
+			bitsPerFeature = buffer.get(position++);
+			if ((bitsPerFeature != 1) && (bitsPerFeature != 2)) {
+				throw new UnsupportedModelException("Invalid number of bits per feature: " + bitsPerFeature, 0);
+			}
+			numberOfVariables = buffer.getInt(position);
+			position += 4;
+			final List<String> names = new ArrayList<>(numberOfVariables);
+			for (int i = 0; i < numberOfVariables; i++) {
+				final int length = buffer.getInt(position);
+				position += 4;
+				final byte[] bytes = new byte[length];
+				final ByteBuffer duplicate = buffer.duplicate();
+				duplicate.position(position);
+				duplicate.get(bytes);
+				position += length;
+				names.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+			variables = new Variables(names);
+			chunkSize = buffer.getInt(position);
+			position += 4;
+			numberOfConfigurations = buffer.getInt(position);
+			position += 4;
+			dataStart = position;
+
+			if ((chunkSize <= 0) || ((chunkSize & 63) != 0) || (numberOfConfigurations < 0)) {
+				throw new UnsupportedModelException("Invalid header", 0);
+			}
+			final int lastChunk = numberOfConfigurations / chunkSize;
+			final int lastChunkWords = ((numberOfConfigurations - (lastChunk * chunkSize)) + 63) >>> 6;
+			final long dataSize = (((long) lastChunk * bitsPerFeature * numberOfVariables * (chunkSize >>> 6))
+				+ ((long) bitsPerFeature * numberOfVariables * lastChunkWords)) << 3;
+			if ((dataStart + dataSize) > buffer.limit()) {
+				throw new UnsupportedModelException("Unexpected end of file", 0);
+			}
+		} catch (final IndexOutOfBoundsException e) {
+			throw new UnsupportedModelException("Unexpected end of file", 0);
+		}
+	}
+
+	public IVariables getVariables() {
+		return variables;
+	}
+
+	/**
+	 * @return the number of configurations
+	 */
+	public int size() {
+		return numberOfConfigurations;
+	}
+
+	/**
+	 * @return {@code 1} if all configurations are complete, {@code 2} otherwise
+	 */
+	public int getBitsPerFeature() {
+		return bitsPerFeature;
+	}
+
+	/**
+	 * Returns the position of the word that contains the bit of the given configuration in the given column.
+	 *
+	 * @param configurationIndex the index of the configuration
+	 * @param column the column (variable index starting at 0 for the selected columns, plus the number of variables for the deselected columns)
+	 * @return the byte position of the word
+	 */
+	private int getWordPosition(int configurationIndex, int column) {
+		final int chunk = configurationIndex / chunkSize;
+		final int chunkStart = chunk * chunkSize;
+		final int wordsPerColumn = (Math.min(chunkSize, numberOfConfigurations - chunkStart) + 63) >>> 6;
+		final long chunkPosition = dataStart + (((long) chunk * bitsPerFeature * numberOfVariables * (chunkSize >>> 6)) << 3);
+		return (int) (chunkPosition + ((((long) column * wordsPerColumn) + ((configurationIndex - chunkStart) >>> 6)) << 3));
+	}
+
+	/**
+	 * Returns the literal of the given variable in the given configuration.
+	 *
+	 * @param configurationIndex the index of the configuration
+	 * @param variable the variable (starting at 1)
+	 * @return {@code variable} if the variable is selected, {@code -variable} if it is deselected, and {@code 0} if it is undefined
+	 */
+	public int getLiteral(int configurationIndex, int variable) {
+		checkIndex(configurationIndex);
+		final long bit = 1L << configurationIndex;
+		if ((buffer.getLong(getWordPosition(configurationIndex, variable - 1)) & bit) != 0) {
+			return variable;
+		}
+		if (bitsPerFeature == 1) {
+			return -variable;
+		}
+		return (buffer.getLong(getWordPosition(configurationIndex, (numberOfVariables + variable) - 1)) & bit) != 0 ? -variable : 0;
+	}
+
+	/**
+	 * Decodes the configuration with the given index.
+	 *
+	 * @param configurationIndex the index of the configuration
+	 * @return a literal set in {@link Order#INDEX index order} that contains {@code 0} for each undefined variable
+	 */
+	public LiteralSet get(int configurationIndex) {
+		checkIndex(configurationIndex);
+		final int[] literals = new int[numberOfVariables];
+		final long bit = 1L << configurationIndex;
+		final int selectedPosition = getWordPosition(configurationIndex, 0);
+		final int deselectedPosition = getWordPosition(configurationIndex, numberOfVariables);
+		final int columnSize = numberOfVariables == 0 ? 0 : (getWordPosition(configurationIndex, 1) - selectedPosition);
+		for (int i = 0; i < numberOfVariables; i++) {
+			final int variable = i + 1;
+			if ((buffer.getLong(selectedPosition + (i * columnSize)) & bit) != 0) {
+				literals[i] = variable;
+			} else if ((bitsPerFeature == 1) || ((buffer.getLong(deselectedPosition + (i * columnSize)) & bit) != 0)) {
+				literals[i] = -variable;
+			}
+		}
+		return new LiteralSet(literals, Order.INDEX, false);
+	}
+
+	/**
+	 * Returns a list view of all configurations. Configurations are decoded on each access.
+	 *
+	 * @return an unmodifiable list
+	 */
+	public List<LiteralSet> asList() {
+		return new AbstractList<LiteralSet>() {
+
+			@Override
+			public LiteralSet get(int index) {
+				return MappedSolutionList.this.get(index);
+			}
+
+			@Override
+			public int size() {
+				return numberOfConfigurations;
+			}
+		};
+	}
+
+	/**
+	 * Returns the bit set of configurations that contain the given literal (one bit per configuration).
+	 *
+	 * @param literal the literal
+	 * @return a new bit set
+	 */
+	public long[] getBits(int literal) {
+		final int variable = Math.abs(literal);
+		if ((variable == 0) || (variable > numberOfVariables)) {
+			throw new IllegalArgumentException("Invalid literal " + literal);
+		}
+		final int numberOfWords = (numberOfConfigurations + 63) >>> 6;
+		final long[] bits = new long[numberOfWords];
+		final boolean complement = (literal < 0) && (bitsPerFeature == 1);
+		final int column = (literal > 0) || complement ? variable - 1 : (numberOfVariables + variable) - 1;
+		for (int chunkStart = 0; chunkStart < numberOfConfigurations; chunkStart += chunkSize) {
+			final int position = getWordPosition(chunkStart, column);
+			final int wordsPerColumn = (Math.min(chunkSize, numberOfConfigurations - chunkStart) + 63) >>> 6;
+			final int firstWord = chunkStart >>> 6;
+			for (int i = 0; i < wordsPerColumn; i++) {
+				final long word = buffer.getLong(position + (i << 3));
+				bits[firstWord + i] = complement ? ~word : word;
+			}
+		}
+		if (complement && (numberOfWords > 0)) {
+			bits[numberOfWords - 1] &= -1L >>> (-numberOfConfigurations);
+		}
+		return bits;
+	}
+
+	/**
+	 * Creates a {@link SampleBitMatrix} directly from the columns of this list.
+	 *
+	 * @return the bit matrix
+	 */
+	public SampleBitMatrix toBitMatrix() {
+		final long[][] literalBits = new long[(numberOfVariables + 1) << 1][];
+		for (int variable = 1; variable <= numberOfVariables; variable++) {
+			literalBits[variable << 1] = getBits(variable);
+			literalBits[(variable << 1) + 1] = getBits(-variable);
+		}
+		return new SampleBitMatrix(literalBits, numberOfConfigurations);
+	}
+
+	private void checkIndex(int configurationIndex) {
+		if ((configurationIndex < 0) || (configurationIndex >= numberOfConfigurations)) {
+			throw new IndexOutOfBoundsException("Index: " + configurationIndex + ", Size: " + numberOfConfigurations);
+		}
+	}
+
+}
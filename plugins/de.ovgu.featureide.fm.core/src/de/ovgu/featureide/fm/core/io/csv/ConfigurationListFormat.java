@@ -20,10 +20,17 @@
  */
 package de.ovgu.featureide.fm.core.io.csv;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Scanner;
-import java.util.regex.Pattern;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
@@ -45,7 +52,18 @@ public class ConfigurationListFormat extends APersistentFormat<SolutionList> {
 
 	@Override
 	public String write(SolutionList configurationList) {
-		final StringBuilder csv = new StringBuilder();
+		final StringWriter csv = new StringWriter();
+		try {
+			write(configurationList, csv);
+		} catch (final IOException e) {
+			Logger.logError(e);
+		}
+		return csv.toString();
+	}
+
+	@Override
+	public void write(SolutionList configurationList, Writer target) throws IOException {
+		final BufferedWriter csv = new BufferedWriter(target);
 		csv.append("Configuration");
 		final String[] names = configurationList.getVariables().getNames();
 		for (int i = 1; i < names.length; i++) {
@@ -55,26 +73,35 @@ public class ConfigurationListFormat extends APersistentFormat<SolutionList> {
 		csv.append('\n');
 		int configurationIndex = 0;
 		for (final LiteralSet configuration : configurationList.getSolutions()) {
-			csv.append(configurationIndex++);
+			csv.append(Integer.toString(configurationIndex++));
 			final int[] literals = configuration.getLiterals();
 			for (int i = 0; i < literals.length; i++) {
 				csv.append(';');
-				csv.append(literals[i] < 0 ? 0 : 1);
+				csv.append(literals[i] < 0 ? '0' : '1');
 			}
 			csv.append('\n');
 		}
-		return csv.toString();
+		csv.flush();
 	}
 
 	@Override
 	public ProblemList read(SolutionList configurationList, CharSequence source) {
+		try {
+			return read(configurationList, new StringReader(source.toString()), null);
+		} catch (final IOException e) {
+			return new ProblemList(Arrays.asList(new Problem(e)));
+		}
+	}
+
+	@Override
+	public ProblemList read(SolutionList configurationList, Reader source, Path path) throws IOException {
 		final ProblemList problems = new ProblemList();
+		final BufferedReader reader = new BufferedReader(source);
 		int lineNumber = 0;
-		try (final Scanner scanner = new Scanner(source.toString())) {
-			scanner.useDelimiter(Pattern.compile("\\n+\\Z|\\n+|\\Z"));
+		try {
 			{
-				final String line = scanner.next();
-				if (line.trim().isEmpty()) {
+				final String line = nextLine(reader);
+				if ((line == null) || line.trim().isEmpty()) {
 					problems.add(new Problem(new UnsupportedModelException("Empty file!", lineNumber)));
 					return problems;
 				}
@@ -82,8 +109,7 @@ public class ConfigurationListFormat extends APersistentFormat<SolutionList> {
 				configurationList.setVariables(new Variables(Arrays.asList(names).subList(1, names.length)));
 			}
 
-			while (scanner.hasNext()) {
-				final String line = scanner.next();
+			for (String line = nextLine(reader); line != null; line = nextLine(reader)) {
 				lineNumber++;
 				final String[] split = line.split(";");
 				if ((split.length - 1) != configurationList.getVariables().size()) {
@@ -96,12 +122,26 @@ public class ConfigurationListFormat extends APersistentFormat<SolutionList> {
 				}
 				configurationList.addSolution(new LiteralSet(literals, Order.INDEX, false));
 			}
+		} catch (final IOException e) {
+			throw e;
 		} catch (final Exception e) {
 			problems.add(new Problem(new UnsupportedModelException(e.getMessage(), lineNumber)));
 		}
 		return problems;
 	}
 
+	/**
+	 * Returns the next non-empty line.
+	 */
+	private static String nextLine(BufferedReader reader) throws IOException {
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+			if (!line.isEmpty()) {
+				return line;
+			}
+		}
+		return null;
+	}
+
 	@Override
 	public String getSuffix() {
 		return "csv";
@@ -21,7 +21,10 @@
 package de.ovgu.featureide.fm.core.io.dimacs;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Collection;
@@ -55,6 +58,15 @@ public class DIMACSFormat extends AFeatureModelFormat {
 
 	@Override
 	public ProblemList read(IFeatureModel featureModel, CharSequence source) {
+		try (StringReader reader = new StringReader(source.toString())) {
+			return read(featureModel, reader, null);
+		} catch (final IOException e) {
+			return new ProblemList(Arrays.asList(new Problem(e)));
+		}
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel featureModel, Reader source, Path path) throws IOException {
 		final ProblemList problemList = new ProblemList();
 		setFactory(featureModel);
 
@@ -62,8 +74,8 @@ public class DIMACSFormat extends AFeatureModelFormat {
 		final DimacsReader r = new DimacsReader();
 		r.setReadingVariableDirectory(true);
 		r.setFlattenCNF(flattenCNF);
-		try (StringReader reader = new StringReader(source.toString())) {
-			final Node node = r.read(reader);
+		try {
+			final Node node = r.read(source);
 			final Collection<String> variables = r.getVariables();
 
 			// Add the propositional node to the feature model.
@@ -71,8 +83,6 @@ public class DIMACSFormat extends AFeatureModelFormat {
 			addNodeToFeatureModel(featureModel, node, variables);
 		} catch (final ParseException e) {
 			problemList.add(new Problem(e, e.getErrorOffset()));
-		} catch (final IOException e) {
-			problemList.add(new Problem(e));
 		}
 
 		return problemList;
@@ -118,6 +128,13 @@ public class DIMACSFormat extends AFeatureModelFormat {
 		return w.write();
 	}
 
+	@Override
+	public void write(IFeatureModel featureModel, Writer target) throws IOException {
+		final DimacsWriter w = new DimacsWriter(new FeatureModelFormula(featureModel).getCNF());
+		w.setWritingVariableDirectory(true);
+		w.write(target);
+	}
+
 	@Override
 	public String getSuffix() {
 		return "dimacs";
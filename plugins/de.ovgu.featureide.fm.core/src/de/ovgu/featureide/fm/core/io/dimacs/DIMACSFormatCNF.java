@@ -21,14 +21,13 @@
 package de.ovgu.featureide.fm.core.io.dimacs;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.text.ParseException;
 
-import org.prop4j.Node;
-
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
-import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
-import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
 import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
 import de.ovgu.featureide.fm.core.io.APersistentFormat;
 import de.ovgu.featureide.fm.core.io.Problem;
@@ -51,25 +50,45 @@ public class DIMACSFormatCNF extends APersistentFormat<CNF> {
 		return w.write();
 	}
 
+	@Override
+	public void write(CNF cnf, Writer target) throws IOException {
+		final DimacsWriter w = new DimacsWriter(cnf);
+		w.setWritingVariableDirectory(true);
+		w.write(target);
+	}
+
 	@Override
 	public ProblemList read(CNF cnf, CharSequence source) {
 		final ProblemList problemList = new ProblemList();
-		final DimacsReader r = new DimacsReader();
+		final DimacsCNFReader r = new DimacsCNFReader();
 		r.setReadingVariableDirectory(true);
-		r.setFlattenCNF(false);
 		try {
-			final Node node = r.read(source.toString());
-			final Variables variables = new Variables(r.getVariables());
-			final ClauseList clauseList = Nodes.convertNF(variables, node, true, true);
-			cnf.setVariables(variables);
-			cnf.getClauses().clear();
-			cnf.getClauses().addAll(clauseList);
-		} catch (ParseException | IOException e) {
+			setCNF(cnf, r.read(source));
+		} catch (final ParseException e) {
 			problemList.add(new Problem(e));
 		}
 		return problemList;
 	}
 
+	@Override
+	public ProblemList read(CNF cnf, ReadableByteChannel source, Path path) throws IOException {
+		final ProblemList problemList = new ProblemList();
+		final DimacsCNFReader r = new DimacsCNFReader();
+		r.setReadingVariableDirectory(true);
+		try {
+			setCNF(cnf, r.read(source));
+		} catch (final ParseException e) {
+			problemList.add(new Problem(e));
+		}
+		return problemList;
+	}
+
+	private static void setCNF(CNF cnf, CNF newCNF) {
+		cnf.setVariables((Variables) newCNF.getVariables());
+		cnf.getClauses().clear();
+		cnf.getClauses().addAll(newCNF.getClauses());
+	}
+
 	@Override
 	public String getSuffix() {
 		return "dimacs";
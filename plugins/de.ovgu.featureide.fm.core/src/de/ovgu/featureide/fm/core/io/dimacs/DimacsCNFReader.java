@@ -0,0 +1,532 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+
+/**
+ * Reads DIMACS CNF files directly into a {@link CNF}.<br> In contrast to the {@link DimacsReader}, this reader does not create intermediate strings or
+ * {@link org.prop4j.Node nodes} for clauses. It tokenizes the input character by character, either from a byte channel (a memory-mapped file or a buffered
+ * channel) or from a char sequence, and collects the literals of each clause in a primitive buffer.<br> <br> The accepted format and the resulting variable
+ * mapping are the same as for the {@link DimacsReader} with disabled flattening: variables of the variable directory get the first indices in the order of
+ * the directory, all other variables are added in the order of their first occurrence.
+ *
+ * @author Sebastian Krieter
+ */
+public class DimacsCNFReader {
+
+	/** Size of the buffer that is used for reading from a byte channel. */
+	public static final int BUFFER_SIZE = 1 << 16;
+
+	private static final int EOF = -1;
+
+	/**
+	 * Character-based view of the input.
+	 */
+	private abstract static class Source {
+
+		/**
+		 * @return the next character or {@link DimacsCNFReader#EOF}
+		 */
+		abstract int next() throws IOException;
+
+		/**
+		 * Reads the remainder of the current line. The line terminator is consumed but not included.
+		 */
+		abstract String readLine() throws IOException;
+
+	}
+
+	private static final class CharSequenceSource extends Source {
+
+		private final CharSequence source;
+		private int index = 0;
+
+		private CharSequenceSource(CharSequence source) {
+			this.source = source;
+		}
+
+		@Override
+		int next() {
+			return index < source.length() ? source.charAt(index++) : EOF;
+		}
+
+		@Override
+		String readLine() {
+			final int start = index;
+			int end = start;
+			while ((end < source.length()) && (source.charAt(end) != '\n')) {
+				end++;
+			}
+			index = end < source.length() ? end + 1 : end;
+			if ((end > start) && (source.charAt(end - 1) == '\r')) {
+				end--;
+			}
+			return source.subSequence(start, end).toString();
+		}
+
+	}
+
+	/**
+	 * Reads bytes from a buffer that is refilled from a channel, if present. Apart from comments, DIMACS files consist of ASCII characters only, so bytes are
+	 * interpreted as characters and only comment lines are decoded as UTF-8.
+	 */
+	private static final class ByteSource extends Source {
+
+		private final ReadableByteChannel channel;
+		private final ByteBuffer buffer;
+		private byte[] lineBuffer = new byte[256];
+
+		private ByteSource(ByteBuffer buffer, ReadableByteChannel channel) {
+			this.buffer = buffer;
+			this.channel = channel;
+		}
+
+		private boolean fill() throws IOException {
+			if (channel == null) {
+				return false;
+			}
+			buffer.clear();
+			int count;
+			do {
+				count = channel.read(buffer);
+			} while (count == 0);
+			buffer.flip();
+			return count > 0;
+		}
+
+		@Override
+		int next() throws IOException {
+			if (!buffer.hasRemaining() && !fill()) {
+				return EOF;
+			}
+			return buffer.get() & 0xff;
+		}
+
+		@Override
+		String readLine() throws IOException {
+			int length = 0;
+			for (int c = next(); (c != EOF) && (c != '\n'); c = next()) {
+				if (length == lineBuffer.length) {
+					lineBuffer = Arrays.copyOf(lineBuffer, length << 1);
+				}
+				lineBuffer[length++] = (byte) c;
+			}
+			if ((length > 0) && (lineBuffer[length - 1] == '\r')) {
+				length--;
+			}
+			return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+		}
+
+	}
+
+	/** True to read the variable directory for naming variables. */
+	private boolean readVariableDirectory = false;
+
+	private Source source;
+	private int lineCount;
+	/** A character that was read, but not consumed. */
+	private int pending;
+
+	/** Maps indices to variable names as declared in the variable directory. */
+	private final Map<Integer, String> variableDirectory = new LinkedHashMap<>();
+	private final List<String> variableNames = new ArrayList<>();
+	/** Maps DIMACS indices to indices of the resulting {@link Variables}. */
+	private int[] variableMapping;
+	/** Variable mapping for DIMACS indices that exceed the declared variable count. */
+	private final Map<Integer, Integer> overflowVariableMapping = new HashMap<>();
+
+	private int variableCount;
+	private int clauseCount;
+	private ClauseList clauses;
+	private int[] clauseBuffer = new int[16];
+	private int clauseSize;
+
+	/**
+	 * <p> Sets the reading variable directory flag. If true, the reader will look for a variable directory in the comments. This contains names for the
+	 * variables which would otherwise just be numbers. </p>
+	 *
+	 * <p> Defaults to false. </p>
+	 *
+	 * @param readVariableDirectory whether to read the variable directory
+	 */
+	public void setReadingVariableDirectory(boolean readVariableDirectory) {
+		this.readVariableDirectory = readVariableDirectory;
+	}
+
+	/**
+	 * Reads the given file by mapping it into memory.
+	 *
+	 * @param path the file to read from.
+	 * @return a CNF; not null
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public CNF read(Path path) throws ParseException, IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size <= Integer.MAX_VALUE) {
+				return read(new ByteSource(channel.map(MapMode.READ_ONLY, 0, size), null));
+			} else {
+				return read(channel);
+			}
+		}
+	}
+
+	/**
+	 * Reads the input from the given channel. The channel is not closed.
+	 *
+	 * @param channel the channel to read from.
+	 * @return a CNF; not null
+	 * @throws IOException if the reader encounters a problem.
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public CNF read(ReadableByteChannel channel) throws ParseException, IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.flip();
+		return read(new ByteSource(buffer, channel));
+	}
+
+	/**
+	 * Reads the input.
+	 *
+	 * @param in The string to read from.
+	 * @return a CNF; not null
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	public CNF read(CharSequence in) throws ParseException {
+		try {
+			return read(new CharSequenceSource(in));
+		} catch (final IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private CNF read(Source source) throws ParseException, IOException {
+		this.source = source;
+		lineCount = 1;
+		pending = EOF;
+		variableDirectory.clear();
+		variableNames.clear();
+		overflowVariableMapping.clear();
+		clauseSize = 0;
+		try {
+			readHeader();
+			readClauses();
+			if (variableNames.size() != variableCount) {
+				throw new ParseException(String.format("Found %d instead of %d variables", variableNames.size(), variableCount), 1);
+			}
+			return new CNF(new Variables(variableNames), clauses);
+		} finally {
+			this.source = null;
+			variableMapping = null;
+			clauses = null;
+		}
+	}
+
+	private int next() throws IOException {
+		if (pending != EOF) {
+			final int c = pending;
+			pending = EOF;
+			return c;
+		}
+		return source.next();
+	}
+
+	private static boolean isWhitespace(int c) {
+		switch (c) {
+		case ' ':
+		case '\t':
+		case '\r':
+		case '\f':
+		case 0x0B:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private int skipWhitespace(int c) throws IOException {
+		while (isWhitespace(c)) {
+			c = next();
+		}
+		return c;
+	}
+
+	/**
+	 * Reads the comments and the problem definition.
+	 *
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private void readHeader() throws ParseException, IOException {
+		while (true) {
+			int c = next();
+			if (c == DIMACSConstants.COMMENT.charAt(0)) {
+				readComment();
+				continue;
+			}
+			c = skipWhitespace(c);
+			if (c == '\n') {
+				lineCount++;
+			} else if (c == DIMACSConstants.PROBLEM.charAt(0)) {
+				readProblem();
+				return;
+			} else {
+				throw new ParseException("Invalid problem format", lineCount);
+			}
+		}
+	}
+
+	/**
+	 * Reads the problem definition. The remainder of the line is read as part of the clauses.
+	 *
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private void readProblem() throws ParseException, IOException {
+		int c = next();
+		if (!isWhitespace(c)) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		c = skipWhitespace(c);
+		for (int i = 0; i < DIMACSConstants.CNF.length(); i++) {
+			if (c != DIMACSConstants.CNF.charAt(i)) {
+				throw new ParseException("Invalid problem format", lineCount);
+			}
+			c = next();
+		}
+		variableCount = readCount(c);
+		clauseCount = readCount(next());
+
+		variableMapping = new int[variableCount + 1];
+		clauses = new ClauseList(clauseCount);
+	}
+
+	private int readCount(int c) throws ParseException, IOException {
+		if (!isWhitespace(c)) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		c = skipWhitespace(c);
+		if ((c < '0') || (c > '9')) {
+			throw new ParseException("Invalid problem format", lineCount);
+		}
+		long count = 0;
+		do {
+			count = (count * 10) + (c - '0');
+			if (count > Integer.MAX_VALUE) {
+				throw new ParseException("Count is not an integer", lineCount);
+			}
+			c = next();
+		} while ((c >= '0') && (c <= '9'));
+		pending = c;
+		return (int) count;
+	}
+
+	/**
+	 * Reads all clauses.
+	 *
+	 * @throws ParseException if the input does not conform to the DIMACS CNF file format
+	 */
+	private void readClauses() throws ParseException, IOException {
+		boolean lineStart = false;
+		boolean readingVariables = readVariableDirectory;
+		for (int c = next(); c != EOF; c = next()) {
+			if (c == '\n') {
+				lineCount++;
+				lineStart = true;
+			} else if (isWhitespace(c)) {
+				lineStart = false;
+			} else if (lineStart && (c == DIMACSConstants.COMMENT.charAt(0))) {
+				if (readingVariables) {
+					readComment();
+				} else {
+					source.readLine();
+					lineCount++;
+				}
+			} else {
+				if (readingVariables) {
+					readingVariables = false;
+					initVariables();
+				}
+				lineStart = false;
+				final int literal = readLiteral(c);
+				if (literal == 0) {
+					if (clauseSize == 0) {
+						throw new ParseException("Empty clause", lineCount);
+					}
+					addClause();
+				} else {
+					if (clauseSize == clauseBuffer.length) {
+						clauseBuffer = Arrays.copyOf(clauseBuffer, clauseSize << 1);
+					}
+					clauseBuffer[clauseSize++] = literal;
+				}
+			}
+		}
+		if (readingVariables) {
+			initVariables();
+		}
+		if (clauseSize > 0) {
+			addClause();
+		}
+		if (clauses.size() < clauseCount) {
+			throw new ParseException(String.format("Found %d instead of %d clauses", clauses.size(), clauseCount), 1);
+		}
+	}
+
+	private int readLiteral(int c) throws ParseException, IOException {
+		final boolean negative = c == '-';
+		if (negative || (c == '+')) {
+			c = next();
+		}
+		if ((c < '0') || (c > '9')) {
+			throw new ParseException("Illegal literal", lineCount);
+		}
+		long index = 0;
+		do {
+			index = (index * 10) + (c - '0');
+			if (index > Integer.MAX_VALUE) {
+				throw new ParseException("Illegal literal", lineCount);
+			}
+			c = next();
+		} while ((c >= '0') && (c <= '9'));
+		if ((c != EOF) && (c != '\n') && !isWhitespace(c)) {
+			throw new ParseException("Illegal literal", lineCount);
+		}
+		pending = c;
+		return negative ? (int) -index : (int) index;
+	}
+
+	private void addClause() throws ParseException {
+		if (clauses.size() == clauseCount) {
+			throw new ParseException(String.format("Found more than %d clauses", clauseCount), 1);
+		}
+		final int[] literals = new int[clauseSize];
+		for (int i = 0; i < clauseSize; i++) {
+			final int literal = clauseBuffer[i];
+			final int variable = getVariable(Math.abs(literal));
+			literals[i] = literal > 0 ? variable : -variable;
+		}
+		clauses.add(new LiteralSet(literals, Order.UNORDERED));
+		clauseSize = 0;
+	}
+
+	private int getVariable(int index) {
+		if (index < variableMapping.length) {
+			final int variable = variableMapping[index];
+			if (variable != 0) {
+				return variable;
+			}
+			return variableMapping[index] = addVariable(String.valueOf(index));
+		} else {
+			final Integer variable = overflowVariableMapping.get(index);
+			if (variable != null) {
+				return variable;
+			}
+			final int newVariable = addVariable(String.valueOf(index));
+			overflowVariableMapping.put(index, newVariable);
+			return newVariable;
+		}
+	}
+
+	private int addVariable(String name) {
+		variableNames.add(name);
+		return variableNames.size();
+	}
+
+	/**
+	 * Assigns the first variable indices to the variables of the variable directory.
+	 */
+	private void initVariables() {
+		for (final Entry<Integer, String> entry : variableDirectory.entrySet()) {
+			final int index = entry.getKey();
+			final int variable = addVariable(entry.getValue());
+			if ((index > 0) && (index < variableMapping.length)) {
+				variableMapping[index] = variable;
+			} else {
+				overflowVariableMapping.put(index, variable);
+			}
+		}
+	}
+
+	/**
+	 * Reads a comment line, whose comment token was already consumed, and the contained variable directory entry.
+	 */
+	private void readComment() throws IOException {
+		final String line = source.readLine();
+		lineCount++;
+		if (readVariableDirectory) {
+			int start = 0;
+			while ((start < line.length()) && isWhitespace(line.charAt(start))) {
+				start++;
+			}
+			readVariableDirectoryEntry(line.substring(start));
+		}
+	}
+
+	/**
+	 * Reads an entry of the variable directory.
+	 *
+	 * @param comment variable directory entry
+	 * @return true if an entry was found
+	 */
+	private boolean readVariableDirectoryEntry(String comment) {
+		final int firstSeparator = comment.indexOf(' ');
+		if (firstSeparator <= 0) {
+			return false;
+		}
+		final int index;
+		try {
+			index = Integer.parseInt(comment.substring(0, firstSeparator));
+		} catch (final NumberFormatException e) {
+			return false;
+		}
+		if (comment.length() < (firstSeparator + 2)) {
+			return false;
+		}
+		final String variable = comment.substring(firstSeparator + 1);
+		if (!variableDirectory.containsKey(index)) {
+			variableDirectory.put(index, variable);
+		}
+		return true;
+	}
+
+}
@@ -20,6 +20,10 @@
  */
 package de.ovgu.featureide.fm.core.io.dimacs;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
 import org.prop4j.Node;
 
 import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
@@ -73,81 +77,174 @@ public class DimacsWriter {
 	 * @return the transformed CNF; not null
 	 */
 	public String write() {
-		final StringBuilder sb = new StringBuilder();
+		final StringWriter out = new StringWriter();
+		try {
+			write(out);
+		} catch (final IOException e) {
+			throw new AssertionError(e);
+		}
+		return out.toString();
+	}
+
+	/**
+	 * Writes the DIMACS CNF file format to the given writer. The output is not built in memory, but written clause by clause through a fixed-size character
+	 * buffer. The writer is flushed, but not closed.
+	 *
+	 * @param out the writer to write to; not null
+	 * @throws IOException if the writer encounters a problem.
+	 */
+	public void write(Writer out) throws IOException {
+		final OutputBuffer buffer = new OutputBuffer(out);
 		if (writingVariableDirectory) {
-			writeVariableDirectory(sb);
+			writeVariableDirectory(buffer);
+		}
+		writeProblem(buffer);
+		writeClauses(buffer);
+		buffer.flush();
+	}
+
+	/**
+	 * Formats strings and integers into a character array, which is written to the underlying writer when it is full.
+	 */
+	private static final class OutputBuffer {
+
+		private static final int BUFFER_SIZE = 1 << 13;
+		private static final String LINE_SEPARATOR = System.lineSeparator();
+
+		private final Writer out;
+		private final char[] buffer = new char[BUFFER_SIZE];
+		private int position = 0;
+
+		private OutputBuffer(Writer out) {
+			this.out = out;
+		}
+
+		private void ensure(int length) throws IOException {
+			if ((position + length) > buffer.length) {
+				out.write(buffer, 0, position);
+				position = 0;
+			}
+		}
+
+		private OutputBuffer append(char c) throws IOException {
+			ensure(1);
+			buffer[position++] = c;
+			return this;
+		}
+
+		private OutputBuffer append(String s) throws IOException {
+			final int length = s.length();
+			if (length > buffer.length) {
+				ensure(buffer.length);
+				out.write(s);
+			} else {
+				ensure(length);
+				s.getChars(0, length, buffer, position);
+				position += length;
+			}
+			return this;
 		}
-		writeProblem(sb);
-		writeClauses(sb);
-		return sb.toString();
+
+		private OutputBuffer append(int i) throws IOException {
+			if (i == Integer.MIN_VALUE) {
+				return append(Integer.toString(i));
+			}
+			ensure(11);
+			if (i < 0) {
+				buffer[position++] = '-';
+				i = -i;
+			}
+			final int start = position;
+			do {
+				buffer[position++] = (char) ('0' + (i % 10));
+				i /= 10;
+			} while (i > 0);
+			for (int j = start, k = position - 1; j < k; j++, k--) {
+				final char c = buffer[j];
+				buffer[j] = buffer[k];
+				buffer[k] = c;
+			}
+			return this;
+		}
+
+		private OutputBuffer newLine() throws IOException {
+			return append(LINE_SEPARATOR);
+		}
+
+		private void flush() throws IOException {
+			out.write(buffer, 0, position);
+			position = 0;
+			out.flush();
+		}
+
 	}
 
 	/**
 	 * Writes the variable directory.
 	 *
-	 * @param sb the string builder that builds the document
+	 * @param buffer the buffer that builds the document
 	 */
-	private void writeVariableDirectory(StringBuilder sb) {
+	private void writeVariableDirectory(OutputBuffer buffer) throws IOException {
 		final String[] names = cnf.getVariables().getNames();
 		for (int i = 1; i < names.length; i++) {
-			writeVariableDirectoryEntry(sb, i, names[i]);
+			writeVariableDirectoryEntry(buffer, i, names[i]);
 		}
 	}
 
 	/**
 	 * Writes an entry of the variable directory.
 	 *
-	 * @param sb the string builder that builds the document
+	 * @param buffer the buffer that builds the document
 	 * @param variable variable to list in the entry
 	 * @param index index of the variable
 	 */
-	private void writeVariableDirectoryEntry(StringBuilder sb, int index, String name) {
-		sb.append(DIMACSConstants.COMMENT_START);
-		sb.append(index);
-		sb.append(' ');
-		sb.append(String.valueOf(name));
-		sb.append(System.lineSeparator());
+	private void writeVariableDirectoryEntry(OutputBuffer buffer, int index, String name) throws IOException {
+		buffer.append(DIMACSConstants.COMMENT_START);
+		buffer.append(index);
+		buffer.append(' ');
+		buffer.append(String.valueOf(name));
+		buffer.newLine();
 	}
 
 	/**
 	 * Writes the problem description.
 	 *
-	 * @param sb the string builder that builds the document
+	 * @param buffer the buffer that builds the document
 	 */
-	private void writeProblem(StringBuilder sb) {
-		sb.append(DIMACSConstants.PROBLEM);
-		sb.append(' ');
-		sb.append(DIMACSConstants.CNF);
-		sb.append(' ');
-		sb.append(cnf.getVariables().size());
-		sb.append(' ');
-		sb.append(cnf.getClauses().size());
-		sb.append(System.lineSeparator());
+	private void writeProblem(OutputBuffer buffer) throws IOException {
+		buffer.append(DIMACSConstants.PROBLEM);
+		buffer.append(' ');
+		buffer.append(DIMACSConstants.CNF);
+		buffer.append(' ');
+		buffer.append(cnf.getVariables().size());
+		buffer.append(' ');
+		buffer.append(cnf.getClauses().size());
+		buffer.newLine();
 	}
 
 	/**
 	 * Writes the given clause.
 	 *
-	 * @param sb the string builder that builds the document
+	 * @param buffer the buffer that builds the document
 	 * @param clause clause to transform; not null
 	 */
-	private void writeClause(StringBuilder sb, LiteralSet clause) {
+	private void writeClause(OutputBuffer buffer, LiteralSet clause) throws IOException {
 		for (final int l : clause.getLiterals()) {
-			sb.append(l);
-			sb.append(' ');
+			buffer.append(l);
+			buffer.append(' ');
 		}
-		sb.append(DIMACSConstants.CLAUSE_END);
-		sb.append(System.lineSeparator());
+		buffer.append(DIMACSConstants.CLAUSE_END);
+		buffer.newLine();
 	}
 
 	/**
 	 * Writes all clauses.
 	 *
-	 * @param sb the string builder that builds the document
+	 * @param buffer the buffer that builds the document
 	 */
-	private void writeClauses(StringBuilder sb) {
+	private void writeClauses(OutputBuffer buffer) throws IOException {
 		for (final LiteralSet clause : cnf.getClauses()) {
-			writeClause(sb, cnf.getInternalVariables().convertToInternal(clause));
+			writeClause(buffer, cnf.getInternalVariables().convertToInternal(clause));
 		}
 	}
 
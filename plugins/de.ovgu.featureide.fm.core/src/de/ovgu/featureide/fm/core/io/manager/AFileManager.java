@@ -185,16 +185,17 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 	protected boolean init(IPersistentFormat<T> desiredFormat) {
 		if ((desiredFormat != null) || FileSystem.exists(path)) {
 			try {
-				final String content = new String(FileSystem.read(path), SimpleFileHandler.DEFAULT_CHARSET);
+				final byte[] bytes = FileSystem.read(path);
 				if (desiredFormat != null) {
 					format = desiredFormat;
 					setVariableObject(createObject());
 				} else {
-					detectFormat(content);
+					detectFormat(new String(bytes, SimpleFileHandler.DEFAULT_CHARSET));
 				}
-				final ProblemList problems = format.getInstance().read(variableObject, content, path);
+				final String content = new String(bytes, format.getCharset());
+				final ProblemList problems = readObject(variableObject, bytes, content, path);
 				final T newPersistentObject = createObject();
-				format.getInstance().read(newPersistentObject, content);
+				readObject(newPersistentObject, bytes, content, null);
 				if (problems != null) {
 					lastProblems.addAll(problems);
 				}
@@ -208,6 +209,21 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 		return false;
 	}
 
+	/**
+	 * Reads the content of the file into the given object during the initialization of this manager.<br> Subclasses could override this method to read the
+	 * object from a faster representation of the same content.
+	 *
+	 * @param object The object to read into.
+	 * @param bytes The content of the file.
+	 * @param content The content of the file decoded with the charset of the current format.
+	 * @param sourcePath The path that is passed to the format or {@code null}.
+	 * @return The problems that occurred while reading.
+	 */
+	protected ProblemList readObject(T object, byte[] bytes, String content, Path sourcePath) {
+		final IPersistentFormat<T> formatInstance = format.getInstance();
+		return (sourcePath == null) ? formatInstance.read(object, content) : formatInstance.read(object, content, sourcePath);
+	}
+
 	private void detectFormat(final CharSequence content) throws Exception {
 		for (final IPersistentFormat<T> possibleFormat : formats) {
 			if (possibleFormat.supportsContent(content)) {
@@ -393,8 +409,9 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 		}
 		lastProblems.clear();
 		final T tempObject;
-		final String content = new String(FileSystem.read(path), SimpleFileHandler.DEFAULT_CHARSET);
-		detectFormat(content);
+		final byte[] bytes = FileSystem.read(path);
+		detectFormat(new String(bytes, SimpleFileHandler.DEFAULT_CHARSET));
+		final String content = new String(bytes, format.getCharset());
 		tempObject = createObject();
 		final List<Problem> problemList = format.getInstance().read(tempObject, content);
 		if (problemList != null) {
@@ -477,7 +494,7 @@ public abstract class AFileManager<T> implements IFileManager<T> {
 				}
 				modifying = true;
 				final String source = format.getInstance().write(variableObject);
-				FileSystem.write(path, source.getBytes(SimpleFileHandler.DEFAULT_CHARSET));
+				FileSystem.write(path, source.getBytes(format.getCharset()));
 				final T tempObject = createObject();
 				format.getInstance().read(tempObject, source);
 				setPersistentObject(tempObject);
@@ -20,6 +20,7 @@
  */
 package de.ovgu.featureide.fm.core.io.manager;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
 
@@ -104,11 +105,11 @@ public abstract class AbstractIO<T> {
 
 	public final FileHandler<T> getFileHandler(Path path) {
 		final FileHandler<T> fileHandler = new FileHandler<>(path, null, null);
-		final String content = fileHandler.getContent();
-
-		if (content != null) {
+		if (!FileSystem.exists(path)) {
+			fileHandler.getLastProblems().add(new Problem(new FileNotFoundException(path.toString())));
+		} else {
 			final String fileName = path.getFileName().toString();
-			final IPersistentFormat<T> format = getFormatManager().getFormatByContent(content, fileName);
+			final IPersistentFormat<T> format = getFormatManager().getFormatByContent(path);
 			if (format == null) {
 				fileHandler.getLastProblems().add(new Problem(new FormatManager.NoSuchExtensionException("No format found for file \"" + fileName + "\"!")));
 			} else {
@@ -116,7 +117,7 @@ public abstract class AbstractIO<T> {
 					final T object = getFactoryManager().getFactory(path, format).create();
 					fileHandler.setObject(object);
 					fileHandler.setFormat(format);
-					fileHandler.parse(content);
+					fileHandler.parse();
 				} catch (final NoSuchExtensionException e) {
 					fileHandler.getLastProblems().add(new Problem(e));
 				}
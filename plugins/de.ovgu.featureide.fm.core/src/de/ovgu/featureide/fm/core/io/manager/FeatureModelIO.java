@@ -20,11 +20,23 @@
  */
 package de.ovgu.featureide.fm.core.io.manager;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.ovgu.featureide.fm.core.ExtensionManager.NoSuchExtensionException;
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
 import de.ovgu.featureide.fm.core.base.impl.FactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FormatManager;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.binary.BinaryFeatureModelFormat;
 
 /**
  * File handling operations for feature models.
@@ -51,4 +63,109 @@ public class FeatureModelIO extends AbstractIO<IFeatureModel> {
 		return FMFactoryManager.getInstance();
 	}
 
+	/**
+	 * Loads a feature model using a binary cache file (see {@link BinaryFeatureModelFormat#getCachePath(Path)}).<br> If the cache file exists and was created
+	 * from the current content of the given file, the feature model is read from the cache file. Otherwise, the feature model is read from the given file and
+	 * the cache file is (re-)created. The cache file is only created if the factory of the feature model supports the binary format, such that no information
+	 * of the original file is lost.
+	 *
+	 * @param path The path to the feature model file.
+	 * @return The feature model or {@code null} if the file could not be read.
+	 *
+	 * @see FeatureModelManager#setUseModelCache(boolean)
+	 */
+	public final IFeatureModel loadCached(Path path) {
+		if (!FileSystem.exists(path)) {
+			return null;
+		}
+		final long checksum;
+		try {
+			checksum = BinaryFeatureModelFormat.computeChecksum(FileSystem.read(path));
+		} catch (final IOException e) {
+			Logger.logError(e);
+			return null;
+		}
+
+		final IPersistentFormat<IFeatureModel> format = getFormatManager().getFormatByContent(path);
+		if (format == null) {
+			return null;
+		}
+		final IFeatureModel cachedModel;
+		try {
+			cachedModel = FMFactoryManager.getInstance().getFactory(path, format).create();
+		} catch (final NoSuchExtensionException e) {
+			Logger.logError(e);
+			return null;
+		}
+		if (readCache(cachedModel, path, checksum) != null) {
+			return cachedModel;
+		}
+
+		final FileHandler<IFeatureModel> fileHandler = getFileHandler(path);
+		if (fileHandler.getLastProblems().containsError()) {
+			return null;
+		}
+		final IFeatureModel featureModel = fileHandler.getObject();
+		writeCache(featureModel, path, checksum, fileHandler.getLastProblems());
+		return featureModel;
+	}
+
+	/**
+	 * Reads a feature model from the binary cache file of the given file. The feature model is only read if the cache file exists, supports the factory of the
+	 * given feature model, and was created from a source file with the given checksum.
+	 *
+	 * @param featureModel The feature model to read into.
+	 * @param path The path to the feature model file.
+	 * @param checksum The checksum of the current content of the feature model file (see {@link BinaryFeatureModelFormat#computeChecksum(byte[])}).
+	 * @return The problems that occurred when the cache file was created from the feature model file or {@code null} if the cache file could not be used.
+	 */
+	public final ProblemList readCache(IFeatureModel featureModel, Path path, long checksum) {
+		final Path cachePath = BinaryFeatureModelFormat.getCachePath(path);
+		if (!FileSystem.exists(cachePath) || !isCacheSupported(featureModel, cachePath)) {
+			return null;
+		}
+		try (ReadableByteChannel channel = FileSystem.newReadableChannel(cachePath)) {
+			final BinaryFeatureModelFormat cacheReader = new BinaryFeatureModelFormat();
+			if (!cacheReader.read(featureModel, channel, cachePath).containsError() && (cacheReader.getSourceChecksum() == checksum)) {
+				return new ProblemList(cacheReader.getSourceProblems());
+			}
+		} catch (final IOException e) {
+			Logger.logError(e);
+		}
+		return null;
+	}
+
+	/**
+	 * (Re-)creates the binary cache file of the given file, if the factory of the feature model supports the binary format.
+	 *
+	 * @param featureModel The feature model that was read from the feature model file.
+	 * @param path The path to the feature model file.
+	 * @param checksum The checksum of the content of the feature model file (see {@link BinaryFeatureModelFormat#computeChecksum(byte[])}).
+	 * @param problems The problems that occurred while reading the feature model file, which must not contain errors.
+	 */
+	public final void writeCache(IFeatureModel featureModel, Path path, long checksum, List<Problem> problems) {
+		final Path cachePath = BinaryFeatureModelFormat.getCachePath(path);
+		if (isCacheSupported(featureModel, cachePath)) {
+			try {
+				FileSystem.mkDir(cachePath.getParent());
+			} catch (final IOException e) {
+				Logger.logError(e);
+				return;
+			}
+			final BinaryFeatureModelFormat cacheFormat = new BinaryFeatureModelFormat();
+			cacheFormat.setSourceChecksum(checksum);
+			cacheFormat.setSourceProblems(problems);
+			SimpleFileHandler.save(cachePath, featureModel, cacheFormat);
+		}
+	}
+
+	private static boolean isCacheSupported(IFeatureModel featureModel, Path cachePath) {
+		try {
+			return FMFactoryManager.getInstance().getFactory(cachePath, new BinaryFeatureModelFormat()).getId().equals(featureModel.getFactoryID());
+		} catch (final NoSuchExtensionException e) {
+			Logger.logError(e);
+			return false;
+		}
+	}
+
 }
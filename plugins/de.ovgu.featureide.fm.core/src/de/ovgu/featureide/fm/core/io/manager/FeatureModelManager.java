@@ -24,12 +24,15 @@ import java.nio.file.Path;
 
 import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FormulaCache;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.base.event.IEventListener;
 import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
 import de.ovgu.featureide.fm.core.base.impl.FMFormatManager;
 import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.IPersistentFormat;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.binary.BinaryFeatureModelFormat;
 
 /**
  * Responsible to load and save all information for a feature model instance.
@@ -46,8 +49,13 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 	public static final int CHANGE_MODEL_PROPERTY = 5;
 	public static final int CHANGE_NOTHING = Integer.MAX_VALUE;
 
+	private static boolean useModelCache = false;
+
+	private boolean useFormulaCache = false;
+	private FormulaCache formulaCache = null;
 	private FeatureModelFormula persistentFormula = null;
 	private FeatureModelFormula variableFormula = null;
+	private FeatureModelFormula previousVariableFormula = null;
 
 	public static FeatureModelManager getInstance(Path path) {
 		return getOrCreateInstance(path, FeatureModelManager.class, null);
@@ -63,7 +71,21 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 	}
 
 	public static final IFeatureModel load(Path path) {
-		return FeatureModelIO.getInstance().load(path);
+		return useModelCache ? FeatureModelIO.getInstance().loadCached(path) : FeatureModelIO.getInstance().load(path);
+	}
+
+	public static boolean isUseModelCache() {
+		return useModelCache;
+	}
+
+	/**
+	 * Enables or disables the binary cache for all feature models that are subsequently loaded by {@link #load(Path)} or by a new manager instance (see
+	 * {@link FeatureModelIO#loadCached(Path)}). The cache is disabled by default.
+	 *
+	 * @param useModelCache whether the cache is used
+	 */
+	public static void setUseModelCache(boolean useModelCache) {
+		FeatureModelManager.useModelCache = useModelCache;
 	}
 
 	public static FileHandler<IFeatureModel> getFileHandler(Path path) {
@@ -89,6 +111,23 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 		return false;
 	}
 
+	@Override
+	protected ProblemList readObject(IFeatureModel object, byte[] bytes, String content, Path sourcePath) {
+		if (!useModelCache) {
+			return super.readObject(object, bytes, content, sourcePath);
+		}
+		final long checksum = BinaryFeatureModelFormat.computeChecksum(bytes);
+		final ProblemList cachedProblems = FeatureModelIO.getInstance().readCache(object, getPath(), checksum);
+		if (cachedProblems != null) {
+			return cachedProblems;
+		}
+		final ProblemList problems = super.readObject(object, bytes, content, sourcePath);
+		if ((problems == null) || !problems.containsError()) {
+			FeatureModelIO.getInstance().writeCache(object, getPath(), checksum, (problems == null) ? new ProblemList() : problems);
+		}
+		return problems;
+	}
+
 	@Override
 	public IFeatureModelFormat getFormat() {
 		return (IFeatureModelFormat) super.getFormat();
@@ -105,6 +144,7 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 	public FeatureModelFormula getPersistentFormula() {
 		if (persistentFormula == null) {
 			persistentFormula = new FeatureModelFormula(persistentObject);
+			persistentFormula.setCache(getFormulaCache());
 		}
 		return persistentFormula;
 	}
@@ -114,7 +154,9 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 		fileOperationLock.lock();
 		try {
 			if (variableFormula == null) {
-				variableFormula = new FeatureModelFormula(getSnapshot());
+				variableFormula = new FeatureModelFormula(getSnapshot(), previousVariableFormula);
+				variableFormula.setCache(getFormulaCache());
+				previousVariableFormula = null;
 			}
 			return variableFormula;
 		} finally {
@@ -122,11 +164,60 @@ public class FeatureModelManager extends AFileManager<IFeatureModel> implements
 		}
 	}
 
+	/**
+	 * Returns the persistent cache for the formula elements of this feature model, which is located next to the other extra files of the feature model (see
+	 * {@link #constructExtraPath(Path, IPersistentFormat)}). The cache is disabled by default and can be enabled via {@link #setUseFormulaCache(boolean)}.
+	 *
+	 * @return the cache or {@code null}, if it is disabled or no path is available
+	 */
+	public FormulaCache getFormulaCache() {
+		if (!useFormulaCache) {
+			return null;
+		}
+		if (formulaCache == null) {
+			final Path mainPath = getPath().toAbsolutePath();
+			final Path parentPath = mainPath.getParent();
+			final Path fileName = mainPath.getFileName();
+			if ((parentPath == null) || (fileName == null)) {
+				return null;
+			}
+			formulaCache = new FormulaCache(parentPath.resolve(".featureide").resolve(fileName.toString()).resolve("formula"));
+		}
+		return formulaCache;
+	}
+
+	public boolean isUseFormulaCache() {
+		return useFormulaCache;
+	}
+
+	/**
+	 * Enables or disables the persistent cache for the formula elements of this feature model.
+	 *
+	 * @param useFormulaCache whether the cache is used
+	 */
+	public void setUseFormulaCache(boolean useFormulaCache) {
+		fileOperationLock.lock();
+		try {
+			this.useFormulaCache = useFormulaCache;
+			final FormulaCache cache = getFormulaCache();
+			if (persistentFormula != null) {
+				persistentFormula.setCache(cache);
+			}
+			if (variableFormula != null) {
+				variableFormula.setCache(cache);
+			}
+		} finally {
+			fileOperationLock.unlock();
+		}
+	}
+
 	@Override
 	protected void resetSnapshot(int changeIndicator) {
 		super.resetSnapshot(changeIndicator);
 		if (variableFormula != null) {
 			if (changeIndicator <= CHANGE_DEPENDENCIES) {
+				// Keep the old formula to update its elements instead of creating them from scratch
+				previousVariableFormula = variableFormula;
 				variableFormula = null;
 			} else if (changeIndicator == CHANGE_MODEL_PROPERTY) {
 				// Not nessessary to rebuild the variable formula, just copy the properties to the variable formula's model
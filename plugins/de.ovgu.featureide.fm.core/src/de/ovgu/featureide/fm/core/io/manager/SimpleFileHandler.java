@@ -20,11 +20,11 @@
  */
 package de.ovgu.featureide.fm.core.io.manager;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -126,16 +126,17 @@ public class SimpleFileHandler<T> {
 	}
 
 	public static <T> ProblemList load(SimpleFileHandler<T> fileHandler, FormatManager<T> formatManager) {
-		final String content = fileHandler.getContent();
-
-		if (content != null) {
-			final String fileName = fileHandler.getPath().getFileName().toString();
-			final IPersistentFormat<T> format = formatManager.getFormatByContent(content, fileName);
+		final Path path = fileHandler.getPath();
+		if (!FileSystem.exists(path)) {
+			fileHandler.getLastProblems().add(new Problem(new FileNotFoundException(path.toString())));
+		} else {
+			final String fileName = path.getFileName().toString();
+			final IPersistentFormat<T> format = formatManager.getFormatByContent(path);
 			if (format == null) {
 				fileHandler.getLastProblems().add(new Problem(new FormatManager.NoSuchExtensionException("No format found for file \"" + fileName + "\"!")));
 			} else {
 				fileHandler.setFormat(format);
-				fileHandler.parse(content);
+				fileHandler.parse();
 			}
 		}
 		return fileHandler.getLastProblems();
@@ -203,56 +204,46 @@ public class SimpleFileHandler<T> {
 
 	public boolean read() {
 		problemList.clear();
-		return parse(getContent());
+		if (!Files.exists(path)) {
+			problemList.add(new Problem(new FileNotFoundException(path.toString())));
+			return false;
+		}
+		return parse();
 	}
 
 	public boolean read(InputStream inputStream) {
 		problemList.clear();
-		return parse(getContent(inputStream));
-	}
-
-	String getContent() {
-		try {
-			return readContent();
-		} catch (final Exception e) {
+		try (ReadableByteChannel channel = Channels.newChannel(inputStream)) {
+			return parse(channel);
+		} catch (final IOException e) {
 			problemList.add(new Problem(e));
-			return null;
+			return false;
 		}
 	}
 
-	String readContent() throws IOException {
-		if (!Files.exists(path)) {
-			throw new FileNotFoundException(path.toString());
+	boolean parse() {
+		try (ReadableByteChannel channel = FileSystem.newReadableChannel(path)) {
+			return parse(channel);
+		} catch (final IOException e) {
+			problemList.add(new Problem(e));
+			return false;
 		}
-		return new String(FileSystem.read(path), DEFAULT_CHARSET);
 	}
 
-	private String getContent(InputStream inputStream) {
+	/**
+	 * Parses the given source with the current format. The complete source is only read into memory if the format does not support streaming.
+	 *
+	 * @param source the source
+	 * @return {@code true} if no error occurred, {@code false} otherwise
+	 */
+	private boolean parse(ReadableByteChannel source) {
 		try {
-			final StringBuilder sb = new StringBuilder();
-			try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream, DEFAULT_CHARSET))) {
-				for (String line; (line = br.readLine()) != null;) {
-					sb.append(line);
-					sb.append(System.lineSeparator());
-				}
+			final List<Problem> parsingProblemList = format.getInstance().read(object, source, path);
+			if (parsingProblemList != null) {
+				problemList.addAll(parsingProblemList);
 			}
-			return sb.toString();
 		} catch (final Exception e) {
 			problemList.add(new Problem(e));
-			return null;
-		}
-	}
-
-	boolean parse(String content) {
-		if (content != null) {
-			try {
-				final List<Problem> parsingProblemList = format.getInstance().read(object, content, path);
-				if (problemList != null) {
-					problemList.addAll(parsingProblemList);
-				}
-			} catch (final Exception e) {
-				problemList.add(new Problem(e));
-			}
 		}
 
 		return !problemList.containsError();
@@ -261,8 +252,8 @@ public class SimpleFileHandler<T> {
 	public boolean write() {
 		problemList.clear();
 		try {
-			final byte[] content = format.getInstance().write(object).getBytes(DEFAULT_CHARSET);
-			FileSystem.write(path, content);
+			final IPersistentFormat<T> writeFormat = format.getInstance();
+			FileSystem.write(path, channel -> writeFormat.write(object, channel));
 		} catch (final Exception e) {
 			problemList.add(new Problem(e));
 		}
@@ -31,6 +31,8 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -82,6 +84,7 @@ public class UVLFeatureModelFormat extends AFeatureModelFormat {
 	private static final String NS_ATTRIBUTE_FEATURE = "_synthetic_ns_feature";
 
 	protected static final String EXTENDED_ATTRIBUTE_NAME = "extended__";
+	private static final Pattern EXTENDED_ATTRIBUTE_PATTERN = Pattern.compile(Pattern.quote(EXTENDED_ATTRIBUTE_NAME));
 	private static final String MULTI_ROOT_PREFIX = "Abstract_";
 
 	private UVLModel rootModel;
@@ -502,7 +505,24 @@ public class UVLFeatureModelFormat extends AFeatureModelFormat {
 
 	@Override
 	public boolean supportsContent(LazyReader reader) {
-		return supportsContent((CharSequence) reader);
+		return !containsExtendedAttribute(reader);
+	}
+
+	/**
+	 * Reads from the given reader until the name of the extended attribute is found or the source is completely read.
+	 *
+	 * @param reader the reader
+	 * @return {@code true} if the source contains the name of the extended attribute, {@code false} otherwise.
+	 */
+	protected static boolean containsExtendedAttribute(LazyReader reader) {
+		final Matcher matcher = EXTENDED_ATTRIBUTE_PATTERN.matcher("");
+		do {
+			matcher.reset(reader);
+			if (matcher.find()) {
+				return true;
+			}
+		} while (matcher.hitEnd() && reader.expand());
+		return false;
 	}
 
 	@Override
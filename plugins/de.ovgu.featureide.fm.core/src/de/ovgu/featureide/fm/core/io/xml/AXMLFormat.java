@@ -24,8 +24,10 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.YES;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -193,12 +195,21 @@ public abstract class AXMLFormat<T> extends APersistentFormat<T> implements IPer
 
 	@Override
 	public ProblemList read(T object, CharSequence source) {
+		return read(object, new InputSource(new StringReader(source.toString())));
+	}
+
+	@Override
+	public ProblemList read(T object, Reader source, Path path) throws IOException {
+		return read(object, new InputSource(source));
+	}
+
+	private ProblemList read(T object, InputSource source) {
 		this.object = object;
 
 		final ProblemList lastWarnings = new ProblemList();
 		try {
 			final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-			SAXParserFactory.newInstance().newSAXParser().parse(new InputSource(new StringReader(source.toString())), new PositionalXMLHandler(doc));
+			SAXParserFactory.newInstance().newSAXParser().parse(source, new PositionalXMLHandler(doc));
 			doc.getDocumentElement().normalize();
 			readDocument(doc, lastWarnings);
 		} catch (final SAXParseException e) {
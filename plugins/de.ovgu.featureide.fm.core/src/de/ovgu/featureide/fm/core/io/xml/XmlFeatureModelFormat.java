@@ -27,6 +27,12 @@ import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
 import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
 import static de.ovgu.featureide.fm.core.localization.StringTable.WRONG_SYNTAX;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -35,6 +41,10 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import org.prop4j.And;
 import org.prop4j.AtMost;
 import org.prop4j.Equals;
@@ -49,6 +59,7 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.w3c.dom.Text;
 
+import de.ovgu.featureide.fm.core.Logger;
 import de.ovgu.featureide.fm.core.PluginID;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IConstraint;
@@ -62,6 +73,7 @@ import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
 import de.ovgu.featureide.fm.core.io.IFeatureNameValidator;
 import de.ovgu.featureide.fm.core.io.LazyReader;
 import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.ProblemList;
 import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
 
 /**
@@ -84,10 +96,94 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 
 	protected final List<Problem> localProblems = new ArrayList<>();
 
+	protected boolean streaming = false;
+
 	public XmlFeatureModelFormat() {}
 
 	protected XmlFeatureModelFormat(XmlFeatureModelFormat oldFormat) {
 		validator = oldFormat.validator;
+		streaming = oldFormat.streaming;
+	}
+
+	/**
+	 * Selects how feature models are read and written. If {@code true}, a StAX pull parser ({@link XmlFeatureModelStreamReader}) and a streaming writer
+	 * ({@link XmlFeatureModelStreamWriter}) are used, which do not build an intermediate DOM. Otherwise, the DOM-based methods {@link #readDocument} and
+	 * {@link #writeDocument} are used.<br> Both variants produce the same feature model and the same output. The streaming variant does not call any of the
+	 * DOM-based methods, so subclasses that override them should not enable it. The setting is passed on to all instances created by {@link #getInstance()}.
+	 *
+	 * @param streaming whether to use the streaming reader and writer (default is {@code false})
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel object, CharSequence source) {
+		return streaming ? readStream(object, new StringReader(source.toString())) : super.read(object, source);
+	}
+
+	@Override
+	public ProblemList read(IFeatureModel object, Reader source, Path path) throws IOException {
+		return streaming ? readStream(object, source) : super.read(object, source, path);
+	}
+
+	private ProblemList readStream(IFeatureModel object, Reader source) {
+		this.object = object;
+
+		final ProblemList lastWarnings = new ProblemList();
+		XMLStreamReader reader = null;
+		try {
+			reader = XMLInputFactory.newInstance().createXMLStreamReader(source);
+			new XmlFeatureModelStreamReader(this).read(reader);
+			lastWarnings.addAll(localProblems);
+		} catch (final XMLStreamException e) {
+			// The message of a parse error is prefixed by its location, which is already part of the problem
+			final String message = e.getMessage();
+			final int messageStart = message == null ? -1 : message.indexOf("Message: ");
+			lastWarnings.add(new Problem(messageStart < 0 ? message : message.substring(messageStart + 9),
+					e.getLocation() == null ? 0 : e.getLocation().getLineNumber(), e));
+		} catch (final UnsupportedModelException e) {
+			lastWarnings.add(new Problem(e, e.lineNumber));
+		} catch (final Exception e) {
+			lastWarnings.add(new Problem(e));
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (final XMLStreamException e) {}
+			}
+		}
+		return lastWarnings;
+	}
+
+	@Override
+	public String write(IFeatureModel object) {
+		if (streaming) {
+			final StringWriter writer = new StringWriter();
+			try {
+				write(object, writer);
+			} catch (final IOException e) {
+				Logger.logError(e);
+				return "";
+			}
+			return writer.toString();
+		} else {
+			return super.write(object);
+		}
+	}
+
+	@Override
+	public void write(IFeatureModel object, Writer target) throws IOException {
+		if (streaming) {
+			this.object = object;
+			new XmlFeatureModelStreamWriter(object, target).write();
+		} else {
+			super.write(object, target);
+		}
 	}
 
 	@Override
@@ -447,7 +543,10 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	}
 
 	protected String getDescription(final Node e) {
-		String description = e.getTextContent();
+		return getDescription(e.getTextContent());
+	}
+
+	protected String getDescription(String description) {
 		// NOTE: THe following code is used for backwards compatibility. It replaces spaces and tabs that were added to the XML for indentation, but don't
 		// belong to the actual description.
 		if (description != null) {
@@ -460,7 +559,13 @@ public class XmlFeatureModelFormat extends AXMLFormat<IFeatureModel> implements
 	 * Reads the tag string from the xml file into a set of tags for a constraint
 	 */
 	protected Set<String> getTags(final Node e) {
-		final String tags = e.getTextContent();
+		return getTags(e.getTextContent());
+	}
+
+	/**
+	 * Splits a comma separated tag string into a set of tags for a constraint
+	 */
+	protected Set<String> getTags(final String tags) {
 		final String[] tagArray = tags.split(",");
 		final Set<String> tagSet = new HashSet<>();
 
@@ -0,0 +1,559 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.ABSTRACT;
+import static de.ovgu.featureide.fm.core.localization.StringTable.COMMENTS;
+import static de.ovgu.featureide.fm.core.localization.StringTable.HIDDEN;
+import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
+import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
+import static de.ovgu.featureide.fm.core.localization.StringTable.WRONG_SYNTAX;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.prop4j.And;
+import org.prop4j.AtMost;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.Problem.Severity;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Reads a feature model in the FeatureIDE XML format with a StAX pull parser.<br> In contrast to {@link XmlFeatureModelFormat#readDocument}, no DOM is
+ * built. Features, constraints, and properties are created directly while the document is traversed. Line numbers of problems are taken from the current
+ * location of the parser.<br> References from constraints and the feature order to features are resolved after the whole document has been read, such that
+ * the order of the sections within the document does not matter.
+ *
+ * @author Sebastian Krieter
+ */
+class XmlFeatureModelStreamReader implements XMLFeatureModelTags {
+
+	private static final class Reference {
+
+		private final String name;
+		private final int line;
+
+		private Reference(String name, int line) {
+			this.name = name;
+			this.line = line;
+		}
+
+	}
+
+	private final XmlFeatureModelFormat format;
+	private final IFeatureModel object;
+	private final IFeatureModelFactory factory;
+
+	private final List<IConstraint> constraints = new ArrayList<>();
+	private final List<Reference> constraintReferences = new ArrayList<>();
+	private final List<Reference> orderReferences = new ArrayList<>();
+
+	private XMLStreamReader reader;
+
+	XmlFeatureModelStreamReader(XmlFeatureModelFormat format) {
+		this.format = format;
+		object = format.object;
+		factory = FMFactoryManager.getInstance().getFactory(object);
+	}
+
+	void read(XMLStreamReader reader) throws XMLStreamException, UnsupportedModelException {
+		this.reader = reader;
+		object.reset();
+
+		int featureModelCount = 0;
+		while (reader.hasNext()) {
+			if ((reader.next() == XMLStreamConstants.START_ELEMENT) && FEATURE_MODEL.equals(reader.getLocalName())) {
+				if (featureModelCount++ == 1) {
+					format.addProblem(new Problem("Multiple nodes of " + FEATURE_MODEL + " defined.", 0, Severity.WARNING));
+				}
+				readFeatureModel();
+			}
+		}
+		if (featureModelCount == 0) {
+			throw new UnsupportedModelException("Node " + FEATURE_MODEL + " not defined!", 0);
+		}
+
+		for (final Reference reference : constraintReferences) {
+			checkFeature(reference);
+		}
+		for (final IConstraint constraint : constraints) {
+			object.addConstraint(constraint);
+		}
+		if (!orderReferences.isEmpty()) {
+			final ArrayList<String> order = new ArrayList<>(orderReferences.size());
+			for (final Reference reference : orderReferences) {
+				checkFeature(reference);
+				order.add(reference.name);
+			}
+			object.setFeatureOrderList(order);
+		}
+
+		if (object.getStructure().getRoot() == null) {
+			throw new UnsupportedModelException(WRONG_SYNTAX, 1);
+		}
+	}
+
+	private void readFeatureModel() throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		int structCount = 0, constraintsCount = 0, commentsCount = 0, featureOrderCount = 0, calculationsCount = 0, propertiesCount = 0;
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case STRUCT:
+				structCount++;
+				readFeatures(null);
+				break;
+			case CONSTRAINTS:
+				constraintsCount++;
+				readConstraints();
+				break;
+			case COMMENTS:
+				commentsCount++;
+				readComments();
+				break;
+			case FEATURE_ORDER:
+				featureOrderCount++;
+				readFeatureOrder();
+				break;
+			case CALCULATIONS:
+				calculationsCount++;
+				readCalculations();
+				break;
+			case PROPERTIES:
+				propertiesCount++;
+				readFeatureModelProperties();
+				break;
+			default:
+				skipElement();
+				break;
+			}
+		}
+		if (structCount == 0) {
+			throw new UnsupportedModelException("Node " + STRUCT + " not defined!", line);
+		}
+		checkCount(STRUCT, structCount, line);
+		checkCount(CONSTRAINTS, constraintsCount, line);
+		checkCount(COMMENTS, commentsCount, line);
+		checkCount(FEATURE_ORDER, featureOrderCount, line);
+		checkCount(CALCULATIONS, calculationsCount, line);
+		checkCount(PROPERTIES, propertiesCount, line);
+	}
+
+	private void checkCount(String nodeName, int count, int line) {
+		if (count > 1) {
+			addWarning("Multiple nodes of " + nodeName + " defined.", line);
+		}
+	}
+
+	private void readFeatures(IFeature parent) throws XMLStreamException, UnsupportedModelException {
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case DESCRIPTION:
+				if (parent != null) {
+					final String description = readText();
+					if (!description.isEmpty()) {
+						parent.getProperty().setDescription(format.getDescription(description));
+					}
+				} else {
+					addWarning("Misplaced description element", getLine());
+					skipElement();
+				}
+				break;
+			case GRAPHICS:
+			case PROPERTY:
+				if (parent != null) {
+					readProperty(parent.getCustomProperties(), GRAPHICS.equals(nodeName) ? GRAPHICS : null);
+				} else {
+					addWarning("Misplaced " + nodeName + " element", getLine());
+					skipElement();
+				}
+				break;
+			case AND:
+			case OR:
+			case ALT:
+			case FEATURE:
+				readFeature(parent, nodeName);
+				break;
+			default:
+				addWarning("Unknown feature type: " + nodeName, getLine());
+				skipElement();
+			}
+		}
+	}
+
+	private void readFeature(IFeature parent, String nodeName) throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		boolean mandatory = false;
+		boolean _abstract = false;
+		boolean hidden = false;
+		String name = "";
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(ABSTRACT)) {
+				_abstract = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(MANDATORY)) {
+				mandatory = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(NAME)) {
+				name = attributeValue;
+			} else if (attributeName.equals(HIDDEN)) {
+				hidden = attributeValue.equals(TRUE);
+			} else if (attributeName.equals(COORDINATES)) {
+				// Legacy case, for backwards compatibility
+			} else {
+				addWarning("Unknown feature attribute: " + attributeName, line);
+			}
+		}
+
+		if (object.getFeature(name) != null) {
+			throw new UnsupportedModelException("Duplicate entry for feature: " + name, line);
+		}
+
+		if ((format.validator != null) && !format.validator.isValidFeatureName(name)) {
+			format.addProblem(new Problem(name + " is not a valid feature name", line, Severity.ERROR));
+		}
+
+		final IFeature f = factory.createFeature(object, name);
+		switch (nodeName) {
+		case AND:
+			f.getStructure().setAnd();
+			break;
+		case OR:
+			f.getStructure().setOr();
+			break;
+		case ALT:
+			f.getStructure().setAlternative();
+			break;
+		default:
+			break;
+		}
+
+		f.getStructure().setAbstract(_abstract);
+		f.getStructure().setMandatory(mandatory);
+		f.getStructure().setHidden(hidden);
+
+		object.addFeature(f);
+		if (parent == null) {
+			object.getStructure().setRoot(f.getStructure());
+		} else {
+			parent.getStructure().addChild(f.getStructure());
+		}
+		readFeatures(f);
+	}
+
+	private void readConstraints() throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(RULE)) {
+				final List<String> unknownAttributes = new ArrayList<>(0);
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					final String attributeName = reader.getAttributeLocalName(i);
+					if (!attributeName.equals(COORDINATES)) {
+						unknownAttributes.add(attributeName);
+					}
+				}
+				final int ruleLine = getLine();
+				final IConstraint constraint = factory.createConstraint(object, null);
+				final LinkedList<Node> constraintNodeList = readConstraintNodes(constraint);
+				if (constraintNodeList.isEmpty()) {
+					addWarning("Missing elements", line);
+				} else if (constraintNodeList.size() > 1) {
+					addWarning("Too many elements", line);
+				} else {
+					constraint.setNode(constraintNodeList.getFirst());
+					for (final String attributeName : unknownAttributes) {
+						addWarning("Unknown constraint attribute: " + attributeName, ruleLine);
+					}
+					constraints.add(constraint);
+				}
+			} else {
+				addWarning("Unknown constraint node: " + nodeName, getLine());
+				skipElement();
+			}
+		}
+	}
+
+	private LinkedList<Node> readConstraintNodes(IConstraint parent) throws XMLStreamException, UnsupportedModelException {
+		final LinkedList<Node> nodes = new LinkedList<>();
+		LinkedList<Node> children;
+		while (nextChild()) {
+			final int line = getLine();
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case DESCRIPTION:
+				if (parent != null) {
+					parent.setDescription(format.getDescription(readText()));
+				} else {
+					addWarning("Misplaced description element", line);
+					skipElement();
+				}
+				break;
+			case GRAPHICS:
+			case PROPERTY:
+				if (parent != null) {
+					readProperty(parent.getCustomProperties(), GRAPHICS.equals(nodeName) ? GRAPHICS : null);
+				} else {
+					addWarning("Misplaced " + nodeName + " element", line);
+					skipElement();
+				}
+				break;
+			case DISJ:
+				nodes.add(new Or(readConstraintNodes(null)));
+				break;
+			case CONJ:
+				nodes.add(new And(readConstraintNodes(null)));
+				break;
+			case EQ:
+				children = readConstraintNodes(null);
+				checkChildren(children, 2, line);
+				nodes.add(new Equals(children.get(0), children.get(1)));
+				break;
+			case IMP:
+				children = readConstraintNodes(null);
+				checkChildren(children, 2, line);
+				nodes.add(new Implies(children.get(0), children.get(1)));
+				break;
+			case NOT:
+				children = readConstraintNodes(null);
+				checkChildren(children, 1, line);
+				nodes.add(new Not(children.getFirst()));
+				break;
+			case ATMOST1:
+				nodes.add(new AtMost(1, readConstraintNodes(null)));
+				break;
+			case VAR:
+				final String featureName = readText();
+				constraintReferences.add(new Reference(featureName, line));
+				nodes.add(new Literal(featureName));
+				break;
+			case TAGS:
+				if (parent != null) {
+					parent.setTags(format.getTags(readText()));
+				} else {
+					addWarning("Misplaced tags element", line);
+					skipElement();
+				}
+				break;
+			default:
+				addWarning("Unknown constraint type: " + nodeName, line);
+				skipElement();
+			}
+		}
+		return nodes;
+	}
+
+	private void checkChildren(List<Node> children, int count, int line) throws UnsupportedModelException {
+		if (children.size() < count) {
+			throw new UnsupportedModelException("Missing elements", line);
+		}
+	}
+
+	private void readComments() throws XMLStreamException {
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			if (nodeName.equals(C)) {
+				object.getProperty().addComment(readText());
+			} else {
+				addWarning("Unknown comment attribute: " + nodeName, getLine());
+				skipElement();
+			}
+		}
+	}
+
+	private void readFeatureOrder() throws XMLStreamException, UnsupportedModelException {
+		final int line = getLine();
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			final String attributeName = reader.getAttributeLocalName(i);
+			final String attributeValue = reader.getAttributeValue(i);
+			if (attributeName.equals(USER_DEFINED)) {
+				object.setFeatureOrderUserDefined(attributeValue.equals(TRUE));
+			} else if (attributeName.equals(NAME)) {
+				orderReferences.add(new Reference(attributeValue, line));
+			} else {
+				throw new UnsupportedModelException("Unknown feature order attribute: " + attributeName, line);
+			}
+		}
+		while (nextChild()) {
+			readFeatureOrder();
+		}
+	}
+
+	private void readCalculations() throws XMLStreamException {
+		final int line = getLine();
+		readAttribute(CALCULATE_AUTO, line);
+		readAttribute(CALCULATE_CONSTRAINTS, line);
+		readAttribute(CALCULATE_FEATURES, line);
+		readAttribute(CALCULATE_REDUNDANT, line);
+		readAttribute(CALCULATE_TAUTOLOGY, line);
+		skipElement();
+	}
+
+	private void readAttribute(String key, int line) {
+		final String value = reader.getAttributeValue(null, key);
+		if (value != null) {
+			if (object.getProperty().has(key, CALCULATIONS)) {
+				addWarning("Redundant property definition for key: " + key, line);
+			} else {
+				object.getProperty().set(key, CALCULATIONS, value);
+			}
+		}
+	}
+
+	private void readFeatureModelProperties() throws XMLStreamException {
+		while (nextChild()) {
+			final String nodeName = reader.getLocalName();
+			switch (nodeName) {
+			case GRAPHICS:
+			case CALCULATIONS:
+				readProperty(object.getProperty(), nodeName);
+				break;
+			case PROPERTY:
+				readProperty(object.getProperty(), null);
+				break;
+			default:
+				skipElement();
+				break;
+			}
+		}
+	}
+
+	private void readProperty(IPropertyContainer properties, String type) throws XMLStreamException {
+		final int line = getLine();
+		final String key = reader.getAttributeValue(null, KEY);
+		final String value = reader.getAttributeValue(null, VALUE);
+		if ((key == null) || (value == null)) {
+			addWarning("Missing one of the required attributes: " + KEY + " or " + VALUE, line);
+		} else {
+			if (type == null) {
+				type = reader.getAttributeValue(null, TYPE);
+				if (type == null) {
+					type = TYPE_CUSTOM;
+				}
+			}
+			if (properties.has(key, type)) {
+				addWarning("Redundant property definition for key: " + key, line);
+			} else {
+				properties.set(key, type, value);
+			}
+		}
+		skipElement();
+	}
+
+	private void checkFeature(Reference reference) throws UnsupportedModelException {
+		if (object.getFeature(reference.name) == null) {
+			throw new UnsupportedModelException("Feature \"" + reference.name + "\" does not exists", reference.line);
+		}
+	}
+
+	private void addWarning(String message, int line) {
+		format.addProblem(new Problem(message, line, Severity.WARNING));
+	}
+
+	private int getLine() {
+		return reader.getLocation().getLineNumber();
+	}
+
+	/**
+	 * Advances to the next child element of the current element.
+	 *
+	 * @return {@code true} if the reader is positioned at the start of a child element, {@code false} if the end of the current element was reached.
+	 */
+	private boolean nextChild() throws XMLStreamException {
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				return true;
+			case XMLStreamConstants.END_ELEMENT:
+				return false;
+			default:
+				break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Skips the current element including all of its children.
+	 */
+	private void skipElement() throws XMLStreamException {
+		for (int depth = 1; depth > 0;) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			default:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the text content of the current element and all of its children and advances to the end of the current element.
+	 *
+	 * @return the text content.
+	 */
+	private String readText() throws XMLStreamException {
+		final StringBuilder sb = new StringBuilder();
+		for (int depth = 1; depth > 0;) {
+			switch (reader.next()) {
+			case XMLStreamConstants.START_ELEMENT:
+				depth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				depth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.CDATA:
+			case XMLStreamConstants.SPACE:
+			case XMLStreamConstants.ENTITY_REFERENCE:
+				sb.append(reader.getText());
+				break;
+			default:
+				break;
+			}
+		}
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,381 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static de.ovgu.featureide.fm.core.localization.StringTable.ABSTRACT;
+import static de.ovgu.featureide.fm.core.localization.StringTable.COMMENTS;
+import static de.ovgu.featureide.fm.core.localization.StringTable.HIDDEN;
+import static de.ovgu.featureide.fm.core.localization.StringTable.MANDATORY;
+import static de.ovgu.featureide.fm.core.localization.StringTable.NOT;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Set;
+
+import org.prop4j.And;
+import org.prop4j.AtMost;
+import org.prop4j.Equals;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.fm.core.base.FeatureUtils;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeature;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureStructure;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer;
+import de.ovgu.featureide.fm.core.base.IPropertyContainer.Entry;
+
+/**
+ * Writes a feature model in the FeatureIDE XML format directly to a {@link Writer}.<br> In contrast to {@link XmlFeatureModelFormat#writeDocument}, no DOM is
+ * built and no transformer is involved. The output is identical to the one of the DOM-based writer, i.e., elements are indented by tabs, attributes are
+ * sorted by name, and multi-line text is split into trimmed lines.
+ *
+ * @author Sebastian Krieter
+ */
+class XmlFeatureModelStreamWriter implements XMLFeatureModelTags {
+
+	private static final String HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n";
+
+	private final IFeatureModel object;
+	private final Writer out;
+
+	private int indentLevel = 0;
+
+	XmlFeatureModelStreamWriter(IFeatureModel object, Writer out) {
+		this.object = object;
+		this.out = out;
+	}
+
+	void write() throws IOException {
+		out.write(HEADER);
+		openElement(FEATURE_MODEL);
+		writeProperties();
+		writeFeatures();
+		writeConstraints();
+		writeComments();
+		writeFeatureOrder();
+		closeElement(FEATURE_MODEL);
+	}
+
+	private void writeProperties() throws IOException {
+		if (!object.getProperty().getProperties().isEmpty()) {
+			openElement(PROPERTIES);
+			writeProperties(object.getProperty());
+			closeElement(PROPERTIES);
+		}
+	}
+
+	private void writeFeatures() throws IOException {
+		final IFeature root = FeatureUtils.getRoot(object);
+		if (root == null) {
+			emptyElement(STRUCT);
+		} else {
+			openElement(STRUCT);
+			writeFeatureTreeRec(root);
+			closeElement(STRUCT);
+		}
+	}
+
+	private void writeConstraints() throws IOException {
+		if (!object.getConstraints().isEmpty()) {
+			openElement(CONSTRAINTS);
+			for (final IConstraint constraint : object.getConstraints()) {
+				openElement(RULE);
+				writeDescription(constraint.getDescription());
+				writeProperties(constraint.getCustomProperties());
+				writeTags(constraint.getTags());
+				writePropositionalConstraints(constraint.getNode());
+				closeElement(RULE);
+			}
+			closeElement(CONSTRAINTS);
+		}
+	}
+
+	private void writeComments() throws IOException {
+		if (!object.getProperty().getComments().isEmpty()) {
+			openElement(COMMENTS);
+			for (final String comment : object.getProperty().getComments()) {
+				textElement(C, comment);
+			}
+			closeElement(COMMENTS);
+		}
+	}
+
+	private void writeFeatureOrder() throws IOException {
+		if (object.isFeatureOrderUserDefined()) {
+			openElement(FEATURE_ORDER, USER_DEFINED, TRUE);
+			Collection<String> featureOrderList = object.getFeatureOrderList();
+
+			if (featureOrderList.isEmpty()) {
+				featureOrderList = FeatureUtils.extractConcreteFeaturesAsStringList(object);
+			}
+
+			for (final String featureName : featureOrderList) {
+				emptyElement(FEATURE, NAME, featureName);
+			}
+			closeElement(FEATURE_ORDER);
+		}
+	}
+
+	private void writePropositionalConstraints(Node node) throws IOException {
+		if (node == null) {
+			return;
+		}
+
+		final String op;
+		if (node instanceof Literal) {
+			final Literal literal = (Literal) node;
+			if (!literal.positive) {
+				openElement(NOT);
+				textElement(VAR, String.valueOf(literal.var));
+				closeElement(NOT);
+			} else {
+				textElement(VAR, String.valueOf(literal.var));
+			}
+			return;
+		} else if (node instanceof Or) {
+			op = DISJ;
+		} else if (node instanceof Equals) {
+			op = EQ;
+		} else if (node instanceof Implies) {
+			op = IMP;
+		} else if (node instanceof And) {
+			op = CONJ;
+		} else if (node instanceof Not) {
+			op = NOT;
+		} else if (node instanceof AtMost) {
+			op = ATMOST1;
+		} else {
+			op = UNKNOWN;
+		}
+
+		final Node[] children = node.getChildren();
+		if ((children == null) || (children.length == 0)) {
+			emptyElement(op);
+		} else {
+			openElement(op);
+			for (final Node child : children) {
+				writePropositionalConstraints(child);
+			}
+			closeElement(op);
+		}
+	}
+
+	private void writeFeatureTreeRec(IFeature feat) throws IOException {
+		final IFeatureStructure structure = feat.getStructure();
+		final String description = feat.getProperty().getDescription();
+		final boolean hasDescription = (description != null) && !description.trim().isEmpty();
+		final boolean hasProperties = hasProperties(feat.getCustomProperties());
+
+		final String nodeName;
+		if (!structure.hasChildren()) {
+			nodeName = FEATURE;
+		} else if (structure.isAnd()) {
+			nodeName = AND;
+		} else if (structure.isOr()) {
+			nodeName = OR;
+		} else if (structure.isAlternative()) {
+			nodeName = ALT;
+		} else {
+			nodeName = UNKNOWN;
+		}
+
+		final boolean mandatory = structure.isMandatory() && ((structure.getParent() == null) || structure.getParent().isAnd());
+		final String[] attributes = new String[] { //
+			ABSTRACT, structure.isAbstract() ? TRUE : null, //
+			HIDDEN, structure.isHidden() ? TRUE : null, //
+			MANDATORY, mandatory ? TRUE : null, //
+			NAME, feat.getName() };
+
+		if (!structure.hasChildren() && !hasDescription && !hasProperties) {
+			emptyElement(nodeName, attributes);
+		} else {
+			openElement(nodeName, attributes);
+			writeDescription(description);
+			writeProperties(feat.getCustomProperties());
+			for (final IFeatureStructure child : structure.getChildren()) {
+				writeFeatureTreeRec(child.getFeature());
+			}
+			closeElement(nodeName);
+		}
+	}
+
+	private void writeDescription(String description) throws IOException {
+		if ((description != null) && !description.trim().isEmpty()) {
+			textElement(DESCRIPTION, description);
+		}
+	}
+
+	private static boolean hasProperties(IPropertyContainer properties) {
+		for (final Entry property : properties.getProperties()) {
+			if (property.getValue() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeProperties(IPropertyContainer properties) throws IOException {
+		for (final Entry property : properties.getProperties()) {
+			if (property.getValue() != null) {
+				if (GRAPHICS.equals(property.getType())) {
+					emptyElement(GRAPHICS, KEY, property.getKey(), VALUE, property.getValue());
+				} else if (CALCULATIONS.equals(property.getType())) {
+					emptyElement(CALCULATIONS, KEY, property.getKey(), VALUE, property.getValue());
+				} else {
+					emptyElement(PROPERTY, TYPE, property.getType(), KEY, property.getKey(), VALUE, property.getValue());
+				}
+			}
+		}
+	}
+
+	private void writeTags(Set<String> tags) throws IOException {
+		if ((tags != null) && !tags.isEmpty()) {
+			textElement(TAGS, String.join(",", tags));
+		}
+	}
+
+	private void openElement(String name, String... attributes) throws IOException {
+		startTag(name, attributes);
+		out.write(">\n");
+		indentLevel++;
+	}
+
+	private void closeElement(String name) throws IOException {
+		indentLevel--;
+		indent();
+		out.write("</");
+		out.write(name);
+		out.write(">\n");
+	}
+
+	private void emptyElement(String name, String... attributes) throws IOException {
+		startTag(name, attributes);
+		out.write("/>\n");
+	}
+
+	/**
+	 * Writes an element containing only text. Single-line text is written in the same line as the tags, multi-line text is split into trimmed lines, which are
+	 * indented one level deeper than the tags.
+	 */
+	private void textElement(String name, String text) throws IOException {
+		if (text.isEmpty()) {
+			emptyElement(name);
+			return;
+		}
+		final String escapedText = escape(text, false);
+		if (escapedText.indexOf('\n') < 0) {
+			indent();
+			out.write('<');
+			out.write(name);
+			out.write('>');
+			out.write(escapedText);
+			out.write("</");
+			out.write(name);
+			out.write(">\n");
+		} else {
+			openElement(name);
+			for (final String line : escapedText.split("\n")) {
+				final String trimmedLine = line.trim();
+				if (!trimmedLine.isEmpty()) {
+					indent();
+					out.write(trimmedLine);
+					out.write('\n');
+				}
+			}
+			closeElement(name);
+		}
+	}
+
+	/**
+	 * Writes a start tag without its closing bracket.
+	 *
+	 * @param name the element name
+	 * @param attributes pairs of attribute name and value, sorted by name. Attributes with a {@code null} value are omitted.
+	 */
+	private void startTag(String name, String... attributes) throws IOException {
+		indent();
+		out.write('<');
+		out.write(name);
+		for (int i = 0; i < attributes.length; i += 2) {
+			final String value = attributes[i + 1];
+			if (value != null) {
+				out.write(' ');
+				out.write(attributes[i]);
+				out.write("=\"");
+				out.write(escape(value, true));
+				out.write('"');
+			}
+		}
+	}
+
+	private void indent() throws IOException {
+		for (int i = 0; i < indentLevel; i++) {
+			out.write('\t');
+		}
+	}
+
+	private static String escape(String text, boolean attribute) {
+		StringBuilder sb = null;
+		final int length = text.length();
+		for (int i = 0; i < length; i++) {
+			final char c = text.charAt(i);
+			final String replacement;
+			switch (c) {
+			case '&':
+				replacement = "&amp;";
+				break;
+			case '<':
+				replacement = "&lt;";
+				break;
+			case '>':
+				replacement = "&gt;";
+				break;
+			case '"':
+				replacement = attribute ? "&quot;" : null;
+				break;
+			case '\n':
+			case '\t':
+				replacement = attribute ? "&#" + (int) c + ";" : null;
+				break;
+			default:
+				replacement = (c < ' ') ? "&#" + (int) c + ";" : null;
+				break;
+			}
+			if (replacement != null) {
+				if (sb == null) {
+					sb = new StringBuilder(length + 16);
+					sb.append(text, 0, i);
+				}
+				sb.append(replacement);
+			} else if (sb != null) {
+				sb.append(c);
+			}
+		}
+		return sb == null ? text : sb.toString();
+	}
+
+}
@@ -65,6 +65,8 @@ public class SliceFeatureModel implements LongRunningMethod<IFeatureModel> {
 	private final Collection<String> featureNames;
 	private final IFeatureModel featureModel;
 
+	private int parallelism = 1;
+
 	/**
 	 * Provide access to the internal model.
 	 */
@@ -107,7 +109,24 @@ public class SliceFeatureModel implements LongRunningMethod<IFeatureModel> {
 		monitor.setTaskName("Slicing Feature Model Formula");
 		final ArrayList<String> removeFeatures = new ArrayList<>(FeatureUtils.getFeatureNames(featureModel));
 		removeFeatures.removeAll(featureNames);
-		return LongRunningWrapper.runMethod(new CNFSlicer(formula.getCNF(), removeFeatures), monitor.subTask(1));
+		final CNFSlicer slicer = new CNFSlicer(formula.getCNF(), removeFeatures);
+		slicer.setParallelism(parallelism);
+		return LongRunningWrapper.runMethod(slicer, monitor.subTask(1));
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the number of threads that are used for slicing the feature model formula.
+	 *
+	 * @param parallelism the number of worker threads
+	 *
+	 * @see CNFSlicer#setParallelism(int)
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
 	}
 
 	private IFeatureModel sliceTree(Collection<String> selectedFeatureNames, IFeatureModel orgFeatureModel, IFeatureModelFactory factory, IMonitor<?> monitor) {
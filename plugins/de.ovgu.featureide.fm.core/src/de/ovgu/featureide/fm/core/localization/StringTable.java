@@ -567,6 +567,10 @@ public class StringTable {
 	public static final String CONFIGURATION_DIALOGS_CONSTRAINT_REMEMBER_TOOLTIP =
 		"Don't show tooltip asking if you want to open the constraint view when starting FeatureIDE.";
 	public static final String CONFIGURATION_DIALOGS_CONSTRAINT_DECISION_TOOLTIP = "Open Constraint View when starting FeatureIDE.";
+	public static final String CONFIGURATION_PROPAGATION = "Configuration Propagation";
+	public static final String CONFIGURATION_PROPAGATION_KNOWLEDGE_COMPILATION_TEXT = "Use knowledge compilation (d-DNNF) to compute automatic selections.";
+	public static final String CONFIGURATION_PROPAGATION_KNOWLEDGE_COMPILATION_TOOLTIP =
+		"The configuration editor compiles the feature model into a d-DNNF in the background and uses it for propagation once the compilation has finished.";
 	public static final String THE_CONFIGURATION_EDITOR_PROVIDES_FEATURE_HIGHLIGHTING_FOR_INVALID_CONFIGURATIONS_IN_ODER_TO_FIND_VALID_CONFIGURATIONS_ =
 		"The configuration editor provides feature highlighting for invalid configurations in oder to find valid configurations.";
 	public static final String LOOKS_FOR_OPEN_CLAUSES_IN_THE_CNF_REPRESENTATION_OF_THE_FEATURE_MODEL_AND_HIGHLIGHTS_THE_CORRESPONDING_FEATURES_ =
@@ -92,11 +92,17 @@ import org.eclipse.ui.preferences.ScopedPreferenceStore;
 import org.prop4j.NodeWriter;
 
 import de.ovgu.featureide.fm.core.FeatureModelAnalyzer;
+import de.ovgu.featureide.fm.core.Preferences;
 import de.ovgu.featureide.fm.core.analysis.FeatureProperties;
 import de.ovgu.featureide.fm.core.analysis.FeatureProperties.FeatureStatus;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNF;
 import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
 import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.DDNNFCreator;
 import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.IncrementalUnitPropagator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
 import de.ovgu.featureide.fm.core.base.FeatureUtils;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
@@ -140,6 +146,9 @@ import de.ovgu.featureide.fm.ui.utils.UITreeIterator;
  */
 public abstract class ConfigurationTreeEditorPage extends EditorPart implements IConfigurationEditorPage, ISearchable<TreeItem> {
 
+	/** Preference key for computing the automatic selections with a d-DNNF instead of incremental unit propagation. */
+	public static final String KNOWLEDGE_COMPILATION = "de.ovgu.featureide.fm.ui.editors.configuration.knowledge_compilation";
+
 	private static final String EXPAND_CURRENT_SELECTION_TOOL_TIP = "Expands/Collapses Only The Currently Selected Item";
 	private static final String EXPAND_CURRENT_SELECTION = "Expand Current Selection";
 
@@ -194,6 +203,12 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 	private final FalseOptionalFeatureExplanationCreator falseOptionalFeatureExplanationCreator =
 		FeatureModelExplanationCreatorFactory.getDefault().getFalseOptionalFeatureExplanationCreator();
 
+	/** Propagates the manual selections of the edited configuration incrementally. */
+	private IncrementalUnitPropagator incrementalPropagator = null;
+
+	/** The formula for which a d-DNNF was last scheduled to be compiled in the background. */
+	private FeatureModelFormula compiledFormula = null;
+
 	protected IConfigurationEditor configurationEditor = null;
 
 	protected boolean dirty = false;
@@ -1151,9 +1166,49 @@ public abstract class ConfigurationTreeEditorPage extends EditorPart implements
 				ConfigurationManager.CHANGE_AUTOMATIC);
 	}
 
+	private IncrementalUnitPropagator getIncrementalPropagator(FeatureModelFormula formula) {
+		final CNF cnf = formula.getCNF();
+		if ((incrementalPropagator == null) || (incrementalPropagator.getCnf() != cnf)) {
+			try {
+				incrementalPropagator = new IncrementalUnitPropagator(cnf);
+			} catch (final RuntimeContradictionException e) {
+				incrementalPropagator = null;
+			}
+		}
+		return incrementalPropagator;
+	}
+
+	/**
+	 * Checks whether the automatic selections can be computed with a d-DNNF. If {@link #KNOWLEDGE_COMPILATION knowledge compilation} is enabled, but the
+	 * d-DNNF of the given formula is not available yet, its compilation is started in the background and the incremental propagator is used meanwhile.
+	 */
+	private boolean isKnowledgeCompiled(FeatureModelFormula formula) {
+		if (!Boolean.parseBoolean(Preferences.getPref(KNOWLEDGE_COMPILATION, "false"))) {
+			return false;
+		}
+		final DDNNF ddnnf = formula.getCachedElement(new DDNNFCreator());
+		if (ddnnf != null) {
+			return ddnnf.isComplete();
+		}
+		if (compiledFormula != formula) {
+			compiledFormula = formula;
+			LongRunningWrapper.getRunner(monitor -> formula.getElement(new DDNNFCreator()), "Compiling Feature Model").schedule();
+		}
+		return false;
+	}
+
 	private void update(UpdateStrategy updateStrategy, final Display currentDisplay, ConfigurationManager configurationManager,
 			final FeatureModelManager featureModelManager, final Configuration configuration) {
-		final ConfigurationPropagator propagator = new ConfigurationPropagator(featureModelManager.getPersistentFormula(), configuration);
+		final FeatureModelFormula formula = featureModelManager.getPersistentFormula();
+		final ConfigurationPropagator propagator = new ConfigurationPropagator(formula, configuration);
+		if ((updateStrategy == UpdateStrategy.RESOLVE) || configurationEditor.isAutoSelectFeatures()) {
+			if (isKnowledgeCompiled(formula)) {
+				propagator.setUseKnowledgeCompilation(true);
+				incrementalPropagator = null;
+			} else {
+				propagator.setIncrementalPropagator(getIncrementalPropagator(formula));
+			}
+		}
 
 		final Boolean canBeValid = LongRunningWrapper.runMethod(propagator.canBeValid());
 		final boolean conflicting;
@@ -22,6 +22,7 @@ package de.ovgu.featureide.fm.ui.preferences;
 
 import static de.ovgu.featureide.fm.core.localization.StringTable.CONFIGURATION_COLORING;
 import static de.ovgu.featureide.fm.core.localization.StringTable.CONFIGURATION_DIALOGS;
+import static de.ovgu.featureide.fm.core.localization.StringTable.CONFIGURATION_PROPAGATION;
 import static de.ovgu.featureide.fm.core.localization.StringTable.LOOKS_FOR_OPEN_CLAUSES_IN_THE_CNF_REPRESENTATION_OF_THE_FEATURE_MODEL_AND_HIGHLIGHTS_THE_CORRESPONDING_FEATURES_;
 import static de.ovgu.featureide.fm.core.localization.StringTable.THE_CONFIGURATION_EDITOR_PROVIDES_FEATURE_HIGHLIGHTING_FOR_INVALID_CONFIGURATIONS_IN_ODER_TO_FIND_VALID_CONFIGURATIONS_;
 import static de.ovgu.featureide.fm.core.localization.StringTable.TRIES_TO_FIND_FEATURES_WHICH_LEAD_TO_A_VALID_CONFIGURATION_BY_SOLVING_A_SATISFIABILITY_PROBLEM_;
@@ -43,6 +44,7 @@ import org.eclipse.ui.IWorkbenchPreferencePage;
 
 import de.ovgu.featureide.fm.core.Preferences;
 import de.ovgu.featureide.fm.core.localization.StringTable;
+import de.ovgu.featureide.fm.ui.editors.configuration.ConfigurationTreeEditorPage;
 import de.ovgu.featureide.fm.ui.views.constraintview.util.ConstraintViewDialog;
 import de.ovgu.featureide.fm.ui.wizards.NonGTKFileDialog;
 
@@ -113,6 +115,22 @@ public class FeatureIDEPreferencePage extends PreferencePage implements IWorkben
 		openClauseButton.addSelectionListener(completionSelectionListener);
 		contradictionButton.addSelectionListener(completionSelectionListener);
 
+		final Group propagationGroup = new Group(container, SWT.SHADOW_IN);
+		propagationGroup.setLayout(new RowLayout(SWT.VERTICAL));
+		propagationGroup.setText(CONFIGURATION_PROPAGATION);
+
+		final Button knowledgeCompilationButton = new Button(propagationGroup, SWT.CHECK);
+		knowledgeCompilationButton.setText(StringTable.CONFIGURATION_PROPAGATION_KNOWLEDGE_COMPILATION_TEXT);
+		knowledgeCompilationButton.setToolTipText(StringTable.CONFIGURATION_PROPAGATION_KNOWLEDGE_COMPILATION_TOOLTIP);
+		knowledgeCompilationButton.setSelection(Boolean.valueOf(Preferences.getPref(ConfigurationTreeEditorPage.KNOWLEDGE_COMPILATION, "false")));
+		knowledgeCompilationButton.addSelectionListener(new SelectionAdapter() {
+
+			@Override
+			public void widgetSelected(SelectionEvent event) {
+				Preferences.store(ConfigurationTreeEditorPage.KNOWLEDGE_COMPILATION, String.valueOf(knowledgeCompilationButton.getSelection()));
+			}
+		});
+
 		// dialog Configuration
 		final Group dialogGroup = new Group(container, SWT.SHADOW_IN);
 		dialogGroup.setLayout(new RowLayout(SWT.VERTICAL));
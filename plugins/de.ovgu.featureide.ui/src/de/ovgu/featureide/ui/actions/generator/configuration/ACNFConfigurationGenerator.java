@@ -33,6 +33,7 @@ import de.ovgu.featureide.fm.core.configuration.ConfigurationAnalyzer;
 import de.ovgu.featureide.fm.core.configuration.Selection;
 import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
 import de.ovgu.featureide.fm.core.job.monitor.IMonitor;
+import de.ovgu.featureide.ui.UIPlugin;
 import de.ovgu.featureide.ui.actions.generator.ConfigurationBuilder;
 
 /**
@@ -43,33 +44,57 @@ import de.ovgu.featureide.ui.actions.generator.ConfigurationBuilder;
  */
 public abstract class ACNFConfigurationGenerator extends AConfigurationGenerator {
 
+	/**
+	 * Passes the generated configurations to the builder. The consumer always drains the result queue until its end, as the generator blocks while the queue
+	 * is full. If a configuration cannot be passed, the error is logged and the consumer continues with the next one. If the consumer is interrupted, the
+	 * generator is canceled and the remaining configurations are discarded.
+	 */
 	private class Consumer implements Runnable {
 
-		private boolean run = true;
+		private final IMonitor<?> monitor;
+
+		public Consumer(IMonitor<?> monitor) {
+			this.monitor = monitor;
+		}
 
 		@Override
 		public void run() {
 			final LinkedBlockingQueue<LiteralSet> resultQueue = gen.getResultQueue();
-			while (run) {
+			int count = 0;
+			boolean canceled = false;
+			while (true) {
+				final LiteralSet take;
 				try {
-					final LiteralSet take = resultQueue.take();
-					generateConfiguration(take);
+					take = resultQueue.take();
 				} catch (final InterruptedException e) {
+					if (!canceled) {
+						canceled = true;
+						monitor.cancel();
+					}
+					continue;
+				}
+				if (take == IConfigurationGenerator.END_OF_RESULTS) {
 					break;
 				}
+				if (!canceled) {
+					try {
+						generateConfiguration(take);
+						count++;
+					} catch (final RuntimeException e) {
+						UIPlugin.getDefault().logError(e);
+					}
+				}
 			}
-			setConfigurationNumber(gen.getResult().getResult().size());
-			for (final LiteralSet c : resultQueue) {
-				generateConfiguration(c);
-			}
-		}
-
-		public void stop() {
-			run = false;
+			setConfigurationNumber(count);
 		}
 
 	}
 
+	/**
+	 * Maximum number of generated configurations that are not yet passed to the builder.
+	 */
+	private static final int RESULT_QUEUE_CAPACITY = 1000;
+
 	protected final CNF noAbstractCNF;
 	private final Configuration configuration = new Configuration(snapshot);
 	private IConfigurationGenerator gen;
@@ -98,17 +123,19 @@ public abstract class ACNFConfigurationGenerator extends AConfigurationGenerator
 	@Override
 	public List<LiteralSet> execute(IMonitor<List<LiteralSet>> monitor) throws Exception {
 		gen = getGenerator(noAbstractCNF, (int) builder.configurationNumber);
-		final Consumer consumer = new Consumer();
-		final Thread thread = new Thread(consumer);
+		gen.setResultQueueCapacity(RESULT_QUEUE_CAPACITY);
+		gen.setKeepResults(false);
+		final IMonitor<List<LiteralSet>> generatorMonitor = monitor.subTask(1);
+		final Thread thread = new Thread(new Consumer(generatorMonitor));
 		thread.start();
 		try {
-			LongRunningWrapper.runMethod(gen, monitor.subTask(1));
+			LongRunningWrapper.runMethod(gen, generatorMonitor);
 		} catch (final Exception e) {
 			handleException(e);
+			thread.interrupt();
 			throw e;
 		}
-		consumer.stop();
-		thread.interrupt();
+		thread.join();
 		return null;
 	}
 
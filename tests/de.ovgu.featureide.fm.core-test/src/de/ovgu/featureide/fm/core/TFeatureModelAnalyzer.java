@@ -21,6 +21,8 @@
 package de.ovgu.featureide.fm.core;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -316,4 +318,23 @@ public class TFeatureModelAnalyzer {
 	public void TDeadFeatures_FM10() {
 		assertTrue(!FM10_DATA.getFeatureModelProperties().hasDeadFeatures());
 	}
+	@Test
+	public void TCreateExplanations() {
+		final IFeatureModel featureModel = init("test_2.xml");
+		final FeatureModelAnalyzer analyzer = FeatureModelManager.getAnalyzer(featureModel);
+		final AnalysesCollection analysesCollection = analyzer.analyzeFeatureModel(null);
+		analyzer.createExplanations(null);
+
+		final IFeature feature = featureModel.getFeature("F1");
+		assertTrue(analysesCollection.getFeatureProperty(feature).hasStatus(FeatureStatus.FALSE_OPTIONAL));
+		assertNotNull(analysesCollection.getFeatureProperty(feature).getFalseOptionalExplanation());
+		final IConstraint constraint = featureModel.getConstraints().get(1);
+		assertTrue(analysesCollection.getConstraintProperty(constraint).hasStatus(ConstraintStatus.REDUNDANT));
+		assertNotNull(analysesCollection.getConstraintProperty(constraint).getRedundantExplanation());
+
+		// The batch must not change the creators used for single explanations
+		assertNull(analysesCollection.falseOptionalFeatureExplanationCreator.getSubject());
+		assertNull(analysesCollection.redundantConstraintExplanationCreator.getSubject());
+	}
+
 }
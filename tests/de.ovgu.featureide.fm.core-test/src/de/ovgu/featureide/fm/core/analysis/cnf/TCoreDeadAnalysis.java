@@ -0,0 +1,82 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests whether the parallel mode of {@link CoreDeadAnalysis} computes the same result as the sequential mode.
+ *
+ * @author Sebastian Krieter
+ */
+public class TCoreDeadAnalysis {
+
+	private static void testParallelAnalysis(String modelName) {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile(modelName);
+		final CNF cnf = new FeatureModelFormula(fm).getCNF();
+
+		final LiteralSet sequentialResult = LongRunningWrapper.runMethod(new CoreDeadAnalysis(cnf));
+		for (int parallelism = 2; parallelism <= 8; parallelism <<= 1) {
+			final CoreDeadAnalysis parallelAnalysis = new CoreDeadAnalysis(cnf);
+			parallelAnalysis.setParallelism(parallelism);
+			assertEquals(sequentialResult, LongRunningWrapper.runMethod(parallelAnalysis));
+		}
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		testParallelAnalysis("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void test200Features() {
+		testParallelAnalysis("200-100.xml");
+	}
+
+	@Test
+	public void test500Features() {
+		testParallelAnalysis("500-101.xml");
+	}
+
+	@Test
+	public void testWithAssumptions() {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml");
+		final CNF cnf = new FeatureModelFormula(fm).getCNF();
+		final LiteralSet assumptions = new LiteralSet(cnf.getVariables().getVariable("LoggingFiner", true));
+
+		final CoreDeadAnalysis sequentialAnalysis = new CoreDeadAnalysis(cnf);
+		sequentialAnalysis.setAssumptions(assumptions);
+		final CoreDeadAnalysis parallelAnalysis = new CoreDeadAnalysis(cnf);
+		parallelAnalysis.setAssumptions(assumptions);
+		parallelAnalysis.setParallelism(4);
+
+		assertEquals(LongRunningWrapper.runMethod(sequentialAnalysis), LongRunningWrapper.runMethod(parallelAnalysis));
+	}
+
+}
@@ -0,0 +1,176 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractCNFCreator;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link DDNNF} and the {@link DDNNFCompiler}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TDDNNF {
+
+	private static CNF getCNF(List<LiteralSet> clauses, String... names) {
+		return new CNF(new Variables(Arrays.asList(names)), clauses);
+	}
+
+	private static HashSet<Integer> getCoreDead(CNF cnf, LiteralSet assumptions) {
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(cnf);
+		analysis.setAssumptions(assumptions);
+		final LiteralSet result = LongRunningWrapper.runMethod(analysis);
+		final HashSet<Integer> literals = new HashSet<>();
+		for (final int literal : result.getLiterals()) {
+			literals.add(literal);
+		}
+		return literals;
+	}
+
+	private static HashSet<Integer> toSet(LiteralSet literalSet) {
+		final HashSet<Integer> literals = new HashSet<>();
+		for (final int literal : literalSet.getLiterals()) {
+			literals.add(literal);
+		}
+		return literals;
+	}
+
+	private static void assertSolution(CNF cnf, LiteralSet solution) {
+		final HashSet<Integer> literals = toSet(solution);
+		clauseLoop: for (final LiteralSet clause : cnf.getClauses()) {
+			for (final int literal : clause.getLiterals()) {
+				if (literals.contains(literal)) {
+					continue clauseLoop;
+				}
+			}
+			throw new AssertionError("Unsatisfied clause " + clause);
+		}
+	}
+
+	@Test
+	public void testContradiction() {
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(1), new LiteralSet(-1, 2), new LiteralSet(-2)), "a", "b", "c");
+		final DDNNF ddnnf = new DDNNFCompiler(cnf).compile();
+		assertTrue(ddnnf.isComplete());
+		assertEquals(BigInteger.ZERO, ddnnf.countSolutions(null));
+		assertFalse(ddnnf.isSatisfiable(null));
+		assertNull(ddnnf.getImpliedLiterals(null));
+		assertNull(ddnnf.getRandomSolution(null, new Random(0)));
+	}
+
+	@Test
+	public void testIndependentComponents() {
+		// (a | b) & (c | d) & e & (-e | f | -a)
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(1, 2), new LiteralSet(3, 4), new LiteralSet(5), new LiteralSet(-5, 6, -1)), "a", "b", "c", "d", "e",
+				"f");
+		final DDNNF ddnnf = new DDNNFCompiler(cnf).compile();
+		final ModelCounter modelCounter = new ModelCounter(cnf);
+		assertEquals(modelCounter.count(), ddnnf.countSolutions(null));
+		assertEquals(modelCounter.count(new LiteralSet(-1)), ddnnf.countSolutions(new LiteralSet(-1)));
+		assertEquals(BigInteger.ZERO, ddnnf.countSolutions(new LiteralSet(-1, -2)));
+		assertEquals(toSet(new LiteralSet(5)), toSet(ddnnf.getImpliedLiterals(null)));
+		assertEquals(toSet(new LiteralSet(2, 5)), toSet(ddnnf.getImpliedLiterals(new LiteralSet(-1, -6))));
+		assertNull(ddnnf.getImpliedLiterals(new LiteralSet(1, -6)));
+	}
+
+	@Test
+	public void testIncomplete() {
+		final DDNNF ddnnf = new DDNNF(getCNF(Arrays.asList(new LiteralSet(1, 2)), "a", "b"));
+		assertFalse(ddnnf.isComplete());
+		try {
+			ddnnf.countSolutions(null);
+		} catch (final IllegalStateException e) {
+			return;
+		}
+		throw new AssertionError();
+	}
+
+	@Test
+	public void testFeatureModels() {
+		for (final String modelName : new String[] { "car.xml", "basic.xml", "simple.xml", "gpl_medium_model.xml" }) {
+			final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+			final FeatureModelFormula formula = new FeatureModelFormula(fm);
+			final CNF cnf = formula.getCNF();
+			final ModelCounter modelCounter = new ModelCounter(cnf);
+			final DDNNF ddnnf = new DDNNFCompiler(cnf).compile();
+			assertEquals(modelName, modelCounter.count(), ddnnf.countSolutions(null));
+			assertEquals(modelName, getCoreDead(cnf, new LiteralSet()), toSet(ddnnf.getImpliedLiterals(null)));
+
+			for (int i = 1; i <= Math.min(6, cnf.getVariables().size()); i++) {
+				final LiteralSet assumptions = new LiteralSet(i, -cnf.getVariables().size() + i - 1);
+				assertEquals(modelName, modelCounter.count(assumptions), ddnnf.countSolutions(assumptions));
+				final LiteralSet impliedLiterals = ddnnf.getImpliedLiterals(assumptions);
+				assertEquals(modelName, ddnnf.isSatisfiable(assumptions), impliedLiterals != null);
+				if (impliedLiterals != null) {
+					assertEquals(modelName, getCoreDead(cnf, assumptions), toSet(impliedLiterals));
+					for (final LiteralSet solution : ddnnf.getRandomSolutions(assumptions, new Random(i), 10)) {
+						assertSolution(cnf, solution);
+						assertTrue(modelName, toSet(solution).containsAll(toSet(assumptions)));
+					}
+				}
+			}
+
+			final CNF slicedCNF = formula.getElement(new NoAbstractCNFCreator());
+			final DDNNF slicedDDNNF = new DDNNFCompiler(slicedCNF).compile();
+			assertEquals(modelName, new ModelCounter(slicedCNF).count(), slicedDDNNF.countSolutions(null));
+			assertNotNull(modelName, slicedDDNNF.getRandomSolution(null, new Random(0)));
+		}
+	}
+
+
+	@Test
+	public void testDeepCompilation() throws InterruptedException {
+		// A single clause over all variables requires one nested decision per variable
+		final String[] names = new String[3000];
+		final int[] literals = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "v" + i;
+			literals[i] = i + 1;
+		}
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(literals)), names);
+		final DDNNF[] ddnnf = new DDNNF[1];
+		final Thread thread = new Thread(null, () -> ddnnf[0] = new DDNNFCompiler(cnf).compile(), "DDNNFCompiler", 1 << 16);
+		thread.start();
+		thread.join();
+		assertNotNull(ddnnf[0]);
+		assertEquals(BigInteger.ONE.shiftLeft(names.length).subtract(BigInteger.ONE), ddnnf[0].countSolutions(null));
+		assertEquals(BigInteger.ONE.shiftLeft(names.length - 1), ddnnf[0].countSolutions(new LiteralSet(1)));
+	}
+
+}
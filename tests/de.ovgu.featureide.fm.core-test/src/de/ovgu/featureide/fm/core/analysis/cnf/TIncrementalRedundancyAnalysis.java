@@ -0,0 +1,140 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.IncrementalRedundancyAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureTreeCNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.RuntimeContradictionException;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.SimpleSatSolver;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests whether {@link IncrementalRedundancyAnalysis} computes the same result as a naive implementation that creates a new solver for each redundancy check.
+ *
+ * @author Sebastian Krieter
+ */
+public class TIncrementalRedundancyAnalysis {
+
+	private static List<LiteralSet> computeExpectedResult(CNF cnf, List<LiteralSet> clauseList, int[] clauseGroupSize) {
+		final boolean[] active = new boolean[clauseList.size()];
+		Arrays.fill(active, true);
+		final List<LiteralSet> result = new ArrayList<>(clauseGroupSize.length);
+		int endIndex = 0;
+		for (final int groupSize : clauseGroupSize) {
+			final int startIndex = endIndex;
+			endIndex += groupSize;
+			Arrays.fill(active, startIndex, endIndex, false);
+			boolean completelyRedundant = true;
+			for (int i = startIndex; i < endIndex; i++) {
+				final CNF activeCNF = new CNF(cnf, true);
+				for (int j = 0; j < active.length; j++) {
+					if (active[j]) {
+						activeCNF.addClause(clauseList.get(j));
+					}
+				}
+				if (!isImplied(activeCNF, clauseList.get(i))) {
+					active[i] = true;
+					completelyRedundant = false;
+				}
+			}
+			result.add(completelyRedundant ? clauseList.get(startIndex) : null);
+		}
+		return result;
+	}
+
+	private static boolean isImplied(CNF cnf, LiteralSet clause) {
+		try {
+			return new SimpleSatSolver(cnf).hasSolution(clause.negate().getLiterals()) == SatResult.FALSE;
+		} catch (final RuntimeContradictionException e) {
+			return true;
+		}
+	}
+
+	private static void testFeatureModel(String modelName) {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile(modelName);
+		final CNF cnf = new FeatureModelFormula(fm).getElement(new FeatureTreeCNFCreator());
+		final List<LiteralSet> clauseList = new ArrayList<>();
+		final int[] clauseGroupSize = new int[fm.getConstraintCount()];
+		int i = 0;
+		for (final IConstraint constraint : fm.getConstraints()) {
+			final List<LiteralSet> clauses = Nodes.convert(cnf.getVariables(), constraint.getNode());
+			clauseList.addAll(clauses);
+			clauseGroupSize[i++] = clauses.size();
+		}
+
+		final List<LiteralSet> expectedResult = computeExpectedResult(cnf, clauseList, clauseGroupSize);
+		for (int parallelism = 1; parallelism <= 4; parallelism <<= 1) {
+			final IncrementalRedundancyAnalysis analysis = new IncrementalRedundancyAnalysis(cnf, clauseList);
+			analysis.setClauseGroupSize(clauseGroupSize);
+			analysis.setParallelism(parallelism);
+			assertEquals(expectedResult, LongRunningWrapper.runMethod(analysis));
+		}
+	}
+
+	@Test
+	public void testBerkeleyDB() {
+		testFeatureModel("berkeley_db_model.xml");
+	}
+
+	@Test
+	public void test500Features() {
+		testFeatureModel("500-101.xml");
+	}
+
+	@Test
+	public void test1000Features() {
+		testFeatureModel("1000-100.xml");
+	}
+
+	@Test
+	public void testUnitClauses() {
+		final Variables variables = new Variables(Arrays.asList("a", "b", "c"));
+		final CNF cnf = new CNF(variables, Arrays.asList(new LiteralSet(-1, 2)));
+		final List<LiteralSet> clauseList = Arrays.asList(new LiteralSet(1), new LiteralSet(2), new LiteralSet(3), new LiteralSet(-1, 3));
+
+		final IncrementalRedundancyAnalysis analysis = new IncrementalRedundancyAnalysis(cnf, clauseList);
+		analysis.setClauseGroupSize(new int[] { 1, 1, 1, 1 });
+		final List<LiteralSet> result = LongRunningWrapper.runMethod(analysis);
+
+		assertEquals(4, result.size());
+		assertNull(result.get(0));
+		assertNotNull(result.get(1));
+		assertNotNull(result.get(2));
+		assertNull(result.get(3));
+		assertEquals(computeExpectedResult(cnf, clauseList, new int[] { 1, 1, 1, 1 }), result);
+	}
+
+}
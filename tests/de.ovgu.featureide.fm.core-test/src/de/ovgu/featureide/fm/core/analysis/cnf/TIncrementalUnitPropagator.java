@@ -0,0 +1,197 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.analysis.CoreDeadAnalysis;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.IncrementalUnitPropagator;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.configuration.Configuration;
+import de.ovgu.featureide.fm.core.configuration.ConfigurationPropagator;
+import de.ovgu.featureide.fm.core.configuration.SelectableFeature;
+import de.ovgu.featureide.fm.core.configuration.Selection;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+import de.ovgu.featureide.fm.core.job.monitor.NullMonitor;
+
+/**
+ * Tests the {@link IncrementalUnitPropagator}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TIncrementalUnitPropagator {
+
+	private static final String[] MODELS = { "car.xml", "gpl_medium_model.xml", "500-100.xml" };
+
+	private static LiteralSet sort(LiteralSet literals) {
+		return literals == null ? null : new LiteralSet(literals, Order.NATURAL);
+	}
+
+	private static LiteralSet getImpliedLiterals(CNF cnf, LiteralSet assumptions) {
+		final CoreDeadAnalysis analysis = new CoreDeadAnalysis(cnf);
+		analysis.setAssumptions(assumptions);
+		return sort(LongRunningWrapper.runMethod(analysis));
+	}
+
+	private static LiteralSet getImpliedLiterals(IncrementalUnitPropagator propagator) {
+		return sort(propagator.getImpliedLiterals(new NullMonitor<LiteralSet>()));
+	}
+
+	@Test
+	public void testPropagation() {
+		// a => b, b => c, c => -d
+		final CNF cnf = new CNF(new Variables(Arrays.asList("a", "b", "c", "d")),
+				Arrays.asList(new LiteralSet(-1, 2), new LiteralSet(-2, 3), new LiteralSet(-3, -4)));
+		final IncrementalUnitPropagator propagator = new IncrementalUnitPropagator(cnf);
+
+		assertTrue(propagator.assume(1));
+		assertEquals(new LiteralSet(2, 3, -4), sort(propagator.getPropagatedLiterals()));
+		assertEquals(new LiteralSet(-2, 3), propagator.getReason(3));
+		assertNull(propagator.getReason(1));
+		assertTrue(propagator.isAssumption(1));
+
+		assertFalse(propagator.assume(4));
+		assertEquals(new LiteralSet(1), propagator.getAssumptions());
+		assertEquals(-4, propagator.getValue(4));
+
+		assertTrue(propagator.retract(1));
+		assertEquals(new LiteralSet(), propagator.getPropagatedLiterals());
+		assertEquals(0, propagator.getValue(3));
+		assertFalse(propagator.retract(1));
+	}
+
+	@Test
+	public void testRetraction() {
+		// a => c, b => c
+		final CNF cnf = new CNF(new Variables(Arrays.asList("a", "b", "c")), Arrays.asList(new LiteralSet(-1, 3), new LiteralSet(-2, 3)));
+		final IncrementalUnitPropagator propagator = new IncrementalUnitPropagator(cnf);
+
+		assertTrue(propagator.assume(1));
+		assertTrue(propagator.assume(2));
+		assertEquals(new LiteralSet(-1, 3), propagator.getReason(3));
+
+		assertTrue(propagator.retract(1));
+		assertEquals(3, propagator.getValue(3));
+		assertEquals(new LiteralSet(-2, 3), propagator.getReason(3));
+
+		assertTrue(propagator.retract(-2));
+		assertEquals(0, propagator.getValue(3));
+		assertArrayEquals(new int[0], propagator.getAssumptions().getLiterals());
+	}
+
+	@Test
+	public void testSatFallback() {
+		// a is core, but cannot be derived by unit propagation, d => b
+		final CNF cnf = new CNF(new Variables(Arrays.asList("a", "b", "c", "d")), Arrays.asList(new LiteralSet(1, 2, 3), new LiteralSet(1, 2, -3),
+				new LiteralSet(1, -2, 3), new LiteralSet(1, -2, -3), new LiteralSet(-4, 2)));
+		final IncrementalUnitPropagator propagator = new IncrementalUnitPropagator(cnf);
+
+		assertEquals(0, propagator.getValue(1));
+		assertEquals(new LiteralSet(1), getImpliedLiterals(propagator));
+
+		assertTrue(propagator.assume(4));
+		assertEquals(new LiteralSet(1, 2), getImpliedLiterals(propagator));
+
+		assertTrue(propagator.retract(4));
+		assertEquals(new LiteralSet(1), getImpliedLiterals(propagator));
+
+		assertTrue(propagator.assume(-1));
+		assertNull(propagator.getImpliedLiterals(new NullMonitor<LiteralSet>()));
+
+		assertTrue(propagator.retract(-1));
+		assertEquals(new LiteralSet(1), getImpliedLiterals(propagator));
+	}
+
+	@Test
+	public void testFeatureModels() {
+		for (final String modelName : MODELS) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			final IncrementalUnitPropagator propagator = new IncrementalUnitPropagator(cnf);
+			final Random random = new Random(0);
+			final List<Integer> assumptions = new ArrayList<>();
+			final int numberOfVariables = cnf.getVariables().size();
+
+			for (int i = 0; i < 40; i++) {
+				if (!assumptions.isEmpty() && (random.nextInt(3) == 0)) {
+					final Integer literal = assumptions.remove(random.nextInt(assumptions.size()));
+					assertTrue(propagator.retract(literal));
+				} else {
+					final int variable = random.nextInt(numberOfVariables) + 1;
+					final int literal = random.nextBoolean() ? variable : -variable;
+					if (!propagator.isAssumption(variable)) {
+						if (propagator.assume(literal)) {
+							assumptions.add(literal);
+						} else {
+							assertEquals(-literal, propagator.getValue(variable));
+						}
+					}
+				}
+				final LiteralSet assumptionSet = propagator.getAssumptions();
+				assertEquals(assumptions.size(), assumptionSet.size());
+				assertEquals(modelName + " " + assumptions, getImpliedLiterals(cnf, assumptionSet), getImpliedLiterals(propagator));
+			}
+		}
+	}
+
+	@Test
+	public void testConfigurationPropagator() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		final IncrementalUnitPropagator incrementalPropagator = new IncrementalUnitPropagator(formula.getCNF());
+		final Configuration configuration = new Configuration(formula);
+		final Configuration expectedConfiguration = new Configuration(formula);
+		final List<SelectableFeature> features = new ArrayList<>(configuration.getFeatures());
+		final Random random = new Random(1);
+
+		for (int i = 0; i < 20; i++) {
+			final SelectableFeature feature = features.get(random.nextInt(features.size()));
+			if (feature.getAutomatic() == Selection.UNDEFINED) {
+				final Selection selection = Selection.values()[random.nextInt(3)];
+				configuration.setManual(feature, selection);
+				expectedConfiguration.setManual(feature.getName(), selection);
+			}
+
+			final ConfigurationPropagator propagator = new ConfigurationPropagator(formula, configuration);
+			propagator.setIncrementalPropagator(incrementalPropagator);
+			LongRunningWrapper.runMethod(propagator.update());
+			LongRunningWrapper.runMethod(new ConfigurationPropagator(formula, expectedConfiguration).update());
+
+			for (final SelectableFeature expectedFeature : expectedConfiguration.getFeatures()) {
+				assertEquals(expectedFeature.getName(), expectedFeature.getSelection(), configuration.getSelectableFeature(expectedFeature.getName()).getSelection());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.NoAbstractCNFCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AllConfigurationGenerator;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link ModelCounter}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TModelCounter {
+
+	private static long enumerate(CNF cnf, LiteralSet assumptions) {
+		final AllConfigurationGenerator generator = new AllConfigurationGenerator(cnf);
+		generator.setAssumptions(assumptions);
+		final List<LiteralSet> solutions = LongRunningWrapper.runMethod(generator);
+		return solutions == null ? 0 : solutions.size();
+	}
+
+	private static CNF getCNF(List<LiteralSet> clauses, String... names) {
+		return new CNF(new Variables(Arrays.asList(names)), clauses);
+	}
+
+	@Test
+	public void testEmptyFormula() {
+		final CNF cnf = getCNF(Arrays.asList(), "a", "b", "c");
+		assertEquals(BigInteger.valueOf(8), new ModelCounter(cnf).count());
+	}
+
+	@Test
+	public void testContradiction() {
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(1), new LiteralSet(-1, 2), new LiteralSet(-2)), "a", "b", "c");
+		assertEquals(BigInteger.ZERO, new ModelCounter(cnf).count());
+	}
+
+	@Test
+	public void testIndependentComponents() {
+		// (a | b) & (c | d) & e
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(1, 2), new LiteralSet(3, 4), new LiteralSet(5)), "a", "b", "c", "d", "e", "f");
+		final ModelCounter modelCounter = new ModelCounter(cnf);
+		assertEquals(BigInteger.valueOf(18), modelCounter.count());
+		assertEquals(BigInteger.valueOf(6), modelCounter.count(new LiteralSet(-1)));
+		assertEquals(BigInteger.ZERO, modelCounter.count(new LiteralSet(-1, -2)));
+		assertEquals(BigInteger.ZERO, modelCounter.count(new LiteralSet(-5)));
+	}
+
+	@Test
+	public void testLargeCount() {
+		final String[] names = new String[200];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "v" + i;
+		}
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(1, 2)), names);
+		assertEquals(BigInteger.valueOf(3).shiftLeft(198), new ModelCounter(cnf).count());
+	}
+
+	@Test
+	public void testFeatureModels() {
+		for (final String modelName : new String[] { "car.xml", "basic.xml", "simple.xml", "gpl_medium_model.xml" }) {
+			final IFeatureModel fm = Commons.loadTestFeatureModelFromFile(modelName);
+			final FeatureModelFormula formula = new FeatureModelFormula(fm);
+			final CNF cnf = formula.getCNF();
+			final ModelCounter modelCounter = new ModelCounter(cnf);
+			assertEquals(modelName, BigInteger.valueOf(enumerate(cnf, null)), modelCounter.count());
+
+			for (int i = 1; i <= Math.min(6, cnf.getVariables().size()); i++) {
+				final LiteralSet assumptions = new LiteralSet(i, -cnf.getVariables().size() + i - 1);
+				assertEquals(modelName, BigInteger.valueOf(enumerate(cnf, assumptions)), modelCounter.count(assumptions));
+			}
+
+			final CNF slicedCNF = formula.getElement(new NoAbstractCNFCreator());
+			assertEquals(modelName, BigInteger.valueOf(enumerate(slicedCNF, null)), new ModelCounter(slicedCNF).count());
+		}
+	}
+
+
+	@Test
+	public void testDeepSearch() throws InterruptedException {
+		// A single clause over all variables requires one nested decision per variable
+		final String[] names = new String[3000];
+		final int[] literals = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = "v" + i;
+			literals[i] = i + 1;
+		}
+		final CNF cnf = getCNF(Arrays.asList(new LiteralSet(literals)), names);
+		final BigInteger[] count = new BigInteger[1];
+		final Thread thread = new Thread(null, () -> count[0] = new ModelCounter(cnf).count(), "ModelCounter", 1 << 16);
+		thread.start();
+		thread.join();
+		assertEquals(BigInteger.ONE.shiftLeft(names.length).subtract(BigInteger.ONE), count[0]);
+	}
+
+}
@@ -0,0 +1,147 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISatSolver.SelectionStrategy;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.PortfolioSatSolver;
+
+/**
+ * Tests the {@link PortfolioSatSolver} against the {@link AdvancedSatSolver}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TPortfolioSatSolver {
+
+	private static CNF loadCNF(String modelName) {
+		return new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile(modelName)).getCNF();
+	}
+
+	private static int[] randomAssignment(Random random, int numberOfVariables, int size) {
+		final int[] assignment = new int[size];
+		for (int i = 0; i < size; i++) {
+			final int var = random.nextInt(numberOfVariables) + 1;
+			assignment[i] = random.nextBoolean() ? var : -var;
+		}
+		return assignment;
+	}
+
+	private static void assertSolution(CNF cnf, int[] assignment, int[] solution) {
+		assertNotNull(solution);
+		clauseLoop: for (final LiteralSet clause : cnf.getClauses()) {
+			for (final int literal : clause.getLiterals()) {
+				if (solution[Math.abs(literal) - 1] == literal) {
+					continue clauseLoop;
+				}
+			}
+			fail(clause.toString());
+		}
+		for (final int literal : assignment) {
+			assertEquals(literal, solution[Math.abs(literal) - 1]);
+		}
+	}
+
+	@Test
+	public void testHasSolution() {
+		for (final String modelName : new String[] { "berkeley_db_model.xml", "200-100.xml" }) {
+			final CNF cnf = loadCNF(modelName);
+			final int numberOfVariables = cnf.getVariables().size();
+			final AdvancedSatSolver solver = new AdvancedSatSolver(cnf);
+			final PortfolioSatSolver portfolio = new PortfolioSatSolver(cnf, 4);
+			portfolio.useSolutionList(10);
+
+			final Random random = new Random(0);
+			for (final SelectionStrategy strategy : new SelectionStrategy[] { SelectionStrategy.ORG, SelectionStrategy.NEGATIVE,
+				SelectionStrategy.POSITIVE, SelectionStrategy.RANDOM }) {
+				portfolio.setSelectionStrategy(strategy);
+				for (int i = 0; i < 100; i++) {
+					final int[] assignment = randomAssignment(random, numberOfVariables, 1 + random.nextInt(4));
+					final SatResult result = portfolio.hasSolution(assignment);
+					assertEquals(solver.hasSolution(assignment), result);
+					if (result == SatResult.TRUE) {
+						assertSolution(cnf, assignment, portfolio.getSolution());
+						assertArrayEquals(portfolio.getInternalSolution(), portfolio.getSolutionList().get(portfolio.getSolutionList().size() - 1));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testAssignment() {
+		final CNF cnf = loadCNF("berkeley_db_model.xml");
+		final int numberOfVariables = cnf.getVariables().size();
+		final AdvancedSatSolver solver = new AdvancedSatSolver(cnf);
+		final PortfolioSatSolver portfolio = new PortfolioSatSolver(cnf, 3);
+
+		final Random random = new Random(1);
+		for (int i = 0; i < 100; i++) {
+			final int[] assignment = randomAssignment(random, numberOfVariables, 1 + random.nextInt(3));
+			solver.assignmentClear(0);
+			solver.assignmentPushAll(assignment);
+			portfolio.assignmentClear(0);
+			portfolio.assignmentPushAll(assignment);
+			final SatResult result = portfolio.hasSolution();
+			assertEquals(solver.hasSolution(), result);
+			if (result == SatResult.TRUE) {
+				assertSolution(cnf, assignment, portfolio.getSolution());
+			} else {
+				for (final int literal : portfolio.getContradictoryAssignment()) {
+					assertTrue(new LiteralSet(assignment).containsLiteral(literal));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testAddClause() {
+		final CNF cnf = loadCNF("200-100.xml");
+		final int numberOfVariables = cnf.getVariables().size();
+		final AdvancedSatSolver solver = new AdvancedSatSolver(cnf);
+		final PortfolioSatSolver portfolio = new PortfolioSatSolver(cnf, 4);
+
+		final Random random = new Random(2);
+		for (int i = 0; i < 20; i++) {
+			final LiteralSet clause = new LiteralSet(randomAssignment(random, numberOfVariables, 3));
+			solver.addClause(clause);
+			portfolio.addClause(clause);
+			for (int j = 0; j < 10; j++) {
+				final int[] assignment = randomAssignment(random, numberOfVariables, 2);
+				assertEquals(solver.hasSolution(assignment), portfolio.hasSolution(assignment));
+			}
+		}
+		assertEquals(4, portfolio.clone().getNumberOfSolvers());
+	}
+
+}
@@ -0,0 +1,260 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+import org.prop4j.Node;
+import org.prop4j.Not;
+import org.prop4j.Or;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.analysis.mig.MIGBuilder;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.IFeatureModelFactory;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the incremental update of a {@link FeatureModelFormula}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TFeatureModelFormula {
+
+	private static List<String> getSortedClauses(CNF cnf) {
+		final List<String> clauses = new ArrayList<>();
+		for (final LiteralSet clause : cnf.getClauses()) {
+			clauses.add(new LiteralSet(clause, Order.NATURAL).toString());
+		}
+		Collections.sort(clauses);
+		return clauses;
+	}
+
+	private static void assertEqualCNF(IFeatureModel featureModel, CNF cnf) {
+		final CNF expectedCNF = new FeatureModelFormula(featureModel).getCNF();
+		assertEquals(expectedCNF.getVariables(), cnf.getVariables());
+		assertEquals(getSortedClauses(expectedCNF), getSortedClauses(cnf));
+	}
+
+	private static void assertSoundMIG(CNF cnf, ModalImplicationGraph mig) {
+		final AdvancedSatSolver solver = new AdvancedSatSolver(cnf);
+		for (final Vertex vertex : mig.getAdjList()) {
+			for (final int strongEdge : vertex.getStrongEdges()) {
+				assertEquals(SatResult.FALSE, solver.hasSolution(vertex.getVar(), -strongEdge));
+			}
+		}
+	}
+
+	private static IFeatureModel loadModel() {
+		return Commons.loadTestFeatureModelFromFile("car.xml");
+	}
+
+	@Test
+	public void testAddConstraint() {
+		final IFeatureModel featureModel = loadModel();
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		final CNF oldCNF = formula.getCNF();
+		final ModalImplicationGraph oldMIG = formula.getElement(new ModalImplicationGraphCreator());
+
+		final int[] oldEdges = oldMIG.getVertex(oldCNF.getVariables().getVariable("CD")).getStrongEdges().clone();
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.addConstraint(FMFactoryManager.getInstance().getFactory(newFeatureModel).createConstraint(newFeatureModel,
+				new Implies(new Literal("CD"), new Literal("Europe"))));
+
+		final FormulaDelta delta = FormulaDelta.compute(featureModel, newFeatureModel);
+		assertNotNull(delta);
+		assertEquals(1, delta.getAddedConstraints().size());
+		assertEquals(0, delta.getRemovedConstraints().size());
+
+		final FeatureModelFormula newFormula = new FeatureModelFormula(newFeatureModel, formula);
+		final CNF newCNF = newFormula.getCNF();
+		assertEqualCNF(newFeatureModel, newCNF);
+		assertSame(oldCNF.getClauses().get(0), newCNF.getClauses().get(0));
+
+		final ModalImplicationGraph newMIG = newFormula.getElement(new ModalImplicationGraphCreator());
+		assertSoundMIG(newCNF, newMIG);
+		final int cd = newCNF.getVariables().getVariable("CD");
+		final int europe = newCNF.getVariables().getVariable("Europe");
+		final int usa = newCNF.getVariables().getVariable("USA");
+		final LiteralSet strongEdges = new LiteralSet(newMIG.getVertex(cd).getStrongEdges().clone());
+		// new edge and its transitive closure
+		assertTrue(strongEdges.containsLiteral(europe));
+		assertTrue(strongEdges.containsLiteral(-usa));
+		assertArrayEquals(oldEdges, oldMIG.getVertex(cd).getStrongEdges());
+	}
+
+	private static boolean hasSameCoreDead(ModalImplicationGraph expected, ModalImplicationGraph actual) {
+		for (int i = 0; i < expected.getAdjList().size(); i++) {
+			if (expected.getAdjList().get(i).isCore() != actual.getAdjList().get(i).isCore()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that both graphs have the same core and dead features and the same strong edges and that each complex clause of the expected graph is also
+	 * contained in the actual graph.
+	 */
+	private static void assertEquivalentMIG(ModalImplicationGraph expected, ModalImplicationGraph actual) {
+		assertEquals(expected.getAdjList().size(), actual.getAdjList().size());
+		final HashSet<LiteralSet> actualComplexClauses = new HashSet<>();
+		for (final LiteralSet clause : actual.getComplexClauses()) {
+			actualComplexClauses.add(new LiteralSet(clause, Order.NATURAL));
+		}
+		for (final LiteralSet clause : expected.getComplexClauses()) {
+			assertTrue(clause.toString(), actualComplexClauses.contains(new LiteralSet(clause, Order.NATURAL)));
+		}
+		for (int i = 0; i < expected.getAdjList().size(); i++) {
+			final Vertex expectedVertex = expected.getAdjList().get(i);
+			final Vertex actualVertex = actual.getAdjList().get(i);
+			assertEquals(expectedVertex.getVar(), actualVertex.getVar());
+			assertEquals(expectedVertex.isCore(), actualVertex.isCore());
+			assertEquals(expectedVertex.isDead(), actualVertex.isDead());
+			final int[] expectedEdges = expectedVertex.getStrongEdges().clone();
+			final int[] actualEdges = actualVertex.getStrongEdges().clone();
+			Arrays.sort(expectedEdges);
+			Arrays.sort(actualEdges);
+			assertArrayEquals(Integer.toString(expectedVertex.getVar()), expectedEdges, actualEdges);
+		}
+	}
+
+	@Test
+	public void testUpdateEqualsNewMIG() {
+		for (final String modelName : new String[] { "car.xml", "berkeley_db_model.xml", "gpl_medium_model.xml" }) {
+			final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile(modelName);
+			final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+			final ModalImplicationGraph oldMIG = formula.getElement(new ModalImplicationGraphCreator());
+			final List<String> names = Arrays.asList(formula.getVariables().getNames()).subList(1, formula.getVariables().size() + 1);
+			final IFeatureModelFactory factory = FMFactoryManager.getInstance().getFactory(featureModel);
+			final Random random = new Random(0);
+			int updateCount = 0;
+			for (int i = 0; i < 40; i++) {
+				final Literal a = new Literal(names.get(random.nextInt(names.size())), random.nextBoolean());
+				final Literal b = new Literal(names.get(random.nextInt(names.size())), random.nextBoolean());
+				final Literal c = new Literal(names.get(random.nextInt(names.size())), random.nextBoolean());
+				final Node constraint = (i % 2) == 0 ? new Implies(a, b) : new Or(a, new Not(b), c);
+				final IFeatureModel newFeatureModel = featureModel.clone();
+				newFeatureModel.addConstraint(factory.createConstraint(newFeatureModel, constraint));
+
+				final FeatureModelFormula newFormula = new FeatureModelFormula(newFeatureModel, formula);
+				final CNF newCNF = newFormula.getCNF();
+				final ModalImplicationGraph expected = LongRunningWrapper.runMethod(new MIGBuilder(newCNF, false));
+				final ModalImplicationGraphCreator creator = new ModalImplicationGraphCreator();
+				creator.init(newFormula);
+				final ModalImplicationGraph updated = creator.update(oldMIG, FormulaDelta.compute(featureModel, newFeatureModel));
+				if ((expected == null) || !hasSameCoreDead(oldMIG, expected)) {
+					assertNull(constraint.toString(), updated);
+				} else {
+					assertNotNull(constraint.toString(), updated);
+					assertEquivalentMIG(expected, updated);
+					updateCount++;
+				}
+			}
+			assertTrue(modelName, updateCount > 0);
+
+			final IFeatureModel newFeatureModel = featureModel.clone();
+			newFeatureModel.addConstraint(factory.createConstraint(newFeatureModel, new Or(new Literal(names.get(0)), new Literal(names.get(1)))));
+			final ModalImplicationGraphCreator completeCreator = new ModalImplicationGraphCreator();
+			completeCreator.setComplete(true);
+			completeCreator.init(new FeatureModelFormula(newFeatureModel, formula));
+			assertNull(completeCreator.update(oldMIG, FormulaDelta.compute(featureModel, newFeatureModel)));
+		}
+	}
+
+	@Test
+	public void testGetCachedElement() {
+		final FeatureModelFormula formula = new FeatureModelFormula(loadModel());
+		assertNull(formula.getCachedElement(new CNFCreator()));
+		final CNF cnf = formula.getCNF();
+		assertSame(cnf, formula.getCachedElement(new CNFCreator()));
+		assertNull(formula.getCachedElement(new EmptyCNFCreator()));
+	}
+
+	@Test
+	public void testRemoveConstraint() {
+		final IFeatureModel featureModel = loadModel();
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		formula.getCNF();
+		formula.getElement(new ModalImplicationGraphCreator());
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.removeConstraint(0);
+
+		final FeatureModelFormula newFormula = new FeatureModelFormula(newFeatureModel, formula);
+		final CNF newCNF = newFormula.getCNF();
+		assertEqualCNF(newFeatureModel, newCNF);
+		assertSoundMIG(newCNF, newFormula.getElement(new ModalImplicationGraphCreator()));
+	}
+
+	@Test
+	public void testRenameFeature() {
+		final IFeatureModel featureModel = loadModel();
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		formula.getCNF();
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.getRenamingsManager().renameFeature("Navigation", "Navi");
+
+		final FormulaDelta delta = FormulaDelta.compute(featureModel, newFeatureModel);
+		assertNotNull(delta);
+		assertTrue(delta.isEmpty());
+		assertEqualCNF(newFeatureModel, new FeatureModelFormula(newFeatureModel, formula).getCNF());
+	}
+
+	@Test
+	public void testChangeStructure() {
+		final IFeatureModel featureModel = loadModel();
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		formula.getCNF();
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.getFeature("Bluetooth").getStructure().setMandatory(true);
+
+		assertNull(FormulaDelta.compute(featureModel, newFeatureModel));
+		assertEqualCNF(newFeatureModel, new FeatureModelFormula(newFeatureModel, formula).getCNF());
+	}
+
+}
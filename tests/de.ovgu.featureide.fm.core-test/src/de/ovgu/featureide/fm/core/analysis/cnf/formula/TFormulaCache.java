@@ -0,0 +1,205 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.formula;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.prop4j.Implies;
+import org.prop4j.Literal;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.mig.ModalImplicationGraph;
+import de.ovgu.featureide.fm.core.analysis.mig.Vertex;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+
+/**
+ * Tests the {@link FormulaCache}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TFormulaCache {
+
+	private Path directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("formulacache");
+	}
+
+	@After
+	public void deleteDirectory() throws IOException {
+		new FormulaCache(directory).clear();
+		Files.deleteIfExists(directory);
+	}
+
+	private FeatureModelFormula createFormula(IFeatureModel featureModel) {
+		final FeatureModelFormula formula = new FeatureModelFormula(featureModel);
+		formula.setCache(new FormulaCache(directory));
+		return formula;
+	}
+
+	@Test
+	public void testLoad() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("gpl_medium_model.xml");
+		final FeatureModelFormula formula = createFormula(featureModel);
+		final CNF cnf = formula.getCNF();
+		final ModalImplicationGraph mig = formula.getElement(new ModalImplicationGraphCreator());
+		assertTrue(Files.isRegularFile(directory.resolve("cnf.bin")));
+		assertTrue(Files.isRegularFile(directory.resolve("mig.bin")));
+
+		final FormulaCache cache = new FormulaCache(directory);
+		final byte[] hash = FormulaCache.computeHash(featureModel);
+		final CNF cachedCNF = cache.load(hash, new CNFCreator() {
+			{
+				init(createFormula(featureModel));
+			}
+		});
+		assertNotNull(cachedCNF);
+		assertEquals(cnf, cachedCNF);
+
+		final ModalImplicationGraph cachedMIG = createFormula(featureModel).getElement(new ModalImplicationGraphCreator());
+		assertEquals(mig.getAdjList().size(), cachedMIG.getAdjList().size());
+		for (int i = 0; i < mig.getAdjList().size(); i++) {
+			final Vertex vertex = mig.getAdjList().get(i);
+			final Vertex cachedVertex = cachedMIG.getAdjList().get(i);
+			assertEquals(vertex.getVar(), cachedVertex.getVar());
+			assertEquals(vertex.getId(), cachedVertex.getId());
+			assertEquals(vertex.isCore(), cachedVertex.isCore());
+			assertEquals(vertex.isDead(), cachedVertex.isDead());
+			assertArrayEquals(vertex.getStrongEdges(), cachedVertex.getStrongEdges());
+			assertArrayEquals(vertex.getComplexClauses(), cachedVertex.getComplexClauses());
+		}
+		assertEquals(mig.getComplexClauses(), cachedMIG.getComplexClauses());
+	}
+
+	@Test
+	public void testInvalidation() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("car.xml");
+		createFormula(featureModel).getCNF();
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.addConstraint(FMFactoryManager.getInstance().getFactory(newFeatureModel).createConstraint(newFeatureModel,
+				new Implies(new Literal("CD"), new Literal("Europe"))));
+		final byte[] hash = FormulaCache.computeHash(featureModel);
+		final byte[] newHash = FormulaCache.computeHash(newFeatureModel);
+		assertFalse(Arrays.equals(hash, newHash));
+		assertArrayEquals(hash, FormulaCache.computeHash(featureModel.clone()));
+
+		final FeatureModelFormula newFormula = createFormula(newFeatureModel);
+		assertNull(new FormulaCache(directory).load(newHash, new CNFCreator() {
+			{
+				init(newFormula);
+			}
+		}));
+		assertEquals(new FeatureModelFormula(newFeatureModel).getCNF(), newFormula.getCNF());
+		assertNotNull(new FormulaCache(directory).load(newHash, new CNFCreator() {
+			{
+				init(newFormula);
+			}
+		}));
+	}
+
+	@Test
+	public void testCorruptedFile() throws IOException {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("car.xml");
+		createFormula(featureModel).getCNF();
+		final Path file = directory.resolve("cnf.bin");
+		final byte[] content = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+		final FeatureModelFormula formula = createFormula(featureModel);
+		assertEquals(new FeatureModelFormula(featureModel).getCNF(), formula.getCNF());
+	}
+
+
+	@Test
+	public void testReplaceLoadedFile() {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("car.xml");
+		final CNF cnf = createFormula(featureModel).getCNF();
+		final FeatureModelFormula formula = createFormula(featureModel);
+		assertEquals(cnf, formula.getCNF());
+
+		final IFeatureModel newFeatureModel = featureModel.clone();
+		newFeatureModel.addConstraint(FMFactoryManager.getInstance().getFactory(newFeatureModel).createConstraint(newFeatureModel,
+				new Implies(new Literal("CD"), new Literal("Europe"))));
+		final FeatureModelFormula newFormula = createFormula(newFeatureModel);
+		final CNF newCNF = newFormula.getCNF();
+		assertNotNull(new FormulaCache(directory).load(FormulaCache.computeHash(newFeatureModel), new CNFCreator() {
+			{
+				init(newFormula);
+			}
+		}));
+		assertEquals(newCNF, createFormula(newFeatureModel).getCNF());
+	}
+
+	@Test
+	public void testNotCacheable() throws IOException {
+		final IFeatureModel featureModel = Commons.loadTestFeatureModelFromFile("car.xml");
+		final FeatureModelFormula formula = createFormula(featureModel);
+		formula.getElement(new EmptyCNFCreator());
+		formula.getElement(new NoAbstractCNFCreator());
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(Arrays.asList(directory.resolve("cnf.bin")), files.collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testManagerCacheOptIn() {
+		final FeatureModelManager manager =
+			FeatureModelManager.getInstance(Commons.getRemoteOrLocalFolder(Commons.TEST_FEATURE_MODEL_PATH).toPath().resolve("car.xml"));
+		assertNotNull(manager);
+		try {
+			assertFalse(manager.isUseFormulaCache());
+			assertNull(manager.getFormulaCache());
+			assertNull(manager.getPersistentFormula().getCache());
+
+			manager.setUseFormulaCache(true);
+			assertNotNull(manager.getFormulaCache());
+			assertEquals(manager.getFormulaCache(), manager.getPersistentFormula().getCache());
+			assertEquals(manager.getFormulaCache(), manager.getVariableFormula().getCache());
+
+			manager.setUseFormulaCache(false);
+			assertNull(manager.getPersistentFormula().getCache());
+			assertNull(manager.getVariableFormula().getCache());
+		} finally {
+			manager.dispose();
+		}
+	}
+
+}
@@ -0,0 +1,133 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.DDNNFCompiler;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.SampleTester;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link DDNNFRandomConfigurationGenerator}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TDDNNFRandomConfigurationGenerator {
+
+	/**
+	 * Quantile of the standard normal distribution for a significance level of 0.001.
+	 */
+	private static final double Z = 3.09;
+
+	private static CNF getCNF(String modelName) {
+		return new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+	}
+
+	private static List<LiteralSet> sample(CNF cnf, int sampleSize, boolean allowDuplicates, LiteralSet assumptions) {
+		final DDNNFRandomConfigurationGenerator generator = new DDNNFRandomConfigurationGenerator(cnf, sampleSize);
+		generator.setAllowDuplicates(allowDuplicates);
+		generator.setAssumptions(assumptions);
+		generator.setRandom(new Random(0));
+		final List<LiteralSet> sample = LongRunningWrapper.runMethod(generator);
+
+		final SampleTester tester = new SampleTester(cnf);
+		tester.setSample(sample);
+		assertFalse(tester.hasInvalidSolutions());
+		return sample;
+	}
+
+	/**
+	 * Checks with a chi-squared test whether all solutions of a formula occur equally often in a random sample.
+	 */
+	private static void testUniformity(String modelName, int samplesPerSolution) {
+		final CNF cnf = getCNF(modelName);
+		final int numberOfSolutions = new DDNNFCompiler(cnf).compile().countSolutions(null).intValueExact();
+		final List<LiteralSet> sample = sample(cnf, numberOfSolutions * samplesPerSolution, true, null);
+		assertEquals(numberOfSolutions * samplesPerSolution, sample.size());
+
+		final HashMap<LiteralSet, Integer> frequencies = new HashMap<>();
+		for (final LiteralSet solution : sample) {
+			frequencies.merge(solution, 1, Integer::sum);
+		}
+		assertEquals(numberOfSolutions, frequencies.size());
+
+		double chiSquared = 0;
+		for (final int frequency : frequencies.values()) {
+			final double difference = frequency - samplesPerSolution;
+			chiSquared += (difference * difference) / samplesPerSolution;
+		}
+		// Wilson-Hilferty approximation of the critical value
+		final double degreesOfFreedom = numberOfSolutions - 1;
+		final double criticalValue = degreesOfFreedom * Math.pow(1 - (2 / (9 * degreesOfFreedom)) + (Z * Math.sqrt(2 / (9 * degreesOfFreedom))), 3);
+		assertTrue(modelName + ": " + chiSquared + " > " + criticalValue, chiSquared <= criticalValue);
+	}
+
+	@Test
+	public void testUniformitySmallModel() {
+		testUniformity("car.xml", 1000);
+	}
+
+	@Test
+	public void testUniformityMediumModel() {
+		testUniformity("gpl_medium_model.xml", 50);
+	}
+
+	@Test
+	public void testWithoutDuplicates() {
+		final CNF cnf = getCNF("berkeley_db_model.xml");
+		final List<LiteralSet> sample = sample(cnf, 1000, false, null);
+		assertEquals(1000, sample.size());
+		assertEquals(1000, new HashSet<>(sample).size());
+	}
+
+	@Test
+	public void testAllSolutions() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final int numberOfSolutions = new DDNNFCompiler(cnf).compile().countSolutions(null).intValueExact();
+		final List<LiteralSet> sample = sample(cnf, numberOfSolutions + 1, false, null);
+		assertEquals(numberOfSolutions, sample.size());
+		assertEquals(numberOfSolutions, new HashSet<>(sample).size());
+	}
+
+	@Test
+	public void testAssumptions() {
+		final CNF cnf = getCNF("berkeley_db_model.xml");
+		final LiteralSet assumptions = new LiteralSet(-cnf.getVariables().getVariable("featureLoggingFile"), cnf.getVariables().getVariable("featureChecksum"));
+		for (final LiteralSet solution : sample(cnf, 100, true, assumptions)) {
+			assertTrue(solution.containsAll(assumptions));
+		}
+	}
+
+}
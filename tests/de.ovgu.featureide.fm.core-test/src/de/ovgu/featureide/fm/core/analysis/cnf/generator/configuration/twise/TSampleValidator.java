@@ -0,0 +1,137 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseOrigin;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseOrigin.OriginType;
+import de.ovgu.featureide.fm.core.analysis.cnf.FeatureModelCNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.RandomConfigurationGenerator;
+import de.ovgu.featureide.fm.core.base.IConstraint;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests {@link SampleValidator}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TSampleValidator {
+
+	private static CNF getCNF(String modelName) {
+		return new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+	}
+
+	private static int getFirstViolatedClause(CNF cnf, LiteralSet configuration) {
+		final List<LiteralSet> clauses = cnf.getClauses();
+		for (int i = 0; i < clauses.size(); i++) {
+			if (!configuration.hasDuplicates(clauses.get(i))) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void testValidSample() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final List<LiteralSet> sample = LongRunningWrapper.runMethod(new RandomConfigurationGenerator(cnf, 150));
+		final SampleValidator validator = new SampleValidator(cnf);
+		assertTrue(validator.validate(sample).isEmpty());
+		assertNull(validator.findFirstViolation(sample));
+	}
+
+	@Test
+	public void testInvalidSample() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final List<LiteralSet> validSample = LongRunningWrapper.runMethod(new RandomConfigurationGenerator(cnf, 150));
+		final Random random = new Random(0);
+		final List<LiteralSet> sample = new ArrayList<>(validSample.size());
+		for (final LiteralSet configuration : validSample) {
+			final int[] literals = configuration.getLiterals().clone();
+			if (random.nextInt(4) == 0) {
+				final int index = random.nextInt(literals.length);
+				literals[index] = -literals[index];
+			}
+			sample.add(new LiteralSet(literals, configuration.getOrder(), false));
+		}
+
+		final List<SampleValidator.Violation> expected = new ArrayList<>();
+		final SampleValidator validator = new SampleValidator(cnf);
+		final List<SampleValidator.Violation> violations = validator.validate(sample);
+		int violationIndex = 0;
+		for (int i = 0; i < sample.size(); i++) {
+			final int clauseIndex = getFirstViolatedClause(cnf, sample.get(i));
+			if (clauseIndex >= 0) {
+				final SampleValidator.Violation violation = violations.get(violationIndex++);
+				assertEquals(i, violation.getConfigurationIndex());
+				assertEquals(clauseIndex, violation.getClauseIndex());
+				assertEquals(sample.get(i), violation.getConfiguration());
+				if (expected.isEmpty()) {
+					expected.add(violation);
+				}
+			}
+		}
+		assertEquals(violationIndex, violations.size());
+		assertTrue(violationIndex > 0);
+		assertEquals(expected.get(0).getConfigurationIndex(), validator.findFirstViolation(sample).getConfigurationIndex());
+	}
+
+	@Test
+	public void testOrigins() {
+		for (final String modelName : new String[] { "car.xml", "gpl_medium_model.xml" }) {
+			final FeatureModelCNF cnf = (FeatureModelCNF) getCNF(modelName);
+			for (final LiteralSet clause : cnf.getClauses()) {
+				final ClauseOrigin origin = cnf.getOrigin(clause);
+				assertTrue(modelName + ": " + clause, origin.getOriginType() != OriginType.Derived);
+				if (origin.getOriginType() == OriginType.Constraint) {
+					assertTrue(origin.getOriginObject() instanceof IConstraint);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRootViolation() {
+		final FeatureModelCNF cnf = (FeatureModelCNF) getCNF("car.xml");
+		final int[] literals = new int[cnf.getVariables().size()];
+		for (int i = 0; i < literals.length; i++) {
+			literals[i] = -(i + 1);
+		}
+		final List<LiteralSet> sample = new ArrayList<>();
+		sample.add(new LiteralSet(literals));
+		final SampleValidator.Violation violation = new SampleValidator(cnf).findFirstViolation(sample);
+		assertEquals(OriginType.Root, violation.getOrigin().getOriginType());
+	}
+
+}
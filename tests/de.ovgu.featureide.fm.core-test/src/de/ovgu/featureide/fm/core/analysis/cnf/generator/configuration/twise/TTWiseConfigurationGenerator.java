@@ -0,0 +1,209 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.IConfigurationGenerator;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the parallel, the incremental, and the streaming mode of {@link TWiseConfigurationGenerator}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TTWiseConfigurationGenerator {
+
+	private static final int T = 2;
+
+	private static CNF getCNF(String modelName) {
+		return new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+	}
+
+	private static List<LiteralSet> sample(CNF cnf, List<LiteralSet> initialSample) {
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, T);
+		generator.setInitialSample(initialSample);
+		return LongRunningWrapper.runMethod(generator);
+	}
+
+	private static void checkSample(CNF cnf, List<LiteralSet> sample) {
+		final SampleTester tester = new SampleTester(cnf);
+		tester.setSample(sample);
+		assertFalse(tester.hasInvalidSolutions());
+		assertEquals(1.0, tester.getCoverage(new TWiseCoverageCriterion(cnf, T)), 0.0);
+	}
+
+	private static List<LiteralSet> consume(TWiseConfigurationGenerator generator, List<LiteralSet> streamedSample) throws InterruptedException {
+		final Thread consumer = new Thread(() -> {
+			try {
+				LiteralSet configuration;
+				while ((configuration = generator.getResultQueue().take()) != IConfigurationGenerator.END_OF_RESULTS) {
+					streamedSample.add(configuration);
+				}
+			} catch (final InterruptedException e) {}
+		});
+		consumer.start();
+		final List<LiteralSet> sample = LongRunningWrapper.runMethod(generator);
+		consumer.join();
+		return sample;
+	}
+
+	@Test
+	public void testParallel() {
+		for (final String modelName : new String[] { "gpl_medium_model.xml", "berkeley_db_model.xml" }) {
+			final CNF cnf = getCNF(modelName);
+			for (final int parallelism : new int[] { 2, 4 }) {
+				final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, T);
+				generator.setParallelism(parallelism);
+				checkSample(cnf, LongRunningWrapper.runMethod(generator));
+			}
+		}
+	}
+
+	@Test
+	public void testStreaming() throws InterruptedException {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, T);
+		generator.setIterations(1);
+		generator.setResultQueueCapacity(1);
+		final List<LiteralSet> streamedSample = new ArrayList<>();
+		final List<LiteralSet> sample = consume(generator, streamedSample);
+		assertEquals(sample, streamedSample);
+		checkSample(cnf, streamedSample);
+	}
+
+	@Test
+	public void testStreamingWithoutResultList() throws InterruptedException {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, T);
+		generator.setResultQueueCapacity(1);
+		generator.setKeepResults(false);
+		final List<LiteralSet> streamedSample = new ArrayList<>();
+		final List<LiteralSet> sample = consume(generator, streamedSample);
+		assertTrue(sample.isEmpty());
+		checkSample(cnf, streamedSample);
+	}
+
+	@Test
+	public void testUnchangedModel() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final List<LiteralSet> previousSample = sample(cnf, null);
+		final List<LiteralSet> sample = sample(cnf, previousSample);
+		assertEquals(previousSample, sample);
+	}
+
+	@Test
+	public void testAddedConstraint() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final List<LiteralSet> previousSample = sample(cnf, null);
+
+		// exclude two features that are selected together in some, but not all configurations
+		LiteralSet newClause = null;
+		variableLoop: for (int a = 1; a <= cnf.getVariables().size(); a++) {
+			for (int b = a + 1; b <= cnf.getVariables().size(); b++) {
+				int count = 0;
+				for (final LiteralSet configuration : previousSample) {
+					if (configuration.containsAll(new LiteralSet(a, b))) {
+						count++;
+					}
+				}
+				if ((count > 0) && (count < (previousSample.size() / 2))) {
+					newClause = new LiteralSet(-a, -b);
+					break variableLoop;
+				}
+			}
+		}
+		final CNF evolvedCNF = new CNF(cnf, true);
+		evolvedCNF.addClause(newClause);
+
+		final List<LiteralSet> sample = sample(evolvedCNF, previousSample);
+		checkSample(evolvedCNF, sample);
+		assertTrue(sample.size() >= previousSample.size());
+
+		int repairedCount = 0;
+		for (int i = 0; i < previousSample.size(); i++) {
+			final LiteralSet previousConfiguration = previousSample.get(i);
+			if (previousConfiguration.hasDuplicates(newClause)) {
+				assertEquals(previousConfiguration, sample.get(i));
+			} else {
+				assertFalse(previousConfiguration.equals(sample.get(i)));
+				repairedCount++;
+			}
+		}
+		assertTrue(repairedCount > 0);
+	}
+
+	@Test
+	public void testAddedFeature() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final List<LiteralSet> previousSample = sample(cnf, null);
+
+		final List<String> names = new ArrayList<>(Arrays.asList(cnf.getVariables().getNames()).subList(1, cnf.getVariables().size() + 1));
+		names.add(0, "NewFeature");
+		final Variables newVariables = new Variables(names);
+		final List<LiteralSet> newClauses = new ArrayList<>();
+		for (final LiteralSet clause : cnf.getClauses()) {
+			newClauses.add(clause.adapt(cnf.getVariables(), newVariables));
+		}
+		final CNF evolvedCNF = new CNF(newVariables, newClauses);
+
+		final List<LiteralSet> initialSample =
+			TWiseConfigurationGenerator.adaptSample(new SolutionList(cnf.getVariables(), previousSample), evolvedCNF.getVariables());
+		assertEquals(0, initialSample.get(0).getLiterals()[0]);
+
+		final List<LiteralSet> sample = sample(evolvedCNF, initialSample);
+		checkSample(evolvedCNF, sample);
+		for (int i = 0; i < initialSample.size(); i++) {
+			final int[] literals = sample.get(i).getLiterals();
+			for (final int literal : initialSample.get(i).getLiterals()) {
+				if (literal != 0) {
+					assertEquals(literal, literals[Math.abs(literal) - 1]);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTruncatedInitialSample() {
+		final CNF cnf = getCNF("gpl_medium_model.xml");
+		final List<LiteralSet> previousSample = sample(cnf, null);
+		final int maxSampleSize = previousSample.size() / 2;
+		final TWiseConfigurationGenerator generator = new TWiseConfigurationGenerator(cnf, T, maxSampleSize);
+		generator.setInitialSample(previousSample);
+		final List<LiteralSet> sample = LongRunningWrapper.runMethod(generator);
+		assertEquals(previousSample.subList(0, maxSampleSize), sample);
+	}
+
+}
@@ -0,0 +1,95 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.RandomConfigurationGenerator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the bit set based coverage calculation of {@link TWiseConfigurationStatistic} against the complete calculation.
+ *
+ * @author Sebastian Krieter
+ */
+public class TTWiseConfigurationStatistic {
+
+	private static void testStatistic(String modelName, int sampleSize, int maxT) {
+		final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+		final List<LiteralSet> sample = LongRunningWrapper.runMethod(new RandomConfigurationGenerator(cnf, sampleSize));
+
+		final TWiseConfigurationUtil util = new TWiseConfigurationUtil(cnf, new AdvancedSatSolver(cnf));
+		util.computeRandomSample();
+		util.computeMIG();
+		final List<List<PresenceCondition>> presenceConditions =
+			new PresenceConditionManager(util, TWiseConfigurationGenerator.convertLiterals(cnf.getVariables().getLiterals())).getGroupedPresenceConditions();
+
+		for (int t = 1; t <= maxT; t++) {
+			final TWiseConfigurationStatistic expected = new TWiseConfigurationStatistic();
+			expected.setT(t);
+			expected.calculate(util, sample, presenceConditions);
+
+			for (final int parallelism : new int[] { 1, 4 }) {
+				final TWiseConfigurationStatistic actual = new TWiseConfigurationStatistic();
+				actual.setT(t);
+				actual.setOnlyCoverage(true);
+				actual.setParallelism(parallelism);
+				actual.calculate(util, sample, presenceConditions);
+
+				final String message = modelName + " (t = " + t + ", " + parallelism + " thread(s))";
+				assertEquals(message, expected.getNumberOfValidConditions(), actual.getNumberOfValidConditions());
+				assertEquals(message, expected.getNumberOfInvalidConditions(), actual.getNumberOfInvalidConditions());
+				assertEquals(message, expected.getNumberOfCoveredConditions(), actual.getNumberOfCoveredConditions());
+				assertEquals(message, expected.getNumberOfUncoveredConditions(), actual.getNumberOfUncoveredConditions());
+			}
+		}
+	}
+
+	@Test
+	public void testCar() {
+		testStatistic("car.xml", 5, 4);
+	}
+
+	@Test
+	public void testGPL() {
+		testStatistic("gpl_medium_model.xml", 20, 3);
+	}
+
+	@Test
+	public void testEmptySample() {
+		testStatistic("car.xml", 0, 2);
+	}
+
+	@Test
+	public void testLargeSample() {
+		testStatistic("gpl_medium_model.xml", 130, 2);
+	}
+
+}
@@ -0,0 +1,145 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.cnf.manipulator.remove;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.AllConfigurationGenerator;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link CNFSlicer}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TCNFSlicer {
+
+	private static Set<LiteralSet> getSolutions(CNF cnf) {
+		final List<LiteralSet> solutions = LongRunningWrapper.runMethod(new AllConfigurationGenerator(cnf));
+		return solutions == null ? Collections.emptySet() : new HashSet<>(solutions);
+	}
+
+	private static Set<LiteralSet> project(Set<LiteralSet> solutions, IVariables orgVariables, IVariables slicedVariables) {
+		final Set<LiteralSet> projectedSolutions = new HashSet<>();
+		for (final LiteralSet solution : solutions) {
+			final int[] literals = new int[slicedVariables.size()];
+			for (final int literal : solution.getLiterals()) {
+				final int variable = slicedVariables.getVariable(orgVariables.getName(literal));
+				if (variable > 0) {
+					literals[variable - 1] = literal > 0 ? variable : -variable;
+				}
+			}
+			projectedSolutions.add(new LiteralSet(literals, Order.INDEX, false));
+		}
+		return projectedSolutions;
+	}
+
+	private static CNF adapt(CNF slicedCNF, IVariables orgVariables, Variables slicedVariables) {
+		final List<LiteralSet> clauses = new ArrayList<>(slicedCNF.getClauses().size());
+		for (final LiteralSet clause : slicedCNF.getClauses()) {
+			clauses.add(clause.adapt(orgVariables, slicedVariables));
+		}
+		return new CNF(slicedVariables, clauses);
+	}
+
+	private static CNF slice(CNF cnf, List<String> dirtyVariables, int parallelism, int maxClauseGrowth) {
+		final CNFSlicer slicer = new CNFSlicer(cnf, dirtyVariables);
+		slicer.setParallelism(parallelism);
+		slicer.setMaxClauseGrowth(maxClauseGrowth);
+		return LongRunningWrapper.runMethod(slicer);
+	}
+
+	@Test
+	public void testIndependentComponents() {
+		// (a | x) & (-x | b) & (c | y) & (-y | d) & (e | f)
+		final CNF cnf = new CNF(new Variables(Arrays.asList("a", "b", "c", "d", "e", "f", "x", "y")), Arrays.asList(new LiteralSet(1, 7),
+				new LiteralSet(-7, 2), new LiteralSet(3, 8), new LiteralSet(-8, 4), new LiteralSet(5, 6)));
+		for (final int parallelism : new int[] { 1, 4 }) {
+			final CNF slicedCNF = slice(cnf, Arrays.asList("x", "y"), parallelism, 0);
+			final Set<LiteralSet> expectedClauses = new HashSet<>();
+			expectedClauses.add(cnf.getClauses().get(4).adapt(cnf.getVariables(), slicedCNF.getVariables()));
+			expectedClauses.add(new LiteralSet(1, 2).adapt(cnf.getVariables(), slicedCNF.getVariables()));
+			expectedClauses.add(new LiteralSet(3, 4).adapt(cnf.getVariables(), slicedCNF.getVariables()));
+			assertEquals(6, slicedCNF.getVariables().size());
+			assertEquals(expectedClauses, new HashSet<>(slicedCNF.getClauses()));
+		}
+	}
+
+	@Test
+	public void testSubsumedResolvents() {
+		// (a | x) & (-x | a) & (a | b | c): the resolvent (a) subsumes (a | b | c)
+		final CNF cnf = new CNF(new Variables(Arrays.asList("a", "b", "c", "x")),
+				Arrays.asList(new LiteralSet(1, 4), new LiteralSet(-4, 1), new LiteralSet(1, 2, 3, 4)));
+		final CNFSlicer slicer = new CNFSlicer(cnf, Arrays.asList("x"));
+		final CNF slicedCNF = LongRunningWrapper.runMethod(slicer);
+		assertEquals(Arrays.asList(new LiteralSet(1)), slicedCNF.getClauses());
+		assertTrue(slicer.getSubsumedClauseCount() > 0);
+	}
+
+	@Test
+	public void testFeatureModels() {
+		for (final String modelName : new String[] { "car.xml", "basic.xml", "gpl_medium_model.xml" }) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile(modelName)).getCNF();
+			final Set<LiteralSet> solutions = getSolutions(cnf);
+			final List<String> names = new ArrayList<>(Arrays.asList(cnf.getVariables().getNames()).subList(1, cnf.getVariables().size() + 1));
+			Collections.shuffle(names, new Random(0));
+			for (final double ratio : new double[] { 0.25, 0.5, 0.75 }) {
+				final List<String> dirtyVariables = names.subList(0, (int) (names.size() * ratio));
+				final Variables slicedVariables = new Variables(names.subList(dirtyVariables.size(), names.size()));
+				final Set<LiteralSet> projectedSolutions = project(solutions, cnf.getVariables(), slicedVariables);
+				Set<LiteralSet> sequentialClauses = null;
+				for (final int parallelism : new int[] { 1, 4 }) {
+					for (final int maxClauseGrowth : new int[] { 0, Integer.MAX_VALUE }) {
+						final CNF slicedCNF = slice(cnf, dirtyVariables, parallelism, maxClauseGrowth);
+						final String message = modelName + " " + ratio + " " + parallelism + " " + maxClauseGrowth;
+						assertEquals(message, projectedSolutions, getSolutions(adapt(slicedCNF, cnf.getVariables(), slicedVariables)));
+						if (maxClauseGrowth == 0) {
+							if (sequentialClauses == null) {
+								sequentialClauses = new HashSet<>(slicedCNF.getClauses());
+							} else {
+								assertEquals(message, sequentialClauses, new HashSet<>(slicedCNF.getClauses()));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.analysis.mig;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.ModalImplicationGraphCreator;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.AdvancedSatSolver;
+import de.ovgu.featureide.fm.core.analysis.cnf.solver.ISimpleSatSolver.SatResult;
+import de.ovgu.featureide.fm.core.job.LongRunningWrapper;
+
+/**
+ * Tests the {@link CompactModalImplicationGraph}, the traversers that use it, and the parallel mode of the {@link MIGBuilder}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TModalImplicationGraph {
+
+	private static FeatureModelFormula loadFormula(String modelName) {
+		return new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile(modelName));
+	}
+
+	private static int[] copyStrongEdges(CompactModalImplicationGraph graph, int vertexIndex) {
+		final int[] edges = new int[graph.getStrongEdgeCount(vertexIndex)];
+		for (int i = 0; i < edges.length; i++) {
+			edges[i] = graph.getStrongEdge(vertexIndex, i);
+		}
+		return edges;
+	}
+
+	private static void assertEqualGraph(ModalImplicationGraph mig, CompactModalImplicationGraph graph) {
+		assertEquals(mig.getAdjList().size(), graph.getVertexCount());
+		assertEquals(mig.getComplexClauses().size(), graph.getComplexClauseCount());
+		for (final Vertex vertex : mig.getAdjList()) {
+			final int vertexIndex = CompactModalImplicationGraph.getVertexIndex(vertex.getVar());
+			assertEquals(vertex.getId(), vertexIndex);
+			assertEquals(vertex.isCore(), graph.isCore(vertexIndex));
+			assertEquals(vertex.isDead(), graph.isDead(vertexIndex));
+			assertArrayEquals(vertex.getStrongEdges(), copyStrongEdges(graph, vertexIndex));
+			final int[] clauseReferences = new int[graph.getComplexClauseReferenceCount(vertexIndex)];
+			for (int i = 0; i < clauseReferences.length; i++) {
+				clauseReferences[i] = graph.getComplexClauseReference(vertexIndex, i);
+			}
+			assertArrayEquals(vertex.getComplexClauses(), clauseReferences);
+		}
+		for (int i = 0; i < graph.getComplexClauseCount(); i++) {
+			final LiteralSet clause = mig.getComplexClauses().get(i);
+			assertEquals(clause.size(), graph.getComplexClauseSize(i));
+			for (int j = 0; j < clause.size(); j++) {
+				assertEquals(clause.getLiterals()[j], graph.getComplexClauseLiteral(i, j));
+			}
+		}
+	}
+
+	@Test
+	public void testCompactGraph() {
+		for (final String modelName : new String[] { "berkeley_db_model.xml", "200-100.xml" }) {
+			final ModalImplicationGraph mig = loadFormula(modelName).getElement(new ModalImplicationGraphCreator());
+			assertEqualGraph(mig, mig.getCompactGraph());
+		}
+	}
+
+	@Test
+	public void testTraverser() {
+		final FeatureModelFormula formula = loadFormula("berkeley_db_model.xml");
+		final CNF cnf = formula.getCNF();
+		final ModalImplicationGraph mig = formula.getElement(new ModalImplicationGraphCreator());
+		final AdvancedSatSolver solver = new AdvancedSatSolver(cnf);
+		final Traverser traverser = mig.traverse();
+		for (final Vertex vertex : mig.getAdjList()) {
+			if (vertex.isCore() || vertex.isDead()) {
+				continue;
+			}
+			final int[] model = new int[cnf.getVariables().size()];
+			final CollectingVisitor visitor = new CollectingVisitor();
+			traverser.setModel(model);
+			traverser.setVisitor(visitor);
+			traverser.traverse(vertex.getVar());
+
+			for (final int strongEdge : vertex.getStrongEdges()) {
+				assertEquals(strongEdge, model[Math.abs(strongEdge) - 1]);
+			}
+			final int[] impliedLiterals = visitor.getResult()[0].toArray();
+			for (int i = 0; i < visitor.getResult()[0].size(); i++) {
+				assertEquals(SatResult.FALSE, solver.hasSolution(vertex.getVar(), -impliedLiterals[i]));
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidation() {
+		final FeatureModelFormula formula = loadFormula("berkeley_db_model.xml");
+		final ModalImplicationGraph mig = new ModalImplicationGraph(formula.getElement(new ModalImplicationGraphCreator()));
+		final CompactModalImplicationGraph graph = mig.getCompactGraph();
+		assertSame(graph, mig.getCompactGraph());
+
+		int source = 0, target = 0;
+		for (final Vertex vertex : mig.getAdjList()) {
+			if (!vertex.isCore() && !vertex.isDead()) {
+				if (source == 0) {
+					source = vertex.getVar();
+				} else if ((Math.abs(vertex.getVar()) != Math.abs(source)) && !new LiteralSet(mig.getVertex(source).getStrongEdges().clone()).containsLiteral(vertex.getVar())) {
+					target = vertex.getVar();
+					break;
+				}
+			}
+		}
+		mig.addClausesTransitive(Collections.singletonList(new LiteralSet(-source, target)));
+
+		final CompactModalImplicationGraph newGraph = mig.getCompactGraph();
+		assertNotSame(graph, newGraph);
+		assertEqualGraph(mig, newGraph);
+	}
+
+	private static void assertEqualGraph(ModalImplicationGraph expected, ModalImplicationGraph actual) {
+		assertEquals(expected.getComplexClauses(), actual.getComplexClauses());
+		assertEquals(expected.getAdjList().size(), actual.getAdjList().size());
+		for (int i = 0; i < expected.getAdjList().size(); i++) {
+			final Vertex expectedVertex = expected.getAdjList().get(i);
+			final Vertex actualVertex = actual.getAdjList().get(i);
+			assertEquals(expectedVertex.getVar(), actualVertex.getVar());
+			assertEquals(expectedVertex.isCore(), actualVertex.isCore());
+			assertEquals(expectedVertex.isDead(), actualVertex.isDead());
+			assertArrayEquals(expectedVertex.getStrongEdges(), actualVertex.getStrongEdges());
+			assertArrayEquals(expectedVertex.getComplexClauses(), actualVertex.getComplexClauses());
+		}
+	}
+
+	@Test
+	public void testParallelBuilder() {
+		for (final String modelName : new String[] { "berkeley_db_model.xml", "200-100.xml", "500-101.xml", "1000-100.xml" }) {
+			final CNF cnf = loadFormula(modelName).getCNF();
+			for (final boolean detectStrong : new boolean[] { false, true }) {
+				final ModalImplicationGraph expected = LongRunningWrapper.runMethod(new MIGBuilder(cnf, detectStrong));
+				for (final int parallelism : new int[] { 2, 4 }) {
+					final MIGBuilder builder = new MIGBuilder(cnf, detectStrong);
+					builder.setParallelism(parallelism);
+					assertEqualGraph(expected, LongRunningWrapper.runMethod(builder));
+				}
+			}
+		}
+	}
+
+}
@@ -107,6 +107,26 @@ public class ConfigurationGeneratorTest {
 		testLimitedSize("apl_model", "random", 100, 100);
 	}
 
+	@Test
+	public void UniformLimit() {
+		testLimitedSize("basic", "uniform", 1, 0);
+		testLimitedSize("basic", "uniform", 1, 1);
+		testLimitedSize("basic", "uniform", 1, 2);
+		testLimitedSize("simple", "uniform", 2, 1);
+		testLimitedSize("simple", "uniform", 2, 2);
+		testLimitedSize("simple", "uniform", 2, 3);
+		testLimitedSize("car", "uniform", 7, 0);
+		testLimitedSize("car", "uniform", 7, 1);
+		testLimitedSize("car", "uniform", 7, 5);
+		testLimitedSize("car", "uniform", 7, 7);
+		testLimitedSize("car", "uniform", 7, 10);
+		testLimitedSize("car", "uniform", 7, Integer.MAX_VALUE);
+		testLimitedSize("gpl_medium_model", "uniform", 960, 10);
+		testLimitedSize("gpl_medium_model", "uniform", 960, 960);
+		testLimitedSize("gpl_medium_model", "uniform", 960, Integer.MAX_VALUE);
+		testLimitedSize("apl_model", "uniform", 100, 100);
+	}
+
 	@Test
 	public void ChvatalLimit() {
 		testTWiseLimitedSize("gpl_medium_model", "chvatal", 1, 5);
@@ -150,6 +170,16 @@ public class ConfigurationGeneratorTest {
 		testCoverageAndDeterminism("yasa", 3, modelNames);
 	}
 
+	@Test
+	public void YASATwoWiseParallelCoverage() {
+		testParallelCoverage("yasa", 2, 4, modelNames);
+	}
+
+	@Test
+	public void YASAThreeWiseParallelCoverage() {
+		testParallelCoverage("yasa", 3, 4, modelNames);
+	}
+
 	@Test
 	public void InclingTwoWiseCoverage() {
 		testCoverageAndDeterminism("incling", 2, modelNames);
@@ -194,6 +224,15 @@ public class ConfigurationGeneratorTest {
 		}
 	}
 
+	private void testParallelCoverage(final String algorithmName, final int t, final int threads, final List<String> modelNameList) {
+		for (final String modelName : modelNameList) {
+			final Path modelFile = modelDirectory.resolve(modelName + ".xml");
+			final SampleTester tester = sample(modelFile, algorithmName, t, null, threads);
+			assertFalse("Invalid solutions for " + modelName, tester.hasInvalidSolutions());
+			assertEquals("Wrong coverage for " + modelName, 1.0, tester.getCoverage(new TWiseCoverageCriterion(tester.getCnf(), t)), 0.0);
+		}
+	}
+
 	private void testCoverageAndDeterminism(final String algorithmName, final int t, final List<String> modelNameList) {
 		for (final String modelName : modelNameList) {
 			final Path modelFile = modelDirectory.resolve(modelName + ".xml");
@@ -227,6 +266,10 @@ public class ConfigurationGeneratorTest {
 	}
 
 	private static SampleTester sample(final Path modelFile, String algorithm, Integer t, Integer limit) {
+		return sample(modelFile, algorithm, t, limit, null);
+	}
+
+	private static SampleTester sample(final Path modelFile, String algorithm, Integer t, Integer limit, Integer threads) {
 		try {
 			final Path inFile = Files.createTempFile("input", ".xml");
 			Files.write(inFile, Files.readAllBytes(modelFile));
@@ -249,6 +292,10 @@ public class ConfigurationGeneratorTest {
 				args.add("-l");
 				args.add(Integer.toString(limit));
 			}
+			if (threads != null) {
+				args.add("-p");
+				args.add(Integer.toString(threads));
+			}
 			new ConfigurationGenerator().run(args);
 
 			final SolutionList sample = new SolutionList();
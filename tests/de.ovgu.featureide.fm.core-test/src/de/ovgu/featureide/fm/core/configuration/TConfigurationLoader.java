@@ -0,0 +1,249 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.configuration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.IVariables;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.configuration.io.ConfigurationLoader;
+import de.ovgu.featureide.fm.core.configuration.io.IConfigurationLoaderCallback;
+import de.ovgu.featureide.fm.core.io.manager.ConfigurationManager;
+
+/**
+ * Tests the sequential, the parallel, and the compact mode of {@link ConfigurationLoader}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TConfigurationLoader {
+
+	private static final int NUMBER_OF_CONFIGURATIONS = 60;
+
+	private final FeatureModelFormula formula = new FeatureModelFormula(Commons.loadTestFeatureModelFromFile("berkeley_db_model.xml"));
+
+	private List<Path> createConfigurations(Path folder) {
+		final IVariables variables = formula.getVariables();
+		final Random random = new Random(0);
+		final List<Path> files = new ArrayList<>();
+		for (int i = 0; i < NUMBER_OF_CONFIGURATIONS; i++) {
+			final int[] literals = new int[variables.size()];
+			for (int j = 0; j < literals.length; j++) {
+				literals[j] = random.nextBoolean() ? j + 1 : -(j + 1);
+			}
+			final Configuration configuration = Configuration.fromLiteralSet(formula, new LiteralSet(literals));
+			final Path file;
+			if ((i % 2) == 0) {
+				file = folder.resolve(String.format("%03d.%s", i, new DefaultFormat().getSuffix()));
+				ConfigurationManager.save(configuration, file, new DefaultFormat());
+			} else {
+				file = folder.resolve(String.format("%03d.%s", i, new XMLConfFormat().getSuffix()));
+				ConfigurationManager.save(configuration, file, new XMLConfFormat());
+			}
+			files.add(file);
+		}
+		return files;
+	}
+
+	private static void delete(Path folder) throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			for (final Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(folder);
+	}
+
+	private List<Path> load(int parallelism, Path folder, List<Configuration> configurations) {
+		final List<Path> loadedFiles = new ArrayList<>();
+		final ConfigurationLoader callbackLoader = new ConfigurationLoader(new IConfigurationLoaderCallback() {
+
+			@Override
+			public void onLoadingStarted() {}
+
+			@Override
+			public void onConfigurationLoaded(Configuration configuration, Path path) {
+				loadedFiles.add(path);
+			}
+
+			@Override
+			public void onLoadingFinished() {}
+
+			@Override
+			public void onLoadingError(IOException exception) {}
+		});
+		callbackLoader.setParallelism(parallelism);
+		configurations.addAll(callbackLoader.loadConfigurations(formula, folder));
+		return loadedFiles;
+	}
+
+	@Test
+	public void testParallelEqualsSequential() throws IOException {
+		final Path folder = Files.createTempDirectory("configs");
+		try {
+			createConfigurations(folder);
+
+			final List<Configuration> sequentialConfigurations = new ArrayList<>();
+			final List<Path> sequentialFiles = load(1, folder, sequentialConfigurations);
+			assertEquals(NUMBER_OF_CONFIGURATIONS, sequentialConfigurations.size());
+
+			final List<Configuration> parallelConfigurations = new ArrayList<>();
+			final List<Path> parallelFiles = load(4, folder, parallelConfigurations);
+
+			assertEquals(sequentialFiles, parallelFiles);
+			assertEquals(sequentialConfigurations.size(), parallelConfigurations.size());
+			for (int i = 0; i < sequentialConfigurations.size(); i++) {
+				final Configuration sequentialConfiguration = sequentialConfigurations.get(i);
+				final Configuration parallelConfiguration = parallelConfigurations.get(i);
+				assertTrue(parallelConfiguration.hasFeatureModel());
+				assertEquals(sequentialConfiguration.getSelectedFeatureNames(), parallelConfiguration.getSelectedFeatureNames());
+				assertEquals(sequentialConfiguration.getUnselectedFeatureNames(), parallelConfiguration.getUnselectedFeatureNames());
+			}
+		} finally {
+			delete(folder);
+		}
+	}
+
+	@Test
+	public void testSequentialCallback() throws IOException {
+		final Path folder = Files.createTempDirectory("configs");
+		try {
+			final List<Path> files = createConfigurations(folder);
+			final List<Path> loadedFiles = new ArrayList<>();
+			final List<Path> deletedFiles = new ArrayList<>();
+			final ConfigurationLoader loader = new ConfigurationLoader(new IConfigurationLoaderCallback() {
+
+				@Override
+				public void onLoadingStarted() {}
+
+				@Override
+				public void onConfigurationLoaded(Configuration configuration, Path path) {
+					if (loadedFiles.isEmpty()) {
+						// A file that is deleted after the first notification must not have been parsed yet
+						final Path otherFile = files.get(0).equals(path) ? files.get(1) : files.get(0);
+						try {
+							Files.delete(otherFile);
+						} catch (final IOException e) {
+							throw new RuntimeException(e);
+						}
+						deletedFiles.add(otherFile);
+					}
+					loadedFiles.add(path);
+				}
+
+				@Override
+				public void onLoadingFinished() {}
+
+				@Override
+				public void onLoadingError(IOException exception) {}
+			});
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, loader.loadConfigurations(formula, folder).size());
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, loadedFiles.size());
+			assertFalse(loadedFiles.contains(deletedFiles.get(0)));
+		} finally {
+			delete(folder);
+		}
+	}
+
+	@Test
+	public void testSolutions() throws IOException {
+		final Path folder = Files.createTempDirectory("configs");
+		try {
+			createConfigurations(folder);
+			final List<Configuration> configurations = new ConfigurationLoader().loadConfigurations(formula, folder);
+			final IVariables variables = formula.getVariables();
+
+			for (final int parallelism : new int[] { 1, 4 }) {
+				final ConfigurationLoader loader = new ConfigurationLoader();
+				loader.setParallelism(parallelism);
+				final SolutionList solutions = loader.loadSolutions(formula, folder);
+				assertEquals(configurations.size(), solutions.getSolutions().size());
+				for (int i = 0; i < configurations.size(); i++) {
+					final LiteralSet solution = solutions.getSolutions().get(i);
+					assertEquals(variables.size(), solution.size());
+					assertEquals(configurations.get(i).getSelectedFeatureNames(), new HashSet<>(variables.convertToString(solution, true, false)));
+				}
+			}
+		} finally {
+			delete(folder);
+		}
+	}
+
+	@Test
+	public void testExcludeFile() throws IOException {
+		final Path folder = Files.createTempDirectory("configs");
+		try {
+			final List<Path> files = createConfigurations(folder);
+			final ConfigurationLoader loader = new ConfigurationLoader();
+			loader.setParallelism(4);
+			final String excludedFile = files.get(0).getFileName().toString();
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, loader.loadConfigurations(formula, folder, excludedFile).size());
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, loader.loadSolutions(formula, folder, excludedFile).getSolutions().size());
+		} finally {
+			delete(folder);
+		}
+	}
+
+	@Test
+	public void testMalformedFile() throws IOException {
+		final Path folder = Files.createTempDirectory("configs");
+		try {
+			final List<Path> files = createConfigurations(folder);
+			final Path malformedFile = files.get(1);
+			Files.write(malformedFile, "<?xml version=\"1.0\"?>\n<configuration>\n\t<feature name=".getBytes(StandardCharsets.UTF_8));
+
+			final List<Configuration> sequentialConfigurations = new ArrayList<>();
+			final List<Path> sequentialFiles = load(1, folder, sequentialConfigurations);
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, sequentialConfigurations.size());
+			assertFalse(sequentialFiles.contains(malformedFile));
+
+			final List<Configuration> parallelConfigurations = new ArrayList<>();
+			final List<Path> parallelFiles = load(4, folder, parallelConfigurations);
+			assertEquals(sequentialFiles, parallelFiles);
+			assertEquals(NUMBER_OF_CONFIGURATIONS - 1, parallelConfigurations.size());
+
+			for (final int parallelism : new int[] { 1, 4 }) {
+				final ConfigurationLoader loader = new ConfigurationLoader();
+				loader.setParallelism(parallelism);
+				assertEquals(NUMBER_OF_CONFIGURATIONS - 1, loader.loadSolutions(formula, folder).getSolutions().size());
+			}
+		} finally {
+			delete(folder);
+		}
+	}
+
+}
@@ -20,13 +20,18 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import org.junit.Test;
 
 import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.base.IFeature;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusFeatureModelExplanationCreatorFactory;
 
 /**
  * Tests for {@link DeadFeatureExplanationCreator}.
@@ -46,6 +51,19 @@ public class DeadFeatureExplanationCreatorTests extends FeatureModelExplanationC
 		assertTrue(isValid(c.getExplanation()));
 	}
 
+	@Test
+	public void testExplanations() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("500-100.xml");
+		final List<IFeature> subjects = new FeatureModelFormula(fm).getAnalyzer().getDeadFeatures(null);
+		assertFalse(subjects.isEmpty());
+		testExplanations(getInstance(), fm, subjects);
+
+		final MusFeatureModelExplanationCreatorFactory factory = new MusFeatureModelExplanationCreatorFactory();
+		testExplanations(factory.getDeadFeatureExplanationCreator(), fm, subjects);
+		factory.setParallelism(4);
+		testExplanations(factory.getDeadFeatureExplanationCreator(), fm, subjects);
+	}
+
 	@Override
 	protected DeadFeatureExplanationCreator getInstance() {
 		return FeatureModelExplanationCreatorFactory.getDefault().getDeadFeatureExplanationCreator();
@@ -20,8 +20,16 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm;
 
-import de.ovgu.featureide.fm.core.explanations.Explanation;
-import de.ovgu.featureide.fm.core.explanations.ExplanationCreator;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
 import de.ovgu.featureide.fm.core.explanations.ExplanationCreatorTests;
 
 /**
@@ -32,5 +40,30 @@ import de.ovgu.featureide.fm.core.explanations.ExplanationCreatorTests;
  * @param <C> explanation creator
  * @author Timo G&uuml;nther
  */
-public abstract class FeatureModelExplanationCreatorTests<S, E extends Explanation<S>, C extends ExplanationCreator<S, E>>
-		extends ExplanationCreatorTests<S, E, C> {}
+public abstract class FeatureModelExplanationCreatorTests<S, E extends FeatureModelExplanation<S>, C extends FeatureModelExplanationCreator<S, E>>
+		extends ExplanationCreatorTests<S, E, C> {
+
+	/**
+	 * Explains all given subjects at once and checks whether each explanation is valid and equals the explanation of the subject on its own.
+	 *
+	 * @param c the explanation creator to test
+	 * @param fm the feature model containing the subjects
+	 * @param subjects the subjects to explain
+	 */
+	protected void testExplanations(C c, IFeatureModel fm, List<S> subjects) {
+		c.setFeatureModel(fm);
+		final Map<S, E> explanations = c.getExplanations(subjects);
+		assertEquals(subjects, new ArrayList<>(explanations.keySet()));
+		for (final Entry<S, E> entry : explanations.entrySet()) {
+			final String message = entry.getKey().toString();
+			final E explanation = entry.getValue();
+			assertNotNull(message, explanation);
+			assertTrue(message, isValid(explanation));
+
+			c.setSubject(entry.getKey());
+			final E singleExplanation = c.getExplanation();
+			assertEquals(message, singleExplanation.getExplanationCount(), explanation.getExplanationCount());
+			assertEquals(message, singleExplanation.getReasonCounts(), explanation.getReasonCounts());
+		}
+	}
+}
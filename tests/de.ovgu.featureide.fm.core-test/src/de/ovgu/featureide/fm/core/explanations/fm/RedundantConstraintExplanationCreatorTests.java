@@ -20,13 +20,18 @@
  */
 package de.ovgu.featureide.fm.core.explanations.fm;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+
 import org.junit.Test;
 
 import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
 import de.ovgu.featureide.fm.core.base.IConstraint;
 import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.explanations.fm.impl.mus.MusFeatureModelExplanationCreatorFactory;
 
 /**
  * Tests for {@link RedundantConstraintExplanationCreator}.
@@ -50,6 +55,19 @@ public class RedundantConstraintExplanationCreatorTests
 		assertTrue(isValid(c.getExplanation()));
 	}
 
+	@Test
+	public void testExplanations() {
+		final IFeatureModel fm = Commons.loadTestFeatureModelFromFile("car.xml");
+		final List<IConstraint> subjects = new FeatureModelFormula(fm).getAnalyzer().getRedundantConstraints(null);
+		assertFalse(subjects.isEmpty());
+		testExplanations(getInstance(), fm, subjects);
+
+		final MusFeatureModelExplanationCreatorFactory factory = new MusFeatureModelExplanationCreatorFactory();
+		testExplanations(factory.getRedundantConstraintExplanationCreator(), fm, subjects);
+		factory.setParallelism(4);
+		testExplanations(factory.getRedundantConstraintExplanationCreator(), fm, subjects);
+	}
+
 	@Override
 	protected RedundantConstraintExplanationCreator getInstance() {
 		return FeatureModelExplanationCreatorFactory.getDefault().getRedundantConstraintExplanationCreator();
@@ -0,0 +1,265 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormat;
+import de.ovgu.featureide.fm.core.io.dimacs.DIMACSFormatCNF;
+import de.ovgu.featureide.fm.core.io.manager.SimpleFileHandler;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Tests whether the streaming methods of {@link IPersistentFormat} and {@link SimpleFileHandler} produce the same results as the string-based methods.
+ *
+ * @author Sebastian Krieter
+ */
+public class TPersistentFormatStreaming {
+
+	private static <T> String writeToString(IPersistentFormat<T> format, T object) throws IOException {
+		final StringWriter writer = new StringWriter();
+		format.write(object, writer);
+		return writer.toString();
+	}
+
+	private static <T> String writeToFile(IPersistentFormat<T> format, T object) throws IOException {
+		final Path file = Files.createTempFile("streaming", "." + format.getSuffix());
+		try {
+			assertFalse(SimpleFileHandler.save(file, object, format).containsError());
+			return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static <T> ProblemList readFromFile(IPersistentFormat<T> format, T object, String content) throws IOException {
+		final Path file = Files.createTempFile("streaming", "." + format.getSuffix());
+		try {
+			Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+			return SimpleFileHandler.load(file, object, format);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testXmlFeatureModelFormat() throws IOException {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml");
+		final XmlFeatureModelFormat format = new XmlFeatureModelFormat();
+		final String expected = format.write(fm);
+
+		assertEquals(expected, writeToString(format, fm));
+		assertEquals(expected, writeToFile(format, fm));
+
+		final IFeatureModel newFm = FMFactoryManager.getInstance().getFactory(fm).create();
+		assertFalse(readFromFile(format, newFm, expected).containsError());
+		assertEquals(expected, format.write(newFm));
+
+		final IFeatureModel readerFm = FMFactoryManager.getInstance().getFactory(fm).create();
+		assertFalse(format.read(readerFm, new StringReader(expected), null).containsError());
+		assertEquals(expected, format.write(readerFm));
+	}
+
+	@Test
+	public void testDIMACSFormat() throws IOException {
+		final IFeatureModel fm = Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml");
+		final DIMACSFormat format = new DIMACSFormat();
+		final String expected = format.write(fm);
+
+		assertEquals(expected, writeToString(format, fm));
+		assertEquals(expected, writeToFile(format, fm));
+
+		final IFeatureModel stringFm = FMFactoryManager.getInstance().getFactory(fm).create();
+		assertFalse(format.read(stringFm, expected).containsError());
+		final IFeatureModel newFm = FMFactoryManager.getInstance().getFactory(fm).create();
+		assertFalse(readFromFile(format, newFm, expected).containsError());
+		assertEquals(format.write(stringFm), format.write(newFm));
+	}
+
+	@Test
+	public void testDIMACSFormatCNF() throws IOException {
+		final CNF cnf = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile("berkeley_db_model.xml")).getCNF();
+		final DIMACSFormatCNF format = new DIMACSFormatCNF();
+		final String expected = format.write(cnf);
+
+		assertEquals(expected, writeToString(format, cnf));
+		assertEquals(expected, writeToFile(format, cnf));
+
+		final CNF newCNF = new CNF();
+		assertFalse(readFromFile(format, newCNF, expected).containsError());
+		assertEquals(cnf.getVariables(), newCNF.getVariables());
+		assertEquals(cnf.getClauses(), newCNF.getClauses());
+	}
+
+	@Test
+	public void testConfigurationListFormat() throws IOException {
+		final SolutionList solutionList = new SolutionList(new Variables(Arrays.asList("A", "B", "C")), Arrays.asList( //
+				new LiteralSet(new int[] { 1, -2, 3 }, Order.INDEX), //
+				new LiteralSet(new int[] { -1, -2, -3 }, Order.INDEX), //
+				new LiteralSet(new int[] { 1, 2, 3 }, Order.INDEX)));
+		final ConfigurationListFormat format = new ConfigurationListFormat();
+		final String expected = format.write(solutionList);
+		assertEquals("Configuration;A;B;C\n0;1;0;1\n1;0;0;0\n2;1;1;1\n", expected);
+
+		assertEquals(expected, writeToString(format, solutionList));
+		assertEquals(expected, writeToFile(format, solutionList));
+
+		final SolutionList newSolutionList = new SolutionList();
+		assertFalse(readFromFile(format, newSolutionList, expected.replace("\n", "\r\n\n")).containsError());
+		assertEquals(expected, format.write(newSolutionList));
+
+		final SolutionList streamSolutionList = new SolutionList();
+		SimpleFileHandler.load(new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8)), streamSolutionList, format);
+		assertEquals(expected, format.write(streamSolutionList));
+
+		assertEquals(1, format.read(new SolutionList(), "").size());
+		assertEquals(1, format.read(new SolutionList(), "Configuration;A;B\n0;1\n").size());
+	}
+
+	@Test
+	public void testFailedWrite() throws IOException {
+		final Path directory = Files.createTempDirectory("streaming");
+		final Path file = directory.resolve("model.xml");
+		try {
+			Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+			try {
+				FileSystem.write(file, channel -> {
+					channel.write(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8)));
+					throw new IOException("failure");
+				});
+				fail();
+			} catch (final IOException e) {
+				assertEquals("failure", e.getMessage());
+			}
+			assertEquals("old", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+
+			FileSystem.write(file, channel -> channel.write(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8))));
+			assertEquals("new", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+			try (Stream<Path> files = Files.list(directory)) {
+				assertEquals(1, files.count());
+			}
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testWriteKeepsFileIdentity() throws IOException {
+		final Path directory = Files.createTempDirectory("streaming");
+		final Path file = directory.resolve("model.xml");
+		final Path link = directory.resolve("link.xml");
+		final Path hardLink = directory.resolve("hardlink.xml");
+		try {
+			Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+			try {
+				Files.createSymbolicLink(link, file.getFileName());
+				Files.createLink(hardLink, file);
+			} catch (final UnsupportedOperationException | IOException e) {
+				Assume.assumeNoException(e);
+			}
+
+			FileSystem.write(link, channel -> channel.write(ByteBuffer.wrap("link".getBytes(StandardCharsets.UTF_8))));
+			assertTrue(Files.isSymbolicLink(link));
+			assertEquals("link", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+
+			FileSystem.write(file, channel -> channel.write(ByteBuffer.wrap("file".getBytes(StandardCharsets.UTF_8))));
+			assertEquals("file", new String(Files.readAllBytes(hardLink), StandardCharsets.UTF_8));
+
+			FileSystem.write(link, "bytes");
+			assertTrue(Files.isSymbolicLink(link));
+			assertEquals("bytes", new String(Files.readAllBytes(hardLink), StandardCharsets.UTF_8));
+			try (Stream<Path> files = Files.list(directory)) {
+				assertEquals(3, files.count());
+			}
+		} finally {
+			Files.deleteIfExists(link);
+			Files.deleteIfExists(hardLink);
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testWriteKeepsPermissions() throws IOException {
+		final Path directory = Files.createTempDirectory("streaming");
+		final Path file = directory.resolve("model.xml");
+		try {
+			Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+			final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+			try {
+				Files.setPosixFilePermissions(file, permissions);
+			} catch (final UnsupportedOperationException e) {
+				Assume.assumeNoException(e);
+			}
+
+			FileSystem.write(file, channel -> channel.write(ByteBuffer.wrap("new".getBytes(StandardCharsets.UTF_8))));
+			assertEquals("new", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+			assertEquals(permissions, Files.getPosixFilePermissions(file));
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void testLazyReader() {
+		final StringBuilder source = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			source.append(i);
+			source.append('\n');
+		}
+		final LazyReader reader = new LazyReader(new StringReader(source.toString()));
+		while (reader.expand()) {}
+		assertEquals(source.toString(), reader.toString());
+	}
+
+}
@@ -0,0 +1,250 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.FileSystem;
+import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.TAbstractFeatureModelReaderWriter;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelIO;
+import de.ovgu.featureide.fm.core.io.manager.FeatureModelManager;
+import de.ovgu.featureide.fm.core.io.xml.XmlFeatureModelFormat;
+
+/**
+ * Tests for {@link BinaryFeatureModelFormat}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TBinaryFeatureModelFormat extends TAbstractFeatureModelReaderWriter {
+
+	public TBinaryFeatureModelFormat(IFeatureModel fm, String s) throws UnsupportedModelException {
+		super(fm, s);
+	}
+
+	@Override
+	protected IFeatureModelFormat getFormat() {
+		return new BinaryFeatureModelFormat();
+	}
+
+	private IFeatureModel createModel() {
+		return FMFactoryManager.getInstance().getFactory(origFm).create();
+	}
+
+	@Test
+	public void testSameModelAsXML() {
+		final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+		final IFeatureModel fm = createModel();
+		final ProblemList problems = new BinaryFeatureModelFormat().read(fm, new BinaryFeatureModelFormat().write(origFm));
+		assertFalse(failureMessage + problems, problems.containsError());
+		assertEquals(failureMessage, xmlFormat.write(origFm), xmlFormat.write(fm));
+	}
+
+	@Test
+	public void testFeatureModelManager() throws IOException {
+		final Path file = Files.createTempFile("model", "." + BinaryFeatureModelFormat.FILE_EXTENSION);
+		try {
+			FileSystem.write(file, channel -> new BinaryFeatureModelFormat().write(origFm, channel));
+			final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+
+			final FeatureModelManager manager = FeatureModelManager.getInstance(file);
+			assertNotNull(failureMessage, manager);
+			assertTrue(failureMessage, manager.getFormat() instanceof BinaryFeatureModelFormat);
+			assertFalse(failureMessage + manager.getLastProblems(), manager.getLastProblems().containsError());
+			assertFalse(failureMessage, manager.hasChanged());
+			assertEquals(failureMessage, xmlFormat.write(origFm), xmlFormat.write(manager.getSnapshot()));
+
+			manager.editObject(fm -> fm.getStructure().getRoot().getFeature().getProperty().setDescription("Größe \u00e4\u20ac"));
+			assertTrue(failureMessage, manager.hasChanged());
+			assertFalse(failureMessage, manager.save().containsError());
+			assertFalse(failureMessage, manager.hasChanged());
+			final String expected = xmlFormat.write(manager.getSnapshot());
+			manager.dispose();
+
+			final FeatureModelManager reopenedManager = FeatureModelManager.getInstance(file);
+			assertNotNull(failureMessage, reopenedManager);
+			assertFalse(failureMessage + reopenedManager.getLastProblems(), reopenedManager.getLastProblems().containsError());
+			assertFalse(failureMessage, reopenedManager.hasChanged());
+			assertEquals(failureMessage, expected, xmlFormat.write(reopenedManager.getSnapshot()));
+			reopenedManager.dispose();
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testChannel() throws IOException {
+		final Path file = Files.createTempFile("model", "." + BinaryFeatureModelFormat.FILE_EXTENSION);
+		try {
+			final BinaryFeatureModelFormat format = new BinaryFeatureModelFormat();
+			format.setSourceChecksum(42);
+			FileSystem.write(file, channel -> format.write(origFm, channel));
+			assertEquals(failureMessage, format.write(origFm), new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1));
+
+			final IFeatureModel fm = createModel();
+			final BinaryFeatureModelFormat reader = new BinaryFeatureModelFormat();
+			try (ReadableByteChannel channel = FileSystem.newReadableChannel(file)) {
+				assertFalse(failureMessage, reader.read(fm, channel, file).containsError());
+			}
+			assertEquals(failureMessage, 42, reader.getSourceChecksum());
+			final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+			assertEquals(failureMessage, xmlFormat.write(origFm), xmlFormat.write(fm));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testSupportsContent() {
+		final BinaryFeatureModelFormat format = new BinaryFeatureModelFormat();
+		assertTrue(format.supportsContent(format.write(origFm)));
+		assertFalse(format.supportsContent(new XmlFeatureModelFormat().write(origFm)));
+	}
+
+	@Test
+	public void testUnsupportedVersion() {
+		final BinaryFeatureModelFormat format = new BinaryFeatureModelFormat();
+		final char[] content = format.write(origFm).toCharArray();
+		content[6] = (char) (BinaryFeatureModelFormat.VERSION + 1);
+		final ProblemList problems = format.read(createModel(), new String(content));
+		assertTrue(problems.toString(), problems.containsError());
+		assertTrue(problems.toString(), problems.get(0).getMessage().startsWith("Unsupported version"));
+	}
+
+	@Test
+	public void testTruncatedContent() {
+		final BinaryFeatureModelFormat format = new BinaryFeatureModelFormat();
+		final String content = format.write(origFm);
+		assertTrue(format.read(createModel(), content.substring(0, content.length() / 2)).containsError());
+	}
+
+	@Test
+	public void testContentDecodedAsText() {
+		final BinaryFeatureModelFormat format = new BinaryFeatureModelFormat();
+		final String content = format.write(origFm);
+		final String decoded = new String(content.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+		if (!decoded.equals(content)) {
+			assertTrue(format.read(createModel(), decoded).containsError());
+		}
+	}
+
+	@Test
+	public void testLoadCached() throws IOException {
+		final Path folder = Files.createTempDirectory("model");
+		final Path file = folder.resolve("model.xml");
+		final Path cacheFile = BinaryFeatureModelFormat.getCachePath(file);
+		try {
+			final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+			final String content = xmlFormat.write(origFm);
+			FileSystem.write(file, content);
+
+			final IFeatureModel fm1 = FeatureModelIO.getInstance().loadCached(file);
+			assertNotNull(failureMessage, fm1);
+			assertTrue(failureMessage, Files.exists(cacheFile));
+			assertEquals(failureMessage, content, xmlFormat.write(fm1));
+
+			final IFeatureModel fm2 = FeatureModelIO.getInstance().loadCached(file);
+			assertNotNull(failureMessage, fm2);
+			assertEquals(failureMessage, content, xmlFormat.write(fm2));
+
+			// Changing the source file invalidates the cache
+			final IFeatureModel changedFm = origFm.clone();
+			changedFm.getProperty().addComment("changed");
+			final String changedContent = xmlFormat.write(changedFm);
+			FileSystem.write(file, changedContent);
+			final IFeatureModel fm3 = FeatureModelIO.getInstance().loadCached(file);
+			assertNotNull(failureMessage, fm3);
+			assertEquals(failureMessage, changedContent, xmlFormat.write(fm3));
+
+			final BinaryFeatureModelFormat reader = new BinaryFeatureModelFormat();
+			try (ReadableByteChannel channel = FileSystem.newReadableChannel(cacheFile)) {
+				assertFalse(failureMessage, reader.read(createModel(), channel, cacheFile).containsError());
+			}
+			assertEquals(failureMessage, BinaryFeatureModelFormat.computeChecksum(Files.readAllBytes(file)), reader.getSourceChecksum());
+		} finally {
+			deleteCachedModel(folder, file, cacheFile);
+		}
+	}
+
+	@Test
+	public void testFeatureModelManagerCached() throws IOException {
+		final Path folder = Files.createTempDirectory("model");
+		final Path file = folder.resolve("model.xml");
+		final Path cacheFile = BinaryFeatureModelFormat.getCachePath(file);
+		assertEquals(failureMessage, folder.resolve(".featureide").resolve("model.xml").resolve("model.xml.fmb"), cacheFile);
+		FeatureModelManager.setUseModelCache(true);
+		try {
+			final XmlFeatureModelFormat xmlFormat = new XmlFeatureModelFormat();
+			final String content = xmlFormat.write(origFm);
+			FileSystem.write(file, content);
+
+			final FeatureModelManager manager = FeatureModelManager.getInstance(file);
+			assertNotNull(failureMessage, manager);
+			final String problems = manager.getLastProblems().toString();
+			try {
+				assertTrue(failureMessage, Files.exists(cacheFile));
+				assertEquals(failureMessage, content, xmlFormat.write(manager.getObject()));
+			} finally {
+				manager.dispose();
+			}
+
+			final FeatureModelManager cachedManager = FeatureModelManager.getInstance(file);
+			assertNotNull(failureMessage, cachedManager);
+			try {
+				// Problems of the source file are also reported if the model is read from the cache
+				assertEquals(failureMessage, problems, cachedManager.getLastProblems().toString());
+				assertEquals(failureMessage, content, xmlFormat.write(cachedManager.getObject()));
+				assertEquals(failureMessage, content, xmlFormat.write(cachedManager.getSnapshot()));
+				assertFalse(failureMessage, cachedManager.hasChanged());
+			} finally {
+				cachedManager.dispose();
+			}
+			assertEquals(failureMessage, content, xmlFormat.write(FeatureModelManager.load(file)));
+		} finally {
+			FeatureModelManager.setUseModelCache(false);
+			deleteCachedModel(folder, file, cacheFile);
+		}
+	}
+
+	private static void deleteCachedModel(Path folder, Path file, Path cacheFile) throws IOException {
+		Files.deleteIfExists(cacheFile);
+		Files.deleteIfExists(cacheFile.getParent());
+		Files.deleteIfExists(cacheFile.getParent().getParent());
+		Files.deleteIfExists(file);
+		Files.delete(folder);
+	}
+
+}
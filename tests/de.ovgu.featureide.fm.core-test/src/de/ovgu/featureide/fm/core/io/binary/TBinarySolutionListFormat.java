@@ -0,0 +1,222 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.binary;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet;
+import de.ovgu.featureide.fm.core.analysis.cnf.LiteralSet.Order;
+import de.ovgu.featureide.fm.core.analysis.cnf.SolutionList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.generator.configuration.twise.SampleBitMatrix;
+import de.ovgu.featureide.fm.core.cli.ConfigurationGenerator;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.csv.ConfigurationListFormat;
+import de.ovgu.featureide.fm.core.io.manager.FileHandler;
+
+/**
+ * Tests for {@link BinarySolutionListFormat} and {@link MappedSolutionList}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TBinarySolutionListFormat {
+
+	private static final int NUMBER_OF_VARIABLES = 70;
+
+	private static SolutionList createSample(int numberOfConfigurations, boolean partial, long seed) {
+		final List<String> names = new ArrayList<>();
+		for (int i = 1; i <= NUMBER_OF_VARIABLES; i++) {
+			names.add("F" + i);
+		}
+		final Random random = new Random(seed);
+		final SolutionList sample = new SolutionList();
+		sample.setVariables(new Variables(names));
+		for (int i = 0; i < numberOfConfigurations; i++) {
+			final int[] literals = new int[NUMBER_OF_VARIABLES];
+			for (int j = 0; j < literals.length; j++) {
+				literals[j] = (partial && (random.nextInt(5) == 0)) ? 0 : random.nextBoolean() ? j + 1 : -(j + 1);
+			}
+			sample.addSolution(new LiteralSet(literals, Order.INDEX, false));
+		}
+		return sample;
+	}
+
+	private static MappedSolutionList writeAndOpen(SolutionList sample, int chunkSize, Path file) throws IOException {
+		final BinarySolutionListFormat format = new BinarySolutionListFormat();
+		format.setChunkSize(chunkSize);
+		assertFalse(FileHandler.save(file, sample, format).containsError());
+		return MappedSolutionList.open(file);
+	}
+
+	private static void assertSampleEquals(SolutionList expected, SolutionList actual) {
+		assertArrayEquals(expected.getVariables().getNames(), actual.getVariables().getNames());
+		assertEquals(expected.getSolutions(), actual.getSolutions());
+	}
+
+	@Test
+	public void testReadWrite() throws IOException {
+		for (final boolean partial : new boolean[] { false, true }) {
+			for (final int numberOfConfigurations : new int[] { 0, 1, 63, 64, 65, 200 }) {
+				final SolutionList sample = createSample(numberOfConfigurations, partial, numberOfConfigurations);
+				final Path file = Files.createTempFile("sample", "." + BinarySolutionListFormat.FILE_EXTENSION);
+				try {
+					final BinarySolutionListFormat format = new BinarySolutionListFormat();
+					format.setChunkSize(64);
+					assertFalse(FileHandler.save(file, sample, format).containsError());
+					final SolutionList readSample = new SolutionList();
+					final ProblemList problems = FileHandler.load(file, readSample, new BinarySolutionListFormat());
+					assertFalse(problems.toString(), problems.containsError());
+					assertSampleEquals(sample, readSample);
+				} finally {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testString() {
+		final SolutionList sample = createSample(100, true, 0);
+		final BinarySolutionListFormat format = new BinarySolutionListFormat();
+		final String content = format.write(sample);
+		assertTrue(format.supportsContent(content));
+		final SolutionList readSample = new SolutionList();
+		assertFalse(format.read(readSample, content).containsError());
+		assertSampleEquals(sample, readSample);
+	}
+
+	@Test
+	public void testCSV() throws IOException {
+		final SolutionList sample = createSample(150, false, 0);
+		final Path file = Files.createTempFile("sample", "." + BinarySolutionListFormat.FILE_EXTENSION);
+		try {
+			final MappedSolutionList mappedSample = writeAndOpen(sample, 64, file);
+			final SolutionList csvSample = new SolutionList(mappedSample.getVariables(), mappedSample.asList());
+			assertEquals(new ConfigurationListFormat().write(sample), new ConfigurationListFormat().write(csvSample));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testRandomAccess() throws IOException {
+		for (final boolean partial : new boolean[] { false, true }) {
+			final SolutionList sample = createSample(300, partial, 1);
+			final Path file = Files.createTempFile("sample", "." + BinarySolutionListFormat.FILE_EXTENSION);
+			try {
+				final MappedSolutionList mappedSample = writeAndOpen(sample, 128, file);
+				assertEquals(300, mappedSample.size());
+				assertEquals(partial ? 2 : 1, mappedSample.getBitsPerFeature());
+				final Random random = new Random(2);
+				for (int i = 0; i < 1000; i++) {
+					final int index = random.nextInt(sample.getSolutions().size());
+					final int variable = 1 + random.nextInt(NUMBER_OF_VARIABLES);
+					final LiteralSet configuration = sample.getSolutions().get(index);
+					assertEquals(configuration, mappedSample.get(index));
+					assertEquals(configuration.getLiterals()[variable - 1], mappedSample.getLiteral(index, variable));
+				}
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testInvalidIndex() throws IOException {
+		final Path file = Files.createTempFile("sample", "." + BinarySolutionListFormat.FILE_EXTENSION);
+		try {
+			writeAndOpen(createSample(10, false, 0), 64, file).get(10);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testBitMatrix() throws IOException {
+		for (final boolean partial : new boolean[] { false, true }) {
+			final SolutionList sample = createSample(300, partial, 3);
+			final Path file = Files.createTempFile("sample", "." + BinarySolutionListFormat.FILE_EXTENSION);
+			try {
+				final SampleBitMatrix mappedMatrix = writeAndOpen(sample, 128, file).toBitMatrix();
+				final SampleBitMatrix matrix = new SampleBitMatrix(sample.getSolutions(), NUMBER_OF_VARIABLES);
+				assertEquals(matrix.getNumberOfConfigurations(), mappedMatrix.getNumberOfConfigurations());
+				assertEquals(matrix.getNumberOfWords(), mappedMatrix.getNumberOfWords());
+				for (int variable = 1; variable <= NUMBER_OF_VARIABLES; variable++) {
+					assertArrayEquals(matrix.getBits(variable), mappedMatrix.getBits(variable));
+					assertArrayEquals(matrix.getBits(-variable), mappedMatrix.getBits(-variable));
+				}
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidContent() {
+		final BinarySolutionListFormat format = new BinarySolutionListFormat();
+		final String content = format.write(createSample(100, false, 0));
+		assertTrue(format.read(new SolutionList(), content.substring(0, content.length() - 1)).containsError());
+
+		final char[] newerVersion = content.toCharArray();
+		newerVersion[6] = (char) (BinarySolutionListFormat.VERSION + 1);
+		final ProblemList problems = format.read(new SolutionList(), new String(newerVersion));
+		assertTrue(problems.toString(), problems.containsError());
+		assertTrue(problems.toString(), problems.get(0).getMessage().startsWith("Unsupported version"));
+
+		assertTrue(format.read(new SolutionList(), new ConfigurationListFormat().write(createSample(10, false, 0))).containsError());
+	}
+
+	@Test
+	public void testConfigurationGenerator() throws IOException {
+		final Path modelFile = Commons.getRemoteOrLocalFolder(Commons.TEST_FEATURE_MODEL_PATH).toPath().resolve("car.xml");
+		final Path csvFile = Files.createTempFile("sample", ".csv");
+		final Path binaryFile = Files.createTempFile("sample", "." + BinarySolutionListFormat.FILE_EXTENSION);
+		try {
+			new ConfigurationGenerator().run(Arrays.asList("-a", "all", "-o", csvFile.toString(), "-fm", modelFile.toString()));
+			new ConfigurationGenerator().run(Arrays.asList("-a", "all", "-o", binaryFile.toString(), "-fm", modelFile.toString()));
+			final SolutionList csvSample = new SolutionList();
+			assertFalse(FileHandler.load(csvFile, csvSample, new ConfigurationListFormat()).containsError());
+			final MappedSolutionList binarySample = MappedSolutionList.open(binaryFile);
+			assertEquals(7, binarySample.size());
+			assertEquals(csvSample.getSolutions(), binarySample.asList());
+		} finally {
+			Files.deleteIfExists(csvFile);
+			Files.deleteIfExists(binaryFile);
+			Files.deleteIfExists(csvFile.resolveSibling(csvFile.getFileName() + "_meta"));
+			Files.deleteIfExists(binaryFile.resolveSibling(binaryFile.getFileName() + "_meta"));
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.dimacs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.Commons;
+import de.ovgu.featureide.fm.core.analysis.cnf.CNF;
+import de.ovgu.featureide.fm.core.analysis.cnf.ClauseList;
+import de.ovgu.featureide.fm.core.analysis.cnf.Nodes;
+import de.ovgu.featureide.fm.core.analysis.cnf.Variables;
+import de.ovgu.featureide.fm.core.analysis.cnf.formula.FeatureModelFormula;
+
+/**
+ * Tests the {@link DimacsCNFReader} against the {@link DimacsReader} and the streaming output of the {@link DimacsWriter}.
+ *
+ * @author Sebastian Krieter
+ */
+public class TDimacsCNFReader {
+
+	private static final String[] SOURCES = { //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\r\n1 -3 0\r\n2 3 -1 0\r\n", //
+		"p cnf 3 2 1 -3 0 2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n\n\n \n \n\n2 3 -1 0", //
+		"p cnf 3 2\n1\n-3 0\n2 3 -1 0", //
+		"p\tcnf\t3\t2\n1\t-3\t0\t\n2\t3\t-1\t0", //
+		"  p cnf 3 2\n  " + "  1 -3 0  \n  2 3 -1 0  ", //
+		"p\n  cnf\n    3\n    2\n  1 -3 0\n  2 3 -1 0", //
+		"c Hello!\nc\nc \np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"cWhere is my space?p cnf 3 2\n1 -3 0\n2 3 -1 0\n", //
+		"p cnf 3 2\nc middle\n1 -3 0\nc clauses\n2 3 -1 0\nc Bye!", //
+		"p cnf 3 2\n1 c this comment tops them all\n-3 0\n2 3 -1 0", //
+		"p cnf c another rebellious comment\n3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\nBye, correctness!", //
+		"P cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p CNF 3 2\n1 -3 0\n2 3 -1 0", //
+		"C comment\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1\nJust tagging along", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1\nc comment", //
+		"cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 0 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf -3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 4 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 2 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 0\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 3\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 1\n1 -3 0\n2 3 -1 0", //
+		"", //
+		"p cnf 0 0", //
+		"1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n1 -3 0\n2 3 -1 0\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n0\n1 -3 0\n2 3 -1 0", //
+		"p cnf 3 2\n11 -13 0\n12 13 -11 0", //
+		"p cnf 3 2\n1 -4 0\n2 4 -1 0", //
+		"p cnf 1 2\n1 -1 0\n1 1 -1 0", //
+		"c 1 Foo\nc 2 Bar\nc 3 Baz\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 3 Baz\nc 2 Bar\nc 1 Foo\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Variable\twith\twhitespace\nc 2  \nc 3   Surrounding whitespace  \np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1\nc 2 \nc\t\t3 c 3 Foo\np cnf 3 2\n1 -3 0\n2 3 -1 0", //
+		"c 1 Foo\np cnf 3 2\nc 3 Baz\n1 -3 0\nc 2 Bar\n2 3 -1 0", //
+		"c 1 Füü\nc 5 Bar\np cnf 3 2\n1 -3 0\n5 3 -1 0", //
+	};
+
+	/**
+	 * Returns at most two bytes per read to test refilling the buffer.
+	 */
+	private static final class SlowChannel implements ReadableByteChannel {
+
+		private final ByteBuffer source;
+
+		private SlowChannel(String source) {
+			this.source = ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public boolean isOpen() {
+			return true;
+		}
+
+		@Override
+		public void close() {}
+
+		@Override
+		public int read(ByteBuffer dst) {
+			if (!source.hasRemaining()) {
+				return -1;
+			}
+			int count = 0;
+			while (source.hasRemaining() && dst.hasRemaining() && (count < 2)) {
+				dst.put(source.get());
+				count++;
+			}
+			return count;
+		}
+
+	}
+
+	private static CNF readLegacy(String source, boolean variableDirectory) throws ParseException, IOException {
+		final DimacsReader r = new DimacsReader();
+		r.setReadingVariableDirectory(variableDirectory);
+		r.setFlattenCNF(false);
+		final org.prop4j.Node node = r.read(source);
+		final Variables variables = new Variables(r.getVariables());
+		final ClauseList clauseList = Nodes.convertNF(variables, node, true, true);
+		return new CNF(variables, clauseList);
+	}
+
+	private static void assertEqualCNF(CNF expected, CNF actual) {
+		assertArrayEquals(expected.getVariables().getNames(), actual.getVariables().getNames());
+		assertEquals(expected.getClauses().size(), actual.getClauses().size());
+		for (int i = 0; i < expected.getClauses().size(); i++) {
+			assertArrayEquals(expected.getClauses().get(i).getLiterals(), actual.getClauses().get(i).getLiterals());
+		}
+	}
+
+	@Test
+	public void testLegacyConformance() throws IOException {
+		for (final boolean variableDirectory : new boolean[] { false, true }) {
+			for (final String source : SOURCES) {
+				final DimacsCNFReader r = new DimacsCNFReader();
+				r.setReadingVariableDirectory(variableDirectory);
+				CNF expected;
+				try {
+					expected = readLegacy(source, variableDirectory);
+				} catch (final ParseException e) {
+					expected = null;
+				}
+				try {
+					final CNF actual = r.read(source);
+					if (expected == null) {
+						fail("Expected parse exception for: " + source);
+					}
+					assertEqualCNF(expected, actual);
+					assertEqualCNF(expected, r.read(new SlowChannel(source)));
+				} catch (final ParseException e) {
+					if (expected != null) {
+						fail(e.getMessage() + " for: " + source);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		for (final String modelName : new String[] { "berkeley_db_model.xml", "200-100.xml" }) {
+			final CNF cnf = new FeatureModelFormula(Commons.loadBenchmarkFeatureModelFromFile(modelName)).getCNF();
+			final DimacsWriter w = new DimacsWriter(cnf);
+			final String source = w.write();
+			final StringWriter out = new StringWriter();
+			w.write(out);
+			assertEquals(source, out.toString());
+
+			final DimacsCNFReader r = new DimacsCNFReader();
+			r.setReadingVariableDirectory(true);
+			assertEqualCNF(cnf, r.read(source));
+
+			final Path file = Files.createTempFile("featureide", ".dimacs");
+			try {
+				Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+				assertEqualCNF(cnf, r.read(file));
+			} finally {
+				Files.delete(file);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,164 @@
+/* FeatureIDE - A Framework for Feature-Oriented Software Development
+ * Copyright (C) 2005-2019  FeatureIDE team, University of Magdeburg, Germany
+ *
+ * This file is part of FeatureIDE.
+ *
+ * FeatureIDE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * FeatureIDE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FeatureIDE.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * See http://featureide.cs.ovgu.de/ for further information.
+ */
+package de.ovgu.featureide.fm.core.io.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+import de.ovgu.featureide.fm.core.base.IFeatureModel;
+import de.ovgu.featureide.fm.core.base.impl.FMFactoryManager;
+import de.ovgu.featureide.fm.core.io.IFeatureModelFormat;
+import de.ovgu.featureide.fm.core.io.Problem;
+import de.ovgu.featureide.fm.core.io.Problem.Severity;
+import de.ovgu.featureide.fm.core.io.ProblemList;
+import de.ovgu.featureide.fm.core.io.TAbstractFeatureModelReaderWriter;
+import de.ovgu.featureide.fm.core.io.UnsupportedModelException;
+
+/**
+ * Tests the streaming reader and writer of {@link XmlFeatureModelFormat} and compares them to the DOM-based ones.
+ *
+ * @author Sebastian Krieter
+ */
+public class TXMLStreamingFeatureModelFormat extends TAbstractFeatureModelReaderWriter {
+
+	private static final String MODEL_WITH_PROBLEMS = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" //
+		+ "<featureModel>\n" //
+		+ "\t<struct>\n" //
+		+ "\t\t<and abstract=\"true\" mandatory=\"true\" name=\"Root\">\n" //
+		+ "\t\t\t<feature name=\"A\" color=\"red\"/>\n" //
+		+ "\t\t\t<group name=\"B\"/>\n" //
+		+ "\t\t</and>\n" //
+		+ "\t</struct>\n" //
+		+ "\t<constraints>\n" //
+		+ "\t\t<rule>\n" //
+		+ "\t\t\t<imp>\n" //
+		+ "\t\t\t\t<var>A</var>\n" //
+		+ "\t\t\t\t<var>C</var>\n" //
+		+ "\t\t\t</imp>\n" //
+		+ "\t\t</rule>\n" //
+		+ "\t</constraints>\n" //
+		+ "</featureModel>\n";
+
+	public TXMLStreamingFeatureModelFormat(IFeatureModel fm, String s) throws UnsupportedModelException {
+		super(fm, s);
+	}
+
+	@Override
+	protected IFeatureModelFormat getFormat() {
+		return createFormat(true);
+	}
+
+	private static XmlFeatureModelFormat createFormat(boolean streaming) {
+		final XmlFeatureModelFormat format = new XmlFeatureModelFormat();
+		format.setStreaming(streaming);
+		return format;
+	}
+
+	private IFeatureModel read(XmlFeatureModelFormat format, String content) {
+		final IFeatureModel fm = FMFactoryManager.getInstance().getFactory(origFm).create();
+		final ProblemList problems = format.getInstance().read(fm, content);
+		assertFalse(problems.toString(), problems.containsError());
+		return fm;
+	}
+
+	@Test
+	public void testSameOutputAsDOM() {
+		assertEquals(failureMessage, createFormat(false).write(origFm), createFormat(true).write(origFm));
+	}
+
+	@Test
+	public void testSameModelAsDOM() {
+		final XmlFeatureModelFormat domFormat = createFormat(false);
+		final String content = domFormat.write(origFm);
+		final IFeatureModel domFm = read(domFormat, content);
+		final IFeatureModel streamFm = read(createFormat(true), content);
+		assertEquals(failureMessage, domFormat.write(domFm), domFormat.write(streamFm));
+	}
+
+	@Test
+	public void testWriter() throws IOException {
+		final XmlFeatureModelFormat format = createFormat(true);
+		final StringWriter writer = new StringWriter();
+		format.write(origFm, writer);
+		assertEquals(failureMessage, format.write(origFm), writer.toString());
+
+		final IFeatureModel fm = FMFactoryManager.getInstance().getFactory(origFm).create();
+		assertFalse(failureMessage, format.getInstance().read(fm, new StringReader(writer.toString()), null).containsError());
+		assertEquals(failureMessage, format.write(origFm), format.write(fm));
+	}
+
+	@Test
+	public void testInstanceKeepsMode() {
+		assertTrue(createFormat(true).getInstance().isStreaming());
+		assertFalse(createFormat(false).getInstance().isStreaming());
+	}
+
+	@Test
+	public void testProblemPositions() {
+		for (final boolean streaming : new boolean[] { false, true }) {
+			final IFeatureModel fm = FMFactoryManager.getInstance().getFactory(origFm).create();
+			final ProblemList problems = createFormat(streaming).getInstance().read(fm, MODEL_WITH_PROBLEMS);
+			final String message = "streaming=" + streaming + " " + problems;
+			assertEquals(message, 1, problems.size());
+			final Problem problem = problems.get(0);
+			assertEquals(message, Severity.ERROR, problem.getSeverity());
+			assertEquals(message, 13, problem.getLine());
+		}
+	}
+
+	@Test
+	public void testWarningPositions() {
+		final String content = MODEL_WITH_PROBLEMS.replace("<var>C</var>", "<var>A</var>");
+		for (final boolean streaming : new boolean[] { false, true }) {
+			final IFeatureModel fm = FMFactoryManager.getInstance().getFactory(origFm).create();
+			final ProblemList problems = createFormat(streaming).getInstance().read(fm, content);
+			final String message = "streaming=" + streaming + " " + problems;
+			assertEquals(message, 2, problems.size());
+			assertEquals(message, Severity.WARNING, problems.get(0).getSeverity());
+			assertEquals(message, 5, problems.get(0).getLine());
+			assertEquals(message, Severity.WARNING, problems.get(1).getSeverity());
+			assertEquals(message, 6, problems.get(1).getLine());
+			assertEquals(message, 1, fm.getConstraintCount());
+		}
+	}
+
+	@Test
+	public void testSyntaxError() {
+		final String content = MODEL_WITH_PROBLEMS.replace("\t\t</rule>", "\t\t</rul>");
+		for (final boolean streaming : new boolean[] { false, true }) {
+			final IFeatureModel fm = FMFactoryManager.getInstance().getFactory(origFm).create();
+			final ProblemList problems = createFormat(streaming).getInstance().read(fm, content);
+			final String message = "streaming=" + streaming + " " + problems;
+			assertEquals(message, 1, problems.size());
+			assertEquals(message, Severity.ERROR, problems.get(0).getSeverity());
+			assertEquals(message, 15, problems.get(0).getLine());
+			assertTrue(message, problems.get(0).getMessage().startsWith("The element type \"rule\""));
+		}
+	}
+
+}